@@ -3,6 +3,7 @@ plugins {
     id("org.openrewrite.build.publish") version "latest.release"
     id("org.openrewrite.build.recipe-repositories") version "latest.release"
     kotlin("jvm") version "1.9.24"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 
@@ -113,4 +114,101 @@ sourceSets {
     test {
         java.srcDirs("src/test/java", "src/test/kotlin")
     }
+    // Standalone runner, parses and migrates a source tree without applying the rewrite build plugins
+    create("runner") {
+        java.srcDirs("src/runner/java")
+        compileClasspath += main.get().output + main.get().compileClasspath
+        runtimeClasspath += main.get().output + main.get().runtimeClasspath
+    }
+}
+
+// The runner's tests live with the others, in the runner's package
+sourceSets.test {
+    compileClasspath += sourceSets["runner"].output
+    runtimeClasspath += sourceSets["runner"].output
+}
+
+dependencies {
+    "runnerImplementation"(platform("org.openrewrite.recipe:rewrite-recipe-bom:latest.release"))
+    "runnerCompileOnly"("org.projectlombok:lombok:latest.release")
+    "runnerAnnotationProcessor"("org.projectlombok:lombok:latest.release")
+    "runnerRuntimeOnly"("org.openrewrite:rewrite-java-17")
+    "runnerRuntimeOnly"("org.openrewrite:rewrite-java-21")
+    "runnerRuntimeOnly"("org.openrewrite:rewrite-java-25")
+}
+
+tasks.register<JavaExec>("removeMapstruct") {
+    group = "rewrite"
+    description = "Runs RemoveMapstruct over source roots on disk. Pass the runner options with --args."
+    classpath = sourceSets["runner"].runtimeClasspath
+    mainClass.set("com.santunioni.recipes.runner.RemoveMapstructRunner")
+}
+
+// Runtime benchmarks of Mapstruct-generated mappers against their migrated counterparts, see src/jmh. The mappers
+// are compiled by the Mapstruct processor in a source set of their own, and the runner migrates a copy of them and
+// of their generated implementations into each package the benchmarks compare them with.
+val benchmarkMappers = sourceSets.create("benchmarkMappers")
+
+dependencies {
+    "benchmarkMappersImplementation"("org.mapstruct:mapstruct:latest.release")
+    "benchmarkMappersAnnotationProcessor"("org.mapstruct:mapstruct-processor:latest.release")
+    "jmhImplementation"("org.mapstruct:mapstruct:latest.release")
+    "jmhImplementation"(benchmarkMappers.output)
+}
+
+val compileBenchmarkMappers = tasks.named<JavaCompile>(benchmarkMappers.compileJavaTaskName)
+
+// The package of each migrated variant, and the runner options it is migrated with
+mapOf(
+    "migrated" to listOf(),
+    "optimized" to listOf("--optimize"),
+).forEach { (variant, options) ->
+    val taskSuffix = variant.replaceFirstChar(Char::titlecase)
+    val variantDir = layout.buildDirectory.dir("benchmarkMappers/$variant")
+    val copyMappers = tasks.register<Sync>("copyBenchmarkMappers$taskSuffix") {
+        from("src/benchmarkMappers/java") {
+            include("**/mapstruct/**")
+            into("src")
+        }
+        from(compileBenchmarkMappers.flatMap { it.options.generatedSourceOutputDirectory }) {
+            into("generated")
+        }
+        into(variantDir)
+        eachFile { path = path.replace("/mapstruct/", "/$variant/") }
+        filter { line: String ->
+            line.replace("com.santunioni.benchmarks.mapstruct", "com.santunioni.benchmarks.$variant")
+        }
+        includeEmptyDirs = false
+    }
+    val migrateMappers = tasks.register<JavaExec>("migrateBenchmarkMappers$taskSuffix") {
+        group = "benchmark"
+        description = "Migrates a copy of the benchmark mappers into the $variant package with RemoveMapstruct."
+        dependsOn(copyMappers, compileBenchmarkMappers)
+        classpath = sourceSets["runner"].runtimeClasspath
+        mainClass.set("com.santunioni.recipes.runner.RemoveMapstructRunner")
+        workingDir(variantDir)
+        argumentProviders.add(CommandLineArgumentProvider {
+            listOf(
+                "--source", "src",
+                "--source", "generated",
+                "--in-place",
+                "--classpath", (benchmarkMappers.output.classesDirs + benchmarkMappers.compileClasspath).asPath,
+            ) + options
+        })
+        outputs.dir(variantDir.map { it.dir("src") })
+    }
+    sourceSets["jmh"].java.srcDir(files(variantDir.map { it.dir("src") }).builtBy(migrateMappers))
+}
+
+// RemoveMapstructBenchmark runs the recipe itself over the test fixtures
+dependencies {
+    "jmhImplementation"(platform("org.openrewrite.recipe:rewrite-recipe-bom:latest.release"))
+    "jmhRuntimeOnly"("org.openrewrite:rewrite-java-17")
+    "jmhRuntimeOnly"("org.projectlombok:lombok:latest.release")
+}
+sourceSets["jmh"].resources.srcDir("src/test/resources")
+
+jmh {
+    profilers.add("gc")
+    resultFormat.set("JSON")
 }
@@ -0,0 +1,20 @@
+package com.santunioni.benchmarks.mapstruct;
+
+import com.santunioni.benchmarks.model.Customer;
+import com.santunioni.benchmarks.model.CustomerDto;
+import org.mapstruct.Mapper;
+
+/**
+ * The abstract mapper of the {@code shouldReplaceAbstractMapper} fixture, compiled by the Mapstruct processor.
+ */
+@Mapper
+public abstract class CustomerMapper {
+
+    public abstract Customer toCustomer(CustomerDto customerDto);
+
+    public abstract CustomerDto toCustomerDto(Customer customer);
+
+    public String getSignature(Customer customer) {
+        return customer.getName() + " <" + customer.getEmail() + ">";
+    }
+}
@@ -0,0 +1,29 @@
+package com.santunioni.benchmarks.mapstruct;
+
+import com.santunioni.benchmarks.model.Address;
+import com.santunioni.benchmarks.model.AddressDto;
+import com.santunioni.benchmarks.model.Order;
+import com.santunioni.benchmarks.model.OrderDto;
+import com.santunioni.benchmarks.model.OrderLine;
+import com.santunioni.benchmarks.model.OrderLineDto;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.List;
+
+/**
+ * A synthetic DTO graph with nested objects, collections, boxing and formatting conversions.
+ */
+@Mapper
+public interface OrderMapper {
+
+    @Mapping(target = "customerName", source = "customer.name")
+    @Mapping(target = "placedOn", dateFormat = "yyyy-MM-dd")
+    OrderDto toOrderDto(Order order);
+
+    List<OrderDto> toOrderDtos(List<Order> orders);
+
+    OrderLineDto toOrderLineDto(OrderLine orderLine);
+
+    AddressDto toAddressDto(Address address);
+}
@@ -0,0 +1,30 @@
+package com.santunioni.benchmarks.model;
+
+public class CustomerDto {
+    private String name;
+    private String email;
+
+    public CustomerDto() {
+    }
+
+    public CustomerDto(String name, String email) {
+        this.name = name;
+        this.email = email;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+}
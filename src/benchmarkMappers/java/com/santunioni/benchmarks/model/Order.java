@@ -0,0 +1,71 @@
+package com.santunioni.benchmarks.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public class Order {
+    private String id;
+    private Customer customer;
+    private List<OrderLine> lines;
+    private Address shipping;
+    private BigDecimal total;
+    private LocalDate placedOn;
+    private OrderStatus status;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Customer getCustomer() {
+        return customer;
+    }
+
+    public void setCustomer(Customer customer) {
+        this.customer = customer;
+    }
+
+    public List<OrderLine> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<OrderLine> lines) {
+        this.lines = lines;
+    }
+
+    public Address getShipping() {
+        return shipping;
+    }
+
+    public void setShipping(Address shipping) {
+        this.shipping = shipping;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    public LocalDate getPlacedOn() {
+        return placedOn;
+    }
+
+    public void setPlacedOn(LocalDate placedOn) {
+        this.placedOn = placedOn;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(OrderStatus status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,69 @@
+package com.santunioni.benchmarks.model;
+
+import java.util.List;
+
+public class OrderDto {
+    private String id;
+    private String customerName;
+    private List<OrderLineDto> lines;
+    private AddressDto shipping;
+    private String total;
+    private String placedOn;
+    private String status;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public void setCustomerName(String customerName) {
+        this.customerName = customerName;
+    }
+
+    public List<OrderLineDto> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<OrderLineDto> lines) {
+        this.lines = lines;
+    }
+
+    public AddressDto getShipping() {
+        return shipping;
+    }
+
+    public void setShipping(AddressDto shipping) {
+        this.shipping = shipping;
+    }
+
+    public String getTotal() {
+        return total;
+    }
+
+    public void setTotal(String total) {
+        this.total = total;
+    }
+
+    public String getPlacedOn() {
+        return placedOn;
+    }
+
+    public void setPlacedOn(String placedOn) {
+        this.placedOn = placedOn;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+}
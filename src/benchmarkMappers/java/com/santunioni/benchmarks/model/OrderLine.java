@@ -0,0 +1,33 @@
+package com.santunioni.benchmarks.model;
+
+import java.math.BigDecimal;
+
+public class OrderLine {
+    private String sku;
+    private Integer quantity;
+    private BigDecimal price;
+
+    public String getSku() {
+        return sku;
+    }
+
+    public void setSku(String sku) {
+        this.sku = sku;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+}
@@ -0,0 +1,9 @@
+package com.santunioni.benchmarks.model;
+
+public enum OrderStatus {
+    PLACED,
+    PAID,
+    SHIPPED,
+    DELIVERED,
+    CANCELLED
+}
@@ -0,0 +1,144 @@
+package com.santunioni.benchmarks;
+
+import com.santunioni.benchmarks.mapstruct.CustomerMapper;
+import com.santunioni.benchmarks.mapstruct.OrderMapper;
+import com.santunioni.benchmarks.model.Address;
+import com.santunioni.benchmarks.model.Customer;
+import com.santunioni.benchmarks.model.CustomerDto;
+import com.santunioni.benchmarks.model.Order;
+import com.santunioni.benchmarks.model.OrderDto;
+import com.santunioni.benchmarks.model.OrderLine;
+import com.santunioni.benchmarks.model.OrderStatus;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the Mapstruct-generated implementations with the classes {@code RemoveMapstruct} migrates them to, with
+ * and without the optimization recipes. The build generates both from the mappers in {@code src/benchmarkMappers},
+ * into the {@code migrated} and {@code optimized} packages, so they follow the recipes as they change.
+ * <p>
+ * Throughput and sampled latency percentiles come from the two benchmark modes. Allocation per mapping comes
+ * from the {@code gc} profiler, which the {@code jmh} task enables ({@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    private final CustomerMapper generatedCustomerMapper = Mappers.getMapper(CustomerMapper.class);
+    private final OrderMapper generatedOrderMapper = Mappers.getMapper(OrderMapper.class);
+    private final com.santunioni.benchmarks.migrated.CustomerMapper migratedCustomerMapper =
+            new com.santunioni.benchmarks.migrated.CustomerMapper();
+    private final com.santunioni.benchmarks.migrated.OrderMapper migratedOrderMapper =
+            new com.santunioni.benchmarks.migrated.OrderMapper();
+    private final com.santunioni.benchmarks.optimized.CustomerMapper optimizedCustomerMapper =
+            new com.santunioni.benchmarks.optimized.CustomerMapper();
+    private final com.santunioni.benchmarks.optimized.OrderMapper optimizedOrderMapper =
+            new com.santunioni.benchmarks.optimized.OrderMapper();
+
+    /**
+     * A single customer, so the customer benchmarks don't run once per size of the order graph.
+     */
+    @State(Scope.Benchmark)
+    public static class Customers {
+        Customer customer;
+
+        @Setup
+        public void setUp() {
+            customer = new Customer("Ada Lovelace", "ada@example.com");
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Orders {
+
+        @Param({"1", "100"})
+        int linesPerOrder;
+
+        @Param({"1", "50"})
+        int orders;
+
+        List<Order> orderList;
+
+        @Setup
+        public void setUp() {
+            Customer customer = new Customer("Ada Lovelace", "ada@example.com");
+
+            orderList = new ArrayList<>(orders);
+            for (int o = 0; o < orders; o++) {
+                Address shipping = new Address();
+                shipping.setStreet(o + " Analytical Engine Street");
+                shipping.setCity("London");
+                shipping.setZipCode("N1 " + o);
+
+                List<OrderLine> lines = new ArrayList<>(linesPerOrder);
+                for (int l = 0; l < linesPerOrder; l++) {
+                    OrderLine line = new OrderLine();
+                    line.setSku("SKU-" + l);
+                    line.setQuantity(l % 7 + 1);
+                    line.setPrice(BigDecimal.valueOf(l * 100L + 99, 2));
+                    lines.add(line);
+                }
+
+                Order order = new Order();
+                order.setId("order-" + o);
+                order.setCustomer(customer);
+                order.setLines(lines);
+                order.setShipping(shipping);
+                order.setTotal(BigDecimal.valueOf(o * 1000L + 1, 2));
+                order.setPlacedOn(LocalDate.of(2025, 1, 1).plusDays(o));
+                order.setStatus(OrderStatus.values()[o % OrderStatus.values().length]);
+                orderList.add(order);
+            }
+        }
+    }
+
+    @Benchmark
+    public CustomerDto customerGenerated(Customers customers) {
+        return generatedCustomerMapper.toCustomerDto(customers.customer);
+    }
+
+    @Benchmark
+    public CustomerDto customerMigrated(Customers customers) {
+        return migratedCustomerMapper.toCustomerDto(customers.customer);
+    }
+
+    @Benchmark
+    public CustomerDto customerOptimized(Customers customers) {
+        return optimizedCustomerMapper.toCustomerDto(customers.customer);
+    }
+
+    @Benchmark
+    public List<OrderDto> ordersGenerated(Orders orders) {
+        return generatedOrderMapper.toOrderDtos(orders.orderList);
+    }
+
+    @Benchmark
+    public List<OrderDto> ordersMigrated(Orders orders) {
+        return migratedOrderMapper.toOrderDtos(orders.orderList);
+    }
+
+    @Benchmark
+    public List<OrderDto> ordersOptimized(Orders orders) {
+        return optimizedOrderMapper.toOrderDtos(orders.orderList);
+    }
+}
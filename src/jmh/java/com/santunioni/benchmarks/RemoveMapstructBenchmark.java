@@ -0,0 +1,128 @@
+package com.santunioni.benchmarks;
+
+import com.santunioni.recipes.RemoveMapstruct;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Result;
+import org.openrewrite.SourceFile;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.java.JavaParser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs {@code RemoveMapstruct} itself over the fixtures of its tests, to measure what a migration costs rather
+ * than what the migrated mappers do. Each fixture is copied into {@code copies} packages of its own, so the scan
+ * and merge paths see many mappers, as in a real repository. The sources are parsed once, in the setup.
+ * <p>
+ * Allocation per run comes from the {@code gc} profiler, which the {@code jmh} task enables
+ * ({@code gc.alloc.rate.norm}), the figure to compare before and after a change to the recipe.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RemoveMapstructBenchmark {
+
+    private static final String FIXTURE_PACKAGE = "com.santunioni.fixtures";
+
+    /**
+     * The sources of each fixture the recipe reads, from {@code src/test/resources/fixtures}.
+     */
+    private static final Map<String, List<String>> FIXTURES = Map.of(
+            "shouldReplaceInterfaceMapper", List.of(
+                    "context/UserDto.java",
+                    "context/UserEntity.java",
+                    "context/UserMapperImpl.java",
+                    "before/UserService.java",
+                    "before/UserMapper.java"),
+            "shouldReplaceAbstractMapper", List.of(
+                    "context/CustomerDto.java",
+                    "context/CustomerEntity.java",
+                    "context/CustomerMapperImpl.java",
+                    "before/CustomerMapper.java"),
+            "shouldCollapseDecoratedMapper", List.of(
+                    "context/Person.java",
+                    "context/PersonDto.java",
+                    "context/PersonMapperImpl.java",
+                    "context/PersonMapperImpl_.java",
+                    "before/PersonMapper.java",
+                    "before/PersonMapperDecorator.java")
+    );
+
+    @Param({"shouldReplaceInterfaceMapper", "shouldReplaceAbstractMapper", "shouldCollapseDecoratedMapper"})
+    String fixture;
+
+    @Param({"1", "100"})
+    int copies;
+
+    private List<SourceFile> sourceFiles;
+
+    @Setup
+    public void setUp() {
+        List<String> sources = new ArrayList<>();
+        for (String file : FIXTURES.get(fixture)) {
+            String source = readResource("fixtures/" + fixture + "/" + file);
+            for (int copy = 0; copy < copies; copy++) {
+                sources.add(source.replace(FIXTURE_PACKAGE, FIXTURE_PACKAGE + ".copy" + copy));
+            }
+        }
+
+        sourceFiles = JavaParser.fromJavaVersion()
+                .classpath("mapstruct", "lombok")
+                .build()
+                .parse(new InMemoryExecutionContext(Throwable::printStackTrace), sources.toArray(String[]::new))
+                .map(sourceFile -> (SourceFile) sourceFile.withSourcePath(sourcePath(sourceFile.getSourcePath())))
+                .toList();
+    }
+
+    /**
+     * Where the build would keep a source the parser named after its package and class: generated
+     * implementations in the annotation processor output, everything else in the main sources.
+     */
+    private static Path sourcePath(Path parsedPath) {
+        String fileName = parsedPath.getFileName().toString();
+        return fileName.endsWith("Impl.java") || fileName.endsWith("Impl_.java")
+                ? Paths.get("build/generated/annotationProcessor/main/java").resolve(parsedPath)
+                : Paths.get("src/main/java").resolve(parsedPath);
+    }
+
+    private static String readResource(String resource) {
+        try (InputStream stream = Objects.requireNonNull(
+                RemoveMapstructBenchmark.class.getClassLoader().getResourceAsStream(resource), resource)) {
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Benchmark
+    public List<Result> removeMapstruct() {
+        return new RemoveMapstruct()
+                .run(new InMemoryLargeSourceSet(sourceFiles), new InMemoryExecutionContext())
+                .getChangeset()
+                .getAllResults();
+    }
+}
@@ -0,0 +1,65 @@
+package com.santunioni.recipes;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.santunioni.recipes.removeMapstruct.MappingCounterInstrumenter;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Option;
+import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
+
+/**
+ * AddMappingCounters counts the calls of each public method of the migrated mappers, so the mappings worth tuning
+ * can be told from the ones that are barely used.
+ * <p>
+ * Each method increments a {@link java.util.concurrent.atomic.LongAdder} on entry, and the mapper gets a static
+ * {@code mappingCalls()} accessor returning the counts by method. With {@code sampleEvery}, about one call in that
+ * many is also timed, and {@code mappingMeanNanos()} returns the mean duration by method. Only JDK classes are used.
+ * <p>
+ * List it after {@link RemoveMapstruct} in the same run: it only looks at files that recipe merged.
+ */
+@NullMarked
+@EqualsAndHashCode(callSuper = false)
+public class AddMappingCounters extends Recipe {
+
+    @Getter
+    @Option(displayName = "Sample every",
+            description = "Times about one call in this many, chosen at random per call. Calls are only counted "
+                    + "when empty.",
+            example = "1024",
+            required = false)
+    private final @Nullable Integer sampleEvery;
+
+    /**
+     * Constructor for the AddMappingCounters class.
+     */
+    public AddMappingCounters() {
+        this(null);
+    }
+
+    @JsonCreator
+    public AddMappingCounters(@JsonProperty("sampleEvery") @Nullable Integer sampleEvery) {
+        this.sampleEvery = sampleEvery;
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Add call counters to migrated mappers";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Adds a `LongAdder` call counter to each public method of the mappers merged by `RemoveMapstruct`, "
+                + "read through a static `mappingCalls()` accessor. Optionally times a random sample of the calls, "
+                + "read through `mappingMeanNanos()`.";
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return new MappingCounterInstrumenter(sampleEvery);
+    }
+}
@@ -0,0 +1,68 @@
+package com.santunioni.recipes;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.santunioni.recipes.removeMapstruct.ParallelBulkMappingGenerator;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Option;
+import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
+
+/**
+ * AddParallelBulkMappings adds a parallel variant of the list mapping methods of the migrated mappers, for batch
+ * jobs that map large lists.
+ * <p>
+ * For a {@code List<Dto> toDtos(List<Entity>)} method whose loop calls an element method of the same mapper, it
+ * adds {@code toDtosParallel}: lists of at least {@code threshold} elements are mapped with a parallel stream on
+ * the common fork-join pool, in their original order, and smaller lists go to {@code toDtos}. The element method,
+ * and every mapper method it calls, may only read final fields of immutable types and constants that are safe to
+ * share, unlike a {@code SimpleDateFormat}: a method reading another mapper, a mutable field or a field it can't
+ * prove immutable is skipped. The original methods are not changed, so callers opt in one call site at a time.
+ * <p>
+ * List it after {@link RemoveMapstruct} in the same run: it only looks at files that recipe merged.
+ */
+@NullMarked
+@EqualsAndHashCode(callSuper = false)
+public class AddParallelBulkMappings extends Recipe {
+    private static final int DEFAULT_THRESHOLD = 10_000;
+
+    @Getter
+    @Option(displayName = "Threshold",
+            description = "Lists with fewer elements than this are mapped sequentially. Defaults to 10000.",
+            example = "50000",
+            required = false)
+    private final @Nullable Integer threshold;
+
+    /**
+     * Constructor for the AddParallelBulkMappings class.
+     */
+    public AddParallelBulkMappings() {
+        this(null);
+    }
+
+    @JsonCreator
+    public AddParallelBulkMappings(@JsonProperty("threshold") @Nullable Integer threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Add parallel bulk mapping methods to migrated mappers";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Adds a `<name>Parallel` variant to each list mapping method of the mappers merged by "
+                + "`RemoveMapstruct` whose element mapping only reads immutable state. It maps large lists on the common fork-join pool, keeping their order, and "
+                + "falls back to the sequential method below a size threshold.";
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return new ParallelBulkMappingGenerator(threshold == null || threshold < 1 ? DEFAULT_THRESHOLD : threshold);
+    }
+}
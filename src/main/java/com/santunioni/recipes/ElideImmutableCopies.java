@@ -0,0 +1,70 @@
+package com.santunioni.recipes;
+
+import com.santunioni.recipes.removeMapstruct.CopyingSetters;
+import com.santunioni.recipes.removeMapstruct.ImmutableCopyEliminator;
+import com.santunioni.recipes.table.MapperElidedCopies;
+import org.jspecify.annotations.NullMarked;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.ScanningRecipe;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.tree.J;
+
+/**
+ * ElideImmutableCopies removes the copies the migrated mappers make of values they could share.
+ * <p>
+ * Mapstruct copies a nested value of the same type on both sides property by property, even when the value can't
+ * change, and copies collections into a new one before setting them. This recipe removes the copy methods of the
+ * types it can prove immutable from their type attribution (records and final classes of final fields of immutable
+ * types, {@code String}, {@code java.time} values, enums, and the like), and passes collections on as they are to
+ * the setters that copy them anyway. Every removed copy is reported, with why it was safe.
+ * <p>
+ * Mutable values are never shared: that would let a change to the source show through the target.
+ * <p>
+ * List it after {@link RemoveMapstruct} in the same run: it only rewrites files that recipe merged.
+ */
+@NullMarked
+public class ElideImmutableCopies extends ScanningRecipe<CopyingSetters> {
+
+    private final transient MapperElidedCopies mapperElidedCopies = new MapperElidedCopies(this);
+
+    /**
+     * Constructor for the ElideImmutableCopies class.
+     */
+    public ElideImmutableCopies() {
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Elide copies of immutable values in migrated mappers";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Removes the methods that copy values of provably immutable types, property by property, from "
+                + "mappers merged by `RemoveMapstruct`, and shares the values instead. Collections copied before "
+                + "being passed to a setter that copies them again are passed as they are. Reports each removed "
+                + "copy.";
+    }
+
+    @Override
+    public CopyingSetters getInitialValue(ExecutionContext ctx) {
+        return new CopyingSetters();
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getScanner(CopyingSetters acc) {
+        return new JavaIsoVisitor<>() {
+            @Override
+            public J.CompilationUnit visitCompilationUnit(J.CompilationUnit compilationUnit, ExecutionContext ctx) {
+                acc.scan(compilationUnit);
+                return compilationUnit;
+            }
+        };
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor(CopyingSetters acc) {
+        return new ImmutableCopyEliminator(acc, mapperElidedCopies);
+    }
+}
@@ -0,0 +1,48 @@
+package com.santunioni.recipes;
+
+import com.santunioni.recipes.removeMapstruct.HotPathRiskFinder;
+import com.santunioni.recipes.table.MapperHotPathRisks;
+import org.jspecify.annotations.NullMarked;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
+
+/**
+ * FindMapperHotPathRisks lists the places where migrated mappers are likely to waste cycles or allocate.
+ * <p>
+ * It inspects the classes {@link RemoveMapstruct} merged in the same run and reports, per mapper method,
+ * formatters built on every call, boxing and unboxing, {@code String.format} and concatenation, stream
+ * pipelines, getter chains evaluated more than once, and methods whose estimated bytecode size exceeds
+ * HotSpot's inlining ({@code FreqInlineSize}) or compilation ({@code HugeMethodLimit}) limits. Each finding has a
+ * relative cost so they can be ranked. It makes no changes.
+ * <p>
+ * List it after {@link RemoveMapstruct} in the same run: it only looks at files that recipe merged.
+ */
+@NullMarked
+public class FindMapperHotPathRisks extends Recipe {
+
+    private final transient MapperHotPathRisks mapperHotPathRisks = new MapperHotPathRisks(this);
+
+    /**
+     * Constructor for the FindMapperHotPathRisks class.
+     */
+    public FindMapperHotPathRisks() {
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Find hot path risks in migrated mappers";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Reports allocation and CPU heavy patterns in mappers merged by `RemoveMapstruct`, ranked by "
+                + "estimated cost: per call formatters, boxing, string formatting, stream pipelines, repeated getter "
+                + "chains and methods too large to be inlined or JIT-compiled.";
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return new HotPathRiskFinder(mapperHotPathRisks);
+    }
+}
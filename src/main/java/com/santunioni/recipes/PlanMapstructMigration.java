@@ -0,0 +1,133 @@
+package com.santunioni.recipes;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.santunioni.recipes.removeMapstruct.MigrationCheckpoint;
+import com.santunioni.recipes.removeMapstruct.MigrationPlan;
+import com.santunioni.recipes.removeMapstruct.MigrationPlanScanner;
+import com.santunioni.recipes.removeMapstruct.MigrationScope;
+import com.santunioni.recipes.table.MapperMigrationPlan;
+import com.santunioni.recipes.table.MapperMigrationPlanSummary;
+import com.santunioni.recipes.table.MapperStaleImplementations;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Option;
+import org.openrewrite.ScanningRecipe;
+import org.openrewrite.SourceFile;
+import org.openrewrite.TreeVisitor;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * PlanMapstructMigration reports what {@link RemoveMapstruct} would do, without doing it.
+ * <p>
+ * It runs the same implementation scanning and classification as {@link RemoveMapstruct}, but never merges
+ * classes or rewrites references. The result is a row per mapper declaration with its outcome and consumer
+ * count, plus per module totals, so the cost and the conflicts of a full run are known before starting it.
+ * <p>
+ * Given the checkpoint file and the globs of the run it plans, it skips the same mappers that run would: out of
+ * scope, listed in the checkpoint, or with a stale implementation, which is also reported in its own data table.
+ */
+@NullMarked
+@EqualsAndHashCode(callSuper = false)
+public class PlanMapstructMigration extends ScanningRecipe<MigrationPlan> {
+
+    private final transient MapperMigrationPlan mapperMigrationPlan = new MapperMigrationPlan(this);
+
+    private final transient MapperMigrationPlanSummary mapperMigrationPlanSummary =
+            new MapperMigrationPlanSummary(this);
+
+    private final transient MapperStaleImplementations mapperStaleImplementations =
+            new MapperStaleImplementations(this);
+
+    @Getter
+    @Option(displayName = "Checkpoint file",
+            description = "The checkpoint file of the `RemoveMapstruct` run to plan. Mappers it lists are reported "
+                    + "as skipped.",
+            example = "build/remove-mapstruct.checkpoint",
+            required = false)
+    private final @Nullable String checkpointFile;
+
+    @Getter
+    @Option(displayName = "Include packages",
+            description = "The package globs the run to plan includes. Plans every package when empty.",
+            example = "com.acme.billing.**",
+            required = false)
+    private final @Nullable List<String> includePackages;
+
+    @Getter
+    @Option(displayName = "Exclude packages",
+            description = "The package globs the run to plan excludes.",
+            example = "com.acme.billing.legacy.**",
+            required = false)
+    private final @Nullable List<String> excludePackages;
+
+    @Getter
+    @Option(displayName = "Include source paths",
+            description = "The source path globs the run to plan includes. Plans every file when empty.",
+            example = "billing/**",
+            required = false)
+    private final @Nullable List<String> includeSourcePaths;
+
+    @Getter
+    @Option(displayName = "Exclude source paths",
+            description = "The source path globs the run to plan excludes.",
+            example = "billing/src/test/**",
+            required = false)
+    private final @Nullable List<String> excludeSourcePaths;
+
+    /**
+     * Constructor for the PlanMapstructMigration class.
+     */
+    public PlanMapstructMigration() {
+        this(null, null, null, null, null);
+    }
+
+    @JsonCreator
+    public PlanMapstructMigration(@JsonProperty("checkpointFile") @Nullable String checkpointFile,
+                                  @JsonProperty("includePackages") @Nullable List<String> includePackages,
+                                  @JsonProperty("excludePackages") @Nullable List<String> excludePackages,
+                                  @JsonProperty("includeSourcePaths") @Nullable List<String> includeSourcePaths,
+                                  @JsonProperty("excludeSourcePaths") @Nullable List<String> excludeSourcePaths) {
+        this.checkpointFile = checkpointFile;
+        this.includePackages = includePackages;
+        this.excludePackages = excludePackages;
+        this.includeSourcePaths = includeSourcePaths;
+        this.excludeSourcePaths = excludeSourcePaths;
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Plan the removal of mapstruct";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Reports which @Mapper declarations `RemoveMapstruct` would migrate, with the decorators it would "
+                + "collapse, which it would skip because they are out of scope, listed in the checkpoint, have zero "
+                + "or several generated implementations or a stale one, and how many consumer files it would "
+                + "rewrite. Makes no changes.";
+    }
+
+    @Override
+    public MigrationPlan getInitialValue(ExecutionContext ctx) {
+        return new MigrationPlan(MigrationCheckpoint.load(checkpointFile),
+                MigrationScope.of(includePackages, excludePackages, includeSourcePaths, excludeSourcePaths));
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getScanner(MigrationPlan acc) {
+        return new MigrationPlanScanner(acc);
+    }
+
+    @Override
+    public Collection<? extends SourceFile> generate(MigrationPlan acc, ExecutionContext ctx) {
+        acc.report(ctx, mapperMigrationPlan, mapperMigrationPlanSummary, mapperStaleImplementations);
+        return Collections.emptyList();
+    }
+}
@@ -1,14 +1,35 @@
 package com.santunioni.recipes;
 
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.santunioni.recipes.removeMapstruct.Accumulator;
 import com.santunioni.recipes.removeMapstruct.ImplementationScanner;
 import com.santunioni.recipes.removeMapstruct.MapperProcessor;
+import com.santunioni.recipes.removeMapstruct.MapperProfile;
+import com.santunioni.recipes.removeMapstruct.MigrationCheckpoint;
+import com.santunioni.recipes.removeMapstruct.MigrationScope;
+import com.santunioni.recipes.table.MapperCompilationFailures;
+import com.santunioni.recipes.table.MapperHotness;
+import com.santunioni.recipes.table.MapperMigrationFailures;
+import com.santunioni.recipes.table.MapperNameMismatches;
+import com.santunioni.recipes.table.MapperStaleImplementations;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.extern.java.Log;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 import org.openrewrite.ExecutionContext;
+import org.openrewrite.Option;
 import org.openrewrite.ScanningRecipe;
+import org.openrewrite.SourceFile;
 import org.openrewrite.TreeVisitor;
+import org.openrewrite.Validated;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
 
 /**
  * RemoveMapstruct is a recipe designed to refactor Mapstruct mapper interfaces.
@@ -33,18 +54,190 @@ import org.openrewrite.TreeVisitor;
  * Note: This recipe copies default methods, static methods, and static fields from the interface to the
  * implementation class, removing the default modifier and preserving the static modifier.
  * <p>
+ * Mappers with {@code @DecoratedWith} are merged with their decorator: the decorator's methods call the generated
+ * ones directly instead of through a delegate instance, and the decorator file is deleted. A decorator is kept as
+ * long as its mapper is: when the mapper is out of scope, skipped, or fails to merge.
+ * <p>
+ * Merged mapper files and files whose references were rewritten are stamped with a marker, so later cycles of the
+ * same run skip them without rebuilding anything.
+ * <p>
+ * With {@code isolateFailures}, a mapper that fails to migrate is left untouched and reported in a data table
+ * instead of aborting the run. With {@code checkpointFile}, failed mappers are appended to a file as the run goes,
+ * and so are migrated ones once their files are written, by a runner that writes them; both are skipped when the
+ * run is restarted.
+ * <p>
+ * Package and source path globs bound a run to one part of a repository. Work outside of them is skipped before
+ * any tree is visited, so a run costs in proportion to its slice.
+ * <p>
+ * With {@code nameBasedMatching}, declarations and implementations are paired from package declarations, simple
+ * names and imports, so the sources don't need a classpath to be parsed with. Pairs it can't make, or makes
+ * differently from the attributed types where there are any, are reported in a data table.
+ * <p>
+ * Before anything is edited, each declaration is checked against its generated implementation. A mapper with an
+ * abstract method the implementation lacks, or whose implementation overrides a method it no longer declares, was
+ * generated from an older declaration: it is reported in a data table and left untouched.
+ * <p>
+ * With {@code verifyCompilation}, the run takes one more cycle, in which each merged mapper is compiled in memory,
+ * in parallel, against the other sources of the run and the verification classpath, which is then required. Mappers
+ * that don't compile are reported in a data table, before any result is written.
+ * <p>
+ * With {@code hotnessProfile}, samples from a production JFR recording or CSV export are added up per mapper, and
+ * only the {@code hotMapperCount} hottest mappers are marked for the optimization recipes that run after this one.
+ * The others are only merged, so the rewrites to review are where they pay off. The ranking is reported in a data
+ * table.
+ * <p>
+ * With {@code parallelMerge}, every mapper is merged on the common fork-join pool between scanning and editing, and
+ * the edit visit swaps the merged classes in. The result is the same as a serial run's, in the same order.
+ * <p>
  * It is recommended to run supplementary cleanup tools or recipes (e.g., RemoveUnusedImports)
  * following this recipe to handle any redundant imports or formatting inconsistencies introduced during the process.
  */
 @Log
 @NullMarked
+@EqualsAndHashCode(callSuper = false)
 public class RemoveMapstruct extends ScanningRecipe<Accumulator> {
+    private static final String VERIFICATION_CLASSPATH_REQUIRED =
+            "A verification classpath is required to verify compilation";
+
+    private final transient MapperMigrationFailures mapperMigrationFailures = new MapperMigrationFailures(this);
+
+    private final transient MapperNameMismatches mapperNameMismatches = new MapperNameMismatches(this);
+
+    private final transient MapperStaleImplementations mapperStaleImplementations =
+            new MapperStaleImplementations(this);
+
+    private final transient MapperCompilationFailures mapperCompilationFailures =
+            new MapperCompilationFailures(this);
+
+    private final transient MapperHotness mapperHotness = new MapperHotness(this);
+
+    @Getter
+    @Option(displayName = "Isolate failures",
+            description = "When true, a mapper that fails to migrate is left untouched and reported with its stack "
+                    + "trace, and the run carries on. When false, the first failure aborts the run.",
+            required = false)
+    private final @Nullable Boolean isolateFailures;
+
+    @Getter
+    @Option(displayName = "Checkpoint file",
+            description = "A file the run appends the mappers that fail to, and the standalone runner the mappers "
+                    + "whose migrated files it wrote. Mappers it lists are skipped when the run is restarted with "
+                    + "the same file.",
+            example = "build/remove-mapstruct.checkpoint",
+            required = false)
+    private final @Nullable String checkpointFile;
+
+    @Getter
+    @Option(displayName = "Include packages",
+            description = "Only mappers in packages matching one of these globs are migrated. `*` matches one "
+                    + "package segment, `**` any number of them. Migrates every package when empty.",
+            example = "com.acme.billing.**",
+            required = false)
+    private final @Nullable List<String> includePackages;
+
+    @Getter
+    @Option(displayName = "Exclude packages",
+            description = "Mappers in packages matching one of these globs are not migrated, even when included.",
+            example = "com.acme.billing.legacy.**",
+            required = false)
+    private final @Nullable List<String> excludePackages;
+
+    @Getter
+    @Option(displayName = "Include source paths",
+            description = "Only files whose source path matches one of these globs are visited, declarations and "
+                    + "consumers alike. Visits every file when empty.",
+            example = "billing/**",
+            required = false)
+    private final @Nullable List<String> includeSourcePaths;
+
+    @Getter
+    @Option(displayName = "Exclude source paths",
+            description = "Files whose source path matches one of these globs are not visited, even when included.",
+            example = "billing/src/test/**",
+            required = false)
+    private final @Nullable List<String> excludeSourcePaths;
+
+    @Getter
+    @Option(displayName = "Name based matching",
+            description = "When true, declarations and generated implementations are linked by package, simple "
+                    + "names and imports instead of attributed types, so sources parsed without a classpath can be "
+                    + "migrated. What it can't pair is reported in a data table.",
+            required = false)
+    private final @Nullable Boolean nameBasedMatching;
+
+    @Getter
+    @Option(displayName = "Verify compilation",
+            description = "When true, each merged mapper is compiled in memory against the other sources of the run "
+                    + "and the verification classpath, and the ones that don't compile are reported in a data table.",
+            required = false)
+    private final @Nullable Boolean verifyCompilation;
+
+    @Getter
+    @Option(displayName = "Verification classpath",
+            description = "The jars and class directories merged mappers are compiled against. Required when "
+                    + "compilation is verified: the classpath the recipe itself runs with is the build tool's, not "
+                    + "the project's.",
+            example = "build/classes/java/main",
+            required = false)
+    private final @Nullable List<String> verificationClasspath;
+
+    @Getter
+    @Option(displayName = "Hotness profile",
+            description = "A JFR recording with execution samples, or a CSV file of `<class>.<method>,<samples>` "
+                    + "lines, from production. When given, the optimization recipes listed after this one only "
+                    + "rewrite the hottest mappers, and the others are only merged.",
+            example = "build/production.jfr",
+            required = false)
+    private final @Nullable String hotnessProfile;
+
+    @Getter
+    @Option(displayName = "Hot mapper count",
+            description = "How many of the mappers with the most samples in the hotness profile are optimized. "
+                    + "Defaults to every mapper with samples.",
+            example = "200",
+            required = false)
+    private final @Nullable Integer hotMapperCount;
+
+    @Getter
+    @Option(displayName = "Parallel merge",
+            description = "When true, the merged mapper classes are built on all cores before files are edited, "
+                    + "instead of one after the other as the edit reaches each mapper.",
+            required = false)
+    private final @Nullable Boolean parallelMerge;
 
     /**
      * Constructor for the RemoveMapstruct class.
      * This method initializes an instance of the RemoveMapstruct recipe.
      */
     public RemoveMapstruct() {
+        this(null, null, null, null, null, null, null, null, null, null, null, null);
+    }
+
+    @JsonCreator
+    public RemoveMapstruct(@JsonProperty("isolateFailures") @Nullable Boolean isolateFailures,
+                           @JsonProperty("checkpointFile") @Nullable String checkpointFile,
+                           @JsonProperty("includePackages") @Nullable List<String> includePackages,
+                           @JsonProperty("excludePackages") @Nullable List<String> excludePackages,
+                           @JsonProperty("includeSourcePaths") @Nullable List<String> includeSourcePaths,
+                           @JsonProperty("excludeSourcePaths") @Nullable List<String> excludeSourcePaths,
+                           @JsonProperty("nameBasedMatching") @Nullable Boolean nameBasedMatching,
+                           @JsonProperty("verifyCompilation") @Nullable Boolean verifyCompilation,
+                           @JsonProperty("verificationClasspath") @Nullable List<String> verificationClasspath,
+                           @JsonProperty("hotnessProfile") @Nullable String hotnessProfile,
+                           @JsonProperty("hotMapperCount") @Nullable Integer hotMapperCount,
+                           @JsonProperty("parallelMerge") @Nullable Boolean parallelMerge) {
+        this.isolateFailures = isolateFailures;
+        this.checkpointFile = checkpointFile;
+        this.includePackages = includePackages;
+        this.excludePackages = excludePackages;
+        this.includeSourcePaths = includeSourcePaths;
+        this.excludeSourcePaths = excludeSourcePaths;
+        this.nameBasedMatching = nameBasedMatching;
+        this.verifyCompilation = verifyCompilation;
+        this.verificationClasspath = verificationClasspath;
+        this.hotnessProfile = hotnessProfile;
+        this.hotMapperCount = hotMapperCount;
+        this.parallelMerge = parallelMerge;
     }
 
 
@@ -60,9 +253,42 @@ public class RemoveMapstruct extends ScanningRecipe<Accumulator> {
                 "static methods, and static fields from the interface.";
     }
 
+    @Override
+    public Validated<Object> validate() {
+        return super.validate().and(Validated.test("verificationClasspath", VERIFICATION_CLASSPATH_REQUIRED,
+                verificationClasspath, classpath -> !Boolean.TRUE.equals(verifyCompilation)
+                        || classpath != null && !classpath.isEmpty()));
+    }
+
     @Override
     public Accumulator getInitialValue(ExecutionContext ctx) {
-        return new Accumulator();
+        Accumulator acc = new Accumulator(MigrationCheckpoint.load(checkpointFile),
+                MigrationScope.of(includePackages, excludePackages, includeSourcePaths, excludeSourcePaths),
+                Boolean.TRUE.equals(nameBasedMatching));
+        if (Boolean.TRUE.equals(verifyCompilation)) {
+            if (verificationClasspath == null || verificationClasspath.isEmpty()) {
+                throw new IllegalArgumentException(VERIFICATION_CLASSPATH_REQUIRED);
+            }
+            acc.collectSources();
+        }
+        if (hotnessProfile != null) {
+            acc.useProfile(MapperProfile.load(hotnessProfile), hotMapperCount == null ? 0 : hotMapperCount);
+        }
+        if (Boolean.TRUE.equals(parallelMerge)) {
+            acc.precomputeMerges();
+        }
+        if (Boolean.TRUE.equals(isolateFailures)) {
+            acc.isolateFailures();
+        }
+        return acc;
+    }
+
+    /**
+     * Merged mappers are only seen by the scanner of the next cycle, where they are compiled.
+     */
+    @Override
+    public boolean causesAnotherCycle() {
+        return Boolean.TRUE.equals(verifyCompilation);
     }
 
     @Override
@@ -70,9 +296,26 @@ public class RemoveMapstruct extends ScanningRecipe<Accumulator> {
         return new ImplementationScanner(acc);
     }
 
+    @Override
+    public Collection<? extends SourceFile> generate(Accumulator acc, ExecutionContext ctx) {
+        acc.resolveDecorators();
+        if (Boolean.TRUE.equals(nameBasedMatching)) {
+            acc.reportNameMismatches(ctx, mapperNameMismatches);
+        }
+        acc.detectStaleImplementations(ctx, mapperStaleImplementations);
+        acc.rankHotMappers(ctx, mapperHotness);
+        acc.publishOptimizedMappers(ctx);
+        acc.mergeAhead();
+        if (Boolean.TRUE.equals(verifyCompilation)) {
+            acc.verifyMigratedMappers(ctx, mapperCompilationFailures,
+                    Objects.requireNonNull(verificationClasspath, VERIFICATION_CLASSPATH_REQUIRED));
+        }
+        return Collections.emptyList();
+    }
+
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor(Accumulator acc) {
-        return new MapperProcessor(acc);
+        return new MapperProcessor(acc, Boolean.TRUE.equals(isolateFailures) ? mapperMigrationFailures : null);
     }
 
 }
@@ -0,0 +1,77 @@
+package com.santunioni.recipes;
+
+import com.santunioni.recipes.removeMapstruct.SharedHelperRewriter;
+import com.santunioni.recipes.removeMapstruct.SharedHelpers;
+import org.jspecify.annotations.NullMarked;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.ScanningRecipe;
+import org.openrewrite.SourceFile;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.tree.J;
+
+import java.util.Collection;
+
+/**
+ * ShareMapperHelpers keeps a single copy of the helper methods Mapstruct generates the same way in several mappers.
+ * <p>
+ * Mapstruct writes a private method for each nested property read and each conversion a mapper needs, in every
+ * mapper that needs it, so mappers of the same types repeat the same methods. This recipe moves the helpers that
+ * need nothing from their mapper, and that several migrated mappers of a package have, into a package-private
+ * {@code MapperHelpers} class, and has the mappers call it. That is less bytecode to load and compile, and one method
+ * for the JIT to profile instead of one per mapper.
+ * <p>
+ * Helpers are only shared within a package, so they stay package-private. A helper that is not private keeps its
+ * signature in the mappers, as a call to the shared one, so subclasses, decorators and other classes of the package
+ * that override or call it still do.
+ * <p>
+ * List it after {@link RemoveMapstruct} in the same run: it only rewrites files that recipe merged and marked
+ * optimized, and only counts a helper in those.
+ */
+@NullMarked
+public class ShareMapperHelpers extends ScanningRecipe<SharedHelpers> {
+
+    /**
+     * Constructor for the ShareMapperHelpers class.
+     */
+    public ShareMapperHelpers() {
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Share identical mapper helper methods";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Moves the private helper methods that Mapstruct generated identically in several mappers of a "
+                + "package, merged by `RemoveMapstruct`, into a package-private `MapperHelpers` class, and calls it "
+                + "from the mappers.";
+    }
+
+    @Override
+    public SharedHelpers getInitialValue(ExecutionContext ctx) {
+        return new SharedHelpers();
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getScanner(SharedHelpers acc) {
+        return new JavaIsoVisitor<>() {
+            @Override
+            public J.CompilationUnit visitCompilationUnit(J.CompilationUnit compilationUnit, ExecutionContext ctx) {
+                acc.scan(compilationUnit);
+                return compilationUnit;
+            }
+        };
+    }
+
+    @Override
+    public Collection<? extends SourceFile> generate(SharedHelpers acc, ExecutionContext ctx) {
+        return acc.generate(ctx);
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor(SharedHelpers acc) {
+        return new SharedHelperRewriter(acc);
+    }
+}
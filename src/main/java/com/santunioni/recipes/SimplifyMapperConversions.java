@@ -0,0 +1,44 @@
+package com.santunioni.recipes;
+
+import com.santunioni.recipes.removeMapstruct.ConversionSimplifier;
+import org.jspecify.annotations.NullMarked;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
+
+/**
+ * SimplifyMapperConversions removes the boxing round-trips Mapstruct's built-in type conversions leave in the
+ * migrated mappers, like {@code Integer.valueOf(i).intValue()} or {@code new BigDecimal(String.valueOf(l))}.
+ * <p>
+ * Only conversions of primitive operands are rewritten, so null handling is unchanged. Conversions between boxed
+ * collections and primitive arrays are left alone: the collection holds boxes either way.
+ * <p>
+ * List it after {@link RemoveMapstruct} in the same run: it only looks at files that recipe merged.
+ */
+@NullMarked
+public class SimplifyMapperConversions extends Recipe {
+
+    /**
+     * Constructor for the SimplifyMapperConversions class.
+     */
+    public SimplifyMapperConversions() {
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Simplify type conversions in migrated mappers";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Rewrites boxing round-trips left by Mapstruct's built-in conversions, such as "
+                + "`Integer.valueOf(i).intValue()`, `Integer.parseInt(String.valueOf(i))` and "
+                + "`new BigDecimal(String.valueOf(l))`, into their primitive forms in mappers merged by "
+                + "`RemoveMapstruct`. Boxed operands are left alone, so null handling does not change.";
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return new ConversionSimplifier();
+    }
+}
@@ -0,0 +1,72 @@
+package com.santunioni.recipes;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.santunioni.recipes.removeMapstruct.BytecodeSizeEstimator;
+import com.santunioni.recipes.removeMapstruct.HugeMethodSplitter;
+import com.santunioni.recipes.table.MapperSplitMethods;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Option;
+import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
+
+/**
+ * SplitHugeMapperMethods splits the methods of the migrated mappers that are too large for the JIT.
+ * <p>
+ * HotSpot never compiles a method of more than 8000 bytes of bytecode ({@code HugeMethodLimit}), so the mapping
+ * method of a class with hundreds of properties always runs interpreted. This recipe estimates the bytecode size of
+ * each method and moves the property mappings of the ones over the limit, in order, into private methods small
+ * enough to be compiled and inlined. Statements that read the same source property stay together. Each method over
+ * the limit is reported, with the methods it was split into, or why it could not be split.
+ * <p>
+ * List it after {@link RemoveMapstruct} in the same run: it only looks at files that recipe merged.
+ */
+@NullMarked
+@EqualsAndHashCode(callSuper = false)
+public class SplitHugeMapperMethods extends Recipe {
+
+    private final transient MapperSplitMethods mapperSplitMethods = new MapperSplitMethods(this);
+
+    @Getter
+    @Option(displayName = "Maximum method size",
+            description = "Methods whose estimated bytecode size is over this many bytes are split. Defaults to "
+                    + "8000, HotSpot's `HugeMethodLimit`.",
+            example = "2000",
+            required = false)
+    private final @Nullable Integer maxMethodSize;
+
+    /**
+     * Constructor for the SplitHugeMapperMethods class.
+     */
+    public SplitHugeMapperMethods() {
+        this(null);
+    }
+
+    @JsonCreator
+    public SplitHugeMapperMethods(@JsonProperty("maxMethodSize") @Nullable Integer maxMethodSize) {
+        this.maxMethodSize = maxMethodSize;
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Split huge methods of migrated mappers";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Splits the methods of mappers merged by `RemoveMapstruct` whose estimated bytecode size is over "
+                + "HotSpot's `HugeMethodLimit`, or a given size, into private methods called in order, so they are "
+                + "JIT-compiled. Reports what was split.";
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return new HugeMethodSplitter(maxMethodSize == null || maxMethodSize < 1
+                ? BytecodeSizeEstimator.HUGE_METHOD_LIMIT
+                : maxMethodSize, mapperSplitMethods);
+    }
+}
@@ -0,0 +1,47 @@
+package com.santunioni.recipes;
+
+import com.santunioni.recipes.removeMapstruct.MappingTargetUpdateRewriter;
+import org.jspecify.annotations.NullMarked;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
+
+/**
+ * UpdateMappingTargetsInPlace refills the collections of {@code @MappingTarget} update methods in place, in the
+ * migrated mappers.
+ * <p>
+ * For a collection whose elements are mapped, Mapstruct builds a new collection of mapped elements, then clears the
+ * target collection and copies the new one into it. This recipe adds the mapped elements to the cleared target
+ * collection directly, so an update allocates no intermediate collection. A null source collection still sets the
+ * target to null, and a target without a collection still gets a new one.
+ * <p>
+ * Collections whose elements are copied as they are, and the other collection strategies, are left alone.
+ * <p>
+ * List it after {@link RemoveMapstruct} in the same run: it only looks at files that recipe merged.
+ */
+@NullMarked
+public class UpdateMappingTargetsInPlace extends Recipe {
+
+    /**
+     * Constructor for the UpdateMappingTargetsInPlace class.
+     */
+    public UpdateMappingTargetsInPlace() {
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Update mapping target collections in place";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Rewrites the `clear()` and `addAll()` of a freshly mapped collection that Mapstruct generates for "
+                + "`@MappingTarget` update methods, in mappers merged by `RemoveMapstruct`, so mapped elements are "
+                + "added to the target collection directly. Null and absent collections are handled as before.";
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return new MappingTargetUpdateRewriter();
+    }
+}
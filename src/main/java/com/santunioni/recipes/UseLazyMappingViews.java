@@ -0,0 +1,57 @@
+package com.santunioni.recipes;
+
+import com.santunioni.recipes.removeMapstruct.LazyViewRewriter;
+import com.santunioni.recipes.table.MapperLazyViews;
+import org.jspecify.annotations.NullMarked;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
+
+/**
+ * UseLazyMappingViews has the migrated mappers return read-only views of their source, instead of copies of it,
+ * for targets that are interfaces.
+ * <p>
+ * A mapping method on a read path builds the whole target graph, mapped collections included, even when the
+ * result is serialized right away and most of it is read once. This recipe replaces the methods that only set the
+ * properties of an interface target from their source with an inner view class, whose getters read the source when
+ * they are called. List properties mapped element by element become lists that map each element as it is read.
+ * Targets that are classes keep their copy, as do targets whose copy compares by value, and methods that do more
+ * than set properties. Each method of that shape is reported, with its view or why it has none.
+ * <p>
+ * A view is not a snapshot but a live read of the source: changes made to the source after the mapping show
+ * through it, and what is read twice is mapped twice. It also has the identity {@code equals}, {@code hashCode} and
+ * {@code toString} of {@code Object}, not the value ones of the copy. Only run it for mappers whose results are
+ * read soon after they are made, and not kept, compared or logged.
+ * <p>
+ * List it after {@link RemoveMapstruct} in the same run: it only rewrites files that recipe merged.
+ */
+@NullMarked
+public class UseLazyMappingViews extends Recipe {
+
+    private final transient MapperLazyViews mapperLazyViews = new MapperLazyViews(this);
+
+    /**
+     * Constructor for the UseLazyMappingViews class.
+     */
+    public UseLazyMappingViews() {
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Use lazy views for interface targets of migrated mappers";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Replaces the mapping methods of mappers merged by `RemoveMapstruct` that only set the properties of "
+                + "an interface target from their source with a read-only view of the source, whose getters map "
+                + "on demand, lists element by element. Views read the source live instead of copying it, and "
+                + "have the identity `equals`, `hashCode` and `toString` of `Object`: targets whose copy compares "
+                + "by value are skipped. Reports the methods it rewrites and those it can't.";
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return new LazyViewRewriter(mapperLazyViews);
+    }
+}
@@ -0,0 +1,46 @@
+package com.santunioni.recipes;
+
+import com.santunioni.recipes.removeMapstruct.ValueMappingTableRewriter;
+import org.jspecify.annotations.NullMarked;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
+
+/**
+ * UseValueMappingTables replaces the {@code switch} of the enum and value mapping methods in the migrated mappers
+ * with a lookup in a static final table.
+ * <p>
+ * Enum sources are looked up in an {@code EnumMap}, and String sources in an immutable {@code Map}, both built
+ * once when the mapper class is loaded. The null check in front of the switch is kept, so
+ * {@code MappingConstants.NULL} mappings behave as before, and the default branch of {@code ANY_REMAINING} and
+ * {@code ANY_UNMAPPED} becomes the default of the lookup. Unknown values still throw where they threw before.
+ * <p>
+ * List it after {@link RemoveMapstruct} in the same run: it only looks at files that recipe merged.
+ */
+@NullMarked
+public class UseValueMappingTables extends Recipe {
+
+    /**
+     * Constructor for the UseValueMappingTables class.
+     */
+    public UseValueMappingTables() {
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Use lookup tables for value mappings in migrated mappers";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Replaces the `switch` Mapstruct generates for enum-to-enum, enum-to-String and String-to-enum value "
+                + "mappings, in mappers merged by `RemoveMapstruct`, with a lookup in a static final `EnumMap` or "
+                + "immutable `Map`. Null mappings, `ANY_REMAINING` and `ANY_UNMAPPED` defaults, and the exception "
+                + "thrown for unknown values are kept.";
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return new ValueMappingTableRewriter();
+    }
+}
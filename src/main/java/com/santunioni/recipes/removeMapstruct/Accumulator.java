@@ -1,36 +1,547 @@
 package com.santunioni.recipes.removeMapstruct;
 
+import com.santunioni.recipes.table.MapperCompilationFailures;
+import com.santunioni.recipes.table.MapperHotness;
+import com.santunioni.recipes.table.MapperNameMismatches;
+import com.santunioni.recipes.table.MapperStaleImplementations;
 import lombok.extern.java.Log;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
 import org.openrewrite.java.tree.TypeTree;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
+/**
+ * What {@code RemoveMapstruct} learns from scanning: the links between mapper declarations, their generated
+ * implementations and their decorators, and which mappers the edit visit skips.
+ * <p>
+ * Threading: scanning fills it from one thread. The {@code generate} steps then resolve and rank what was scanned,
+ * synchronized, and the edit visit only reads it, apart from the merged mappers it records. The merges made ahead of
+ * the edit visit are kept by {@link PrecomputedMerges}, and the sources merged mappers are compiled with by
+ * {@link VerificationSources}, each with its own lock.
+ */
 @Log
 @NullMarked
 public class Accumulator {
+    private static final String OPTIMIZED_MAPPERS = Accumulator.class.getName() + ".OPTIMIZED_MAPPERS";
+
     private final Map<String, List<J.CompilationUnit>> mapSuperToItsImplementers = new HashMap<>();
 
     private final Map<String, String> mapImplementerToItsSup = new HashMap<>();
 
+    private final Map<String, DecoratorCandidate> decoratorCandidates = new HashMap<>();
+
+    private final Map<String, MapperDecoration> decorationsByMapper = new HashMap<>();
+
+    private final Map<Path, String> collapsedDecorators = new HashMap<>();
+
+    private final Set<String> mergedMappers = new HashSet<>();
+
+    private boolean decoratorsResolved;
+
+    private final MigrationCheckpoint checkpoint;
+
+    private final MigrationScope scope;
+
+    private final boolean nameBasedMatching;
+
+    private final Map<String, Path> declaredMappers = new LinkedHashMap<>();
+
+    private final Map<Path, MapperNameMismatches.Row> typeDisagreements = new LinkedHashMap<>();
+
+    private boolean nameMismatchesReported;
+
+    private final Map<String, MapperContract> mapperContracts = new HashMap<>();
+
+    private final Set<String> staleMappers = new HashSet<>();
+
+    private final Set<String> reportedStaleMappers = new HashSet<>();
+
+    private final Set<String> excludedMappers = new HashSet<>();
+
+    /**
+     * Null unless the merged mappers are compiled.
+     */
+    private @Nullable VerificationSources verificationSources;
+
+    private MapperProfile profile = MapperProfile.none();
+
+    private int hotMapperCount;
+
+    /**
+     * Null until the profile is ranked, and when there is no profile: every mapper is optimized then.
+     */
+    private @Nullable Set<String> hotMappers;
+
+    private boolean precomputingMerges;
+
+    private boolean isolatingFailures;
+
+    private final Map<String, J.CompilationUnit> declarationFiles = new LinkedHashMap<>();
+
+    private final PrecomputedMerges precomputedMerges = new PrecomputedMerges();
+
+    public Accumulator() {
+        this(MigrationCheckpoint.none(), MigrationScope.unrestricted());
+    }
+
+    public Accumulator(MigrationCheckpoint checkpoint, MigrationScope scope) {
+        this(checkpoint, scope, false);
+    }
+
+    /**
+     * @param nameBasedMatching link declarations and implementations by package, simple names and imports instead
+     *                          of attributed types, so sources parsed without a classpath can be migrated
+     */
+    public Accumulator(MigrationCheckpoint checkpoint, MigrationScope scope, boolean nameBasedMatching) {
+        this.checkpoint = checkpoint;
+        this.scope = scope;
+        this.nameBasedMatching = nameBasedMatching;
+    }
+
     void addLinking(TypeTree superDecl, J.CompilationUnit mapperImpl) {
-        final String superFqn = Objects.requireNonNull(superDecl.getType()).toString();
-        if (!mapSuperToItsImplementers.containsKey(superFqn)) {
-            mapSuperToItsImplementers.put(superFqn, new ArrayList<>());
-        }
-        mapSuperToItsImplementers.get(superFqn).add(mapperImpl);
-        JavaType.FullyQualified mapperImplFqn = mapperImpl.getClasses().get(0).getType();
-        if (mapperImplFqn != null) {
-            String implFqn = mapperImplFqn.getFullyQualifiedName();
+        MigrationEvents.AddLinking event = new MigrationEvents.AddLinking();
+        event.begin();
+        final String superFqn = nameBasedMatching
+                ? nameBasedSuperFqn(superDecl, mapperImpl)
+                : Objects.requireNonNull(superDecl.getType()).toString();
+        decoratorsResolved = false;
+        List<J.CompilationUnit> implementers =
+                mapSuperToItsImplementers.computeIfAbsent(superFqn, fqn -> new ArrayList<>());
+        // The same implementation is scanned again in every cycle, it must not count as a second implementer
+        implementers.removeIf(linked -> linked.getSourcePath().equals(mapperImpl.getSourcePath()));
+        implementers.add(mapperImpl);
+        J.ClassDeclaration mapperImplClass = mapperImpl.getClasses().get(0);
+        String implFqn = nameBasedMatching
+                ? NameBasedTypes.declaredFqn(mapperImpl, mapperImplClass)
+                : mapperImplClass.getType() == null ? null : mapperImplClass.getType().getFullyQualifiedName();
+        if (implFqn != null) {
             mapImplementerToItsSup.put(implFqn, superFqn);
         }
+
+        if (event.shouldCommit()) {
+            event.mapperFqn = superFqn;
+            event.implFqn = implFqn;
+            event.implementers = implementers.size();
+            event.commit();
+        }
+    }
+
+    /**
+     * The super type name as written in the implementation. Where the type is attributed anyway and names another
+     * type, the disagreement is kept for the mismatch report.
+     */
+    private String nameBasedSuperFqn(TypeTree superDecl, J.CompilationUnit mapperImpl) {
+        String resolved = NameBasedTypes.resolve(mapperImpl, superDecl);
+        if (resolved == null) {
+            return Objects.requireNonNull(superDecl.getType()).toString();
+        }
+        if (superDecl.getType() instanceof JavaType.FullyQualified attributed
+                && !(attributed instanceof JavaType.Unknown)
+                && !resolved.equals(attributed.getFullyQualifiedName())) {
+            typeDisagreements.put(mapperImpl.getSourcePath(), new MapperNameMismatches.Row(
+                    mapperImpl.getSourcePath().toString(), resolved, "TYPE_DISAGREES",
+                    "attributed as " + attributed.getFullyQualifiedName()));
+        }
+        return resolved;
+    }
+
+    /**
+     * Records a {@code @Mapper} declaration found by name, for the mismatch report.
+     */
+    void addDeclaration(String mapperFqn, Path sourcePath) {
+        declaredMappers.put(mapperFqn, sourcePath);
+    }
+
+    boolean isNameBasedMatching() {
+        return nameBasedMatching;
+    }
+
+    /**
+     * Reports the declarations name based matching found no single implementation for, the implementations it
+     * found no declaration for, and the links attributed types disagree with. Written once per run.
+     */
+    public synchronized void reportNameMismatches(ExecutionContext ctx, MapperNameMismatches table) {
+        if (nameMismatchesReported) {
+            return;
+        }
+        nameMismatchesReported = true;
+
+        Set<Path> linkedImplementations = new HashSet<>();
+        declaredMappers.forEach((mapperFqn, sourcePath) -> {
+            List<J.CompilationUnit> implementers = getImplementers(mapperFqn);
+            implementers.forEach(impl -> linkedImplementations.add(impl.getSourcePath()));
+            if (implementers.size() == 1) {
+                return;
+            }
+            List<String> implementerPaths = new ArrayList<>(implementers.size());
+            implementers.forEach(impl -> implementerPaths.add(impl.getSourcePath().toString()));
+            table.insertRow(ctx, new MapperNameMismatches.Row(sourcePath.toString(), mapperFqn,
+                    implementers.isEmpty() ? "NO_IMPLEMENTATION" : "MULTIPLE_IMPLEMENTATIONS",
+                    String.join(",", implementerPaths)));
+        });
+
+        Set<Path> reportedImplementations = new HashSet<>();
+        mapSuperToItsImplementers.forEach((superFqn, implementers) -> {
+            for (J.CompilationUnit impl : implementers) {
+                if (!linkedImplementations.contains(impl.getSourcePath())
+                        && reportedImplementations.add(impl.getSourcePath())) {
+                    table.insertRow(ctx, new MapperNameMismatches.Row(impl.getSourcePath().toString(), superFqn,
+                            "NO_DECLARATION", ""));
+                }
+            }
+        });
+
+        typeDisagreements.values().forEach(row -> table.insertRow(ctx, row));
+    }
+
+    void addDecorator(J.CompilationUnit decoratorFile, String mapperFqn) {
+        JavaType.FullyQualified decoratorType = decoratorFile.getClasses().get(0).getType();
+        if (decoratorType != null) {
+            decoratorCandidates.put(decoratorType.getFullyQualifiedName(),
+                    new DecoratorCandidate(decoratorFile, mapperFqn));
+            decoratorsResolved = false;
+        }
+    }
+
+    /**
+     * A {@code @DecoratedWith} mapper has two generated implementations: {@code XMapperImpl}, which extends the
+     * decorator and forwards to {@code XMapperImpl_}, which holds the generated methods. For each decorator that
+     * {@link MapperDecoration} can collapse, only {@code XMapperImpl_} is kept as the implementer, and references to
+     * {@code XMapperImpl} and to the decorator are linked to the mapper. Decorators it can't collapse leave both
+     * implementations in place, so the mapper is skipped as before.
+     * <p>
+     * Runs once after scanning, from {@code generate}, before the first file is visited or merged, and again in a
+     * later cycle only if scanning linked anything new.
+     */
+    public synchronized void resolveDecorators() {
+        if (decoratorsResolved) {
+            return;
+        }
+        decoratorsResolved = true;
+
+        decoratorCandidates.forEach((decoratorFqn, candidate) -> {
+            String mapperFqn = candidate.mapperFqn();
+            List<J.CompilationUnit> forwardingImplementers = getImplementers(decoratorFqn);
+            if (forwardingImplementers.size() != 1 || checkpoint.isSkipped(mapperFqn)) {
+                return;
+            }
+            J.CompilationUnit forwardingImpl = forwardingImplementers.get(0);
+
+            List<J.CompilationUnit> delegateImplementers = new ArrayList<>(getImplementers(mapperFqn));
+            delegateImplementers.removeIf(impl -> impl.getSourcePath().equals(forwardingImpl.getSourcePath()));
+            if (delegateImplementers.size() != 1) {
+                return;
+            }
+
+            MapperDecoration decoration =
+                    MapperDecoration.of(candidate.decoratorFile(), mapperFqn, delegateImplementers.get(0));
+            if (decoration == null) {
+                log.warning("Decorator " + decoratorFqn + " does more than call its delegate. " + mapperFqn
+                        + " is left with its generated implementations.");
+                return;
+            }
+
+            mapSuperToItsImplementers.put(mapperFqn, delegateImplementers);
+            mapSuperToItsImplementers.remove(decoratorFqn);
+            JavaType.FullyQualified forwardingType = forwardingImpl.getClasses().get(0).getType();
+            if (forwardingType != null) {
+                mapImplementerToItsSup.put(forwardingType.getFullyQualifiedName(), mapperFqn);
+            }
+            mapImplementerToItsSup.put(decoratorFqn, mapperFqn);
+            decorationsByMapper.put(mapperFqn, decoration);
+            collapsedDecorators.put(candidate.decoratorFile().getSourcePath(), mapperFqn);
+        });
+    }
+
+    @Nullable MapperDecoration getDecoration(String mapperFqn) {
+        return decorationsByMapper.get(mapperFqn);
+    }
+
+    /**
+     * True for decorator files whose methods are merged into their mapper, so the file itself goes away: a decorator
+     * is kept whenever its mapper is skipped, is out of scope or fails to merge. The edit visit may come to the
+     * decorator before its mapper. It goes away then only if {@link #mergeAhead()} merged the mapper, and the merge
+     * is promised to the mapper in case merging it again fails, see {@link PrecomputedMerges#takePromised}.
+     */
+    synchronized boolean isCollapsedDecorator(Path sourcePath) {
+        String mapperFqn = collapsedDecorators.get(sourcePath);
+        if (mapperFqn == null) {
+            return false;
+        }
+        if (mergedMappers.contains(mapperFqn)) {
+            return true;
+        }
+        return precomputedMerges.promise(mapperFqn);
+    }
+
+    /**
+     * Records a mapper the edit visit merged with its implementation.
+     */
+    synchronized void recordMerged(String mapperFqn) {
+        mergedMappers.add(mapperFqn);
+    }
+
+    /**
+     * Records what a {@code @Mapper} declaration asks of its implementation, for the staleness check.
+     */
+    void addContract(String mapperFqn, MapperContract contract) {
+        mapperContracts.put(mapperFqn, contract);
+    }
+
+    /**
+     * Checks each declaration against its generated implementation before any file is edited. Mappers whose
+     * implementation is out of date are reported, and are then neither merged nor referenced by their mapper name.
+     * Each stale mapper is reported once, however many cycles the run has.
+     */
+    public synchronized void detectStaleImplementations(ExecutionContext ctx, MapperStaleImplementations table) {
+        mapperContracts.forEach((mapperFqn, contract) -> {
+            List<J.CompilationUnit> implementers = getImplementers(mapperFqn);
+            if (implementers.size() != 1) {
+                return;
+            }
+            J.CompilationUnit mapperImplFile = implementers.get(0);
+            List<String> violations = contract.violations(mapperImplFile);
+            if (violations.isEmpty()) {
+                staleMappers.remove(mapperFqn);
+                return;
+            }
+
+            staleMappers.add(mapperFqn);
+            if (reportedStaleMappers.add(mapperFqn)) {
+                log.warning("The generated implementation of " + mapperFqn + " is out of date with its declaration: "
+                        + String.join("; ", violations) + ". Skipping.");
+                table.insertRow(ctx, new MapperStaleImplementations.Row(contract.getSourcePath().toString(),
+                        mapperFqn, mapperImplFile.getSourcePath().toString(), String.join("; ", violations)));
+            }
+        });
+    }
+
+    boolean isStale(String mapperFqn) {
+        return staleMappers.contains(mapperFqn);
+    }
+
+    /**
+     * Records a mapper whose declaration is outside the source paths of the run. Its implementation is still
+     * linked, but neither merged nor referenced by the mapper name.
+     */
+    void excludeMapper(String mapperFqn) {
+        excludedMappers.add(mapperFqn);
+    }
+
+    /**
+     * Keeps the sources seen by the scanner, for the compilation of the merged mappers.
+     */
+    public void collectSources() {
+        verificationSources = new VerificationSources();
+    }
+
+    /**
+     * Where the scanner keeps the sources for {@link #verifyMigratedMappers}, null when they are not compiled.
+     */
+    @Nullable VerificationSources getVerificationSources() {
+        return verificationSources;
+    }
+
+    /**
+     * See {@link VerificationSources#verify}. Does nothing unless {@link #collectSources()} was called.
+     */
+    public void verifyMigratedMappers(ExecutionContext ctx, MapperCompilationFailures table, List<String> classpath) {
+        if (verificationSources != null) {
+            verificationSources.verify(ctx, table, classpath);
+        }
+    }
+
+    /**
+     * Limits the optimization recipes to the mappers with the most samples in the profile.
+     *
+     * @param hotMapperCount how many mappers are optimized; every mapper with samples when not positive
+     */
+    public void useProfile(MapperProfile profile, int hotMapperCount) {
+        this.profile = profile;
+        this.hotMapperCount = hotMapperCount;
+    }
+
+    /**
+     * Resolves the sampled methods to the methods of the mapper declarations, and picks the hottest mappers. Runs
+     * once, after the first scan, and reports every mapper with samples.
+     * <p>
+     * A declaration method has the most samples any class of its mapper has for it: a decorator and the
+     * implementation it delegates to are on the same stacks, and adding them up would count a sample twice. A mapper
+     * is as hot as its hottest declaration method, for the same reason: one mapping method calls others, like a list
+     * mapping calls the element one. Helpers of the implementation only count through the methods that call them.
+     */
+    public synchronized void rankHotMappers(ExecutionContext ctx, MapperHotness table) {
+        if (profile.isEmpty() || hotMappers != null) {
+            return;
+        }
+
+        Map<String, Long> samplesByMapper = new HashMap<>();
+        Map<String, String> hottestMethods = new HashMap<>();
+        Map<String, Map<String, Long>> samplesByDeclarationMethod = new HashMap<>();
+        profile.getSamplesByMethod().forEach((method, samples) -> {
+            int dot = method.lastIndexOf('.');
+            String mapperFqn = sampledMapper(method.substring(0, dot));
+            MapperContract contract = mapperFqn == null ? null : mapperContracts.get(mapperFqn);
+            String methodName = method.substring(dot + 1);
+            if (contract != null && contract.declares(methodName)) {
+                samplesByDeclarationMethod.computeIfAbsent(mapperFqn, fqn -> new HashMap<>())
+                        .merge(methodName, samples, Math::max);
+            }
+        });
+        samplesByDeclarationMethod.forEach((mapperFqn, samplesByMethod) -> samplesByMethod.entrySet().stream()
+                .max(Map.Entry.<String, Long>comparingByValue().thenComparing(Map.Entry.comparingByKey(),
+                        Comparator.reverseOrder()))
+                .ifPresent(hottest -> {
+                    samplesByMapper.put(mapperFqn, hottest.getValue());
+                    hottestMethods.put(mapperFqn, hottest.getKey());
+                }));
+
+        List<Map.Entry<String, Long>> ranked = new ArrayList<>(samplesByMapper.entrySet());
+        ranked.sort(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()));
+        hotMappers = new HashSet<>();
+        for (int i = 0; i < ranked.size(); i++) {
+            String mapperFqn = ranked.get(i).getKey();
+            boolean hot = hotMapperCount <= 0 || i < hotMapperCount;
+            if (hot) {
+                hotMappers.add(mapperFqn);
+            }
+            table.insertRow(ctx, new MapperHotness.Row(mapperFqn, i + 1, ranked.get(i).getValue(),
+                    hottestMethods.getOrDefault(mapperFqn, ""), hot));
+        }
+        log.info(hotMappers.size() + " of " + mapperContracts.size() + " mappers are hot enough to be optimized, "
+                + "the others are only merged.");
+    }
+
+    /**
+     * The mapper a sampled class belongs to: a mapper declaration, one of its generated implementations, or a
+     * decorator merged into it.
+     */
+    private @Nullable String sampledMapper(String className) {
+        String superFqn = mapImplementerToItsSup.get(className);
+        if (superFqn != null) {
+            return superFqn;
+        }
+        return mapSuperToItsImplementers.containsKey(className) ? className : null;
+    }
+
+    /**
+     * True when the optimization recipes should rewrite the mapper once it is merged.
+     */
+    boolean isOptimized(String mapperFqn) {
+        return hotMappers == null || hotMappers.contains(mapperFqn);
+    }
+
+    /**
+     * Merges every mapper in parallel before the edit visit, not only the decorated ones.
+     */
+    public void precomputeMerges() {
+        precomputingMerges = true;
+    }
+
+    /**
+     * Leaves a mapper that fails to migrate as it was, so merges made ahead of the edit visit fail as it would.
+     */
+    public void isolateFailures() {
+        isolatingFailures = true;
+    }
+
+    boolean isIsolatingFailures() {
+        return isolatingFailures;
+    }
+
+    void addDeclarationFile(String mapperFqn, J.CompilationUnit mapperDeclFile) {
+        declarationFiles.put(mapperFqn, mapperDeclFile);
+    }
+
+    /**
+     * Tells the other recipes of the run which of the declarations scanned in this cycle the edit visit is going to
+     * merge and mark optimized. Their scanners only see the generated implementations of those in the first cycle,
+     * and their generate step runs before the edit visit. A mapper may still fail to merge.
+     */
+    public synchronized void publishOptimizedMappers(ExecutionContext ctx) {
+        Set<String> optimized = new HashSet<>();
+        declarationFiles.keySet().forEach(mapperFqn -> {
+            if (getImplementers(mapperFqn).size() == 1
+                    && !staleMappers.contains(mapperFqn)
+                    && !checkpoint.isSkipped(mapperFqn)
+                    && isOptimized(mapperFqn)) {
+                optimized.add(mapperFqn);
+            }
+        });
+        ctx.putMessage(OPTIMIZED_MAPPERS, optimized);
+    }
+
+    /**
+     * The mappers {@link #publishOptimizedMappers} announced, none when no migration is part of the run.
+     */
+    static Set<String> optimizedMappers(ExecutionContext ctx) {
+        return ctx.getMessage(OPTIMIZED_MAPPERS, Collections.emptySet());
+    }
+
+    /**
+     * Merges mapper declarations with their implementations before the edit visit, so that it only has to swap the
+     * results in. Decorated mappers are always merged here: the edit visit may come to their decorator file before
+     * them, and must know by then whether the merge succeeds before it deletes the decorator. With
+     * {@link #precomputeMerges()}, every other mapper is merged too, on the common fork-join pool. The merges only
+     * read the accumulator, which scanning is done with, and each is the same as the edit visit would make, whatever
+     * the order they finish in.
+     * <p>
+     * Mappers the edit visit would skip or report are left to it. So is a declaration file another recipe changed
+     * before this one visits it, as it is no longer the file that was merged.
+     * <p>
+     * Not synchronized: the merges call back into the accumulator from the pool's threads.
+     */
+    public void mergeAhead() {
+        precomputedMerges.replaceWith(List.of());
+        if (declarationFiles.isEmpty()) {
+            return;
+        }
+
+        List<J.CompilationUnit> mapperDeclFiles = new ArrayList<>(declarationFiles.size());
+        declarationFiles.forEach((mapperFqn, mapperDeclFile) -> {
+            if ((precomputingMerges || decorationsByMapper.containsKey(mapperFqn))
+                    && getImplementers(mapperFqn).size() == 1
+                    && !staleMappers.contains(mapperFqn)
+                    && !checkpoint.isSkipped(mapperFqn)) {
+                mapperDeclFiles.add(mapperDeclFile);
+            }
+        });
+        // The next cycle scans them again
+        declarationFiles.clear();
+
+        long start = System.nanoTime();
+        List<PrecomputedMerges.Merge> merges =
+                (precomputingMerges ? mapperDeclFiles.parallelStream() : mapperDeclFiles.stream())
+                        .map(mapperDeclFile -> MapperProcessor.precompute(this, mapperDeclFile))
+                        .filter(Objects::nonNull)
+                        .toList();
+        precomputedMerges.replaceWith(merges);
+        if (precomputingMerges) {
+            log.info("Merged " + merges.size() + " of " + mapperDeclFiles.size() + " mappers in parallel "
+                    + "in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        }
+    }
+
+    /**
+     * What {@link #mergeAhead()} made, for the edit visit to take.
+     */
+    PrecomputedMerges getPrecomputedMerges() {
+        return precomputedMerges;
     }
 
     J.@Nullable CompilationUnit getImplementer(J.ClassDeclaration compilationUnit) {
@@ -40,18 +551,55 @@ public class Accumulator {
             return null;
         }
 
-        String fqn = compilationUnit.getType().getFullyQualifiedName();
-        List<J.CompilationUnit> implementers = mapSuperToItsImplementers.get(fqn);
+        return getImplementer(compilationUnit.getType().getFullyQualifiedName());
+    }
+
+    J.@Nullable CompilationUnit getImplementer(String fqn) {
+        MigrationEvents.GetImplementer event = new MigrationEvents.GetImplementer();
+        event.begin();
+        List<J.CompilationUnit> implementers = getImplementers(fqn);
+        if (event.shouldCommit()) {
+            event.mapperFqn = fqn;
+            event.implementers = implementers.size();
+            event.commit();
+        }
 
-        if (implementers == null || implementers.size() != 1) {
+        if (implementers.size() != 1) {
             log.severe("Multiple or no generated implementations found for " + fqn + ". Skipping.");
             return null;
         }
         return implementers.get(0);
     }
 
+    List<J.CompilationUnit> getImplementers(String superFqn) {
+        return mapSuperToItsImplementers.getOrDefault(superFqn, Collections.emptyList());
+    }
+
     @Nullable String getSuperFqnFromImplFqn(String implFqn) {
-        return mapImplementerToItsSup.get(implFqn);
+        String superFqn = mapImplementerToItsSup.get(implFqn);
+        // References to a stale, excluded or checkpointed implementation keep pointing at it, as its mapper is not
+        // merged
+        return superFqn == null || staleMappers.contains(superFqn) || excludedMappers.contains(superFqn)
+                || checkpoint.hasFailedBefore(superFqn) || checkpoint.hasMigratedBefore(superFqn)
+                ? null : superFqn;
+    }
+
+    MigrationCheckpoint getCheckpoint() {
+        return checkpoint;
+    }
+
+    MigrationScope getScope() {
+        return scope;
+    }
+
+    /**
+     * True when the scanner found no generated implementation, so there is nothing to merge or rewrite.
+     */
+    boolean isEmpty() {
+        return mapSuperToItsImplementers.isEmpty();
+    }
+
+    private record DecoratorCandidate(J.CompilationUnit decoratorFile, String mapperFqn) {
     }
 
 }
@@ -0,0 +1,233 @@
+package com.santunioni.recipes.removeMapstruct;
+
+import org.jspecify.annotations.NullMarked;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.tree.Expression;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Estimates the bytecode size of a method from its source tree, close enough to compare it with HotSpot's
+ * inlining and compilation limits.
+ * <p>
+ * Each node is weighted by the instructions javac typically emits for it: a load for an identifier, an invoke with
+ * its constant pool index for a call, new/dup/invokespecial for an instantiation, a compare and branch for a
+ * condition, and so on.
+ */
+@NullMarked
+public final class BytecodeSizeEstimator {
+    /**
+     * HotSpot's {@code MaxInlineSize}: methods up to this size are inlined even when they are not hot.
+     */
+    public static final int MAX_INLINE_SIZE = 35;
+
+    /**
+     * HotSpot's {@code FreqInlineSize}: hot methods larger than this are not inlined into their callers.
+     */
+    public static final int FREQ_INLINE_SIZE = 325;
+
+    /**
+     * HotSpot's {@code HugeMethodLimit}: methods larger than this are never JIT-compiled.
+     */
+    public static final int HUGE_METHOD_LIMIT = 8000;
+
+    private BytecodeSizeEstimator() {
+    }
+
+    public static int estimate(J tree) {
+        AtomicInteger size = new AtomicInteger();
+        new JavaIsoVisitor<AtomicInteger>() {
+            @Override
+            public J.Identifier visitIdentifier(J.Identifier identifier, AtomicInteger size) {
+                size.addAndGet(1);
+                return identifier;
+            }
+
+            @Override
+            public J.Literal visitLiteral(J.Literal literal, AtomicInteger size) {
+                size.addAndGet(2);
+                return literal;
+            }
+
+            @Override
+            public J.FieldAccess visitFieldAccess(J.FieldAccess fieldAccess, AtomicInteger size) {
+                size.addAndGet(3);
+                // The name is part of the field instruction, only the target is loaded separately
+                visit(fieldAccess.getTarget(), size);
+                return fieldAccess;
+            }
+
+            @Override
+            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, AtomicInteger size) {
+                size.addAndGet(method.getSelect() == null ? 4 : 3);
+                visit(method.getSelect(), size);
+                for (Expression argument : method.getArguments()) {
+                    visit(argument, size);
+                }
+                return method;
+            }
+
+            @Override
+            public J.NewClass visitNewClass(J.NewClass newClass, AtomicInteger size) {
+                size.addAndGet(7);
+                for (Expression argument : newClass.getArguments()) {
+                    visit(argument, size);
+                }
+                visit(newClass.getBody(), size);
+                return newClass;
+            }
+
+            @Override
+            public J.NewArray visitNewArray(J.NewArray newArray, AtomicInteger size) {
+                size.addAndGet(4);
+                return super.visitNewArray(newArray, size);
+            }
+
+            @Override
+            public J.Binary visitBinary(J.Binary binary, AtomicInteger size) {
+                // String concatenation compiles to an invokedynamic, comparisons to a compare and a branch
+                size.addAndGet(switch (binary.getOperator()) {
+                    case Equal, NotEqual, LessThan, LessThanOrEqual, GreaterThan, GreaterThanOrEqual, And, Or -> 4;
+                    case Addition -> binary.getType() == JavaType.Primitive.String ? 5 : 1;
+                    default -> 1;
+                });
+                return super.visitBinary(binary, size);
+            }
+
+            @Override
+            public J.Unary visitUnary(J.Unary unary, AtomicInteger size) {
+                size.addAndGet(2);
+                return super.visitUnary(unary, size);
+            }
+
+            @Override
+            public J.Assignment visitAssignment(J.Assignment assignment, AtomicInteger size) {
+                size.addAndGet(1);
+                return super.visitAssignment(assignment, size);
+            }
+
+            @Override
+            public J.AssignmentOperation visitAssignmentOperation(J.AssignmentOperation assignOp, AtomicInteger size) {
+                size.addAndGet(3);
+                return super.visitAssignmentOperation(assignOp, size);
+            }
+
+            @Override
+            public J.VariableDeclarations.NamedVariable visitVariable(J.VariableDeclarations.NamedVariable variable,
+                                                                      AtomicInteger size) {
+                if (variable.getInitializer() != null) {
+                    size.addAndGet(1);
+                    visit(variable.getInitializer(), size);
+                }
+                return variable;
+            }
+
+            @Override
+            public J.VariableDeclarations visitVariableDeclarations(J.VariableDeclarations multiVariable,
+                                                                    AtomicInteger size) {
+                // Type expressions and annotations do not produce code
+                for (J.VariableDeclarations.NamedVariable variable : multiVariable.getVariables()) {
+                    visit(variable, size);
+                }
+                return multiVariable;
+            }
+
+            @Override
+            public J.If visitIf(J.If iff, AtomicInteger size) {
+                size.addAndGet(3);
+                return super.visitIf(iff, size);
+            }
+
+            @Override
+            public J.Ternary visitTernary(J.Ternary ternary, AtomicInteger size) {
+                size.addAndGet(6);
+                return super.visitTernary(ternary, size);
+            }
+
+            @Override
+            public J.ForEachLoop visitForEachLoop(J.ForEachLoop forLoop, AtomicInteger size) {
+                // iterator(), hasNext(), next(), checkcast and the back branch
+                size.addAndGet(18);
+                return super.visitForEachLoop(forLoop, size);
+            }
+
+            @Override
+            public J.ForLoop visitForLoop(J.ForLoop forLoop, AtomicInteger size) {
+                size.addAndGet(6);
+                return super.visitForLoop(forLoop, size);
+            }
+
+            @Override
+            public J.WhileLoop visitWhileLoop(J.WhileLoop whileLoop, AtomicInteger size) {
+                size.addAndGet(6);
+                return super.visitWhileLoop(whileLoop, size);
+            }
+
+            @Override
+            public J.Switch visitSwitch(J.Switch switch_, AtomicInteger size) {
+                size.addAndGet(16);
+                return super.visitSwitch(switch_, size);
+            }
+
+            @Override
+            public J.Case visitCase(J.Case case_, AtomicInteger size) {
+                size.addAndGet(8);
+                return super.visitCase(case_, size);
+            }
+
+            @Override
+            public J.Return visitReturn(J.Return return_, AtomicInteger size) {
+                size.addAndGet(1);
+                return super.visitReturn(return_, size);
+            }
+
+            @Override
+            public J.Throw visitThrow(J.Throw thrown, AtomicInteger size) {
+                size.addAndGet(1);
+                return super.visitThrow(thrown, size);
+            }
+
+            @Override
+            public J.TypeCast visitTypeCast(J.TypeCast typeCast, AtomicInteger size) {
+                size.addAndGet(3);
+                visit(typeCast.getExpression(), size);
+                return typeCast;
+            }
+
+            @Override
+            public J.InstanceOf visitInstanceOf(J.InstanceOf instanceOf, AtomicInteger size) {
+                size.addAndGet(3);
+                visit(instanceOf.getExpression(), size);
+                return instanceOf;
+            }
+
+            @Override
+            public J.Lambda visitLambda(J.Lambda lambda, AtomicInteger size) {
+                // The body goes to a synthetic method, the call site is an invokedynamic
+                size.addAndGet(5);
+                return lambda;
+            }
+
+            @Override
+            public J.MemberReference visitMemberReference(J.MemberReference memberRef, AtomicInteger size) {
+                size.addAndGet(5);
+                return memberRef;
+            }
+
+            @Override
+            public J.Annotation visitAnnotation(J.Annotation annotation, AtomicInteger size) {
+                return annotation;
+            }
+
+            @Override
+            public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, AtomicInteger size) {
+                // Only the body produces code
+                visit(method.getBody(), size);
+                return method;
+            }
+        }.visit(tree, size);
+        return size.get();
+    }
+}
@@ -0,0 +1,274 @@
+package com.santunioni.recipes.removeMapstruct;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.tree.*;
+import org.openrewrite.marker.Markers;
+
+import java.util.Collections;
+import java.util.List;
+
+import static com.santunioni.recipes.removeMapstruct.Functions.randomId;
+
+/**
+ * Rewrites the boxing round-trips of Mapstruct's built-in conversions into their primitive forms, in the classes
+ * {@link MapperProcessor} merged.
+ * <p>
+ * Every rewrite requires the converted operand to be a primitive, or a String on both sides, so there is no null
+ * to handle differently: a boxed operand keeps its original conversion and its original null behaviour.
+ * <ul>
+ *     <li>{@code Integer.valueOf(i).intValue()} becomes {@code i}, and {@code Integer.valueOf(s).intValue()}
+ *     becomes {@code Integer.parseInt(s)}</li>
+ *     <li>{@code Integer.parseInt(String.valueOf(i))} becomes {@code i}</li>
+ *     <li>{@code String.valueOf(Integer.valueOf(i))} becomes {@code String.valueOf(i)}</li>
+ *     <li>{@code new BigDecimal(String.valueOf(i))} becomes {@code BigDecimal.valueOf(i)}, for integral and
+ *     double operands</li>
+ *     <li>{@code Integer.valueOf(i)} passed to an {@code int} parameter becomes {@code i}</li>
+ * </ul>
+ * And the same for the other primitive types.
+ */
+@NullMarked
+public class ConversionSimplifier extends JavaVisitor<ExecutionContext> {
+    private static final List<Boxing> BOXINGS = List.of(
+            new Boxing(JavaType.Primitive.Int, "java.lang.Integer", "intValue", "parseInt"),
+            new Boxing(JavaType.Primitive.Long, "java.lang.Long", "longValue", "parseLong"),
+            new Boxing(JavaType.Primitive.Short, "java.lang.Short", "shortValue", "parseShort"),
+            new Boxing(JavaType.Primitive.Byte, "java.lang.Byte", "byteValue", "parseByte"),
+            new Boxing(JavaType.Primitive.Double, "java.lang.Double", "doubleValue", "parseDouble"),
+            new Boxing(JavaType.Primitive.Float, "java.lang.Float", "floatValue", "parseFloat"),
+            new Boxing(JavaType.Primitive.Boolean, "java.lang.Boolean", "booleanValue", "parseBoolean"),
+            new Boxing(JavaType.Primitive.Char, "java.lang.Character", "charValue", null)
+    );
+
+    private static @Nullable Boxing boxingOf(@Nullable JavaType.Method methodType) {
+        if (methodType == null) {
+            return null;
+        }
+        String declaringType = methodType.getDeclaringType().getFullyQualifiedName();
+        for (Boxing boxing : BOXINGS) {
+            if (boxing.boxFqn().equals(declaringType)) {
+                return boxing;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isStaticCall(J.MethodInvocation invocation, String declaringType, String name) {
+        JavaType.Method methodType = invocation.getMethodType();
+        return methodType != null
+                && methodType.hasFlags(Flag.Static)
+                && name.equals(methodType.getName())
+                && declaringType.equals(methodType.getDeclaringType().getFullyQualifiedName())
+                && invocation.getArguments().size() == 1
+                && !(invocation.getArguments().get(0) instanceof J.Empty);
+    }
+
+    /**
+     * The primitive operand of {@code Integer.valueOf(i)} and the like, or null if the expression is not a boxing
+     * of a primitive of the same type.
+     */
+    private static @Nullable Expression boxedPrimitive(Expression expression) {
+        if (!(expression instanceof J.MethodInvocation invocation)) {
+            return null;
+        }
+        Boxing boxing = boxingOf(invocation.getMethodType());
+        if (boxing == null || !isStaticCall(invocation, boxing.boxFqn(), "valueOf")) {
+            return null;
+        }
+        Expression operand = invocation.getArguments().get(0);
+        return operand.getType() == boxing.primitive() ? operand : null;
+    }
+
+    /**
+     * The operand of {@code String.valueOf(x)}, or null.
+     */
+    private static @Nullable Expression stringValueOfOperand(Expression expression) {
+        if (expression instanceof J.MethodInvocation invocation
+                && isStaticCall(invocation, "java.lang.String", "valueOf")) {
+            return invocation.getArguments().get(0);
+        }
+        return null;
+    }
+
+    private static JavaType.@Nullable Method findMethod(JavaType.@Nullable FullyQualified type, String name,
+                                                        JavaType parameterType) {
+        if (type == null) {
+            return null;
+        }
+        for (JavaType.Method method : type.getMethods()) {
+            if (name.equals(method.getName())
+                    && method.getParameterTypes().size() == 1
+                    && TypeUtils.isOfType(method.getParameterTypes().get(0), parameterType)) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Puts the operand in place of the expression it is extracted from, in parentheses unless it binds at least
+     * as tightly as a method invocation.
+     */
+    private static Expression replaceWith(Expression replaced, Expression operand) {
+        if (operand instanceof J.Identifier
+                || operand instanceof J.FieldAccess
+                || operand instanceof J.MethodInvocation
+                || operand instanceof J.Literal
+                || operand instanceof J.ArrayAccess
+                || operand instanceof J.Parentheses<?>) {
+            return operand.withPrefix(replaced.getPrefix());
+        }
+        return new J.Parentheses<>(randomId(), replaced.getPrefix(), Markers.EMPTY,
+                JRightPadded.build(operand.withPrefix(Space.EMPTY)));
+    }
+
+    /**
+     * Drops {@code Integer.valueOf(i)} around arguments whose parameter is the same primitive.
+     */
+    private static List<Expression> unboxArguments(List<Expression> arguments, JavaType.@Nullable Method methodType) {
+        if (methodType == null) {
+            return arguments;
+        }
+        List<JavaType> parameterTypes = methodType.getParameterTypes();
+        return ListUtils.map(arguments, (i, argument) -> {
+            if (i >= parameterTypes.size() || !(parameterTypes.get(i) instanceof JavaType.Primitive)) {
+                return argument;
+            }
+            Expression operand = boxedPrimitive(argument);
+            return operand != null && operand.getType() == parameterTypes.get(i)
+                    ? operand.withPrefix(argument.getPrefix())
+                    : argument;
+        });
+    }
+
+    @Override
+    public J visitCompilationUnit(J.CompilationUnit compilationUnit, ExecutionContext ctx) {
+        if (!Functions.isOptimizedMapper(compilationUnit)) {
+            return compilationUnit;
+        }
+        return super.visitCompilationUnit(compilationUnit, ctx);
+    }
+
+    @Override
+    public J visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+        J visited = super.visitMethodInvocation(method, ctx);
+        if (!(visited instanceof J.MethodInvocation invocation)) {
+            return visited;
+        }
+        invocation = invocation.withArguments(unboxArguments(invocation.getArguments(), invocation.getMethodType()));
+
+        // Integer.valueOf(x).intValue()
+        if (invocation.getSelect() instanceof J.MethodInvocation boxed
+                && invocation.getArguments().stream().allMatch(a -> a instanceof J.Empty)) {
+            Boxing boxing = boxingOf(boxed.getMethodType());
+            if (boxing != null
+                    && isStaticCall(boxed, boxing.boxFqn(), "valueOf")
+                    && boxing.unboxMethod().equals(invocation.getSimpleName())) {
+                Expression operand = boxed.getArguments().get(0);
+                if (operand.getType() == boxing.primitive()) {
+                    return replaceWith(invocation, operand);
+                }
+                if (TypeUtils.isString(operand.getType()) && boxing.parseMethod() != null) {
+                    JavaType.Method parse = findMethod(boxed.getMethodType().getDeclaringType(),
+                            boxing.parseMethod(), JavaType.Primitive.String);
+                    if (parse != null) {
+                        return boxed
+                                .withPrefix(invocation.getPrefix())
+                                .withName(boxed.getName().withSimpleName(parse.getName()).withType(parse))
+                                .withMethodType(parse);
+                    }
+                }
+            }
+        }
+
+        // Integer.parseInt(String.valueOf(i))
+        Boxing boxing = boxingOf(invocation.getMethodType());
+        if (boxing != null && boxing.parseMethod() != null
+                && isStaticCall(invocation, boxing.boxFqn(), boxing.parseMethod())) {
+            Expression operand = stringValueOfOperand(invocation.getArguments().get(0));
+            if (operand != null && operand.getType() == boxing.primitive()) {
+                return replaceWith(invocation, operand);
+            }
+        }
+
+        // String.valueOf(Integer.valueOf(i))
+        if (isStaticCall(invocation, "java.lang.String", "valueOf")) {
+            Expression argument = invocation.getArguments().get(0);
+            Expression operand = boxedPrimitive(argument);
+            if (operand != null) {
+                JavaType.Method valueOf = findMethod(invocation.getMethodType().getDeclaringType(), "valueOf",
+                        operand.getType());
+                if (valueOf != null) {
+                    return invocation
+                            .withArguments(Collections.singletonList(operand.withPrefix(argument.getPrefix())))
+                            .withName(invocation.getName().withType(valueOf))
+                            .withMethodType(valueOf);
+                }
+            }
+        }
+
+        return invocation;
+    }
+
+    @Override
+    public J visitNewClass(J.NewClass newClass, ExecutionContext ctx) {
+        J visited = super.visitNewClass(newClass, ctx);
+        if (!(visited instanceof J.NewClass nc)) {
+            return visited;
+        }
+        nc = nc.withArguments(unboxArguments(nc.getArguments(), nc.getConstructorType()));
+
+        // new BigDecimal(String.valueOf(i))
+        JavaType.FullyQualified type = TypeUtils.asFullyQualified(nc.getType());
+        if (type == null
+                || !"java.math.BigDecimal".equals(type.getFullyQualifiedName())
+                || nc.getBody() != null
+                || nc.getArguments().size() != 1
+                || !(nc.getClazz() instanceof Expression clazz)) {
+            return nc;
+        }
+        Expression operand = stringValueOfOperand(nc.getArguments().get(0));
+        if (operand == null) {
+            return nc;
+        }
+
+        // BigDecimal.valueOf(double) goes through Double.toString, as String.valueOf(double) does. Floats don't:
+        // widening them to double changes their decimal representation.
+        JavaType parameterType;
+        if (operand.getType() == JavaType.Primitive.Double) {
+            parameterType = JavaType.Primitive.Double;
+        } else if (operand.getType() == JavaType.Primitive.Long
+                || operand.getType() == JavaType.Primitive.Int
+                || operand.getType() == JavaType.Primitive.Short
+                || operand.getType() == JavaType.Primitive.Byte) {
+            parameterType = JavaType.Primitive.Long;
+        } else {
+            return nc;
+        }
+
+        JavaType.Method valueOf = findMethod(type, "valueOf", parameterType);
+        if (valueOf == null) {
+            return nc;
+        }
+        return new J.MethodInvocation(
+                randomId(),
+                nc.getPrefix(),
+                nc.getMarkers(),
+                JRightPadded.build((Expression) clazz.withPrefix(Space.EMPTY)),
+                null,
+                new J.Identifier(randomId(), Space.EMPTY, Markers.EMPTY, Collections.emptyList(), "valueOf",
+                        valueOf, null),
+                JContainer.build(Space.EMPTY,
+                        Collections.singletonList(JRightPadded.build(operand.withPrefix(Space.EMPTY))),
+                        Markers.EMPTY),
+                valueOf
+        );
+    }
+
+    private record Boxing(JavaType.Primitive primitive, String boxFqn, String unboxMethod,
+                          @Nullable String parseMethod) {
+    }
+}
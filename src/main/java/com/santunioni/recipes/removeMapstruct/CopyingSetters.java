@@ -0,0 +1,130 @@
+package com.santunioni.recipes.removeMapstruct;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.tree.Expression;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The setters that store a copy of the collection they are given, found in the sources of the run:
+ * <pre>
+ * public void setTags(List&lt;String&gt; tags) {
+ *     this.tags = List.copyOf(tags);
+ * }
+ * </pre>
+ * A mapper that copies a collection into a new {@code ArrayList} before passing it to such a setter copies it twice,
+ * and can pass the collection as it is. The copy must be a real one: {@code List.copyOf}, Guava's
+ * {@code ImmutableList.copyOf} and the like, or a new {@code java.util} collection, optionally wrapped in a
+ * {@code Collections.unmodifiable} view or behind a null check. A setter that only wraps its argument in a view
+ * keeps a reference to it, and is not a copying setter.
+ * <p>
+ * Setters generated by Lombok have no source to look at and are never copying setters.
+ */
+@NullMarked
+public class CopyingSetters {
+    static final Set<String> COPY_CONSTRUCTORS = Set.of(
+            "java.util.ArrayList", "java.util.LinkedList", "java.util.HashSet", "java.util.LinkedHashSet",
+            "java.util.HashMap", "java.util.LinkedHashMap"
+    );
+    private static final Set<String> COPY_FACTORIES = Set.of("java.util.List", "java.util.Set", "java.util.Map");
+    private static final String IMMUTABLE_COLLECTIONS = "com.google.common.collect.Immutable";
+
+    /**
+     * Each copying setter, as {@code <declaring type>#<name>(<parameter type>)}.
+     */
+    private final Set<String> setters = new HashSet<>();
+
+    private static @Nullable String key(JavaType.Method setter) {
+        if (setter.getParameterTypes().size() != 1) {
+            return null;
+        }
+        JavaType.FullyQualified parameterType = TypeUtils.asFullyQualified(setter.getParameterTypes().get(0));
+        return parameterType == null
+                ? null
+                : setter.getDeclaringType().getFullyQualifiedName() + "#" + setter.getName()
+                + "(" + parameterType.getFullyQualifiedName() + ")";
+    }
+
+    private static boolean isCopyOf(@Nullable Expression expression, String parameterName) {
+        if (expression instanceof J.Ternary ternary
+                && ternary.getCondition() instanceof J.Binary nullCheck
+                && isIdentifier(nullCheck.getLeft(), parameterName)
+                && isNull(nullCheck.getRight())) {
+            return nullCheck.getOperator() == J.Binary.Type.Equal
+                    ? isNull(ternary.getTruePart()) && isCopyOf(ternary.getFalsePart(), parameterName)
+                    : nullCheck.getOperator() == J.Binary.Type.NotEqual
+                    && isNull(ternary.getFalsePart()) && isCopyOf(ternary.getTruePart(), parameterName);
+        }
+        if (expression instanceof J.NewClass newClass) {
+            JavaType.FullyQualified type = TypeUtils.asFullyQualified(newClass.getType());
+            return type != null && COPY_CONSTRUCTORS.contains(type.getFullyQualifiedName())
+                    && newClass.getArguments().size() == 1
+                    && isIdentifier(newClass.getArguments().get(0), parameterName);
+        }
+        if (!(expression instanceof J.MethodInvocation invocation)
+                || invocation.getMethodType() == null
+                || invocation.getArguments().size() != 1) {
+            return false;
+        }
+        String declaringType = invocation.getMethodType().getDeclaringType().getFullyQualifiedName();
+        if ("copyOf".equals(invocation.getSimpleName())
+                && (COPY_FACTORIES.contains(declaringType) || declaringType.startsWith(IMMUTABLE_COLLECTIONS))) {
+            return isIdentifier(invocation.getArguments().get(0), parameterName);
+        }
+        // A view of a copy is still a copy
+        return "java.util.Collections".equals(declaringType)
+                && invocation.getSimpleName().startsWith("unmodifiable")
+                && isCopyOf(invocation.getArguments().get(0), parameterName);
+    }
+
+    private static boolean isIdentifier(@Nullable Expression expression, String name) {
+        return expression instanceof J.Identifier identifier && name.equals(identifier.getSimpleName());
+    }
+
+    private static boolean isNull(Expression expression) {
+        return expression instanceof J.Literal literal && literal.getValue() == null;
+    }
+
+    /**
+     * Records the copying setters of the classes of a file, nested classes included.
+     */
+    public void scan(J.CompilationUnit compilationUnit) {
+        new JavaIsoVisitor<Set<String>>() {
+            @Override
+            public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, Set<String> found) {
+                String key = method.getMethodType() == null ? null : key(method.getMethodType());
+                if (key != null
+                        && method.getBody() != null
+                        && method.getBody().getStatements().size() == 1
+                        && method.getParameters().size() == 1
+                        && method.getParameters().get(0) instanceof J.VariableDeclarations parameter
+                        && method.getBody().getStatements().get(0) instanceof J.Assignment assignment
+                        && isField(assignment.getVariable())
+                        && isCopyOf(assignment.getAssignment(), parameter.getVariables().get(0).getSimpleName())) {
+                    found.add(key);
+                }
+                // Setters are not nested in methods
+                return method;
+            }
+        }.visit(compilationUnit, setters);
+    }
+
+    private static boolean isField(Expression variable) {
+        if (variable instanceof J.FieldAccess fieldAccess) {
+            return fieldAccess.getTarget() instanceof J.Identifier target && "this".equals(target.getSimpleName());
+        }
+        return variable instanceof J.Identifier identifier && identifier.getFieldType() != null
+                && identifier.getFieldType().getOwner() instanceof JavaType.FullyQualified;
+    }
+
+    boolean isCopyingSetter(JavaType.Method setter) {
+        String key = key(setter);
+        return key != null && setters.contains(key);
+    }
+}
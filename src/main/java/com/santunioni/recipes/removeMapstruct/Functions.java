@@ -1,33 +1,36 @@
 package com.santunioni.recipes.removeMapstruct;
 
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeTree;
 import org.openrewrite.java.tree.TypeUtils;
 
-import java.util.Collections;
-import java.util.Objects;
-import java.util.Optional;
-import java.util.stream.Stream;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
 class Functions {
+    private static final String GENERATED_ANNOTATION = "javax.annotation.processing.Generated";
+    private static final String MAPPER_ANNOTATION = "org.mapstruct.Mapper";
+
     static boolean isMapperImplementation(J.CompilationUnit compilationUnit) {
-        final Optional<J.Annotation> generatedAnnotationOpt = compilationUnit.getClasses().stream()
-                .flatMap(cd -> {
-                    if (!((cd.getImplements() != null
-                            && !cd.getImplements().isEmpty()) || cd.getExtends() != null)) {
-                        return Stream.empty();
-                    }
+        return isMapperImplementation(compilationUnit, false);
+    }
 
-                    return cd.getLeadingAnnotations().stream().filter(an -> TypeUtils.isOfClassType(
-                            an.getType(),
-                            "javax.annotation.processing.Generated"));
-                }).findFirst();
+    /**
+     * @param nameBased also recognize the annotation by its written name and imports, when its type is unknown
+     */
+    static boolean isMapperImplementation(J.CompilationUnit compilationUnit, boolean nameBased) {
+        for (J.ClassDeclaration cd : compilationUnit.getClasses()) {
+            if ((cd.getImplements() == null || cd.getImplements().isEmpty()) && cd.getExtends() == null) {
+                continue;
+            }
 
-        if (generatedAnnotationOpt.isPresent()) {
-            final var generatedAnnotation = generatedAnnotationOpt.get();
-            for (var arg : Objects.requireNonNullElse(generatedAnnotation.getArguments(), Collections.emptyList())) {
-                if (arg instanceof J.Assignment argAssignment
-                        && argAssignment.getAssignment().toString().startsWith("org.mapstruct")) {
-                    return true;
+            for (J.Annotation an : cd.getLeadingAnnotations()) {
+                if (TypeUtils.isOfClassType(an.getType(), GENERATED_ANNOTATION)
+                        || nameBased && NameBasedTypes.isAnnotation(compilationUnit, an, GENERATED_ANNOTATION)) {
+                    return isGeneratedByMapstruct(an);
                 }
             }
         }
@@ -36,9 +39,121 @@ class Functions {
     }
 
     static boolean isMapperDeclaration(J.CompilationUnit originalCu) {
-        return originalCu.getClasses().stream()
-                .anyMatch(cd -> cd.getLeadingAnnotations().stream()
-                        .anyMatch(a -> a.getType() != null && TypeUtils.isOfClassType(
-                                a.getType(), "org.mapstruct.Mapper")));
+        return isMapperDeclaration(originalCu, false);
+    }
+
+    /**
+     * @param nameBased also recognize the annotation by its written name and imports, when its type is unknown
+     */
+    static boolean isMapperDeclaration(J.CompilationUnit originalCu, boolean nameBased) {
+        for (J.ClassDeclaration cd : originalCu.getClasses()) {
+            for (J.Annotation a : cd.getLeadingAnnotations()) {
+                if (a.getType() != null && TypeUtils.isOfClassType(a.getType(), MAPPER_ANNOTATION)
+                        || nameBased && NameBasedTypes.isAnnotation(originalCu, a, MAPPER_ANNOTATION)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    static boolean isMapperAnnotated(JavaType.FullyQualified type) {
+        for (JavaType.FullyQualified annotation : type.getAnnotations()) {
+            if (MAPPER_ANNOTATION.equals(annotation.getFullyQualifiedName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The mapper a hand-written {@code @DecoratedWith} decorator decorates, or null when the file is not one.
+     * Decorators are the abstract classes that directly implement or extend a {@code @Mapper} without being one.
+     */
+    static @Nullable String decoratedMapperFqn(J.CompilationUnit compilationUnit) {
+        if (isMapperDeclaration(compilationUnit)) {
+            return null;
+        }
+
+        for (J.ClassDeclaration cd : compilationUnit.getClasses()) {
+            if (!cd.hasModifier(J.Modifier.Type.Abstract) || cd.getKind() != J.ClassDeclaration.Kind.Type.Class) {
+                continue;
+            }
+
+            if (cd.getExtends() != null
+                    && cd.getExtends().getType() instanceof JavaType.FullyQualified superType
+                    && isMapperAnnotated(superType)) {
+                return superType.getFullyQualifiedName();
+            }
+            if (cd.getImplements() != null) {
+                for (TypeTree anInterface : cd.getImplements()) {
+                    if (anInterface.getType() instanceof JavaType.FullyQualified interfaceType
+                            && isMapperAnnotated(interfaceType)) {
+                        return interfaceType.getFullyQualifiedName();
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Builds the dotted name of a qualified reference (an import qualid, for example) from its identifiers,
+     * without going through the printer.
+     */
+    static String qualifiedName(J.FieldAccess fieldAccess) {
+        StringBuilder qualifiedName = new StringBuilder(64);
+        appendQualifiedName(fieldAccess, qualifiedName);
+        return qualifiedName.toString();
+    }
+
+    /**
+     * True for the files {@link MapperProcessor} merged that the optimization recipes rewrite.
+     */
+    static boolean isOptimizedMapper(J.CompilationUnit compilationUnit) {
+        return compilationUnit.getMarkers().findFirst(MigratedMapper.class)
+                .map(MigratedMapper::isOptimized)
+                .orElse(false);
+    }
+
+    /**
+     * Tree ids for synthetic nodes. They only need to be unique within a run, so they come from
+     * {@link ThreadLocalRandom} rather than the SecureRandom behind {@link UUID#randomUUID()}.
+     */
+    static UUID randomId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new UUID(random.nextLong(), random.nextLong());
+    }
+
+    private static boolean isGeneratedByMapstruct(J.Annotation generatedAnnotation) {
+        if (generatedAnnotation.getArguments() == null) {
+            return false;
+        }
+
+        for (Expression arg : generatedAnnotation.getArguments()) {
+            if (!(arg instanceof J.Assignment argAssignment)) {
+                continue;
+            }
+            Expression value = argAssignment.getAssignment();
+            String generator = value instanceof J.Literal literal && literal.getValue() instanceof String literalValue
+                    ? literalValue
+                    : value.toString();
+            if (generator.startsWith("org.mapstruct")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void appendQualifiedName(Expression expression, StringBuilder qualifiedName) {
+        if (expression instanceof J.FieldAccess fieldAccess) {
+            appendQualifiedName(fieldAccess.getTarget(), qualifiedName);
+            if (!qualifiedName.isEmpty()) {
+                qualifiedName.append('.');
+            }
+            qualifiedName.append(fieldAccess.getSimpleName());
+        } else if (expression instanceof J.Identifier identifier) {
+            qualifiedName.append(identifier.getSimpleName());
+        }
     }
 }
@@ -0,0 +1,240 @@
+package com.santunioni.recipes.removeMapstruct;
+
+import com.santunioni.recipes.table.MapperHotPathRisks;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.tree.Expression;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.Statement;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Reports allocation and CPU heavy patterns in the classes {@link MapperProcessor} merged. Other files are
+ * returned without being visited. Findings of a mapper are written most expensive first.
+ */
+@NullMarked
+public class HotPathRiskFinder extends JavaIsoVisitor<ExecutionContext> {
+    private static final Set<String> BOXED_TYPES = Set.of(
+            "java.lang.Integer", "java.lang.Long", "java.lang.Short", "java.lang.Byte",
+            "java.lang.Character", "java.lang.Boolean", "java.lang.Double", "java.lang.Float"
+    );
+    private static final Set<String> FORMATTER_TYPES = Set.of(
+            "java.text.SimpleDateFormat", "java.text.DecimalFormat", "java.text.MessageFormat",
+            "java.util.Formatter"
+    );
+    private static final Set<String> FORMATTER_FACTORIES = Set.of(
+            "java.time.format.DateTimeFormatter ofPattern",
+            "java.text.NumberFormat getInstance",
+            "java.text.NumberFormat getNumberInstance",
+            "java.text.NumberFormat getCurrencyInstance",
+            "java.text.DecimalFormat getInstance"
+    );
+    private static final Set<String> STREAM_SOURCES = Set.of(
+            "stream", "parallelStream"
+    );
+
+    private final MapperHotPathRisks risks;
+
+    public HotPathRiskFinder(MapperHotPathRisks risks) {
+        this.risks = risks;
+    }
+
+    private static boolean isBoxed(@Nullable JavaType type) {
+        return type instanceof JavaType.FullyQualified fq && BOXED_TYPES.contains(fq.getFullyQualifiedName());
+    }
+
+    private static boolean isPrimitive(@Nullable JavaType type) {
+        return type instanceof JavaType.Primitive primitive
+                && primitive != JavaType.Primitive.String
+                && primitive != JavaType.Primitive.Null
+                && primitive != JavaType.Primitive.None;
+    }
+
+    @Override
+    public J.CompilationUnit visitCompilationUnit(J.CompilationUnit compilationUnit, ExecutionContext ctx) {
+        Optional<MigratedMapper> migratedMapper = compilationUnit.getMarkers().findFirst(MigratedMapper.class);
+        if (migratedMapper.isEmpty()) {
+            return compilationUnit;
+        }
+
+        List<Finding> findings = new ArrayList<>();
+        for (J.ClassDeclaration classDecl : compilationUnit.getClasses()) {
+            for (Statement statement : classDecl.getBody().getStatements()) {
+                if (statement instanceof J.MethodDeclaration method && method.getBody() != null) {
+                    analyze(method, findings);
+                }
+            }
+        }
+
+        findings.sort(Comparator.comparingInt(Finding::estimatedCost).reversed()
+                .thenComparing(Finding::method));
+        for (Finding finding : findings) {
+            risks.insertRow(ctx, new MapperHotPathRisks.Row(
+                    compilationUnit.getSourcePath().toString(),
+                    migratedMapper.get().getMapperFqn(),
+                    finding.method(),
+                    finding.pattern(),
+                    finding.occurrences(),
+                    finding.estimatedCost(),
+                    finding.detail()
+            ));
+        }
+        return compilationUnit;
+    }
+
+    private void analyze(J.MethodDeclaration method, List<Finding> findings) {
+        String methodName = method.getSimpleName();
+        Map<String, int[]> patternCounts = new HashMap<>();
+        Map<String, String> patternDetails = new HashMap<>();
+        Map<String, Integer> getterChains = new HashMap<>();
+
+        new JavaIsoVisitor<Integer>() {
+            private void count(String pattern, String detail) {
+                patternCounts.computeIfAbsent(pattern, p -> new int[1])[0]++;
+                patternDetails.putIfAbsent(pattern, detail);
+            }
+
+            @Override
+            public J.NewClass visitNewClass(J.NewClass newClass, Integer p) {
+                JavaType.FullyQualified type = TypeUtils.asFullyQualified(newClass.getType());
+                if (type != null && FORMATTER_TYPES.contains(type.getFullyQualifiedName())) {
+                    count("FORMATTER_PER_CALL", "new " + type.getClassName());
+                }
+                return super.visitNewClass(newClass, p);
+            }
+
+            @Override
+            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation invocation, Integer p) {
+                JavaType.Method methodType = invocation.getMethodType();
+                String name = invocation.getSimpleName();
+                if (methodType != null) {
+                    String declaringType = methodType.getDeclaringType().getFullyQualifiedName();
+                    if (FORMATTER_FACTORIES.contains(declaringType + " " + name)) {
+                        count("FORMATTER_PER_CALL", methodType.getDeclaringType().getClassName() + "." + name);
+                    } else if ("java.lang.String".equals(declaringType) && "format".equals(name)) {
+                        count("STRING_FORMAT", "String.format");
+                    } else if (BOXED_TYPES.contains(declaringType)
+                            && ("valueOf".equals(name) || name.endsWith("Value"))) {
+                        count("BOXING", methodType.getDeclaringType().getClassName() + "." + name);
+                    }
+
+                    // Implicit boxing and unboxing of arguments
+                    List<JavaType> parameterTypes = methodType.getParameterTypes();
+                    List<Expression> arguments = invocation.getArguments();
+                    for (int i = 0; i < Math.min(parameterTypes.size(), arguments.size()); i++) {
+                        JavaType argumentType = arguments.get(i).getType();
+                        if (isPrimitive(parameterTypes.get(i)) && isBoxed(argumentType)) {
+                            count("BOXING", "unboxing argument of " + name);
+                        } else if (isBoxed(parameterTypes.get(i)) && isPrimitive(argumentType)) {
+                            count("BOXING", "boxing argument of " + name);
+                        }
+                    }
+                }
+
+                if (STREAM_SOURCES.contains(name) && invocation.getArguments().stream().allMatch(a -> a instanceof J.Empty)
+                        || "stream".equals(name) && invocation.getSelect() instanceof J.Identifier select
+                        && ("Arrays".equals(select.getSimpleName()) || "Stream".equals(select.getSimpleName()))) {
+                    count("STREAM_PIPELINE", name + "()");
+                }
+
+                String chain = getterChain(invocation);
+                if (chain != null && !isInsideLargerChain(invocation)) {
+                    getterChains.merge(chain, 1, Integer::sum);
+                }
+                return super.visitMethodInvocation(invocation, p);
+            }
+
+            @Override
+            public J.Binary visitBinary(J.Binary binary, Integer p) {
+                if (binary.getOperator() == J.Binary.Type.Addition && binary.getType() == JavaType.Primitive.String
+                        && !(getCursor().getParentTreeCursor().getValue() instanceof J.Binary parent
+                        && parent.getOperator() == J.Binary.Type.Addition)) {
+                    count("STRING_CONCATENATION", "string concatenation");
+                }
+                return super.visitBinary(binary, p);
+            }
+
+            private boolean isInsideLargerChain(J.MethodInvocation invocation) {
+                Object parent = getCursor().getParentTreeCursor().getValue();
+                return parent instanceof J.MethodInvocation parentInvocation
+                        && parentInvocation.getSelect() == invocation
+                        && getterChain(parentInvocation) != null;
+            }
+        }.visit(method.getBody(), 0);
+
+        patternCounts.forEach((pattern, count) -> findings.add(new Finding(methodName, pattern, count[0],
+                count[0] * unitCost(pattern), patternDetails.get(pattern))));
+
+        getterChains.forEach((chain, occurrences) -> {
+            if (occurrences > 1) {
+                findings.add(new Finding(methodName, "REPEATED_GETTER_CHAIN", occurrences,
+                        (occurrences - 1) * unitCost("REPEATED_GETTER_CHAIN"), chain));
+            }
+        });
+
+        int size = BytecodeSizeEstimator.estimate(method);
+        if (size > BytecodeSizeEstimator.HUGE_METHOD_LIMIT) {
+            findings.add(new Finding(methodName, "NOT_JIT_COMPILED", 1, unitCost("NOT_JIT_COMPILED"),
+                    "about " + size + " bytes, over HugeMethodLimit (" + BytecodeSizeEstimator.HUGE_METHOD_LIMIT + ")"));
+        } else if (size > BytecodeSizeEstimator.FREQ_INLINE_SIZE) {
+            findings.add(new Finding(methodName, "NOT_INLINED", 1, unitCost("NOT_INLINED"),
+                    "about " + size + " bytes, over FreqInlineSize (" + BytecodeSizeEstimator.FREQ_INLINE_SIZE + ")"));
+        }
+    }
+
+    /**
+     * The textual form of a chain of at least two no-argument getters, like {@code order.getCustomer().getName()},
+     * or null.
+     */
+    private static @Nullable String getterChain(J.MethodInvocation invocation) {
+        StringBuilder chain = new StringBuilder();
+        int getters = 0;
+        Expression current = invocation;
+        while (current instanceof J.MethodInvocation getter && isGetter(getter)) {
+            chain.insert(0, "." + getter.getSimpleName() + "()");
+            getters++;
+            current = getter.getSelect();
+        }
+        if (getters < 2 || !(current instanceof J.Identifier root)) {
+            return null;
+        }
+        return chain.insert(0, root.getSimpleName()).toString();
+    }
+
+    private static boolean isGetter(J.MethodInvocation invocation) {
+        String name = invocation.getSimpleName();
+        return (name.startsWith("get") || name.startsWith("is"))
+                && invocation.getArguments().stream().allMatch(a -> a instanceof J.Empty);
+    }
+
+    /**
+     * Relative cost of one occurrence, roughly the allocations and work it adds to every call.
+     */
+    private static int unitCost(String pattern) {
+        return switch (pattern) {
+            case "NOT_JIT_COMPILED" -> 1000;
+            case "FORMATTER_PER_CALL" -> 60;
+            case "NOT_INLINED" -> 40;
+            case "STRING_FORMAT" -> 30;
+            case "STREAM_PIPELINE" -> 20;
+            case "STRING_CONCATENATION" -> 8;
+            case "BOXING" -> 5;
+            case "REPEATED_GETTER_CHAIN" -> 3;
+            default -> 1;
+        };
+    }
+
+    private record Finding(String method, String pattern, int occurrences, int estimatedCost, String detail) {
+    }
+}
@@ -0,0 +1,485 @@
+package com.santunioni.recipes.removeMapstruct;
+
+import com.santunioni.recipes.table.MapperSplitMethods;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Cursor;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.Statement;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.UUID;
+
+/**
+ * Splits the methods of the classes {@link MapperProcessor} merged whose estimated bytecode size is over a limit,
+ * {@code HugeMethodLimit} by default, into private methods the original one calls in order.
+ * <p>
+ * Mapstruct writes a bean mapping as one statement per target property, between the null check and the return:
+ * <pre>
+ * if (customer == null) {
+ *     return null;
+ * }
+ * CustomerDto customerDto = new CustomerDto();
+ * customerDto.setName(customer.getName());
+ * customerDto.setStreet(customerAddressStreet(customer));
+ * List&lt;Order&gt; list = customer.getOrders();
+ * if (list != null) {
+ *     customerDto.setOrders(new ArrayList&lt;Order&gt;(list));
+ * }
+ * return customerDto;
+ * </pre>
+ * Those statements are moved, in their order, to methods of up to {@code FreqInlineSize} bytes each, so every part is
+ * JIT-compiled and can be inlined back into the method when it is hot. A part takes the method's parameters and the
+ * locals it reads, like {@code customerDto}, and statements that read the same source property are kept in the same
+ * part. A local declared among the statements moves with the statements that use it.
+ * <p>
+ * Statements that assign a local declared outside of them, that use a local the return reads, or that come before
+ * the last statement with a {@code return} stay where they are. Generic methods, constructors and methods with
+ * varargs are not split.
+ */
+@NullMarked
+public class HugeMethodSplitter extends JavaIsoVisitor<ExecutionContext> {
+    private static final String SPLITS = "HUGE_METHOD_SPLITS";
+
+    private final int maxMethodSize;
+    private final int partSize;
+    private final MapperSplitMethods splitMethods;
+
+    public HugeMethodSplitter(int maxMethodSize, MapperSplitMethods splitMethods) {
+        this.maxMethodSize = maxMethodSize;
+        this.partSize = Math.min(maxMethodSize, BytecodeSizeEstimator.FREQ_INLINE_SIZE);
+        this.splitMethods = splitMethods;
+    }
+
+    private static boolean containsReturn(J tree) {
+        boolean[] found = {false};
+        new JavaIsoVisitor<Integer>() {
+            @Override
+            public J.Return visitReturn(J.Return return_, Integer p) {
+                found[0] = true;
+                return return_;
+            }
+
+            @Override
+            public J.Lambda visitLambda(J.Lambda lambda, Integer p) {
+                return lambda;
+            }
+
+            @Override
+            public J.NewClass visitNewClass(J.NewClass newClass, Integer p) {
+                // A return in the body of an anonymous class returns from its own method
+                newClass.getArguments().forEach(argument -> visit(argument, p));
+                return newClass;
+            }
+
+            @Override
+            public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, Integer p) {
+                return classDecl;
+            }
+        }.visit(tree, 0);
+        return found[0];
+    }
+
+    /**
+     * The names a tree reads or writes, and the names it declares and assigns.
+     */
+    private static Names names(J tree) {
+        Names names = new Names(new HashSet<>(), new HashSet<>(), new HashSet<>());
+        new JavaIsoVisitor<Names>() {
+            @Override
+            public J.Identifier visitIdentifier(J.Identifier identifier, Names found) {
+                Object parent = getCursor().getParentTreeCursor().getValue();
+                if (!(parent instanceof J.MethodInvocation invocation && invocation.getName() == identifier)
+                        && !(parent instanceof J.FieldAccess fieldAccess && fieldAccess.getName() == identifier)) {
+                    found.referenced().add(identifier.getSimpleName());
+                }
+                return identifier;
+            }
+
+            @Override
+            public J.VariableDeclarations.NamedVariable visitVariable(J.VariableDeclarations.NamedVariable variable,
+                                                                     Names found) {
+                found.declared().add(variable.getSimpleName());
+                return super.visitVariable(variable, found);
+            }
+
+            @Override
+            public J.Assignment visitAssignment(J.Assignment assignment, Names found) {
+                if (assignment.getVariable() instanceof J.Identifier identifier) {
+                    found.assigned().add(identifier.getSimpleName());
+                }
+                return super.visitAssignment(assignment, found);
+            }
+
+            @Override
+            public J.AssignmentOperation visitAssignmentOperation(J.AssignmentOperation assignOp, Names found) {
+                if (assignOp.getVariable() instanceof J.Identifier identifier) {
+                    found.assigned().add(identifier.getSimpleName());
+                }
+                return super.visitAssignmentOperation(assignOp, found);
+            }
+
+            @Override
+            public J.Unary visitUnary(J.Unary unary, Names found) {
+                if (unary.getOperator().isModifying() && unary.getExpression() instanceof J.Identifier identifier) {
+                    found.assigned().add(identifier.getSimpleName());
+                }
+                return super.visitUnary(unary, found);
+            }
+        }.visit(tree, names);
+        return names;
+    }
+
+    /**
+     * The source property a statement reads first, like {@code customer.getAddress}, to keep statements that read
+     * the same property together.
+     */
+    private static @Nullable String sourceProperty(Statement statement, Set<String> parameterNames) {
+        String[] property = {null};
+        new JavaIsoVisitor<Integer>() {
+            @Override
+            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation invocation, Integer p) {
+                if (property[0] == null
+                        && invocation.getSelect() instanceof J.Identifier select
+                        && parameterNames.contains(select.getSimpleName())) {
+                    property[0] = select.getSimpleName() + "." + invocation.getSimpleName();
+                }
+                return super.visitMethodInvocation(invocation, p);
+            }
+        }.visit(statement, 0);
+        return property[0];
+    }
+
+    @Override
+    public J.CompilationUnit visitCompilationUnit(J.CompilationUnit compilationUnit, ExecutionContext ctx) {
+        if (!Functions.isOptimizedMapper(compilationUnit)) {
+            return compilationUnit;
+        }
+        return super.visitCompilationUnit(compilationUnit, ctx);
+    }
+
+    @Override
+    public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
+        // Only the mapper class itself, not the classes nested in it
+        if (!(getCursor().getParentTreeCursor().getValue() instanceof J.CompilationUnit compilationUnit)) {
+            return classDecl;
+        }
+        String mapperFqn = compilationUnit.getMarkers().findFirst(MigratedMapper.class)
+                .map(MigratedMapper::getMapperFqn)
+                .orElse("");
+
+        Set<String> methodNames = new HashSet<>();
+        for (Statement statement : classDecl.getBody().getStatements()) {
+            if (statement instanceof J.MethodDeclaration method) {
+                methodNames.add(method.getSimpleName());
+            }
+        }
+
+        Map<UUID, Split> splits = new HashMap<>();
+        StringBuilder parts = new StringBuilder();
+        for (Statement statement : classDecl.getBody().getStatements()) {
+            if (!(statement instanceof J.MethodDeclaration method) || method.getBody() == null) {
+                continue;
+            }
+            int size = BytecodeSizeEstimator.estimate(method);
+            if (size <= maxMethodSize) {
+                continue;
+            }
+
+            Split split = split(method, methodNames, new Cursor(getCursor(), method));
+            if (split.parts().isEmpty()) {
+                splitMethods.insertRow(ctx, new MapperSplitMethods.Row(compilationUnit.getSourcePath().toString(),
+                        mapperFqn, method.getSimpleName(), size, size, "", split.note()));
+                continue;
+            }
+            splits.put(method.getId(), split);
+            StringJoiner partNames = new StringJoiner(", ");
+            for (Part part : split.parts()) {
+                parts.append(part.declaration());
+                partNames.add(part.name() + " (" + part.size() + ")");
+            }
+            splitMethods.insertRow(ctx, new MapperSplitMethods.Row(compilationUnit.getSourcePath().toString(),
+                    mapperFqn, method.getSimpleName(), size, split.sizeAfter(), partNames.toString(),
+                    split.sizeAfter() > maxMethodSize ? split.note() : ""));
+        }
+        if (splits.isEmpty()) {
+            return classDecl;
+        }
+
+        // The parts first, so the calls to them in the rewritten bodies are attributed
+        J.ClassDeclaration cd = JavaTemplate.builder(parts.toString())
+                .contextSensitive()
+                .build()
+                .apply(getCursor(), classDecl.getBody().getCoordinates().lastStatement());
+        getCursor().putMessage(SPLITS, splits);
+        return super.visitClassDeclaration(cd, ctx);
+    }
+
+    @Override
+    public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
+        J.MethodDeclaration m = super.visitMethodDeclaration(method, ctx);
+        Map<UUID, Split> splits = getCursor().getNearestMessage(SPLITS);
+        Split split = splits == null ? null : splits.get(method.getId());
+        if (split == null || m.getBody() == null) {
+            return m;
+        }
+        m = JavaTemplate.builder(split.body())
+                .contextSensitive()
+                .build()
+                .apply(updateCursor(m), m.getCoordinates().replaceBody());
+        return autoFormat(m, ctx, getCursor().getParentOrThrow());
+    }
+
+    /**
+     * Groups the statements of a method into parts.
+     *
+     * @param methodNames the names taken in the class, to which the names of the parts are added
+     */
+    private Split split(J.MethodDeclaration method, Set<String> methodNames, Cursor cursor) {
+        if (method.isConstructor()
+                || method.getTypeParameters() != null && !method.getTypeParameters().isEmpty()) {
+            return Split.notSplit("Constructors and generic methods are not split");
+        }
+        Map<String, String> parameters = new LinkedHashMap<>();
+        for (Statement parameter : method.getParameters()) {
+            if (parameter instanceof J.Empty) {
+                continue;
+            }
+            if (!(parameter instanceof J.VariableDeclarations declaration)
+                    || declaration.getTypeExpression() == null
+                    || declaration.getVarargs() != null) {
+                return Split.notSplit("Methods with varargs are not split");
+            }
+            for (J.VariableDeclarations.NamedVariable variable : declaration.getVariables()) {
+                parameters.put(variable.getSimpleName(), declaration.getTypeExpression().printTrimmed(cursor));
+            }
+        }
+
+        List<Statement> statements = Objects.requireNonNull(method.getBody()).getStatements();
+        int end = !statements.isEmpty() && statements.get(statements.size() - 1) instanceof J.Return
+                ? statements.size() - 1
+                : statements.size();
+        int start = 0;
+        for (int i = 0; i < end; i++) {
+            if (containsReturn(statements.get(i))) {
+                start = i + 1;
+            }
+        }
+
+        // Locals declared outside of the statements moved, which the parts take as parameters
+        Map<String, String> outerLocals = new LinkedHashMap<>();
+        Set<String> outerNames = new HashSet<>(parameters.keySet());
+        for (int i = 0; i < start; i++) {
+            addDeclarations(statements.get(i), outerLocals, outerNames, cursor);
+        }
+
+        List<Names> statementNames = new ArrayList<>();
+        for (Statement statement : statements) {
+            statementNames.add(names(statement));
+        }
+
+        // A local declared among the statements takes the statements up to its last use with it, unless the
+        // return uses it too and it has to stay
+        List<Unit> units = new ArrayList<>();
+        for (int i = start; i < end; ) {
+            int unitEnd = i;
+            boolean pinned = false;
+            for (int k = i; k <= unitEnd; k++) {
+                if (!(statements.get(k) instanceof J.VariableDeclarations declaration)) {
+                    continue;
+                }
+                for (J.VariableDeclarations.NamedVariable variable : declaration.getVariables()) {
+                    int lastUse = k;
+                    for (int j = statements.size() - 1; j > k; j--) {
+                        if (statementNames.get(j).referenced().contains(variable.getSimpleName())) {
+                            lastUse = j;
+                            break;
+                        }
+                    }
+                    if (lastUse >= end) {
+                        pinned = true;
+                    } else {
+                        unitEnd = Math.max(unitEnd, lastUse);
+                    }
+                }
+            }
+            List<Statement> unitStatements = statements.subList(i, unitEnd + 1);
+            Unit unit = unit(unitStatements, !pinned, parameters, outerLocals, outerNames);
+            if (!unit.movable()) {
+                unitStatements.forEach(statement -> addDeclarations(statement, outerLocals, outerNames, cursor));
+            }
+            units.add(unit);
+            i = unitEnd + 1;
+        }
+
+        // Consecutive units that read the same source property are packed into the same part when they fit
+        List<List<Unit>> groups = new ArrayList<>();
+        List<Unit> group = new ArrayList<>();
+        int groupSize = 0;
+        for (int u = 0; u < units.size(); u++) {
+            Unit unit = units.get(u);
+            if (!unit.movable()) {
+                if (!group.isEmpty()) {
+                    groups.add(group);
+                }
+                groups.add(List.of(unit));
+                group = new ArrayList<>();
+                groupSize = 0;
+                continue;
+            }
+            int runSize = unit.size();
+            for (int r = u + 1; unit.property() != null && r < units.size()
+                    && units.get(r).movable() && unit.property().equals(units.get(r).property()); r++) {
+                runSize += units.get(r).size();
+            }
+            boolean startsRun = u == 0 || unit.property() == null
+                    || !unit.property().equals(units.get(u - 1).property());
+            int addedSize = startsRun && runSize <= partSize ? runSize : unit.size();
+            if (!group.isEmpty() && groupSize + addedSize > partSize) {
+                groups.add(group);
+                group = new ArrayList<>();
+                groupSize = 0;
+            }
+            group.add(unit);
+            groupSize += unit.size();
+        }
+        if (!group.isEmpty()) {
+            groups.add(group);
+        }
+
+        List<Part> parts = new ArrayList<>();
+        StringBuilder body = new StringBuilder("{\n");
+        int sizeAfter = 0;
+        for (int i = 0; i < start; i++) {
+            body.append(statements.get(i).printTrimmed(cursor)).append('\n');
+            sizeAfter += BytecodeSizeEstimator.estimate(statements.get(i));
+        }
+        String modifiers = method.hasModifier(J.Modifier.Type.Static) ? "private static void " : "private void ";
+        String throwsClause = method.getThrows() == null || method.getThrows().isEmpty()
+                ? ""
+                : " throws " + String.join(", ", method.getThrows().stream()
+                .map(thrown -> thrown.printTrimmed(cursor))
+                .toList());
+        for (List<Unit> g : groups) {
+            if (!g.get(0).movable()) {
+                for (Statement statement : g.get(0).statements()) {
+                    body.append(statement.printTrimmed(cursor)).append('\n');
+                    sizeAfter += BytecodeSizeEstimator.estimate(statement);
+                }
+                continue;
+            }
+
+            Map<String, String> partParameters = new LinkedHashMap<>(parameters);
+            StringBuilder partBody = new StringBuilder();
+            int size = 0;
+            for (Unit unit : g) {
+                partParameters.putAll(unit.outerLocals());
+                for (Statement statement : unit.statements()) {
+                    partBody.append(statement.printTrimmed(cursor)).append('\n');
+                }
+                size += unit.size();
+            }
+
+            String name = method.getSimpleName() + "Part" + (parts.size() + 1);
+            for (int n = parts.size() + 2; !methodNames.add(name); n++) {
+                name = method.getSimpleName() + "Part" + n;
+            }
+            StringJoiner declared = new StringJoiner(", ");
+            StringJoiner arguments = new StringJoiner(", ");
+            partParameters.forEach((parameterName, type) -> {
+                declared.add(type + " " + parameterName);
+                arguments.add(parameterName);
+            });
+            parts.add(new Part(name, size, modifiers + name + "(" + declared + ")" + throwsClause + " {\n"
+                    + partBody + "}\n"));
+            body.append(name).append('(').append(arguments).append(");\n");
+            sizeAfter += 4 + partParameters.size();
+        }
+        for (int i = end; i < statements.size(); i++) {
+            body.append(statements.get(i).printTrimmed(cursor)).append('\n');
+            sizeAfter += BytecodeSizeEstimator.estimate(statements.get(i));
+        }
+
+        String note = sizeAfter > maxMethodSize
+                ? "Statements that share locals with the rest of the method or assign them were left in place"
+                : "";
+        return parts.isEmpty()
+                ? Split.notSplit("No statement can be moved without changing what the method does")
+                : new Split(parts, body.append('}').toString(), sizeAfter, note);
+    }
+
+    private static void addDeclarations(Statement statement, Map<String, String> outerLocals, Set<String> outerNames,
+                                        Cursor cursor) {
+        if (!(statement instanceof J.VariableDeclarations declaration)) {
+            return;
+        }
+        String type = declaration.getTypeExpression() == null
+                ? "var"
+                : declaration.getTypeExpression().printTrimmed(cursor);
+        for (J.VariableDeclarations.NamedVariable variable : declaration.getVariables()) {
+            outerNames.add(variable.getSimpleName());
+            if (!"var".equals(type) && variable.getDimensionsAfterName().isEmpty()) {
+                outerLocals.put(variable.getSimpleName(), type);
+            }
+        }
+    }
+
+    private static Unit unit(List<Statement> statements, boolean movable, Map<String, String> parameters,
+                             Map<String, String> outerLocals, Set<String> outerNames) {
+        Set<String> referenced = new HashSet<>();
+        Set<String> assigned = new HashSet<>();
+        int size = 0;
+        for (Statement statement : statements) {
+            Names names = names(statement);
+            referenced.addAll(names.referenced());
+            assigned.addAll(names.assigned());
+            size += BytecodeSizeEstimator.estimate(statement);
+        }
+        Map<String, String> used = new LinkedHashMap<>();
+        for (Map.Entry<String, String> local : outerLocals.entrySet()) {
+            if (referenced.contains(local.getKey())) {
+                used.put(local.getKey(), local.getValue());
+            }
+        }
+        for (String name : referenced) {
+            // A local the part can't take as a parameter
+            if (outerNames.contains(name) && !parameters.containsKey(name) && !used.containsKey(name)) {
+                movable = false;
+            }
+        }
+        for (String name : assigned) {
+            if (outerNames.contains(name)) {
+                movable = false;
+            }
+        }
+        return new Unit(List.copyOf(statements), movable, size, used,
+                sourceProperty(statements.get(0), parameters.keySet()));
+    }
+
+    private record Names(Set<String> referenced, Set<String> declared, Set<String> assigned) {
+    }
+
+    private record Unit(List<Statement> statements, boolean movable, int size, Map<String, String> outerLocals,
+                        @Nullable String property) {
+    }
+
+    private record Part(String name, int size, String declaration) {
+    }
+
+    private record Split(List<Part> parts, String body, int sizeAfter, String note) {
+        static Split notSplit(String note) {
+            return new Split(List.of(), "", 0, note);
+        }
+    }
+}
@@ -0,0 +1,542 @@
+package com.santunioni.recipes.removeMapstruct;
+
+import com.santunioni.recipes.table.MapperElidedCopies;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.tree.Expression;
+import org.openrewrite.java.tree.Flag;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JRightPadded;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.Space;
+import org.openrewrite.java.tree.Statement;
+import org.openrewrite.java.tree.TypeUtils;
+import org.openrewrite.marker.Markers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.santunioni.recipes.removeMapstruct.Functions.randomId;
+
+/**
+ * Removes the copies the classes {@link MapperProcessor} merged make of values that can be shared instead.
+ * <p>
+ * Mapstruct maps a property of the same type on both sides by passing the value on, unless the type has properties
+ * of its own, in which case it writes a method that builds a copy of it:
+ * <pre>
+ * protected Money moneyToMoney(Money money) {
+ *     if (money == null) {
+ *         return null;
+ *     }
+ *     Money.MoneyBuilder money1 = Money.builder();
+ *     money1.amount(money.getAmount());
+ *     money1.currency(money.getCurrency());
+ *     return money1.build();
+ * }
+ * </pre>
+ * When {@link ImmutableTypes} proves the type immutable, and the method does nothing but read each of its fields
+ * into the property of the same name of a new value, the copy can only be told apart from the value by identity.
+ * The method is removed, and its calls are replaced with their argument. Copy methods that call other removable
+ * ones for nested values are removed too.
+ * <p>
+ * Collections are copied into a new {@code ArrayList}, {@code HashSet} or {@code HashMap} before they are set on
+ * the target. When the setter stores a copy of what it is given anyway, as {@link CopyingSetters} found, the
+ * collection is passed on as it is. A mutable collection is never shared otherwise, immutable elements or not.
+ * <p>
+ * Each removed copy is reported, with why it was safe to remove.
+ */
+@NullMarked
+public class ImmutableCopyEliminator extends JavaVisitor<ExecutionContext> {
+    private static final String ELIDED = "ELIDED_COPY_METHODS";
+    private static final String MAPPER_FQN = "ELIDED_COPY_MAPPER_FQN";
+
+    private final CopyingSetters copyingSetters;
+    private final MapperElidedCopies elidedCopies;
+
+    public ImmutableCopyEliminator(CopyingSetters copyingSetters, MapperElidedCopies elidedCopies) {
+        this.copyingSetters = copyingSetters;
+        this.elidedCopies = elidedCopies;
+    }
+
+    /**
+     * The type a method copies, or null if it isn't shaped like the copy method of an immutable type: a body, and
+     * one parameter of the type it returns.
+     */
+    private static JavaType.@Nullable FullyQualified copiedType(J.MethodDeclaration method) {
+        if (method.getBody() == null
+                || method.isConstructor()
+                || method.hasModifier(J.Modifier.Type.Public)
+                || method.getMethodType() == null
+                || method.getParameters().size() != 1
+                || !(method.getParameters().get(0) instanceof J.VariableDeclarations parameter)
+                || parameter.getVariables().size() != 1) {
+            return null;
+        }
+        JavaType returnType = method.getMethodType().getReturnType();
+        JavaType.FullyQualified type = TypeUtils.asFullyQualified(returnType);
+        return type != null
+                && TypeUtils.isOfType(returnType, method.getMethodType().getParameterTypes().get(0))
+                && ImmutableTypes.isImmutable(returnType)
+                ? type
+                : null;
+    }
+
+    /**
+     * True when a copy method reads every field of its parameter, and does nothing else than build a value of its
+     * type from them, through a constructor taking them in declaration order or a builder. Null checks are allowed,
+     * and calls to the copy methods already known to be removable.
+     */
+    private static boolean isFieldForFieldCopy(J.MethodDeclaration method, JavaType.FullyQualified type,
+                                               Set<String> elided) {
+        String parameterName = ((J.VariableDeclarations) method.getParameters().get(0)).getVariables().get(0)
+                .getSimpleName();
+        List<String> fields = new ArrayList<>();
+        for (JavaType.Variable field : type.getMembers()) {
+            if (!field.hasFlags(Flag.Static)) {
+                fields.add(field.getName());
+            }
+        }
+        if (fields.isEmpty() || method.getBody() == null) {
+            return false;
+        }
+
+        CopyReader reader = new CopyReader(parameterName, type, fields, elided);
+        reader.visit(method.getBody(), 0);
+        return reader.isCopy && reader.fieldsRead.containsAll(fields);
+    }
+
+    private static boolean isThis(@Nullable Expression expression) {
+        return expression instanceof J.Identifier identifier && "this".equals(identifier.getSimpleName());
+    }
+
+    private static boolean hasNoArguments(J.MethodInvocation invocation) {
+        return invocation.getArguments().stream().allMatch(a -> a instanceof J.Empty);
+    }
+
+    private static boolean isNull(Expression expression) {
+        return expression instanceof J.Literal literal && literal.getValue() == null;
+    }
+
+    private static Expression replaceWith(Expression replaced, Expression operand) {
+        if (operand instanceof J.Identifier
+                || operand instanceof J.FieldAccess
+                || operand instanceof J.MethodInvocation
+                || operand instanceof J.Literal
+                || operand instanceof J.ArrayAccess
+                || operand instanceof J.Parentheses<?>) {
+            return operand.withPrefix(replaced.getPrefix());
+        }
+        return new J.Parentheses<>(randomId(), replaced.getPrefix(), Markers.EMPTY,
+                JRightPadded.build(operand.withPrefix(Space.EMPTY)));
+    }
+
+    @Override
+    public J visitCompilationUnit(J.CompilationUnit compilationUnit, ExecutionContext ctx) {
+        if (!Functions.isOptimizedMapper(compilationUnit)) {
+            return compilationUnit;
+        }
+        return super.visitCompilationUnit(compilationUnit, ctx);
+    }
+
+    @Override
+    public J visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
+        // The copy methods of the mapper class itself, called from anywhere in it
+        if (!(getCursor().getParentTreeCursor().getValue() instanceof J.CompilationUnit compilationUnit)) {
+            return super.visitClassDeclaration(classDecl, ctx);
+        }
+        String mapperFqn = compilationUnit.getMarkers().findFirst(MigratedMapper.class)
+                .map(MigratedMapper::getMapperFqn)
+                .orElse("");
+        getCursor().putMessage(MAPPER_FQN, mapperFqn);
+
+        Set<String> methodNames = new HashSet<>();
+        Set<String> overloaded = new HashSet<>();
+        for (Statement statement : classDecl.getBody().getStatements()) {
+            if (statement instanceof J.MethodDeclaration method && !methodNames.add(method.getSimpleName())) {
+                overloaded.add(method.getSimpleName());
+            }
+        }
+
+        Map<String, J.MethodDeclaration> candidates = new LinkedHashMap<>();
+        Map<String, JavaType.FullyQualified> copiedTypes = new HashMap<>();
+        for (Statement statement : classDecl.getBody().getStatements()) {
+            if (statement instanceof J.MethodDeclaration method && !overloaded.contains(method.getSimpleName())) {
+                JavaType.FullyQualified type = copiedType(method);
+                if (type != null) {
+                    candidates.put(method.getSimpleName(), method);
+                    copiedTypes.put(method.getSimpleName(), type);
+                }
+            }
+        }
+
+        // A copy method that calls another is removable once the other one is
+        Set<String> elided = new HashSet<>();
+        boolean found = !candidates.isEmpty();
+        while (found) {
+            found = false;
+            for (J.MethodDeclaration candidate : candidates.values()) {
+                String name = candidate.getSimpleName();
+                if (!elided.contains(name)
+                        && isFieldForFieldCopy(candidate, copiedTypes.get(name), elided)) {
+                    elided.add(name);
+                    found = true;
+                }
+            }
+        }
+        if (elided.isEmpty()) {
+            return super.visitClassDeclaration(classDecl, ctx);
+        }
+
+        List<Statement> kept = new ArrayList<>();
+        for (Statement statement : classDecl.getBody().getStatements()) {
+            if (statement instanceof J.MethodDeclaration method && elided.contains(method.getSimpleName())) {
+                String typeName = copiedTypes.get(method.getSimpleName()).getClassName();
+                elidedCopies.insertRow(ctx, new MapperElidedCopies.Row(compilationUnit.getSourcePath().toString(),
+                        mapperFqn, method.getSimpleName(),
+                        typeName + " " + method.getSimpleName() + "(" + typeName + ")",
+                        typeName + " is immutable, and the method copied each of its fields"));
+                continue;
+            }
+            kept.add(statement);
+        }
+        getCursor().putMessage(ELIDED, elided);
+        return super.visitClassDeclaration(classDecl.withBody(classDecl.getBody().withStatements(kept)), ctx);
+    }
+
+    @Override
+    public J visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+        J visited = super.visitMethodInvocation(method, ctx);
+        if (!(visited instanceof J.MethodInvocation invocation)) {
+            return visited;
+        }
+
+        Set<String> elided = getCursor().getNearestMessage(ELIDED, Collections.emptySet());
+        if (!elided.contains(invocation.getSimpleName())
+                || invocation.getSelect() != null && !isThis(invocation.getSelect())
+                || invocation.getArguments().size() != 1
+                || invocation.getArguments().get(0) instanceof J.Empty) {
+            return passOnCopiedCollection(invocation, ctx);
+        }
+        // A call from a nested class is to that class's own method of the name, if it has one
+        J.ClassDeclaration enclosingClass = getCursor().firstEnclosingOrThrow(J.ClassDeclaration.class);
+        for (Statement statement : enclosingClass.getBody().getStatements()) {
+            if (statement instanceof J.MethodDeclaration declared
+                    && declared.getSimpleName().equals(invocation.getSimpleName())) {
+                return passOnCopiedCollection(invocation, ctx);
+            }
+        }
+        return replaceWith(invocation, invocation.getArguments().get(0));
+    }
+
+    /**
+     * {@code target.setTags(new ArrayList<>(tags))} becomes {@code target.setTags(tags)} when {@code setTags}
+     * copies its argument.
+     */
+    private J.MethodInvocation passOnCopiedCollection(J.MethodInvocation invocation, ExecutionContext ctx) {
+        JavaType.Method setter = invocation.getMethodType();
+        if (setter == null
+                || invocation.getArguments().size() != 1
+                || !(invocation.getArguments().get(0) instanceof J.NewClass copy)
+                || copy.getBody() != null
+                || copy.getArguments().size() != 1
+                || copy.getArguments().get(0) instanceof J.Empty) {
+            return invocation;
+        }
+        JavaType.FullyQualified copyType = TypeUtils.asFullyQualified(copy.getType());
+        Expression copied = copy.getArguments().get(0);
+        if (copyType == null
+                || !CopyingSetters.COPY_CONSTRUCTORS.contains(copyType.getFullyQualifiedName())
+                || !copyingSetters.isCopyingSetter(setter)
+                || !TypeUtils.isAssignableTo(setter.getParameterTypes().get(0), copied.getType())) {
+            return invocation;
+        }
+
+        J.MethodDeclaration enclosingMethod = getCursor().firstEnclosing(J.MethodDeclaration.class);
+        elidedCopies.insertRow(ctx, new MapperElidedCopies.Row(
+                getCursor().firstEnclosingOrThrow(J.CompilationUnit.class).getSourcePath().toString(),
+                getCursor().getNearestMessage(MAPPER_FQN, ""),
+                enclosingMethod == null ? "" : enclosingMethod.getSimpleName(),
+                copy.printTrimmed(getCursor()),
+                setter.getDeclaringType().getClassName() + "." + setter.getName() + " copies its argument"));
+        return invocation.withArguments(Collections.singletonList(copied.withPrefix(copy.getPrefix())));
+    }
+
+    /**
+     * Reads the body of a copy method, and tells whether it does nothing but build a value from the fields of its
+     * parameter, each into the property of the same name.
+     */
+    private static class CopyReader extends JavaIsoVisitor<Integer> {
+        private final String parameterName;
+        private final JavaType.FullyQualified type;
+        private final List<String> fields;
+        private final Set<String> elided;
+        /**
+         * The field each local variable holds, once it is assigned one.
+         */
+        private final Map<String, String> localFields = new HashMap<>();
+        private final Set<String> fieldsRead = new HashSet<>();
+        private boolean isCopy = true;
+
+        CopyReader(String parameterName, JavaType.FullyQualified type, List<String> fields, Set<String> elided) {
+            this.parameterName = parameterName;
+            this.type = type;
+            this.fields = fields;
+            this.elided = elided;
+        }
+
+        /**
+         * The field of the parameter an expression reads, directly, through a local or through a removable copy
+         * method, or null if it reads none.
+         */
+        private @Nullable String fieldRead(Expression expression) {
+            if (expression instanceof J.Parentheses<?> parentheses
+                    && parentheses.getTree() instanceof Expression inner) {
+                return fieldRead(inner);
+            }
+            if (expression instanceof J.Identifier identifier) {
+                return localFields.get(identifier.getSimpleName());
+            }
+            if (!(expression instanceof J.MethodInvocation invocation)) {
+                return null;
+            }
+            if (isElidedCall(invocation)) {
+                return fieldRead(invocation.getArguments().get(0));
+            }
+            return getterField(invocation);
+        }
+
+        /**
+         * The field a getter of the parameter reads: {@code getAmount()}, {@code isActive()}, or {@code amount()}
+         * for records.
+         */
+        private @Nullable String getterField(J.MethodInvocation invocation) {
+            if (!(invocation.getSelect() instanceof J.Identifier select)
+                    || !parameterName.equals(select.getSimpleName())
+                    || !hasNoArguments(invocation)) {
+                return null;
+            }
+            String property = propertyName(invocation.getSimpleName(), "get", "is");
+            return fields.contains(property) ? property
+                    : fields.contains(invocation.getSimpleName()) ? invocation.getSimpleName()
+                    : null;
+        }
+
+        private boolean isElidedCall(J.MethodInvocation invocation) {
+            return (invocation.getSelect() == null || isThis(invocation.getSelect()))
+                    && elided.contains(invocation.getSimpleName())
+                    && invocation.getArguments().size() == 1
+                    && !(invocation.getArguments().get(0) instanceof J.Empty);
+        }
+
+        private static String propertyName(String methodName, String... prefixes) {
+            for (String prefix : prefixes) {
+                if (methodName.length() > prefix.length()
+                        && methodName.startsWith(prefix)
+                        && Character.isUpperCase(methodName.charAt(prefix.length()))) {
+                    return Character.toLowerCase(methodName.charAt(prefix.length()))
+                            + methodName.substring(prefix.length() + 1);
+                }
+            }
+            return methodName;
+        }
+
+        @Override
+        public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, Integer p) {
+            String getterField = getterField(method);
+            if (getterField != null) {
+                fieldsRead.add(getterField);
+                return method;
+            }
+            if (method.getSelect() instanceof J.Identifier select && parameterName.equals(select.getSimpleName())) {
+                // Anything but a getter of the parameter computes something new from it
+                isCopy = false;
+                return method;
+            }
+
+            if (method.getSelect() == null || isThis(method.getSelect())) {
+                isCopy &= isElidedCall(method) && fieldRead(method.getArguments().get(0)) != null;
+            } else if (hasNoArguments(method)) {
+                // Type.builder() and builder.build()
+                isCopy &= "builder".equals(method.getSimpleName()) && isTypeReference(method.getSelect())
+                        || "build".equals(method.getSimpleName());
+            } else {
+                // builder.amount(money.getAmount())
+                String fieldRead = method.getArguments().size() == 1 ? fieldRead(method.getArguments().get(0)) : null;
+                isCopy &= fieldRead != null && fieldRead.equals(propertyName(method.getSimpleName(), "set"));
+            }
+            return super.visitMethodInvocation(method, p);
+        }
+
+        private static boolean isTypeReference(@Nullable Expression expression) {
+            return expression instanceof J.Identifier identifier && identifier.getFieldType() == null
+                    || expression instanceof J.FieldAccess fieldAccess && fieldAccess.getName().getFieldType() == null;
+        }
+
+        @Override
+        public J.NewClass visitNewClass(J.NewClass newClass, Integer p) {
+            List<Expression> arguments = new ArrayList<>();
+            for (Expression argument : newClass.getArguments()) {
+                if (!(argument instanceof J.Empty)) {
+                    arguments.add(argument);
+                }
+            }
+            if (newClass.getBody() != null
+                    || !TypeUtils.isOfType(newClass.getType(), type)
+                    || arguments.size() != fields.size()) {
+                isCopy = false;
+                return newClass;
+            }
+            for (int i = 0; i < arguments.size(); i++) {
+                isCopy &= fields.get(i).equals(fieldRead(arguments.get(i)));
+            }
+            return super.visitNewClass(newClass, p);
+        }
+
+        @Override
+        public J.VariableDeclarations.NamedVariable visitVariable(J.VariableDeclarations.NamedVariable variable,
+                                                                  Integer p) {
+            String fieldRead = variable.getInitializer() == null ? null : fieldRead(variable.getInitializer());
+            if (fieldRead != null) {
+                localFields.put(variable.getSimpleName(), fieldRead);
+            }
+            return super.visitVariable(variable, p);
+        }
+
+        @Override
+        public J.Assignment visitAssignment(J.Assignment assignment, Integer p) {
+            if (!(assignment.getVariable() instanceof J.Identifier variable)
+                    || variable.getFieldType() != null
+                    && variable.getFieldType().getOwner() instanceof JavaType.FullyQualified) {
+                isCopy = false;
+                return assignment;
+            }
+            String fieldRead = fieldRead(assignment.getAssignment());
+            if (fieldRead != null) {
+                localFields.put(variable.getSimpleName(), fieldRead);
+            } else {
+                localFields.remove(variable.getSimpleName());
+            }
+            return super.visitAssignment(assignment, p);
+        }
+
+        @Override
+        public J.Identifier visitIdentifier(J.Identifier identifier, Integer p) {
+            // Fields of the mapper or of other classes
+            isCopy &= identifier.getFieldType() == null
+                    || !(identifier.getFieldType().getOwner() instanceof JavaType.FullyQualified);
+            return identifier;
+        }
+
+        @Override
+        public J.FieldAccess visitFieldAccess(J.FieldAccess fieldAccess, Integer p) {
+            isCopy &= fieldAccess.getName().getFieldType() == null;
+            return fieldAccess;
+        }
+
+        @Override
+        public J.Literal visitLiteral(J.Literal literal, Integer p) {
+            isCopy &= literal.getValue() == null;
+            return literal;
+        }
+
+        @Override
+        public J.Binary visitBinary(J.Binary binary, Integer p) {
+            isCopy &= (binary.getOperator() == J.Binary.Type.Equal || binary.getOperator() == J.Binary.Type.NotEqual)
+                    && (isNull(binary.getLeft()) || isNull(binary.getRight()));
+            return super.visitBinary(binary, p);
+        }
+
+        @Override
+        public J.Unary visitUnary(J.Unary unary, Integer p) {
+            isCopy = false;
+            return unary;
+        }
+
+        @Override
+        public J.AssignmentOperation visitAssignmentOperation(J.AssignmentOperation assignOp, Integer p) {
+            isCopy = false;
+            return assignOp;
+        }
+
+        @Override
+        public J.TypeCast visitTypeCast(J.TypeCast typeCast, Integer p) {
+            isCopy = false;
+            return typeCast;
+        }
+
+        @Override
+        public J.ArrayAccess visitArrayAccess(J.ArrayAccess arrayAccess, Integer p) {
+            isCopy = false;
+            return arrayAccess;
+        }
+
+        @Override
+        public J.NewArray visitNewArray(J.NewArray newArray, Integer p) {
+            isCopy = false;
+            return newArray;
+        }
+
+        @Override
+        public J.Lambda visitLambda(J.Lambda lambda, Integer p) {
+            isCopy = false;
+            return lambda;
+        }
+
+        @Override
+        public J.MemberReference visitMemberReference(J.MemberReference memberRef, Integer p) {
+            isCopy = false;
+            return memberRef;
+        }
+
+        @Override
+        public J.ForEachLoop visitForEachLoop(J.ForEachLoop forLoop, Integer p) {
+            isCopy = false;
+            return forLoop;
+        }
+
+        @Override
+        public J.ForLoop visitForLoop(J.ForLoop forLoop, Integer p) {
+            isCopy = false;
+            return forLoop;
+        }
+
+        @Override
+        public J.WhileLoop visitWhileLoop(J.WhileLoop whileLoop, Integer p) {
+            isCopy = false;
+            return whileLoop;
+        }
+
+        @Override
+        public J.DoWhileLoop visitDoWhileLoop(J.DoWhileLoop doWhileLoop, Integer p) {
+            isCopy = false;
+            return doWhileLoop;
+        }
+
+        @Override
+        public J.Switch visitSwitch(J.Switch switch_, Integer p) {
+            isCopy = false;
+            return switch_;
+        }
+
+        @Override
+        public J.Throw visitThrow(J.Throw thrown, Integer p) {
+            isCopy = false;
+            return thrown;
+        }
+
+        @Override
+        public J.Try visitTry(J.Try tryable, Integer p) {
+            isCopy = false;
+            return tryable;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.santunioni.recipes.removeMapstruct;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.java.tree.Flag;
+import org.openrewrite.java.tree.JavaType;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Proves from type attribution that the values of a type can't change once built, so a copy of one can be shared
+ * instead.
+ * <p>
+ * Primitives, Strings, boxed primitives, {@code java.time} values, {@code BigDecimal}, {@code BigInteger},
+ * {@code UUID} and the like are immutable, and so are enums and Guava's immutable collections of immutable
+ * elements. A final class or a record is immutable when every instance field is final and of an immutable type,
+ * and it extends nothing but {@code Object} or {@code Record}. Anything else, including type variables, arrays and
+ * the {@code java.util} collections, is not.
+ */
+@NullMarked
+final class ImmutableTypes {
+    private static final Set<String> IMMUTABLE_TYPES = Set.of(
+            "java.lang.String", "java.lang.Integer", "java.lang.Long", "java.lang.Short", "java.lang.Byte",
+            "java.lang.Character", "java.lang.Boolean", "java.lang.Double", "java.lang.Float",
+            "java.math.BigDecimal", "java.math.BigInteger", "java.util.UUID", "java.util.Locale",
+            "java.util.Currency", "java.net.URI", "java.util.regex.Pattern"
+    );
+    /**
+     * Named one by one: a prefix would also take in their builders, like {@code ImmutableList.Builder}.
+     */
+    private static final Set<String> IMMUTABLE_COLLECTIONS = Set.of(
+            "com.google.common.collect.ImmutableCollection", "com.google.common.collect.ImmutableList",
+            "com.google.common.collect.ImmutableSet", "com.google.common.collect.ImmutableSortedSet",
+            "com.google.common.collect.ImmutableMap", "com.google.common.collect.ImmutableSortedMap",
+            "com.google.common.collect.ImmutableBiMap", "com.google.common.collect.ImmutableMultiset",
+            "com.google.common.collect.ImmutableSortedMultiset", "com.google.common.collect.ImmutableMultimap",
+            "com.google.common.collect.ImmutableListMultimap", "com.google.common.collect.ImmutableSetMultimap",
+            "com.google.common.collect.ImmutableTable", "com.google.common.collect.ImmutableRangeSet",
+            "com.google.common.collect.ImmutableRangeMap", "com.google.common.collect.ImmutableClassToInstanceMap"
+    );
+    private static final Set<String> PLAIN_SUPER_TYPES = Set.of("java.lang.Object", "java.lang.Record");
+
+    private ImmutableTypes() {
+    }
+
+    static boolean isImmutable(@Nullable JavaType type) {
+        return isImmutable(type, new HashSet<>());
+    }
+
+    /**
+     * @param visiting the types being proved, taken as immutable when a field refers back to one of them
+     */
+    private static boolean isImmutable(@Nullable JavaType type, Set<String> visiting) {
+        if (type instanceof JavaType.Primitive primitive) {
+            return primitive != JavaType.Primitive.Null && primitive != JavaType.Primitive.None;
+        }
+        if (!(type instanceof JavaType.FullyQualified fq) || fq instanceof JavaType.Unknown) {
+            return false;
+        }
+
+        String fqn = fq.getFullyQualifiedName();
+        if (IMMUTABLE_TYPES.contains(fqn) || fqn.startsWith("java.time.")
+                || fq.getKind() == JavaType.FullyQualified.Kind.Enum) {
+            return true;
+        }
+        if (IMMUTABLE_COLLECTIONS.contains(fqn)) {
+            if (!(fq instanceof JavaType.Parameterized parameterized)) {
+                return false;
+            }
+            for (JavaType typeParameter : parameterized.getTypeParameters()) {
+                if (!isImmutable(typeParameter, visiting)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        if (fq.getKind() != JavaType.FullyQualified.Kind.Record
+                && (fq.getKind() != JavaType.FullyQualified.Kind.Class || !fq.hasFlags(Flag.Final))) {
+            return false;
+        }
+        if (fq.getSupertype() != null && !PLAIN_SUPER_TYPES.contains(fq.getSupertype().getFullyQualifiedName())) {
+            return false;
+        }
+        if (!visiting.add(fqn)) {
+            return true;
+        }
+        for (JavaType.Variable field : fq.getMembers()) {
+            if (field.hasFlags(Flag.Static)) {
+                continue;
+            }
+            if (!field.hasFlags(Flag.Final) || !isImmutable(field.getType(), visiting)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -4,12 +4,15 @@ import org.jspecify.annotations.NullMarked;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
 import org.openrewrite.java.tree.TypeTree;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
+import static com.santunioni.recipes.removeMapstruct.Functions.decoratedMapperFqn;
+import static com.santunioni.recipes.removeMapstruct.Functions.isMapperDeclaration;
 import static com.santunioni.recipes.removeMapstruct.Functions.isMapperImplementation;
 
 @NullMarked
@@ -20,30 +23,99 @@ public class ImplementationScanner extends JavaIsoVisitor<ExecutionContext> {
         this.acc = acc;
     }
 
+    private boolean isInScope(J.CompilationUnit compilationUnit) {
+        return compilationUnit.getPackageDeclaration() != null
+                && acc.getScope().includesPackage(compilationUnit.getPackageDeclaration().getPackageName());
+    }
+
+    /**
+     * Declarations and decorators are also held to the source path globs, which generated implementations are not.
+     */
+    private boolean isSourceInScope(J.CompilationUnit compilationUnit) {
+        return isInScope(compilationUnit) && acc.getScope().includesSourcePath(compilationUnit.getSourcePath());
+    }
+
     @Override
     public J.CompilationUnit visitCompilationUnit(J.CompilationUnit mapperImpl, ExecutionContext ctx) {
-        if (!isMapperImplementation(mapperImpl)) {
+        if (!isMapperImplementation(mapperImpl, acc.isNameBasedMatching())) {
+            VerificationSources verificationSources = acc.getVerificationSources();
+            if (verificationSources != null) {
+                verificationSources.add(mapperImpl);
+            }
+            String decoratedMapperFqn = decoratedMapperFqn(mapperImpl);
+            if (decoratedMapperFqn != null && isSourceInScope(mapperImpl)) {
+                acc.addDecorator(mapperImpl, decoratedMapperFqn);
+            } else if (isMapperDeclaration(mapperImpl, acc.isNameBasedMatching()) && isInScope(mapperImpl)) {
+                if (acc.getScope().includesSourcePath(mapperImpl.getSourcePath())) {
+                    addDeclaration(mapperImpl);
+                } else {
+                    excludeDeclaration(mapperImpl);
+                }
+            }
+            return mapperImpl;
+        }
+
+        if (!isInScope(mapperImpl)) {
             return mapperImpl;
         }
 
+        MigrationEvents.ScanImplementation event = new MigrationEvents.ScanImplementation();
+        event.begin();
+        int linkedTypes = 0;
         for (J.ClassDeclaration classDecl : mapperImpl.getClasses()) {
-            if (mapperImpl.getPackageDeclaration() == null) {
-                continue;
-            }
 
             List<TypeTree> implInterfaces = Objects
                     .requireNonNullElse(classDecl.getImplements(),
                             Collections.emptyList());
             for (TypeTree interfaceDecl : implInterfaces) {
                 acc.addLinking(interfaceDecl, mapperImpl);
+                linkedTypes++;
             }
 
             if (classDecl.getExtends() != null) {
                 acc.addLinking(classDecl.getExtends(), mapperImpl);
+                linkedTypes++;
             }
 
         }
-        return super.visitCompilationUnit(mapperImpl, ctx);
+
+        if (event.shouldCommit()) {
+            JavaType.FullyQualified implType = mapperImpl.getClasses().get(0).getType();
+            event.sourcePath = mapperImpl.getSourcePath().toString();
+            event.implFqn = implType == null ? null : implType.getFullyQualifiedName();
+            event.linkedTypes = linkedTypes;
+            event.commit();
+        }
+        // The implementation is fully classified by its class declarations; nothing below them is needed
+        return mapperImpl;
+    }
+
+    /**
+     * A declaration outside the source paths is not merged, so references to its implementation must not be
+     * rewritten either.
+     */
+    private void excludeDeclaration(J.CompilationUnit mapperDeclFile) {
+        J.ClassDeclaration mapperDeclClass = mapperDeclFile.getClasses().get(0);
+        if (acc.isNameBasedMatching()) {
+            acc.excludeMapper(NameBasedTypes.declaredFqn(mapperDeclFile, mapperDeclClass));
+        } else if (mapperDeclClass.getType() != null) {
+            acc.excludeMapper(mapperDeclClass.getType().getFullyQualifiedName());
+        }
+    }
+
+    private void addDeclaration(J.CompilationUnit mapperDeclFile) {
+        J.ClassDeclaration mapperDeclClass = mapperDeclFile.getClasses().get(0);
+        String mapperFqn;
+        if (acc.isNameBasedMatching()) {
+            mapperFqn = NameBasedTypes.declaredFqn(mapperDeclFile, mapperDeclClass);
+            acc.addDeclaration(mapperFqn, mapperDeclFile.getSourcePath());
+        } else if (mapperDeclClass.getType() != null) {
+            mapperFqn = mapperDeclClass.getType().getFullyQualifiedName();
+        } else {
+            return;
+        }
+        acc.addContract(mapperFqn, MapperContract.of(mapperDeclFile));
+        acc.addDeclarationFile(mapperFqn, mapperDeclFile);
     }
 
 }
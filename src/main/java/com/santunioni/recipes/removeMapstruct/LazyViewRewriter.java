@@ -0,0 +1,618 @@
+package com.santunioni.recipes.removeMapstruct;
+
+import com.santunioni.recipes.table.MapperLazyViews;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Cursor;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.tree.Expression;
+import org.openrewrite.java.tree.Flag;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.Statement;
+import org.openrewrite.java.tree.TypeTree;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.UUID;
+
+/**
+ * Replaces the mapping methods of the classes {@link MapperProcessor} merged that build an interface, with one that
+ * returns a view of the source implementing it:
+ * <pre>
+ * public UserView toUserView(User user) {
+ *     if (user == null) {
+ *         return null;
+ *     }
+ *     ImmutableUserView.Builder userView = ImmutableUserView.builder();
+ *     userView.name(user.getName());
+ *     userView.addresses(addressListToAddressViewList(user.getAddresses()));
+ *     return userView.build();
+ * }
+ * </pre>
+ * becomes a method returning {@code new LazyUserView(user)}, an inner class whose {@code getName()} returns
+ * {@code user.getName()} and whose {@code getAddresses()} returns a list that maps each address as it is read.
+ * Nothing is mapped before it is read, and what is read twice is mapped twice.
+ * <p>
+ * Only methods that do nothing but set each property the interface has from an expression of the source are
+ * rewritten. A list property is mapped lazily when it is set from a method of the mapper that adds each element of
+ * a list, mapped, to a new one. Targets that are classes keep their copy: a view of one would have to extend it,
+ * and carry the fields it never sets. So do targets whose copy is of a class that defines {@code equals} or
+ * {@code hashCode}, or a record, as callers may compare or hash the results. Each method of that shape is reported,
+ * with its view or why it has none.
+ * <p>
+ * A view is not a value like the copy it replaces. It has the {@code equals}, {@code hashCode} and
+ * {@code toString} of {@code Object}, whatever those of the copy did, and it reads the source when its getters are
+ * called rather than taking a snapshot of it when the mapping method is: a change to the source in between shows
+ * through it.
+ */
+@NullMarked
+public class LazyViewRewriter extends JavaIsoVisitor<ExecutionContext> {
+    private static final String LAZY_LIST = "LazyList";
+    private static final String VIEWS = "LAZY_VIEWS";
+    private static final Set<String> OBJECT_METHODS = Set.of("equals", "hashCode", "toString", "getClass");
+    private static final String LAZY_LIST_DECLARATION = """
+            private static final class LazyList<S, T> extends AbstractList<T> {
+                private final List<S> source;
+                private final Function<? super S, ? extends T> mapping;
+
+                private LazyList(List<S> source, Function<? super S, ? extends T> mapping) {
+                    this.source = source;
+                    this.mapping = mapping;
+                }
+
+                static <S, T> List<T> of(List<S> source, Function<? super S, ? extends T> mapping) {
+                    return source == null ? null : new LazyList<>(source, mapping);
+                }
+
+                @Override
+                public T get(int index) {
+                    return mapping.apply(source.get(index));
+                }
+
+                @Override
+                public int size() {
+                    return source.size();
+                }
+            }
+            """;
+
+    private final MapperLazyViews lazyViews;
+
+    public LazyViewRewriter(MapperLazyViews lazyViews) {
+        this.lazyViews = lazyViews;
+    }
+
+    /**
+     * The properties a mapping method sets from its parameter, or null if it does anything else:
+     * <pre>
+     * if (source == null) {
+     *     return null;
+     * }
+     * Target.Builder target = Target.builder();
+     * target.name(source.getName());
+     * ...
+     * return target.build();
+     * </pre>
+     */
+    private static @Nullable Mapping mapping(J.MethodDeclaration method) {
+        if (method.getBody() == null
+                || method.isConstructor()
+                || method.getMethodType() == null
+                || method.getReturnTypeExpression() == null
+                || method.getParameters().size() != 1
+                || !(method.getParameters().get(0) instanceof J.VariableDeclarations parameter)
+                || parameter.getVariables().size() != 1
+                || parameter.getTypeExpression() == null) {
+            return null;
+        }
+        String parameterName = parameter.getVariables().get(0).getSimpleName();
+        List<Statement> statements = method.getBody().getStatements();
+        int first = !statements.isEmpty() && isNullCheck(statements.get(0), parameterName) ? 1 : 0;
+        if (statements.size() < first + 3
+                || !(statements.get(first) instanceof J.VariableDeclarations target)
+                || target.getVariables().size() != 1
+                || !isNewTarget(target.getVariables().get(0).getInitializer())) {
+            return null;
+        }
+        String targetName = target.getVariables().get(0).getSimpleName();
+
+        Map<String, Expression> properties = new LinkedHashMap<>();
+        for (Statement statement : statements.subList(first + 1, statements.size() - 1)) {
+            if (!(statement instanceof J.MethodInvocation setter)
+                    || !isIdentifier(setter.getSelect(), targetName)
+                    || setter.getArguments().size() != 1
+                    || setter.getArguments().get(0) instanceof J.Empty
+                    || namesIn(setter.getArguments().get(0), false).contains(targetName)
+                    || properties.put(propertyName(setter.getSimpleName(), "set"),
+                    setter.getArguments().get(0)) != null) {
+                return null;
+            }
+        }
+
+        Statement last = statements.get(statements.size() - 1);
+        if (!(last instanceof J.Return returned) || returned.getExpression() == null) {
+            return null;
+        }
+        Expression result = returned.getExpression();
+        boolean returnsTarget = isIdentifier(result, targetName)
+                || result instanceof J.MethodInvocation build
+                && "build".equals(build.getSimpleName())
+                && isIdentifier(build.getSelect(), targetName)
+                && hasNoArguments(build);
+        return returnsTarget
+                ? new Mapping(parameterName, parameter.getTypeExpression(), properties,
+                copyType(target.getVariables().get(0).getInitializer()))
+                : null;
+    }
+
+    /**
+     * How a method maps each element of a list to add it to a new one, or null if it does anything else:
+     * <pre>
+     * if (list == null) {
+     *     return null;
+     * }
+     * List&lt;AddressView&gt; list1 = new ArrayList&lt;AddressView&gt;(list.size());
+     * for (Address address : list) {
+     *     list1.add(addressToAddressView(address));
+     * }
+     * return list1;
+     * </pre>
+     */
+    private static @Nullable IterableMapping iterableMapping(J.MethodDeclaration method) {
+        if (method.getBody() == null
+                || method.isConstructor()
+                || method.getMethodType() == null
+                || method.getParameters().size() != 1
+                || !(method.getParameters().get(0) instanceof J.VariableDeclarations parameter)
+                || parameter.getVariables().size() != 1
+                || !TypeUtils.isOfClassType(method.getMethodType().getReturnType(), "java.util.List")
+                || !TypeUtils.isOfClassType(method.getMethodType().getParameterTypes().get(0), "java.util.List")) {
+            return null;
+        }
+        String parameterName = parameter.getVariables().get(0).getSimpleName();
+        List<Statement> statements = method.getBody().getStatements();
+        if (statements.size() != 4
+                || !isNullCheck(statements.get(0), parameterName)
+                || !(statements.get(1) instanceof J.VariableDeclarations result)
+                || result.getVariables().size() != 1
+                || !(result.getVariables().get(0).getInitializer() instanceof J.NewClass)
+                || !(statements.get(2) instanceof J.ForEachLoop loop)
+                || !isIdentifier(loop.getControl().getIterable(), parameterName)
+                || loop.getControl().getVariable().getVariables().size() != 1
+                || !(statements.get(3) instanceof J.Return returned)
+                || !isIdentifier(returned.getExpression(), result.getVariables().get(0).getSimpleName())) {
+            return null;
+        }
+        String resultName = result.getVariables().get(0).getSimpleName();
+        Statement body = loop.getBody() instanceof J.Block block && block.getStatements().size() == 1
+                ? block.getStatements().get(0)
+                : loop.getBody();
+        if (!(body instanceof J.MethodInvocation add)
+                || !"add".equals(add.getSimpleName())
+                || !isIdentifier(add.getSelect(), resultName)
+                || add.getArguments().size() != 1
+                || add.getArguments().get(0) instanceof J.Empty) {
+            return null;
+        }
+        Expression element = add.getArguments().get(0);
+        Set<String> names = namesIn(element, false);
+        if (names.contains(resultName) || names.contains(parameterName)) {
+            return null;
+        }
+        return new IterableMapping(loop.getControl().getVariable().getVariables().get(0).getSimpleName(), element);
+    }
+
+    private static boolean isNullCheck(Statement statement, String parameterName) {
+        if (!(statement instanceof J.If nullCheck)
+                || nullCheck.getElsePart() != null
+                || !(nullCheck.getIfCondition().getTree() instanceof J.Binary condition)
+                || condition.getOperator() != J.Binary.Type.Equal
+                || !isIdentifier(condition.getLeft(), parameterName)
+                || !isNull(condition.getRight())) {
+            return false;
+        }
+        Statement then = nullCheck.getThenPart() instanceof J.Block block && block.getStatements().size() == 1
+                ? block.getStatements().get(0)
+                : nullCheck.getThenPart();
+        return then instanceof J.Return returned && returned.getExpression() != null
+                && isNull(returned.getExpression());
+    }
+
+    /**
+     * {@code new Target()} or {@code Target.builder()}.
+     */
+    private static boolean isNewTarget(@Nullable Expression initializer) {
+        if (initializer instanceof J.NewClass newClass) {
+            return newClass.getBody() == null && newClass.getArguments().stream().allMatch(a -> a instanceof J.Empty);
+        }
+        return initializer instanceof J.MethodInvocation builder
+                && hasNoArguments(builder)
+                && (builder.getSelect() instanceof J.Identifier type && type.getFieldType() == null
+                || builder.getSelect() instanceof J.FieldAccess qualifiedType
+                && qualifiedType.getName().getFieldType() == null);
+    }
+
+    /**
+     * The class of the copy {@code new Target()} or {@code Target.builder()} makes.
+     */
+    private static JavaType.@Nullable FullyQualified copyType(@Nullable Expression initializer) {
+        if (initializer instanceof J.NewClass newClass) {
+            return TypeUtils.asFullyQualified(newClass.getType());
+        }
+        return initializer instanceof J.MethodInvocation builder && builder.getSelect() != null
+                ? TypeUtils.asFullyQualified(builder.getSelect().getType())
+                : null;
+    }
+
+    /**
+     * Whether the instances of a class compare by value: it is a record, or it or a class it extends defines
+     * {@code equals} or {@code hashCode}.
+     */
+    private static boolean comparesByValue(JavaType.FullyQualified type) {
+        if (type.getKind() == JavaType.FullyQualified.Kind.Record) {
+            return true;
+        }
+        for (JavaType.FullyQualified c = type;
+             c != null && !"java.lang.Object".equals(c.getFullyQualifiedName());
+             c = c.getSupertype()) {
+            for (JavaType.Method method : c.getMethods()) {
+                if ("equals".equals(method.getName()) && method.getParameterTypes().size() == 1
+                        || "hashCode".equals(method.getName()) && method.getParameterTypes().isEmpty()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isIdentifier(@Nullable J tree, String name) {
+        return tree instanceof J.Identifier identifier && name.equals(identifier.getSimpleName());
+    }
+
+    private static boolean isNull(Expression expression) {
+        return expression instanceof J.Literal literal && literal.getValue() == null;
+    }
+
+    private static boolean hasNoArguments(J.MethodInvocation invocation) {
+        return invocation.getArguments().stream().allMatch(a -> a instanceof J.Empty);
+    }
+
+    /**
+     * The identifiers of an expression, or with {@code calls}, the names of the methods it calls unqualified.
+     */
+    private static Set<String> namesIn(J tree, boolean calls) {
+        Set<String> names = new HashSet<>();
+        new JavaIsoVisitor<Set<String>>() {
+            @Override
+            public J.Identifier visitIdentifier(J.Identifier identifier, Set<String> found) {
+                if (!calls) {
+                    found.add(identifier.getSimpleName());
+                }
+                return identifier;
+            }
+
+            @Override
+            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, Set<String> found) {
+                if (calls && method.getSelect() == null) {
+                    found.add(method.getSimpleName());
+                }
+                return super.visitMethodInvocation(method, found);
+            }
+        }.visit(tree, names);
+        return names;
+    }
+
+    private static String propertyName(String methodName, String... prefixes) {
+        for (String prefix : prefixes) {
+            if (methodName.length() > prefix.length()
+                    && methodName.startsWith(prefix)
+                    && Character.isUpperCase(methodName.charAt(prefix.length()))) {
+                return Character.toLowerCase(methodName.charAt(prefix.length()))
+                        + methodName.substring(prefix.length() + 1);
+            }
+        }
+        return methodName;
+    }
+
+    /**
+     * The abstract methods of an interface and of the interfaces it extends, by name.
+     */
+    private static void collectAbstractMethods(JavaType.FullyQualified type, Map<String, JavaType.Method> methods) {
+        for (JavaType.Method method : type.getMethods()) {
+            if (!method.hasFlags(Flag.Default)
+                    && !method.hasFlags(Flag.Static)
+                    && !OBJECT_METHODS.contains(method.getName())) {
+                methods.putIfAbsent(method.getName(), method);
+            }
+        }
+        for (JavaType.FullyQualified superInterface : type.getInterfaces()) {
+            collectAbstractMethods(superInterface, methods);
+        }
+    }
+
+    /**
+     * How a getter of the view declares the type it returns, or null for types it can't name, like type variables.
+     *
+     * @param imports the types to import for it
+     */
+    private static @Nullable String typeName(@Nullable JavaType type, Set<String> imports) {
+        if (type instanceof JavaType.Primitive primitive) {
+            return primitive == JavaType.Primitive.Null || primitive == JavaType.Primitive.None
+                    ? null
+                    : primitive.getKeyword();
+        }
+        if (type instanceof JavaType.Array array) {
+            String elementName = typeName(array.getElemType(), imports);
+            return elementName == null ? null : elementName + "[]";
+        }
+        if (type instanceof JavaType.GenericTypeVariable wildcard && "?".equals(wildcard.getName())) {
+            if (wildcard.getBounds().isEmpty()) {
+                return "?";
+            }
+            String boundName = wildcard.getBounds().size() == 1 ? typeName(wildcard.getBounds().get(0), imports) : null;
+            return boundName == null ? null
+                    : wildcard.getVariance() == JavaType.GenericTypeVariable.Variance.CONTRAVARIANT
+                    ? "? super " + boundName
+                    : "? extends " + boundName;
+        }
+        if (!(type instanceof JavaType.FullyQualified fq) || fq instanceof JavaType.Unknown) {
+            return null;
+        }
+
+        JavaType.FullyQualified outermost = fq;
+        while (outermost.getOwningClass() != null) {
+            outermost = outermost.getOwningClass();
+        }
+        if (!"java.lang".equals(outermost.getPackageName())) {
+            imports.add(outermost.getFullyQualifiedName());
+        }
+        if (!(fq instanceof JavaType.Parameterized parameterized)) {
+            return fq.getClassName();
+        }
+        StringJoiner typeParameters = new StringJoiner(", ", fq.getClassName() + "<", ">");
+        for (JavaType typeParameter : parameterized.getTypeParameters()) {
+            String typeParameterName = typeName(typeParameter, imports);
+            if (typeParameterName == null) {
+                return null;
+            }
+            typeParameters.add(typeParameterName);
+        }
+        return typeParameters.toString();
+    }
+
+    @Override
+    public J.CompilationUnit visitCompilationUnit(J.CompilationUnit compilationUnit, ExecutionContext ctx) {
+        if (!Functions.isOptimizedMapper(compilationUnit)) {
+            return compilationUnit;
+        }
+        return super.visitCompilationUnit(compilationUnit, ctx);
+    }
+
+    @Override
+    public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
+        // Only the mapper class itself, not the classes nested in it
+        if (!(getCursor().getParentTreeCursor().getValue() instanceof J.CompilationUnit compilationUnit)) {
+            return classDecl;
+        }
+        String mapperFqn = compilationUnit.getMarkers().findFirst(MigratedMapper.class)
+                .map(MigratedMapper::getMapperFqn)
+                .orElse("");
+
+        Set<String> classNames = new HashSet<>();
+        classNames.add(classDecl.getSimpleName());
+        Set<String> methodNames = new HashSet<>();
+        Set<String> overloaded = new HashSet<>();
+        for (Statement statement : classDecl.getBody().getStatements()) {
+            if (statement instanceof J.ClassDeclaration nested) {
+                classNames.add(nested.getSimpleName());
+            } else if (statement instanceof J.MethodDeclaration method && !methodNames.add(method.getSimpleName())) {
+                overloaded.add(method.getSimpleName());
+            }
+        }
+        // A LazyList already there is the one an earlier run added
+        boolean hasLazyList = !classNames.add(LAZY_LIST);
+
+        Map<String, IterableMapping> iterableMappings = new HashMap<>();
+        for (Statement statement : classDecl.getBody().getStatements()) {
+            if (statement instanceof J.MethodDeclaration method && !overloaded.contains(method.getSimpleName())) {
+                IterableMapping iterableMapping = iterableMapping(method);
+                if (iterableMapping != null) {
+                    iterableMappings.put(method.getSimpleName(), iterableMapping);
+                }
+            }
+        }
+
+        Map<UUID, View> views = new HashMap<>();
+        StringBuilder classes = new StringBuilder();
+        Set<String> imports = new LinkedHashSet<>();
+        boolean usesLazyList = false;
+        for (Statement statement : classDecl.getBody().getStatements()) {
+            if (!(statement instanceof J.MethodDeclaration method)) {
+                continue;
+            }
+            Mapping mapping = mapping(method);
+            if (mapping == null) {
+                continue;
+            }
+            JavaType returnType = method.getMethodType().getReturnType();
+            JavaType.FullyQualified target = TypeUtils.asFullyQualified(returnType);
+            Cursor cursor = new Cursor(getCursor(), method);
+            Set<String> viewImports = new LinkedHashSet<>();
+            ViewOrNote viewOrNote = target == null
+                    ? new ViewOrNote(null, "The target type is not known")
+                    : view(method, mapping, target, iterableMappings, classNames, viewImports, cursor);
+
+            View view = viewOrNote.view();
+            if (view != null) {
+                views.put(method.getId(), view);
+                classes.append(view.declaration());
+                imports.addAll(viewImports);
+                usesLazyList |= view.lazyLists() > 0;
+            }
+            lazyViews.insertRow(ctx, new MapperLazyViews.Row(compilationUnit.getSourcePath().toString(), mapperFqn,
+                    method.getSimpleName(),
+                    target == null ? String.valueOf(returnType) : target.getFullyQualifiedName(),
+                    view == null ? "" : view.className(),
+                    view == null ? 0 : view.lazyLists(),
+                    viewOrNote.note()));
+        }
+        if (views.isEmpty()) {
+            return classDecl;
+        }
+
+        getCursor().putMessage(VIEWS, views);
+        J.ClassDeclaration cd = super.visitClassDeclaration(classDecl, ctx);
+
+        if (usesLazyList && !hasLazyList) {
+            classes.append(LAZY_LIST_DECLARATION);
+            imports.add("java.util.AbstractList");
+            imports.add("java.util.List");
+            imports.add("java.util.function.Function");
+        }
+        cd = JavaTemplate.builder(classes.toString())
+                .contextSensitive()
+                .imports(imports.toArray(new String[0]))
+                .build()
+                .apply(updateCursor(cd), cd.getBody().getCoordinates().lastStatement());
+        imports.forEach(this::maybeAddImport);
+        return cd;
+    }
+
+    /**
+     * The view a mapping method can return instead of a copy of its source, or why it can't.
+     */
+    private static ViewOrNote view(J.MethodDeclaration method, Mapping mapping, JavaType.FullyQualified target,
+                                   Map<String, IterableMapping> iterableMappings, Set<String> classNames,
+                                   Set<String> imports, Cursor cursor) {
+        if (method.hasModifier(J.Modifier.Type.Static)) {
+            return new ViewOrNote(null, "The method is static, and the view an inner class");
+        }
+        if (target.getKind() != JavaType.FullyQualified.Kind.Interface) {
+            return new ViewOrNote(null, "The target is not an interface");
+        }
+        if (target instanceof JavaType.Parameterized || !target.getTypeParameters().isEmpty()) {
+            return new ViewOrNote(null, "The target is generic");
+        }
+        JavaType.FullyQualified copyType = mapping.copyType();
+        if (copyType == null || copyType instanceof JavaType.Unknown) {
+            return new ViewOrNote(null, "The class of the copy is not known");
+        }
+        if (comparesByValue(copyType)) {
+            return new ViewOrNote(null, copyType.getClassName() + " compares by value, and the view would not");
+        }
+
+        Map<String, JavaType.Method> getters = new LinkedHashMap<>();
+        collectAbstractMethods(target, getters);
+        Set<String> getterNames = new HashSet<>(getters.keySet());
+        getterNames.addAll(OBJECT_METHODS);
+
+        String parameterName = mapping.parameterName();
+        StringBuilder getterDeclarations = new StringBuilder();
+        Set<String> mappedProperties = new HashSet<>();
+        int lazyLists = 0;
+        for (JavaType.Method getter : getters.values()) {
+            String name = getter.getName();
+            if (!getter.getParameterTypes().isEmpty()) {
+                return new ViewOrNote(null, name + " is not a getter");
+            }
+            String property = mapping.properties().containsKey(propertyName(name, "get", "is"))
+                    ? propertyName(name, "get", "is")
+                    : name;
+            Expression value = mapping.properties().get(property);
+            if (value == null) {
+                return new ViewOrNote(null, name + "() is not mapped");
+            }
+            mappedProperties.add(property);
+            if (value.getType() == null || !TypeUtils.isAssignableTo(getter.getReturnType(), value.getType())) {
+                return new ViewOrNote(null, name + "() is mapped from a value of another type");
+            }
+            Set<String> identifiers = namesIn(value, false);
+            if (identifiers.contains("this") || identifiers.contains("super")
+                    || namesIn(value, true).stream().anyMatch(getterNames::contains)) {
+                return new ViewOrNote(null, name + "() is mapped with a call the view would resolve differently");
+            }
+            String returnType = typeName(getter.getReturnType(), imports);
+            if (returnType == null) {
+                return new ViewOrNote(null, name + "() returns a type the view can't declare");
+            }
+
+            String returned = value.printTrimmed(cursor);
+            if (value instanceof J.MethodInvocation listMapping
+                    && listMapping.getSelect() == null
+                    && listMapping.getArguments().size() == 1
+                    && iterableMappings.get(listMapping.getSimpleName()) instanceof IterableMapping iterableMapping
+                    && !iterableMapping.elementName().equals(parameterName)
+                    && namesIn(iterableMapping.element(), true).stream().noneMatch(getterNames::contains)) {
+                returned = LAZY_LIST + ".of(" + listMapping.getArguments().get(0).printTrimmed(cursor) + ", "
+                        + iterableMapping.elementName() + " -> " + iterableMapping.element().printTrimmed(cursor)
+                        + ")";
+                lazyLists++;
+            }
+            getterDeclarations.append("\n@Override\npublic ").append(returnType).append(' ').append(name)
+                    .append("() {\nreturn ").append(returned).append(";\n}\n");
+        }
+        for (String property : mapping.properties().keySet()) {
+            if (!mappedProperties.contains(property)) {
+                return new ViewOrNote(null, property + " is mapped but has no getter on the target");
+            }
+        }
+
+        String className = "Lazy" + target.getClassName().substring(target.getClassName().lastIndexOf('.') + 1);
+        String uniqueName = className;
+        for (int i = 2; !classNames.add(uniqueName); i++) {
+            uniqueName = className + i;
+        }
+        String parameterType = mapping.parameterType().printTrimmed(cursor);
+        String declaration = "private final class " + uniqueName + " implements "
+                + method.getReturnTypeExpression().printTrimmed(cursor) + " {\n"
+                + "private final " + parameterType + " " + parameterName + ";\n\n"
+                + "private " + uniqueName + "(" + parameterType + " " + parameterName + ") {\n"
+                + "this." + parameterName + " = " + parameterName + ";\n}\n"
+                + getterDeclarations
+                + "}\n";
+        String body = "{\nreturn " + parameterName + " == null ? null : new " + uniqueName + "(" + parameterName
+                + ");\n}";
+        return new ViewOrNote(new View(uniqueName, declaration, body, lazyLists), "");
+    }
+
+    @Override
+    public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
+        J.MethodDeclaration m = super.visitMethodDeclaration(method, ctx);
+        Map<UUID, View> views = getCursor().getNearestMessage(VIEWS);
+        View view = views == null ? null : views.get(method.getId());
+        if (view == null || m.getBody() == null) {
+            return m;
+        }
+        m = JavaTemplate.builder(view.body())
+                .contextSensitive()
+                .build()
+                .apply(updateCursor(m), m.getCoordinates().replaceBody());
+        return autoFormat(m, ctx, getCursor().getParentOrThrow());
+    }
+
+    /**
+     * @param copyType the class of the copy the method makes, if known
+     */
+    private record Mapping(String parameterName, TypeTree parameterType, Map<String, Expression> properties,
+                           JavaType.@Nullable FullyQualified copyType) {
+    }
+
+    private record IterableMapping(String elementName, Expression element) {
+    }
+
+    private record View(String className, String declaration, String body, int lazyLists) {
+    }
+
+    private record ViewOrNote(@Nullable View view, String note) {
+    }
+}
@@ -0,0 +1,248 @@
+package com.santunioni.recipes.removeMapstruct;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compiles merged mappers in memory, to find the ones that no longer compile before the results are written.
+ * <p>
+ * Each mapper is compiled with the sources of the types it refers to, so annotation processors like Lombok run on
+ * them as they do in the build. Other sources of the run are read from memory when the compiler needs them, and
+ * libraries come from the given classpath. Nothing is written: class files go nowhere, and only errors in the mapper
+ * itself are kept.
+ * <p>
+ * Mappers are compiled in parallel, each with its own file manager, as file managers are not thread safe.
+ */
+@NullMarked
+final class MapperCompilationVerifier {
+    private final JavaCompiler compiler;
+    private final List<String> options;
+    private final Map<String, SourceObject> sourcesByFqn;
+    private final Map<String, List<SourceObject>> sourcesByPackage;
+
+    private MapperCompilationVerifier(JavaCompiler compiler, List<String> classpath,
+                                      Map<String, SourceObject> sourcesByFqn) {
+        this.compiler = compiler;
+        this.options = List.of("-classpath", String.join(File.pathSeparator, classpath),
+                "-implicit:none", "-nowarn", "-Xlint:none", "-Xmaxerrs", "20");
+        this.sourcesByFqn = sourcesByFqn;
+        this.sourcesByPackage = new HashMap<>();
+        sourcesByFqn.values().forEach(source ->
+                sourcesByPackage.computeIfAbsent(source.packageName, p -> new ArrayList<>()).add(source));
+    }
+
+    /**
+     * @param sources   every source of the run, the generated implementations of merged mappers excluded
+     * @param classpath the libraries the sources compile against
+     * @return null when no compiler is available, as on a JRE
+     */
+    static @Nullable MapperCompilationVerifier of(Collection<J.CompilationUnit> sources, List<String> classpath) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            return null;
+        }
+        Map<String, SourceObject> sourcesByFqn = new LinkedHashMap<>();
+        for (J.CompilationUnit source : sources) {
+            SourceObject sourceObject = SourceObject.of(source);
+            // The first of two sources of the same type wins, as on a sourcepath
+            sourcesByFqn.putIfAbsent(sourceObject.fqn, sourceObject);
+        }
+        return new MapperCompilationVerifier(compiler, classpath, sourcesByFqn);
+    }
+
+    /**
+     * Compiles each mapper on the common fork-join pool.
+     *
+     * @return the errors of each mapper that doesn't compile, by its source path
+     */
+    Map<Path, List<String>> verify(List<J.CompilationUnit> mappers) {
+        Map<Path, List<String>> failures = new LinkedHashMap<>();
+        mappers.parallelStream()
+                .map(mapper -> Map.entry(mapper.getSourcePath(), compile(mapper)))
+                .toList()
+                .forEach(result -> {
+                    if (!result.getValue().isEmpty()) {
+                        failures.put(result.getKey(), result.getValue());
+                    }
+                });
+        return failures;
+    }
+
+    private List<String> compile(J.CompilationUnit mapper) {
+        SourceObject mapperSource = SourceObject.of(mapper);
+        Map<String, SourceObject> compiled = new LinkedHashMap<>();
+        compiled.put(mapperSource.fqn, mapperSource);
+        for (JavaType type : mapper.getTypesInUse().getTypesInUse()) {
+            SourceObject referenced = sourceOf(type);
+            if (referenced != null) {
+                compiled.putIfAbsent(referenced.fqn, referenced);
+            }
+        }
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (InMemoryFileManager fileManager = new InMemoryFileManager(
+                compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8), mapperSource)) {
+            compiler.getTask(null, fileManager, diagnostics, options, null, compiled.values()).call();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            // Thrown by an annotation processor or by the compiler itself
+            return List.of("The compiler failed: " + e);
+        }
+
+        List<String> errors = new ArrayList<>();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR
+                    && (diagnostic.getSource() == null || diagnostic.getSource() == mapperSource)) {
+                errors.add("line " + diagnostic.getLineNumber() + ": " + diagnostic.getMessage(null));
+            }
+        }
+        return errors;
+    }
+
+    private @Nullable SourceObject sourceOf(JavaType type) {
+        JavaType.FullyQualified fq = type instanceof JavaType.FullyQualified fullyQualified ? fullyQualified : null;
+        while (fq != null && fq.getOwningClass() != null) {
+            fq = fq.getOwningClass();
+        }
+        return fq == null ? null : sourcesByFqn.get(fq.getFullyQualifiedName());
+    }
+
+    private static final class SourceObject extends SimpleJavaFileObject {
+        private final String fqn;
+        private final String packageName;
+        private final J.CompilationUnit compilationUnit;
+        private @Nullable String content;
+
+        private SourceObject(URI uri, String fqn, String packageName, J.CompilationUnit compilationUnit) {
+            super(uri, Kind.SOURCE);
+            this.fqn = fqn;
+            this.packageName = packageName;
+            this.compilationUnit = compilationUnit;
+        }
+
+        static SourceObject of(J.CompilationUnit compilationUnit) {
+            String packageName = compilationUnit.getPackageDeclaration() == null
+                    ? ""
+                    : compilationUnit.getPackageDeclaration().getPackageName();
+            String fileName = compilationUnit.getSourcePath().getFileName().toString();
+            String simpleName = fileName.endsWith(".java")
+                    ? fileName.substring(0, fileName.length() - ".java".length())
+                    : fileName;
+            String fqn = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+            URI uri = URI.create("memory:///" + fqn.replace('.', '/') + Kind.SOURCE.extension);
+            return new SourceObject(uri, fqn, packageName, compilationUnit);
+        }
+
+        /**
+         * Printed once, and only when the compiler reads it.
+         */
+        @Override
+        public synchronized CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            if (content == null) {
+                content = compilationUnit.printAll();
+            }
+            return content;
+        }
+    }
+
+    private static final class DiscardedClass extends SimpleJavaFileObject {
+        private DiscardedClass(String className) {
+            super(URI.create("memory:///" + className.replace('.', '/') + Kind.CLASS.extension), Kind.CLASS);
+        }
+
+        @Override
+        public OutputStream openOutputStream() {
+            return OutputStream.nullOutputStream();
+        }
+    }
+
+    /**
+     * Serves the sources of the run as the sourcepath and throws away what the compiler writes.
+     */
+    private final class InMemoryFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+        private final SourceObject mapperSource;
+
+        private InMemoryFileManager(StandardJavaFileManager fileManager, SourceObject mapperSource) {
+            super(fileManager);
+            this.mapperSource = mapperSource;
+        }
+
+        @Override
+        public boolean hasLocation(Location location) {
+            return location == StandardLocation.SOURCE_PATH || super.hasLocation(location);
+        }
+
+        @Override
+        public Iterable<JavaFileObject> list(Location location, String packageName, Set<JavaFileObject.Kind> kinds,
+                                             boolean recurse) throws IOException {
+            if (location != StandardLocation.SOURCE_PATH) {
+                return super.list(location, packageName, kinds, recurse);
+            }
+            if (!kinds.contains(JavaFileObject.Kind.SOURCE)) {
+                return List.of();
+            }
+            List<JavaFileObject> sources = new ArrayList<>();
+            for (SourceObject source : sourcesByPackage.getOrDefault(packageName, List.of())) {
+                // The merged mapper takes the place of its declaration
+                sources.add(source.fqn.equals(mapperSource.fqn) ? mapperSource : source);
+            }
+            return sources;
+        }
+
+        @Override
+        public String inferBinaryName(Location location, JavaFileObject file) {
+            if (file instanceof SourceObject source) {
+                return source.fqn;
+            }
+            return super.inferBinaryName(location, file);
+        }
+
+        @Override
+        public boolean isSameFile(FileObject a, FileObject b) {
+            if (a instanceof SourceObject || b instanceof SourceObject) {
+                return a == b;
+            }
+            return super.isSameFile(a, b);
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind,
+                                                   FileObject sibling) {
+            return new DiscardedClass(className);
+        }
+
+        @Override
+        public FileObject getFileForOutput(Location location, String packageName, String relativeName,
+                                           FileObject sibling) {
+            return new DiscardedClass(packageName + "." + relativeName);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.santunioni.recipes.removeMapstruct;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Cursor;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.Statement;
+import org.openrewrite.java.tree.TypeTree;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.regex.Pattern;
+
+/**
+ * What a mapper declaration asks its generated implementation for: a method for each abstract method, and no
+ * {@code @Override} of a method it doesn't declare. An implementation that breaks either was generated from another
+ * version of the declaration, and merging it would bring that version back.
+ * <p>
+ * Signatures are compared by method name and parameter types as written, with qualifiers and whitespace dropped,
+ * so the check works the same with and without attributed types.
+ */
+@NullMarked
+final class MapperContract {
+    private static final Pattern QUALIFIER = Pattern.compile("[\\w$]+\\.");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Path sourcePath;
+    private final Set<String> abstractSignatures;
+    private final Set<String> methodNames;
+    private final boolean inheritsMethods;
+
+    private MapperContract(Path sourcePath, Set<String> abstractSignatures, Set<String> methodNames,
+                           boolean inheritsMethods) {
+        this.sourcePath = sourcePath;
+        this.abstractSignatures = abstractSignatures;
+        this.methodNames = methodNames;
+        this.inheritsMethods = inheritsMethods;
+    }
+
+    static MapperContract of(J.CompilationUnit mapperDeclFile) {
+        J.ClassDeclaration mapperDeclClass = mapperDeclFile.getClasses().get(0);
+        boolean isInterface = mapperDeclClass.getKind() == J.ClassDeclaration.Kind.Type.Interface;
+
+        Set<String> abstractSignatures = new HashSet<>();
+        Set<String> methodNames = new HashSet<>();
+        for (Statement statement : mapperDeclClass.getBody().getStatements()) {
+            if (!(statement instanceof J.MethodDeclaration method) || method.isConstructor()) {
+                continue;
+            }
+            methodNames.add(method.getSimpleName());
+            boolean isAbstract = isInterface
+                    ? method.getBody() == null && !method.hasModifier(J.Modifier.Type.Static)
+                    : method.hasModifier(J.Modifier.Type.Abstract);
+            if (isAbstract) {
+                abstractSignatures.add(signature(method));
+            }
+        }
+
+        boolean inheritsMethods = mapperDeclClass.getExtends() != null
+                || mapperDeclClass.getImplements() != null && !mapperDeclClass.getImplements().isEmpty();
+        return new MapperContract(mapperDeclFile.getSourcePath(), abstractSignatures, methodNames, inheritsMethods);
+    }
+
+    /**
+     * True for a method the declaration has, abstract or not.
+     */
+    boolean declares(String methodName) {
+        return methodNames.contains(methodName);
+    }
+
+    private static String signature(J.MethodDeclaration method) {
+        StringJoiner parameters = new StringJoiner(",", method.getSimpleName() + "(", ")");
+        for (Statement parameter : method.getParameters()) {
+            if (parameter instanceof J.VariableDeclarations declarations) {
+                parameters.add(writtenType(declarations.getTypeExpression()));
+            }
+        }
+        return parameters.toString();
+    }
+
+    private static String writtenType(@Nullable TypeTree typeExpression) {
+        if (typeExpression == null) {
+            return "?";
+        }
+        String printed = typeExpression.printTrimmed(new Cursor(null, Cursor.ROOT_VALUE));
+        String written = WHITESPACE.matcher(printed).replaceAll("");
+        return QUALIFIER.matcher(written).replaceAll("");
+    }
+
+    private static boolean isOverride(J.MethodDeclaration method) {
+        return method.getLeadingAnnotations().stream()
+                .anyMatch(annotation -> "Override".equals(annotation.getSimpleName()));
+    }
+
+    Path getSourcePath() {
+        return sourcePath;
+    }
+
+    /**
+     * What the implementation no longer agrees on with the declaration, empty when it is up to date.
+     * <p>
+     * An {@code @Override} of a method the declaration doesn't declare is only reported when the declaration has no
+     * super types, as the method could otherwise be inherited.
+     */
+    List<String> violations(J.CompilationUnit mapperImplFile) {
+        Set<String> implementedSignatures = new HashSet<>();
+        List<String> violations = new ArrayList<>();
+        for (Statement statement : mapperImplFile.getClasses().get(0).getBody().getStatements()) {
+            if (!(statement instanceof J.MethodDeclaration method) || method.isConstructor()) {
+                continue;
+            }
+            implementedSignatures.add(signature(method));
+            if (!inheritsMethods && isOverride(method) && !methodNames.contains(method.getSimpleName())) {
+                violations.add(signature(method) + " overrides no declared method");
+            }
+        }
+
+        for (String abstractSignature : abstractSignatures) {
+            if (!implementedSignatures.contains(abstractSignature)) {
+                violations.add(abstractSignature + " is not implemented");
+            }
+        }
+        violations.sort(null);
+        return violations;
+    }
+}
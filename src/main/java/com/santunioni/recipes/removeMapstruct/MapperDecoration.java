@@ -0,0 +1,244 @@
+package com.santunioni.recipes.removeMapstruct;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.tree.Expression;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.Statement;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The hand-written decorator of a {@code @DecoratedWith} mapper, and how to fold it into the migrated mapper.
+ * <p>
+ * The generated methods of {@code XMapperImpl_} are kept. Those the decorator overrides become private
+ * {@code <name>Delegate} methods, and the decorator's methods are added next to them with their
+ * {@code delegate.<name>(..)} calls turned into direct calls. The delegate field, the decorator constructors and
+ * the forwarding {@code XMapperImpl} are gone, so each call is one virtual hop and one instance shorter.
+ */
+@NullMarked
+final class MapperDecoration {
+    private static final String DELEGATE_SUFFIX = "Delegate";
+
+    private final J.CompilationUnit decoratorFile;
+    private final String delegateFieldName;
+    private final Set<String> decoratedSignatures;
+    private final Set<String> decoratorSignatures;
+
+    private MapperDecoration(J.CompilationUnit decoratorFile, String delegateFieldName,
+                             Set<String> decoratedSignatures, Set<String> decoratorSignatures) {
+        this.decoratorFile = decoratorFile;
+        this.delegateFieldName = delegateFieldName;
+        this.decoratedSignatures = decoratedSignatures;
+        this.decoratorSignatures = decoratorSignatures;
+    }
+
+    Path getDecoratorPath() {
+        return decoratorFile.getSourcePath();
+    }
+
+    /**
+     * Returns null when the decorator can't be folded: when it has no single delegate field, when its
+     * constructors do more than store the delegate, or when it uses the delegate other than to call it.
+     */
+    static @Nullable MapperDecoration of(J.CompilationUnit decoratorFile, String mapperFqn,
+                                         J.CompilationUnit delegateImplFile) {
+        List<Statement> decoratorStatements = decoratorFile.getClasses().get(0).getBody().getStatements();
+
+        String delegateFieldName = null;
+        Set<String> decoratorSignatures = new HashSet<>();
+        for (Statement statement : decoratorStatements) {
+            if (statement instanceof J.VariableDeclarations field
+                    && !field.hasModifier(J.Modifier.Type.Static)
+                    && TypeUtils.isOfClassType(field.getType(), mapperFqn)) {
+                if (delegateFieldName != null || field.getVariables().size() != 1) {
+                    return null;
+                }
+                delegateFieldName = field.getVariables().get(0).getSimpleName();
+            } else if (statement instanceof J.MethodDeclaration method
+                    && !method.isConstructor()
+                    && method.getMethodType() != null) {
+                decoratorSignatures.add(signature(method.getMethodType()));
+            }
+        }
+        if (delegateFieldName == null) {
+            return null;
+        }
+
+        for (Statement statement : decoratorStatements) {
+            if (statement instanceof J.MethodDeclaration method) {
+                boolean foldable = method.isConstructor()
+                        ? onlyStoresDelegate(method, delegateFieldName)
+                        : !usesDelegateAsValue(method, delegateFieldName);
+                if (!foldable) {
+                    return null;
+                }
+            }
+        }
+
+        Set<String> decoratedSignatures = new HashSet<>();
+        for (Statement statement : delegateImplFile.getClasses().get(0).getBody().getStatements()) {
+            if (statement instanceof J.MethodDeclaration method
+                    && method.getMethodType() != null
+                    && decoratorSignatures.contains(signature(method.getMethodType()))) {
+                decoratedSignatures.add(signature(method.getMethodType()));
+            }
+        }
+
+        return new MapperDecoration(decoratorFile, delegateFieldName, decoratedSignatures, decoratorSignatures);
+    }
+
+    private static String signature(JavaType.Method method) {
+        return method.getName() + method.getParameterTypes();
+    }
+
+    private static boolean onlyStoresDelegate(J.MethodDeclaration constructor, String delegateFieldName) {
+        if (constructor.getBody() == null) {
+            return true;
+        }
+        for (Statement statement : constructor.getBody().getStatements()) {
+            if (statement instanceof J.MethodInvocation invocation
+                    && "super".equals(invocation.getSimpleName())
+                    && invocation.getArguments().stream().allMatch(a -> a instanceof J.Empty)) {
+                continue;
+            }
+            if (statement instanceof J.Assignment assignment
+                    && isDelegateReference(assignment.getVariable(), delegateFieldName)) {
+                continue;
+            }
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean isDelegateReference(@Nullable Expression expression, String delegateFieldName) {
+        if (expression instanceof J.Identifier identifier) {
+            return delegateFieldName.equals(identifier.getSimpleName());
+        }
+        return expression instanceof J.FieldAccess fieldAccess
+                && fieldAccess.getTarget() instanceof J.Identifier target
+                && "this".equals(target.getSimpleName())
+                && delegateFieldName.equals(fieldAccess.getSimpleName());
+    }
+
+    private static boolean usesDelegateAsValue(J.MethodDeclaration method, String delegateFieldName) {
+        AtomicBoolean usesDelegate = new AtomicBoolean();
+        new JavaIsoVisitor<AtomicBoolean>() {
+            @Override
+            public J.Identifier visitIdentifier(J.Identifier identifier, AtomicBoolean found) {
+                if (!delegateFieldName.equals(identifier.getSimpleName())) {
+                    return identifier;
+                }
+
+                Object parent = getCursor().getParentTreeCursor().getValue();
+                if (parent instanceof J.MethodInvocation invocation
+                        && (invocation.getSelect() == identifier || invocation.getName() == identifier)) {
+                    return identifier;
+                }
+                if (parent instanceof J.FieldAccess fieldAccess
+                        && fieldAccess.getName() == identifier
+                        && isDelegateReference(fieldAccess, delegateFieldName)
+                        && getCursor().getParentTreeCursor().getParentTreeCursor().getValue()
+                        instanceof J.MethodInvocation invocation
+                        && invocation.getSelect() == fieldAccess) {
+                    return identifier;
+                }
+                found.set(true);
+                return identifier;
+            }
+        }.visit(method.getBody(), usesDelegate);
+        return usesDelegate.get();
+    }
+
+    J.CompilationUnit getDecoratorFile() {
+        return decoratorFile;
+    }
+
+    /**
+     * True when the decorator overrides the method, so a default method of the mapper declaration is not kept.
+     */
+    boolean overrides(J.MethodDeclaration method) {
+        return method.getMethodType() != null && decoratorSignatures.contains(signature(method.getMethodType()));
+    }
+
+    /**
+     * Renames a generated method the decorator overrides to a private {@code <name>Delegate} method. Calls of the
+     * generated code to overridden methods go to the renamed methods too, as they went to {@code XMapperImpl_}
+     * itself before.
+     */
+    J.MethodDeclaration transformGenerated(J.MethodDeclaration generatedMethod) {
+        J.MethodDeclaration method = (J.MethodDeclaration) new JavaIsoVisitor<Integer>() {
+            @Override
+            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, Integer p) {
+                J.MethodInvocation invocation = super.visitMethodInvocation(method, p);
+                boolean onThis = invocation.getSelect() == null
+                        || invocation.getSelect() instanceof J.Identifier select && "this".equals(select.getSimpleName());
+                return onThis && isDecorated(invocation.getMethodType()) ? toDelegateCall(invocation) : invocation;
+            }
+        }.visitNonNull(generatedMethod, 0);
+
+        if (!isDecorated(method.getMethodType())) {
+            return method;
+        }
+        return method
+                .withName(method.getName().withSimpleName(method.getSimpleName() + DELEGATE_SUFFIX))
+                .withModifiers(ListUtils.map(method.getModifiers(), modifier ->
+                        modifier.getType() == J.Modifier.Type.Public || modifier.getType() == J.Modifier.Type.Protected
+                                ? modifier.withType(J.Modifier.Type.Private)
+                                : modifier));
+    }
+
+    /**
+     * The decorator's members without the delegate field and the constructors, with calls on the delegate turned
+     * into direct calls.
+     */
+    List<Statement> decoratorStatements() {
+        List<Statement> statements = new ArrayList<>();
+        for (Statement statement : decoratorFile.getClasses().get(0).getBody().getStatements()) {
+            if (statement instanceof J.VariableDeclarations field
+                    && !field.hasModifier(J.Modifier.Type.Static)
+                    && field.getVariables().size() == 1
+                    && delegateFieldName.equals(field.getVariables().get(0).getSimpleName())) {
+                continue;
+            }
+            if (statement instanceof J.MethodDeclaration method) {
+                if (method.isConstructor()) {
+                    continue;
+                }
+                statement = (Statement) new JavaIsoVisitor<Integer>() {
+                    @Override
+                    public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, Integer p) {
+                        J.MethodInvocation invocation = super.visitMethodInvocation(method, p);
+                        if (!isDelegateReference(invocation.getSelect(), delegateFieldName)) {
+                            return invocation;
+                        }
+                        return isDecorated(invocation.getMethodType())
+                                ? toDelegateCall(invocation)
+                                : invocation.withSelect(null);
+                    }
+                }.visitNonNull(method, 0);
+            }
+            statements.add(statement);
+        }
+        return statements;
+    }
+
+    private boolean isDecorated(JavaType.@Nullable Method methodType) {
+        return methodType != null && decoratedSignatures.contains(signature(methodType));
+    }
+
+    private J.MethodInvocation toDelegateCall(J.MethodInvocation invocation) {
+        return invocation
+                .withSelect(null)
+                .withName(invocation.getName().withSimpleName(invocation.getSimpleName() + DELEGATE_SUFFIX));
+    }
+}
@@ -1,30 +1,88 @@
 package com.santunioni.recipes.removeMapstruct;
 
+import com.santunioni.recipes.table.MapperMigrationFailures;
 import lombok.extern.java.Log;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.java.JavaVisitor;
 import org.openrewrite.java.tree.*;
 import org.openrewrite.marker.Markers;
 
+import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.util.*;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import static com.santunioni.recipes.removeMapstruct.Functions.isMapperDeclaration;
+import static com.santunioni.recipes.removeMapstruct.Functions.qualifiedName;
+import static com.santunioni.recipes.removeMapstruct.Functions.randomId;
 
 @Log
 @NullMarked
 public class MapperProcessor extends JavaVisitor<ExecutionContext> {
     private static final String MAPSTRUCT_GROUP = "org.mapstruct";
+    private static final Set<String> GENERATED_IMPORTS = Set.of(
+            "javax.annotation.processing.Generated",
+            "jakarta.annotation.Generated"
+    );
+    private static final Set<J.Modifier.Type> ACCESS_MODIFIERS =
+            EnumSet.of(J.Modifier.Type.Public, J.Modifier.Type.Protected, J.Modifier.Type.Private);
+    private static final Set<J.Modifier.Type> MODIFIERS_SET_MANUALLY =
+            EnumSet.of(J.Modifier.Type.Public, J.Modifier.Type.Protected, J.Modifier.Type.Private,
+                    J.Modifier.Type.Static, J.Modifier.Type.Final);
     private final Accumulator acc;
+    private final @Nullable MapperMigrationFailures failures;
+    /**
+     * True when merging ahead of the edit visit, for {@link Accumulator#mergeAhead()}.
+     */
+    private final boolean precomputing;
 
     public MapperProcessor(Accumulator acc) {
+        this(acc, null);
+    }
+
+    /**
+     * @param failures when not null, a mapper that fails to migrate is left untouched and reported here instead of
+     *                 aborting the whole run
+     */
+    public MapperProcessor(Accumulator acc, @Nullable MapperMigrationFailures failures) {
+        this(acc, failures, false);
+    }
+
+    private MapperProcessor(Accumulator acc, @Nullable MapperMigrationFailures failures, boolean precomputing) {
         this.acc = acc;
+        this.failures = failures;
+        this.precomputing = precomputing;
+    }
+
+    /**
+     * Merges a mapper declaration file ahead of the edit visit, which then takes the result as it is. Safe to call
+     * from several threads at once, once scanning is over: the accumulator is only read.
+     *
+     * @return null when the file is not merged, or fails to: the edit visit goes through it as usual then, and logs
+     * and reports what it finds
+     */
+    static PrecomputedMerges.@Nullable Merge precompute(Accumulator acc, J.CompilationUnit mapperDeclFile) {
+        try {
+            J visited = new MapperProcessor(acc, null, true).visit(mapperDeclFile, new InMemoryExecutionContext());
+            if (!(visited instanceof J.CompilationUnit merged)) {
+                return null;
+            }
+            return merged.getMarkers().findFirst(MigratedMapper.class)
+                    .map(migrated -> new PrecomputedMerges.Merge(migrated.getMapperFqn(), mapperDeclFile,
+                            merged))
+                    .orElse(null);
+        } catch (RuntimeException e) {
+            return null;
+        }
     }
 
-    private static J.@Nullable MethodDeclaration transformMapperDeclMethod(J.MethodDeclaration mapperDeclMethod) {
+    private static J.@Nullable MethodDeclaration transformMapperDeclMethod(J.MethodDeclaration mapperDeclMethod,
+                                                                         Predicate<J.Annotation> keepAnnotation) {
         // Don't copy declaration methods
         if (mapperDeclMethod.getBody() == null) {
             return null;
@@ -41,7 +99,7 @@ public class MapperProcessor extends JavaVisitor<ExecutionContext> {
         mapperDeclMethod =
                 mapperDeclMethod.withLeadingAnnotations(ListUtils.filter(
                         mapperDeclMethod.getLeadingAnnotations(),
-                        MapperProcessor::excludeMapstructAnnotations)
+                        keepAnnotation)
                 );
 
         // Remove MapStruct annotations from method parameters
@@ -50,7 +108,7 @@ public class MapperProcessor extends JavaVisitor<ExecutionContext> {
                     if (param instanceof J.VariableDeclarations varDecl) {
                         return varDecl.withLeadingAnnotations(ListUtils.filter(
                                 varDecl.getLeadingAnnotations(),
-                                MapperProcessor::excludeMapstructAnnotations
+                                keepAnnotation
                         ));
                     }
                     return param;
@@ -62,36 +120,32 @@ public class MapperProcessor extends JavaVisitor<ExecutionContext> {
     }
 
     private static J.VariableDeclarations transformMapperDeclInterfaceField(J.VariableDeclarations mapperDeclField) {
-        ArrayList<J.Modifier> modifiers = new ArrayList<>();
-
-        final var accessModifiers = Set.of(J.Modifier.Type.Public, J.Modifier.Type.Protected, J.Modifier.Type.Private);
-
-        final var modifiersSetManually =
-                Set.of(J.Modifier.Type.Public, J.Modifier.Type.Protected, J.Modifier.Type.Private,
-                        J.Modifier.Type.Static,
-                        J.Modifier.Type.Final);
+        List<J.Modifier> declaredModifiers = mapperDeclField.getModifiers();
+        ArrayList<J.Modifier> modifiers = new ArrayList<>(declaredModifiers.size() + 3);
 
-        final var accessModifierInPlace =
-                mapperDeclField
-                        .getModifiers()
-                        .stream()
-                        .filter(modifier -> accessModifiers.contains(modifier.getType())).findFirst();
+        J.Modifier accessModifierInPlace = null;
+        for (J.Modifier modifier : declaredModifiers) {
+            if (ACCESS_MODIFIERS.contains(modifier.getType())) {
+                accessModifierInPlace = modifier;
+                break;
+            }
+        }
 
-        if (accessModifierInPlace.isPresent()) {
-            modifiers.add(accessModifierInPlace.get());
+        if (accessModifierInPlace != null) {
+            modifiers.add(accessModifierInPlace);
         } else {
-            modifiers.add(new J.Modifier(UUID.randomUUID(), Space.EMPTY,
+            modifiers.add(new J.Modifier(randomId(), Space.EMPTY,
                     Markers.EMPTY, null, J.Modifier.Type.Public, Collections.emptyList()));
         }
 
-        modifiers.add(new J.Modifier(UUID.randomUUID(), Space.SINGLE_SPACE,
+        modifiers.add(new J.Modifier(randomId(), Space.SINGLE_SPACE,
                 Markers.EMPTY, null, J.Modifier.Type.Static, Collections.emptyList()));
 
-        modifiers.add(new J.Modifier(UUID.randomUUID(), Space.SINGLE_SPACE,
+        modifiers.add(new J.Modifier(randomId(), Space.SINGLE_SPACE,
                 Markers.EMPTY, null, J.Modifier.Type.Final, Collections.emptyList()));
 
-        for (J.Modifier modifier : mapperDeclField.getModifiers()) {
-            if (!modifiersSetManually.contains(modifier.getType())) {
+        for (J.Modifier modifier : declaredModifiers) {
+            if (!MODIFIERS_SET_MANUALLY.contains(modifier.getType())) {
                 modifiers.add(modifier.withPrefix(Space.SINGLE_SPACE));
             }
         }
@@ -150,6 +204,25 @@ public class MapperProcessor extends JavaVisitor<ExecutionContext> {
         return implMethod;
     }
 
+    /**
+     * The declaration, its implementation and its decorator can each have a private field of the same name, which
+     * one class can't. Only checked when failures are isolated, where such a mapper is left as it was and reported
+     * rather than merged into a class that doesn't compile. Otherwise the merge goes on as it always has.
+     */
+    private static void requireDistinctFields(List<Statement> statements, String mapperFqn) {
+        Set<String> fieldNames = new HashSet<>();
+        for (Statement statement : statements) {
+            if (statement instanceof J.VariableDeclarations field) {
+                for (J.VariableDeclarations.NamedVariable variable : field.getVariables()) {
+                    if (!fieldNames.add(variable.getSimpleName())) {
+                        throw new IllegalStateException("More than one field of " + mapperFqn + " and its "
+                                + "implementation is named " + variable.getSimpleName());
+                    }
+                }
+            }
+        }
+    }
+
     private static boolean excludeGeneratedAnnotations(J.Annotation a) {
         return !(
                 a.getSimpleName().equals("Generated")
@@ -171,38 +244,128 @@ public class MapperProcessor extends JavaVisitor<ExecutionContext> {
      * implementation generated by mapstruct
      */
     @Override
-    public J visitCompilationUnit(J.CompilationUnit mapperDeclFile_, ExecutionContext ctx) {
+    public @Nullable J visitCompilationUnit(J.CompilationUnit mapperDeclFile_, ExecutionContext ctx) {
+        if (acc.isEmpty() || isAlreadyMigrated(mapperDeclFile_)) {
+            return mapperDeclFile_;
+        }
+
+        if (acc.isCollapsedDecorator(mapperDeclFile_.getSourcePath())) {
+            // Its methods are merged into the mapper it decorates, which was in scope
+            return null;
+        }
+
+        if (!acc.getScope().includesSourcePath(mapperDeclFile_.getSourcePath())) {
+            return mapperDeclFile_;
+        }
+
+        if (!precomputing) {
+            J.CompilationUnit precomputed = acc.getPrecomputedMerges().take(mapperDeclFile_);
+            if (precomputed != null) {
+                precomputed.getMarkers().findFirst(MigratedMapper.class)
+                        .ifPresent(migrated -> acc.recordMerged(migrated.getMapperFqn()));
+                return precomputed;
+            }
+        }
+
+        MigrationEvents.RewriteReferences rewriteEvent = new MigrationEvents.RewriteReferences();
+        rewriteEvent.begin();
         J visited = super.visitCompilationUnit(mapperDeclFile_, ctx);
+        if (rewriteEvent.shouldCommit()) {
+            rewriteEvent.sourcePath = mapperDeclFile_.getSourcePath().toString();
+            rewriteEvent.changed = visited != mapperDeclFile_;
+            rewriteEvent.commit();
+        }
         if (!(visited instanceof J.CompilationUnit mapperDeclFile)) {
             return visited;
         }
 
-        if (!isMapperDeclaration(mapperDeclFile)) {
-            return mapperDeclFile;
+        if (!isMapperDeclaration(mapperDeclFile, acc.isNameBasedMatching())) {
+            if (mapperDeclFile == mapperDeclFile_) {
+                return mapperDeclFile;
+            }
+            return mapperDeclFile.withMarkers(mapperDeclFile.getMarkers()
+                    .add(new MigratedMapperReferences(randomId())));
         }
 
         J.ClassDeclaration mapperDeclClass = mapperDeclFile.getClasses().get(0);
+        String mapperFqn = acc.isNameBasedMatching()
+                ? NameBasedTypes.declaredFqn(mapperDeclFile, mapperDeclClass)
+                : mapperDeclClass.getType() == null
+                ? mapperDeclClass.getSimpleName()
+                : mapperDeclClass.getType().getFullyQualifiedName();
+        Predicate<J.Annotation> keepAnnotation = acc.isNameBasedMatching()
+                ? annotation -> !NameBasedTypes.isMapstructAnnotation(mapperDeclFile, annotation)
+                : MapperProcessor::excludeMapstructAnnotations;
+
+        if (acc.getCheckpoint().hasFailedBefore(mapperFqn)) {
+            if (!precomputing && acc.getCheckpoint().reportSkipped(mapperFqn)) {
+                log.warning("Skipping " + mapperFqn + ", it failed to migrate in a previous run.");
+                if (failures != null) {
+                    failures.insertRow(ctx, new MapperMigrationFailures.Row(
+                            mapperDeclFile.getSourcePath().toString(), mapperFqn,
+                            "Skipped: failed to migrate in a previous run", ""));
+                }
+            }
+            return mapperDeclFile_;
+        }
+
+        if (acc.getCheckpoint().hasMigratedBefore(mapperFqn)) {
+            if (!precomputing && acc.getCheckpoint().reportSkipped(mapperFqn)) {
+                log.info("Skipping " + mapperFqn + ", a previous run migrated it.");
+            }
+            return mapperDeclFile_;
+        }
+
+        if (acc.getCheckpoint().isSkipped(mapperFqn)) {
+            // Reported when it failed in an earlier cycle
+            return mapperDeclFile_;
+        }
+
+        if (acc.isStale(mapperFqn)) {
+            // Already reported when the implementations were checked
+            return mapperDeclFile;
+        }
 
         try {
-            J.CompilationUnit mapperImplFile = acc.getImplementer(mapperDeclClass);
+            J.CompilationUnit mapperImplFile = acc.isNameBasedMatching()
+                    ? acc.getImplementer(mapperFqn)
+                    : acc.getImplementer(mapperDeclClass);
             if (mapperImplFile == null) {
-                return super.visitCompilationUnit(mapperDeclFile, ctx);
+                return mapperDeclFile;
             }
 
+            MigrationEvents.MergeMapper mergeEvent = new MigrationEvents.MergeMapper();
+            mergeEvent.begin();
+
             J.ClassDeclaration mapperImplClass = mapperImplFile.getClasses().get(0);
             String mapperImplClassName = mapperImplClass.getName().getSimpleName();
             String mapperDeclClassName = mapperDeclClass.getName().getSimpleName();
 
+            MigrationEvents.MergePhase phaseEvent = new MigrationEvents.MergePhase();
+            phaseEvent.begin();
+            MapperDecoration decoration = acc.getDecoration(mapperFqn);
             mapperImplFile = copyImports(mapperImplFile, mapperDeclFile);
+            if (decoration != null) {
+                mapperImplFile = copyImports(mapperImplFile, decoration.getDecoratorFile());
+            }
+            MigrationEvents.commitPhase(phaseEvent, "import merge", mapperDeclFile, mapperFqn,
+                    mapperImplFile.getImports().size());
 
             // ==========================================================
             // STEP B: PREPARE GENERATED METHODS (Remove @Override and rename constructors)
             // ==========================================================
-            List<Statement> copiedClassStatements = new ArrayList<>();
+            List<Statement> implStatements = mapperImplClass.getBody().getStatements();
+            List<Statement> declStatements = mapperDeclClass.getBody().getStatements();
+            List<Statement> copiedClassStatements = new ArrayList<>(implStatements.size() + declStatements.size());
+            phaseEvent = new MigrationEvents.MergePhase();
+            phaseEvent.begin();
 
             // Transform methods on Impl class
-            for (Statement implStatement : mapperImplClass.getBody().getStatements()) {
+            for (Statement implStatement : implStatements) {
                 if (implStatement instanceof J.MethodDeclaration mapperImplMethod) {
+                    if (decoration != null) {
+                        mapperImplMethod = decoration.transformGenerated(mapperImplMethod);
+                    }
                     copiedClassStatements.add(transformMapperImplMethod(
                             mapperImplMethod,
                             mapperImplClassName,
@@ -213,9 +376,28 @@ public class MapperProcessor extends JavaVisitor<ExecutionContext> {
                 }
             }
 
-            for (Statement mapperDeclStatement : mapperDeclClass.getBody().getStatements()) {
+            // Decorator methods take the place of the generated methods they override
+            if (decoration != null) {
+                String decoratorClassName = decoration.getDecoratorFile().getClasses().get(0).getSimpleName();
+                for (Statement decoratorStatement : decoration.decoratorStatements()) {
+                    if (decoratorStatement instanceof J.MethodDeclaration decoratorMethod) {
+                        copiedClassStatements.add(transformMapperImplMethod(
+                                decoratorMethod,
+                                decoratorClassName,
+                                mapperDeclClassName
+                        ));
+                    } else {
+                        copiedClassStatements.add(decoratorStatement);
+                    }
+                }
+            }
+
+            for (Statement mapperDeclStatement : declStatements) {
                 if (mapperDeclStatement instanceof J.MethodDeclaration mapperDeclMethod) {
-                    final var mapperDeclMethodNullable = transformMapperDeclMethod(mapperDeclMethod);
+                    if (decoration != null && decoration.overrides(mapperDeclMethod)) {
+                        continue;
+                    }
+                    final var mapperDeclMethodNullable = transformMapperDeclMethod(mapperDeclMethod, keepAnnotation);
                     if (mapperDeclMethodNullable != null) {
                         copiedClassStatements.add(mapperDeclMethodNullable);
                     }
@@ -227,8 +409,19 @@ public class MapperProcessor extends JavaVisitor<ExecutionContext> {
                 }
             }
 
+            if (acc.isIsolatingFailures()) {
+                requireDistinctFields(copiedClassStatements, mapperFqn);
+            }
+            MigrationEvents.commitPhase(phaseEvent, "statement transform", mapperDeclFile, mapperFqn,
+                    copiedClassStatements.size());
+
+            phaseEvent = new MigrationEvents.MergePhase();
+            phaseEvent.begin();
             copiedClassStatements.sort(new StatementDefinitionOrder());
+            MigrationEvents.commitPhase(phaseEvent, "sort", mapperDeclFile, mapperFqn, copiedClassStatements.size());
 
+            phaseEvent = new MigrationEvents.MergePhase();
+            phaseEvent.begin();
             J.ClassDeclaration clazz = mapperImplClass
                     .withBody(mapperImplClass.getBody().withStatements(copiedClassStatements))
                     .withName(mapperImplClass.getName().withSimpleName(mapperDeclClassName))
@@ -237,7 +430,7 @@ public class MapperProcessor extends JavaVisitor<ExecutionContext> {
                             Stream.concat(
                                             mapperDeclClass
                                                     .getLeadingAnnotations()
-                                                    .stream().filter(MapperProcessor::excludeMapstructAnnotations),
+                                                    .stream().filter(keepAnnotation),
                                             mapperImplClass
                                                     .getLeadingAnnotations()
                                                     .stream().filter(MapperProcessor::excludeGeneratedAnnotations)
@@ -246,15 +439,53 @@ public class MapperProcessor extends JavaVisitor<ExecutionContext> {
                     )
                     .withExtends(null);
 
-            return mapperImplFile
+            J.CompilationUnit migrated = mapperImplFile
                     .withClasses(Collections.singletonList(clazz))
                     .withId(mapperDeclFile.getId())
-                    .withSourcePath(mapperDeclFile.getSourcePath());
+                    .withSourcePath(mapperDeclFile.getSourcePath())
+                    .withMarkers(mapperDeclFile.getMarkers().add(new MigratedMapper(randomId(), mapperFqn,
+                            acc.isOptimized(mapperFqn))));
+            MigrationEvents.commitPhase(phaseEvent, "class rebuild", mapperDeclFile, mapperFqn,
+                    copiedClassStatements.size());
+
+            if (mergeEvent.shouldCommit()) {
+                mergeEvent.sourcePath = mapperDeclFile.getSourcePath().toString();
+                mergeEvent.mapperFqn = mapperFqn;
+                mergeEvent.implStatements = implStatements.size();
+                mergeEvent.declStatements = declStatements.size();
+                mergeEvent.mergedStatements = copiedClassStatements.size();
+                mergeEvent.commit();
+            }
+            if (!precomputing) {
+                acc.recordMerged(mapperFqn);
+            }
+            return migrated;
 
         } catch (Exception e) {
+            if (precomputing) {
+                // Merged again, and reported, by the edit visit
+                throw new IllegalStateException(e);
+            }
             log.severe("Error processing @Mapper class " + mapperDeclFile.getClasses().get(0).getName() + ": " + e.getMessage());
-            throw new RuntimeException("Failed to migrate Mapstruct Mapper: " + mapperDeclClass.getName().getSimpleName(),
-                    e);
+            J.CompilationUnit promised = acc.getPrecomputedMerges().takePromised(mapperFqn);
+            if (promised != null) {
+                log.warning("Taking the merge of " + mapperFqn + " made before its declaration changed, as its "
+                        + "decorator is already removed.");
+                acc.recordMerged(mapperFqn);
+                return promised;
+            }
+            if (failures == null) {
+                throw new RuntimeException("Failed to migrate Mapstruct Mapper: " + mapperDeclClass.getName().getSimpleName(),
+                        e);
+            }
+
+            acc.getCheckpoint().recordFailed(mapperFqn);
+            StringWriter stackTrace = new StringWriter();
+            e.printStackTrace(new PrintWriter(stackTrace));
+            failures.insertRow(ctx, new MapperMigrationFailures.Row(
+                    mapperDeclFile.getSourcePath().toString(), mapperFqn, String.valueOf(e), stackTrace.toString()));
+            // Leave the mapper exactly as it was, including the references the visit above rewrote
+            return mapperDeclFile_;
         }
     }
 
@@ -274,12 +505,17 @@ public class MapperProcessor extends JavaVisitor<ExecutionContext> {
             return fieldAccess;
         }
 
-        final var targetType = targetIdentifier.getType();
-        if (targetType == null) {
-            return fieldAccess;
+        final String targetFqn;
+        if (acc.isNameBasedMatching()) {
+            targetFqn = NameBasedTypes.resolve(getCursor().firstEnclosingOrThrow(J.CompilationUnit.class),
+                    targetIdentifier.getSimpleName());
+        } else {
+            final var targetType = targetIdentifier.getType();
+            if (targetType == null) {
+                return fieldAccess;
+            }
+            targetFqn = targetType.toString();
         }
-
-        final var targetFqn = targetType.toString();
         final var superFqn = acc.getSuperFqnFromImplFqn(targetFqn);
 
         if (superFqn == null) {
@@ -289,7 +525,7 @@ public class MapperProcessor extends JavaVisitor<ExecutionContext> {
         final var superSimpleName = extractSimpleName(superFqn);
         final var superType = JavaType.buildType(superFqn);
         final Expression superTarget = new J.Identifier(
-                UUID.randomUUID(),
+                randomId(),
                 targetIdentifier.getPrefix(),
                 targetIdentifier.getMarkers(),
                 Collections.emptyList(),
@@ -327,18 +563,6 @@ public class MapperProcessor extends JavaVisitor<ExecutionContext> {
             return import_;
         }
 
-        // Check if already replaced - the import FQN should match super FQN
-        if (importFqn.equals(superFqn)) {
-            return import_;
-        }
-
-        // Check by simple name - if it matches and doesn't end with Impl, it's already replaced
-        String currentSimpleName = getFinalIdentifierName(import_.getQualid());
-        String expectedSimpleName = extractSimpleName(superFqn);
-        if (currentSimpleName.equals(expectedSimpleName) && !currentSimpleName.endsWith("Impl")) {
-            return import_;
-        }
-
         // Replace the import with the super type
         return replaceImportQualid(import_, superFqn);
     }
@@ -420,24 +644,32 @@ public class MapperProcessor extends JavaVisitor<ExecutionContext> {
         return instanceOf.withClazz(clazzParentheses.withTree(replacedClazz));
     }
 
+    /**
+     * Files merged or rewritten by an earlier cycle or run carry a marker, so they are not visited again.
+     */
+    private static boolean isAlreadyMigrated(J.CompilationUnit compilationUnit) {
+        return compilationUnit.getMarkers().findFirst(MigratedMapper.class).isPresent()
+                || compilationUnit.getMarkers().findFirst(MigratedMapperReferences.class).isPresent();
+    }
+
     private J.CompilationUnit copyImports(J.CompilationUnit mapperImplementationFile,
                                           J.CompilationUnit originalCompilationUnit
     ) {
-        List<J.Import> allImports = ListUtils.concatAll(
-                mapperImplementationFile.getImports(), originalCompilationUnit.getImports());
-
-        var forbiddenImports = new HashSet<>(Arrays.asList(
-                "javax.annotation.processing.Generated",
-                "jakarta.annotation.Generated"
-        ));
-
-        var imports = new ArrayList<J.Import>();
-        for (J.Import imp : allImports) {
-            String importFqn = imp.getQualid().printTrimmed(getCursor());
-            if (!forbiddenImports.contains(importFqn) && !importFqn.startsWith(MAPSTRUCT_GROUP)) {
-                imports.add(imp);
+        List<J.Import> implImports = mapperImplementationFile.getImports();
+        List<J.Import> declImports = originalCompilationUnit.getImports();
+        int importCount = implImports.size() + declImports.size();
+
+        var seenImports = new HashSet<String>(importCount * 2);
+        var imports = new ArrayList<J.Import>(importCount);
+        for (List<J.Import> source : List.of(implImports, declImports)) {
+            for (J.Import imp : source) {
+                String importFqn = qualifiedName(imp.getQualid());
+                if (seenImports.add(importFqn)
+                        && !GENERATED_IMPORTS.contains(importFqn)
+                        && !importFqn.startsWith(MAPSTRUCT_GROUP)) {
+                    imports.add(imp);
+                }
             }
-            forbiddenImports.add(importFqn);
         }
 
         return mapperImplementationFile.withImports(imports);
@@ -449,24 +681,8 @@ public class MapperProcessor extends JavaVisitor<ExecutionContext> {
      */
     private @Nullable String extractFqnFromFieldAccess(J.FieldAccess fieldAccess) {
         // First try to extract from the name chain (more reliable after replacements)
-        List<String> parts = new ArrayList<>();
-        J.FieldAccess current = fieldAccess;
-        while (true) {
-            parts.add(current.getName().getSimpleName());
-            if (current.getTarget() instanceof J.FieldAccess nested) {
-                current = nested;
-            } else if (current.getTarget() instanceof J.Identifier identifier) {
-                parts.add(identifier.getSimpleName());
-                break;
-            } else {
-                break;
-            }
-        }
-        Collections.reverse(parts);
-        String nameBasedFqn = parts.isEmpty() ? null : String.join(".", parts);
-
-        // If we got a valid FQN from names, use it (more reliable after replacements)
-        if (nameBasedFqn != null && !nameBasedFqn.isEmpty()) {
+        String nameBasedFqn = qualifiedName(fieldAccess);
+        if (!nameBasedFqn.isEmpty()) {
             return nameBasedFqn;
         }
 
@@ -486,11 +702,18 @@ public class MapperProcessor extends JavaVisitor<ExecutionContext> {
      * Replaces mentions of a type to it's super type (implements or extends).
      */
     private TypeTree replaceTypeTreeIfNeeded(TypeTree typeTree) {
-        if (!(typeTree.getType() instanceof JavaType.FullyQualified type)) {
+        String typeFqn;
+        if (acc.isNameBasedMatching()) {
+            typeFqn = NameBasedTypes.resolve(getCursor().firstEnclosingOrThrow(J.CompilationUnit.class), typeTree);
+        } else {
+            typeFqn = typeTree.getType() instanceof JavaType.FullyQualified type
+                    ? type.getFullyQualifiedName()
+                    : null;
+        }
+        if (typeFqn == null) {
             return typeTree;
         }
 
-        String typeFqn = type.getFullyQualifiedName();
         String superFqn = acc.getSuperFqnFromImplFqn(typeFqn);
         if (superFqn == null) {
             return typeTree;
@@ -500,7 +723,7 @@ public class MapperProcessor extends JavaVisitor<ExecutionContext> {
 
         final var superType = JavaType.buildType(superFqn);
         return new J.Identifier(
-                UUID.randomUUID(),
+                randomId(),
                 typeTree.getPrefix(),
                 typeTree.getMarkers(),
                 Collections.emptyList(),
@@ -0,0 +1,144 @@
+package com.santunioni.recipes.removeMapstruct;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+import lombok.extern.java.Log;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * How often the methods of a production system were on the stack, to tell hot mappers from cold ones.
+ * <p>
+ * It is read from a JFR recording, whose {@code jdk.ExecutionSample} events are counted for every method and class
+ * on their stack, or from a CSV file with one {@code <method>,<samples>} line per method. CSV methods are written
+ * {@code com.acme.CustomerMapperImpl.toDto} or {@code com.acme.CustomerMapperImpl::toDto}; lines that don't end with
+ * a number, like a header, and lines starting with {@code #} are skipped.
+ * <p>
+ * Samples are inclusive: a sample counts once for each method on its stack, and once for each class. Nested classes
+ * count for their outermost class.
+ */
+@Log
+@NullMarked
+public class MapperProfile {
+    private static final String EXECUTION_SAMPLE = "jdk.ExecutionSample";
+
+    private static final MapperProfile NONE = new MapperProfile(Collections.emptyMap(), Collections.emptyMap());
+
+    private final Map<String, Long> samplesByMethod;
+
+    private final Map<String, Long> samplesByClass;
+
+    private MapperProfile(Map<String, Long> samplesByMethod, Map<String, Long> samplesByClass) {
+        this.samplesByMethod = samplesByMethod;
+        this.samplesByClass = samplesByClass;
+    }
+
+    public static MapperProfile none() {
+        return NONE;
+    }
+
+    public static MapperProfile load(@Nullable String profileFile) {
+        if (profileFile == null || profileFile.isBlank()) {
+            return none();
+        }
+
+        Path path = Paths.get(profileFile);
+        Map<String, Long> samplesByMethod = new HashMap<>();
+        Map<String, Long> samplesByClass = new HashMap<>();
+        try {
+            if (profileFile.endsWith(".jfr")) {
+                readRecording(path, samplesByMethod, samplesByClass);
+            } else {
+                readCsv(path, samplesByMethod, samplesByClass);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read profile " + profileFile, e);
+        }
+        log.info("Read " + samplesByMethod.size() + " sampled methods of " + samplesByClass.size()
+                + " classes from " + profileFile);
+        return new MapperProfile(samplesByMethod, samplesByClass);
+    }
+
+    private static void readRecording(Path path, Map<String, Long> samplesByMethod,
+                                      Map<String, Long> samplesByClass) throws IOException {
+        try (RecordingFile recording = new RecordingFile(path)) {
+            while (recording.hasMoreEvents()) {
+                RecordedEvent event = recording.readEvent();
+                RecordedStackTrace stackTrace = event.getStackTrace();
+                if (!EXECUTION_SAMPLE.equals(event.getEventType().getName()) || stackTrace == null) {
+                    continue;
+                }
+                // Recursion and helper calls don't count a sample twice
+                Set<String> methods = new HashSet<>();
+                Set<String> classes = new HashSet<>();
+                for (RecordedFrame frame : stackTrace.getFrames()) {
+                    RecordedMethod method = frame.getMethod();
+                    if (!frame.isJavaFrame() || method == null) {
+                        continue;
+                    }
+                    String className = method.getType().getName();
+                    methods.add(className + "." + method.getName());
+                    classes.add(outermostClass(className));
+                }
+                methods.forEach(method -> samplesByMethod.merge(method, 1L, Long::sum));
+                classes.forEach(className -> samplesByClass.merge(className, 1L, Long::sum));
+            }
+        }
+    }
+
+    private static void readCsv(Path path, Map<String, Long> samplesByMethod,
+                                Map<String, Long> samplesByClass) throws IOException {
+        List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+        for (String line : lines) {
+            int comma = line.lastIndexOf(',');
+            if (line.startsWith("#") || comma < 0) {
+                continue;
+            }
+            long samples;
+            try {
+                samples = Long.parseLong(line.substring(comma + 1).trim());
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            String method = line.substring(0, comma).trim().replace("::", ".");
+            int dot = method.lastIndexOf('.');
+            if (dot < 0) {
+                continue;
+            }
+            samplesByMethod.merge(method, samples, Long::sum);
+            samplesByClass.merge(outermostClass(method.substring(0, dot)), samples, Long::sum);
+        }
+    }
+
+    private static String outermostClass(String className) {
+        int dollar = className.indexOf('$');
+        return dollar < 0 ? className : className.substring(0, dollar);
+    }
+
+    public boolean isEmpty() {
+        return samplesByClass.isEmpty();
+    }
+
+    /**
+     * Samples by class name and method name, separated by a dot.
+     */
+    Map<String, Long> getSamplesByMethod() {
+        return Collections.unmodifiableMap(samplesByMethod);
+    }
+}
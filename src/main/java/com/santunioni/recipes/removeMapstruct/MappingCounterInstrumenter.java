@@ -0,0 +1,209 @@
+package com.santunioni.recipes.removeMapstruct;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.Statement;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.UUID;
+
+/**
+ * Adds a {@link java.util.concurrent.atomic.LongAdder} call counter to each public instance method of the classes
+ * {@link MapperProcessor} merged, and a static {@code mappingCalls()} accessor that reads them. With a sampling
+ * rate, about one call in that many is also timed, and {@code mappingMeanNanos()} reports the mean duration.
+ * <p>
+ * A counted call costs one striped increment. A timed one adds two {@link System#nanoTime()} reads.
+ */
+@NullMarked
+public class MappingCounterInstrumenter extends JavaIsoVisitor<ExecutionContext> {
+    private static final String CALLS_FIELD = "MAPPING_CALLS";
+    private static final String METHOD_INDEXES = "MAPPING_METHOD_INDEXES";
+
+    private final @Nullable Integer sampleEvery;
+
+    /**
+     * @param sampleEvery time about one call in this many, or none when null
+     */
+    public MappingCounterInstrumenter(@Nullable Integer sampleEvery) {
+        this.sampleEvery = sampleEvery == null || sampleEvery < 1 ? null : sampleEvery;
+    }
+
+    private static boolean isCounted(Statement statement) {
+        return statement instanceof J.MethodDeclaration method
+                && method.getBody() != null
+                && !method.isConstructor()
+                && method.hasModifier(J.Modifier.Type.Public)
+                && !method.hasModifier(J.Modifier.Type.Static);
+    }
+
+    private static boolean isInstrumented(J.ClassDeclaration classDecl) {
+        for (Statement statement : classDecl.getBody().getStatements()) {
+            if (statement instanceof J.VariableDeclarations field
+                    && field.getVariables().stream().anyMatch(v -> CALLS_FIELD.equals(v.getSimpleName()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The method as it is reported: {@code toUserDto(UserEntity)}, so overloads stay apart.
+     */
+    private static String label(J.MethodDeclaration method) {
+        StringJoiner parameters = new StringJoiner(", ", method.getSimpleName() + "(", ")");
+        if (method.getMethodType() != null) {
+            for (JavaType parameterType : method.getMethodType().getParameterTypes()) {
+                parameters.add(parameterType instanceof JavaType.FullyQualified fq
+                        ? fq.getClassName()
+                        : parameterType.toString());
+            }
+        }
+        return parameters.toString();
+    }
+
+    @Override
+    public J.CompilationUnit visitCompilationUnit(J.CompilationUnit compilationUnit, ExecutionContext ctx) {
+        if (compilationUnit.getMarkers().findFirst(MigratedMapper.class).isEmpty()) {
+            return compilationUnit;
+        }
+        return super.visitCompilationUnit(compilationUnit, ctx);
+    }
+
+    @Override
+    public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
+        // Only the mapper class itself, not the classes nested in it
+        if (!(getCursor().getParentTreeCursor().getValue() instanceof J.CompilationUnit) || isInstrumented(classDecl)) {
+            return classDecl;
+        }
+
+        List<String> labels = new ArrayList<>();
+        Map<UUID, Integer> indexes = new HashMap<>();
+        for (Statement statement : classDecl.getBody().getStatements()) {
+            if (isCounted(statement)) {
+                J.MethodDeclaration method = (J.MethodDeclaration) statement;
+                indexes.put(method.getId(), labels.size());
+                labels.add(label(method));
+            }
+        }
+        if (labels.isEmpty()) {
+            return classDecl;
+        }
+
+        getCursor().putMessage(METHOD_INDEXES, indexes);
+        J.ClassDeclaration cd = super.visitClassDeclaration(classDecl, ctx);
+
+        cd = JavaTemplate.builder(members(labels))
+                .contextSensitive()
+                .imports("java.util.LinkedHashMap", "java.util.Map", "java.util.concurrent.atomic.LongAdder")
+                .build()
+                .apply(updateCursor(cd), cd.getBody().getCoordinates().lastStatement());
+        maybeAddImport("java.util.LinkedHashMap");
+        maybeAddImport("java.util.Map");
+        maybeAddImport("java.util.concurrent.atomic.LongAdder");
+        if (sampleEvery != null) {
+            maybeAddImport("java.util.concurrent.ThreadLocalRandom");
+        }
+        return cd;
+    }
+
+    @Override
+    public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
+        J.MethodDeclaration m = super.visitMethodDeclaration(method, ctx);
+        Map<UUID, Integer> indexes = getCursor().getNearestMessage(METHOD_INDEXES);
+        if (indexes == null || !indexes.containsKey(method.getId()) || m.getBody() == null) {
+            return m;
+        }
+        int index = indexes.get(method.getId());
+
+        if (sampleEvery == null) {
+            return JavaTemplate.builder(CALLS_FIELD + "[" + index + "].increment();")
+                    .contextSensitive()
+                    .build()
+                    .apply(updateCursor(m), m.getBody().getCoordinates().firstStatement());
+        }
+
+        J.Block originalBody = m.getBody();
+        m = JavaTemplate.builder("{\n"
+                        + CALLS_FIELD + "[" + index + "].increment();\n"
+                        + "boolean mappingSampled = ThreadLocalRandom.current().nextInt(" + sampleEvery + ") == 0;\n"
+                        + "long mappingStartNanos = mappingSampled ? System.nanoTime() : 0L;\n"
+                        + "try {\n"
+                        + "} finally {\n"
+                        + "if (mappingSampled) {\n"
+                        + "MAPPING_SAMPLED_NANOS[" + index + "].add(System.nanoTime() - mappingStartNanos);\n"
+                        + "MAPPING_SAMPLES[" + index + "].increment();\n"
+                        + "}\n"
+                        + "}\n"
+                        + "}")
+                .contextSensitive()
+                .imports("java.util.concurrent.ThreadLocalRandom")
+                .build()
+                .apply(updateCursor(m), m.getCoordinates().replaceBody());
+
+        // The original statements go inside the try, so the finally block times every exit
+        J.Block timedBody = m.getBody();
+        if (timedBody == null) {
+            return m;
+        }
+        m = m.withBody(timedBody.withStatements(timedBody.getStatements().stream()
+                .map(statement -> statement instanceof J.Try timed
+                        ? timed.withBody(timed.getBody().withStatements(originalBody.getStatements()))
+                        : statement)
+                .toList()));
+        return autoFormat(m, ctx, getCursor().getParentOrThrow());
+    }
+
+    private String members(List<String> labels) {
+        StringJoiner names = new StringJoiner(", ", "{", "}");
+        StringJoiner adders = new StringJoiner(", ", "{", "}");
+        for (String label : labels) {
+            names.add('"' + label + '"');
+            adders.add("new LongAdder()");
+        }
+
+        StringBuilder members = new StringBuilder()
+                .append("private static final String[] MAPPING_METHODS = ").append(names).append(";\n")
+                .append("private static final LongAdder[] ").append(CALLS_FIELD).append(" = ").append(adders)
+                .append(";\n");
+        if (sampleEvery != null) {
+            members.append("private static final LongAdder[] MAPPING_SAMPLES = ").append(adders).append(";\n")
+                    .append("private static final LongAdder[] MAPPING_SAMPLED_NANOS = ").append(adders)
+                    .append(";\n");
+        }
+
+        members.append("/**\n")
+                .append(" * Calls of each public mapping method since the class was loaded.\n")
+                .append(" */\n")
+                .append("public static Map<String, Long> mappingCalls() {\n")
+                .append("Map<String, Long> calls = new LinkedHashMap<>();\n")
+                .append("for (int i = 0; i < MAPPING_METHODS.length; i++) {\n")
+                .append("calls.put(MAPPING_METHODS[i], ").append(CALLS_FIELD).append("[i].sum());\n")
+                .append("}\n")
+                .append("return calls;\n")
+                .append("}\n");
+        if (sampleEvery != null) {
+            members.append("/**\n")
+                    .append(" * Mean duration in nanoseconds of each public mapping method, over about one call in ")
+                    .append(sampleEvery).append(".\n")
+                    .append(" */\n")
+                    .append("public static Map<String, Long> mappingMeanNanos() {\n")
+                    .append("Map<String, Long> meanNanos = new LinkedHashMap<>();\n")
+                    .append("for (int i = 0; i < MAPPING_METHODS.length; i++) {\n")
+                    .append("long samples = MAPPING_SAMPLES[i].sum();\n")
+                    .append("meanNanos.put(MAPPING_METHODS[i], samples == 0 ? 0L : MAPPING_SAMPLED_NANOS[i].sum() / samples);\n")
+                    .append("}\n")
+                    .append("return meanNanos;\n")
+                    .append("}\n");
+        }
+        return members.toString();
+    }
+}
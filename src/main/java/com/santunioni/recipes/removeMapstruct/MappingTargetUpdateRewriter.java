@@ -0,0 +1,312 @@
+package com.santunioni.recipes.removeMapstruct;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Cursor;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.tree.Expression;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.Statement;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.santunioni.recipes.removeMapstruct.Functions.randomId;
+
+/**
+ * Rewrites the collection updates Mapstruct generates for {@code @MappingTarget} methods, in the classes
+ * {@link MapperProcessor} merged, so the target collection is refilled in place.
+ * <p>
+ * When the elements need mapping, Mapstruct maps the source collection into a new one with an iterable helper
+ * method, then clears the target collection and copies the new one into it:
+ * <pre>
+ * if (target.getItems() != null) {
+ *     List&lt;Item&gt; list = itemDtoListToItemList(source.getItems());
+ *     if (list != null) {
+ *         target.getItems().clear();
+ *         target.getItems().addAll(list);
+ *     } else {
+ *         target.setItems(null);
+ *     }
+ * }
+ * </pre>
+ * The helper's loop is moved in place of {@code addAll}, adding each mapped element straight to the cleared target,
+ * read once into a local, and {@code list} holds the source collection instead. A null source still sets the target
+ * to null, and an absent target collection is still set to the helper's result, as that branch is left alone.
+ * <p>
+ * Clearing the target before reading the source is only safe when they can't be the same collection. Only helpers
+ * whose source and target elements are of different types are inlined: a helper that maps elements to their own
+ * type, like a deep clone, could be handed the target collection itself, and keeps its copy.
+ * <p>
+ * Unlike before, an element mapping that throws leaves the target collection partly filled.
+ */
+@NullMarked
+public class MappingTargetUpdateRewriter extends JavaIsoVisitor<ExecutionContext> {
+
+    /**
+     * The loop of an iterable helper method Mapstruct generates, or null if the method is not one:
+     * <pre>
+     * if (list == null) {
+     *     return null;
+     * }
+     * List&lt;Item&gt; list1 = new ArrayList&lt;Item&gt;(list.size());
+     * for (ItemDto itemDto : list) {
+     *     list1.add(itemDtoToItem(itemDto));
+     * }
+     * return list1;
+     * </pre>
+     */
+    private static J.@Nullable ForEachLoop iterableHelperLoop(J.MethodDeclaration method) {
+        if (method.getBody() == null
+                || method.getParameters().size() != 1
+                || !(method.getParameters().get(0) instanceof J.VariableDeclarations parameter)
+                || parameter.getVariables().size() != 1) {
+            return null;
+        }
+        String parameterName = parameter.getVariables().get(0).getSimpleName();
+        List<Statement> statements = method.getBody().getStatements();
+        if (statements.size() != 4
+                || !(statements.get(1) instanceof J.VariableDeclarations result)
+                || result.getVariables().size() != 1
+                || !(result.getVariables().get(0).getInitializer() instanceof J.NewClass)
+                || !(statements.get(2) instanceof J.ForEachLoop loop)
+                || !(statements.get(3) instanceof J.Return returned)
+                || !isIdentifier(returned.getExpression(), result.getVariables().get(0).getSimpleName())
+                || !isIdentifier(loop.getControl().getIterable(), parameterName)) {
+            return null;
+        }
+
+        J.MethodInvocation add = singleInvocation(loop.getBody());
+        if (add == null
+                || !"add".equals(add.getSimpleName())
+                || add.getArguments().size() != 1
+                || !isIdentifier(add.getSelect(), result.getVariables().get(0).getSimpleName())) {
+            return null;
+        }
+        return loop;
+    }
+
+    private static J.@Nullable MethodInvocation singleInvocation(Statement statement) {
+        if (statement instanceof J.Block block && block.getStatements().size() == 1) {
+            statement = block.getStatements().get(0);
+        }
+        return statement instanceof J.MethodInvocation invocation ? invocation : null;
+    }
+
+    private static boolean isIdentifier(@Nullable Expression expression, String name) {
+        return expression instanceof J.Identifier identifier && name.equals(identifier.getSimpleName());
+    }
+
+    private static boolean isOnThis(@Nullable Expression select) {
+        return select == null || select instanceof J.Identifier identifier && "this".equals(identifier.getSimpleName());
+    }
+
+    private static J.@Nullable MethodDeclaration findMethod(J.ClassDeclaration classDecl, String name) {
+        J.MethodDeclaration found = null;
+        for (Statement statement : classDecl.getBody().getStatements()) {
+            if (statement instanceof J.MethodDeclaration method && name.equals(method.getSimpleName())) {
+                if (found != null) {
+                    // Overloaded, the invocation could be to either
+                    return null;
+                }
+                found = method;
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public J.CompilationUnit visitCompilationUnit(J.CompilationUnit compilationUnit, ExecutionContext ctx) {
+        if (!Functions.isOptimizedMapper(compilationUnit)) {
+            return compilationUnit;
+        }
+        return super.visitCompilationUnit(compilationUnit, ctx);
+    }
+
+    @Override
+    public J.Block visitBlock(J.Block block, ExecutionContext ctx) {
+        J.Block b = super.visitBlock(block, ctx);
+        J.ClassDeclaration classDecl = getCursor().firstEnclosing(J.ClassDeclaration.class);
+        J.MethodDeclaration enclosingMethod = getCursor().firstEnclosing(J.MethodDeclaration.class);
+        if (classDecl == null || enclosingMethod == null) {
+            return b;
+        }
+
+        List<Statement> statements = new ArrayList<>(b.getStatements());
+        boolean changed = false;
+        for (int i = 0; i + 1 < statements.size(); i++) {
+            if (!(statements.get(i) instanceof J.VariableDeclarations mapped)
+                    || !(statements.get(i + 1) instanceof J.If ifMapped)) {
+                continue;
+            }
+            InPlaceUpdate rewritten = rewrite(mapped, ifMapped, classDecl, enclosingMethod, ctx);
+            if (rewritten != null) {
+                statements.set(i, rewritten.sourceDeclaration());
+                statements.set(i + 1, rewritten.update());
+                changed = true;
+            }
+        }
+        return changed ? b.withStatements(statements) : b;
+    }
+
+    /**
+     * The declaration of the source collection and its in-place update, or null when the two statements are not
+     * the mapped {@code clear()} and {@code addAll()} Mapstruct generates.
+     */
+    private @Nullable InPlaceUpdate rewrite(J.VariableDeclarations mapped, J.If ifMapped,
+                                            J.ClassDeclaration classDecl, J.MethodDeclaration enclosingMethod,
+                                            ExecutionContext ctx) {
+        if (mapped.getVariables().size() != 1
+                || !(mapped.getVariables().get(0).getInitializer() instanceof J.MethodInvocation helperCall)
+                || !isOnThis(helperCall.getSelect())
+                || helperCall.getArguments().size() != 1
+                || ifMapped.getElsePart() == null
+                || !(ifMapped.getThenPart() instanceof J.Block then)
+                || then.getStatements().size() != 2
+                || !(then.getStatements().get(0) instanceof J.MethodInvocation clear)
+                || !(then.getStatements().get(1) instanceof J.MethodInvocation addAll)
+                || !"clear".equals(clear.getSimpleName())
+                || !"addAll".equals(addAll.getSimpleName())
+                || clear.getSelect() == null
+                || addAll.getSelect() == null
+                || addAll.getArguments().size() != 1) {
+            return null;
+        }
+        J.VariableDeclarations.NamedVariable variable = mapped.getVariables().get(0);
+        if (!isIdentifier(addAll.getArguments().get(0), variable.getSimpleName())
+                || !(ifMapped.getIfCondition().getTree() instanceof J.Binary notNull)
+                || notNull.getOperator() != J.Binary.Type.NotEqual
+                || !isIdentifier(notNull.getLeft(), variable.getSimpleName())
+                || !(notNull.getRight() instanceof J.Literal nullLiteral)
+                || nullLiteral.getValue() != null) {
+            return null;
+        }
+
+        Cursor cursor = getCursor();
+        String collection = clear.getSelect().printTrimmed(cursor);
+        if (!collection.equals(addAll.getSelect().printTrimmed(cursor))) {
+            return null;
+        }
+
+        J.MethodDeclaration helper = findMethod(classDecl, helperCall.getSimpleName());
+        J.ForEachLoop helperLoop = helper == null ? null : iterableHelperLoop(helper);
+        if (helper == null || helperLoop == null || !mapsToAnotherType(helper)
+                || !TypeUtils.isOfType(clear.getSelect().getType(), variable.getType())) {
+            return null;
+        }
+        J.VariableDeclarations helperParameter = (J.VariableDeclarations) helper.getParameters().get(0);
+        String elementName = helperLoop.getControl().getVariable().getVariables().get(0).getSimpleName();
+        Set<String> declaredNames = declaredNames(enclosingMethod);
+        if (helperParameter.getTypeExpression() == null || declaredNames.contains(elementName)) {
+            return null;
+        }
+        declaredNames.add(elementName);
+
+        // The target collection is read once, into a local declared like the mapped one
+        String targetName = uniqueName(propertyName(clear.getSelect()), declaredNames);
+        J.Identifier targetReference = variable.getName().withId(randomId()).withSimpleName(targetName);
+        J.VariableDeclarations.NamedVariable targetVariable = variable.withId(randomId())
+                .withName(targetReference)
+                .withInitializer(clear.getSelect().withPrefix(helperCall.getPrefix()));
+        if (variable.getVariableType() != null) {
+            targetVariable = targetVariable.withVariableType(variable.getVariableType().withName(targetName));
+            targetReference = targetReference.withFieldType(targetVariable.getVariableType());
+        }
+        J.VariableDeclarations targetDeclaration = mapped.withId(randomId())
+                .withPrefix(clear.getPrefix())
+                .withVariables(List.of(targetVariable));
+        J.MethodInvocation targetClear = clear.withSelect(targetReference.withPrefix(clear.getSelect().getPrefix()));
+
+        // The source collection takes the place of the mapped one
+        Expression source = helperCall.getArguments().get(0);
+        JavaType sourceType = source.getType();
+        J.Identifier sourceReference = ((J.Identifier) addAll.getArguments().get(0)).withType(sourceType);
+        J.VariableDeclarations.NamedVariable sourceVariable = variable
+                .withInitializer(source.withPrefix(helperCall.getPrefix()))
+                .withName(variable.getName().withType(sourceType));
+        if (variable.getVariableType() != null && sourceType != null) {
+            sourceVariable = sourceVariable.withVariableType(variable.getVariableType().withType(sourceType));
+        }
+        J.VariableDeclarations sourceDeclaration = mapped
+                .withTypeExpression(helperParameter.getTypeExpression().withPrefix(
+                        mapped.getTypeExpression() == null
+                                ? helperParameter.getTypeExpression().getPrefix()
+                                : mapped.getTypeExpression().getPrefix()))
+                .withVariables(List.of(sourceVariable));
+
+        // Each mapped element goes straight into the cleared target collection
+        J.MethodInvocation helperAdd = singleInvocation(helperLoop.getBody());
+        J.MethodInvocation targetAdd = helperAdd.withId(randomId())
+                .withSelect(targetReference.withPrefix(helperAdd.getSelect().getPrefix()));
+        Statement loopBody = helperLoop.getBody() instanceof J.Block loopBlock
+                ? loopBlock.withId(randomId()).withStatements(List.of(targetAdd))
+                : targetAdd;
+        J.ForEachLoop inPlaceLoop = helperLoop
+                .withId(randomId())
+                .withPrefix(addAll.getPrefix())
+                .withControl(helperLoop.getControl().withIterable(
+                        sourceReference.withPrefix(helperLoop.getControl().getIterable().getPrefix())))
+                .withBody(loopBody);
+
+        J.If inPlaceIf = ifMapped
+                .withThenPart(then.withStatements(List.of(targetDeclaration, targetClear, inPlaceLoop)))
+                .withIfCondition(ifMapped.getIfCondition().withTree(
+                        notNull.withLeft(sourceReference.withPrefix(notNull.getLeft().getPrefix()))));
+        return new InPlaceUpdate(sourceDeclaration, autoFormat(inPlaceIf, ctx, cursor));
+    }
+
+    /**
+     * True when a helper maps its elements to another type, so its source can't be the collection it fills.
+     */
+    private static boolean mapsToAnotherType(J.MethodDeclaration helper) {
+        JavaType.Method methodType = helper.getMethodType();
+        return methodType != null
+                && methodType.getParameterTypes().size() == 1
+                && !(methodType.getReturnType() instanceof JavaType.Unknown)
+                && !(methodType.getParameterTypes().get(0) instanceof JavaType.Unknown)
+                && !TypeUtils.isOfType(methodType.getParameterTypes().get(0), methodType.getReturnType());
+    }
+
+    /**
+     * The property a getter reads, {@code lines} for {@code target.getLines()}.
+     */
+    private static String propertyName(Expression getter) {
+        if (getter instanceof J.MethodInvocation invocation
+                && invocation.getSimpleName().length() > 3
+                && invocation.getSimpleName().startsWith("get")) {
+            return Character.toLowerCase(invocation.getSimpleName().charAt(3))
+                    + invocation.getSimpleName().substring(4);
+        }
+        return "target";
+    }
+
+    private static String uniqueName(String name, Set<String> declaredNames) {
+        String unique = name;
+        for (int i = 1; declaredNames.contains(unique); i++) {
+            unique = name + i;
+        }
+        declaredNames.add(unique);
+        return unique;
+    }
+
+    private static Set<String> declaredNames(J.MethodDeclaration method) {
+        Set<String> names = new HashSet<>();
+        new JavaIsoVisitor<Set<String>>() {
+            @Override
+            public J.VariableDeclarations.NamedVariable visitVariable(J.VariableDeclarations.NamedVariable variable,
+                                                                     Set<String> found) {
+                found.add(variable.getSimpleName());
+                return super.visitVariable(variable, found);
+            }
+        }.visit(method, names);
+        return names;
+    }
+
+    private record InPlaceUpdate(J.VariableDeclarations sourceDeclaration, J.If update) {
+    }
+}
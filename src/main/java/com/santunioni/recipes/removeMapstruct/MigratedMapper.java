@@ -0,0 +1,26 @@
+package com.santunioni.recipes.removeMapstruct;
+
+import lombok.Value;
+import lombok.With;
+import org.jspecify.annotations.NullMarked;
+import org.openrewrite.marker.Marker;
+
+import java.util.UUID;
+
+/**
+ * Stamped on a mapper declaration file once it has been merged with its generated implementation.
+ * Later cycles of the same run skip marked files without visiting them.
+ * <p>
+ * The optimization recipes only rewrite mappers marked {@code optimized}: all of them, unless a profile limited
+ * them to the hottest ones.
+ */
+@Value
+@With
+@NullMarked
+public class MigratedMapper implements Marker {
+    UUID id;
+
+    String mapperFqn;
+
+    boolean optimized;
+}
@@ -0,0 +1,19 @@
+package com.santunioni.recipes.removeMapstruct;
+
+import lombok.Value;
+import lombok.With;
+import org.jspecify.annotations.NullMarked;
+import org.openrewrite.marker.Marker;
+
+import java.util.UUID;
+
+/**
+ * Stamped on a file whose references to generated mapper implementations were rewritten to the mapper
+ * declarations. Later cycles of the same run skip marked files without visiting them.
+ */
+@Value
+@With
+@NullMarked
+public class MigratedMapperReferences implements Marker {
+    UUID id;
+}
@@ -0,0 +1,161 @@
+package com.santunioni.recipes.removeMapstruct;
+
+import lombok.extern.java.Log;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A plain text file listing the mappers a run has completed, one {@code <STATUS>\t<mapper fqn>} line each.
+ * <p>
+ * A mapper is listed as {@code FAILED} as soon as it fails, so the file survives a run that is killed half way.
+ * Rewrite results only exist once a run finishes, so a mapper is only listed as {@code MIGRATED} once whoever runs
+ * the recipe has written its files, as {@code RemoveMapstructRunner} does when it writes in place. When a run is
+ * restarted with the same file, the mappers listed either way are skipped: those that failed are not attempted
+ * again, and those that migrated are not merged a second time.
+ * <p>
+ * The failures of a previous run are kept apart from those of the current one: the former are skipped and reported
+ * once, the latter were reported when they happened and are only left alone by later cycles.
+ */
+@Log
+@NullMarked
+public class MigrationCheckpoint {
+    private static final String MIGRATED = "MIGRATED";
+    private static final String FAILED = "FAILED";
+
+    private final @Nullable Path file;
+
+    /**
+     * The failures read from the file when the run started.
+     */
+    private final Set<String> failedBefore;
+
+    /**
+     * The mappers the file listed as migrated when the run started.
+     */
+    private final Set<String> migratedBefore;
+
+    private final Set<String> failed = new HashSet<>();
+
+    private final Set<String> reportedSkips = new HashSet<>();
+
+    private MigrationCheckpoint(@Nullable Path file, Set<String> failedBefore, Set<String> migratedBefore) {
+        this.file = file;
+        this.failedBefore = failedBefore;
+        this.migratedBefore = migratedBefore;
+    }
+
+    public static MigrationCheckpoint none() {
+        return new MigrationCheckpoint(null, Collections.emptySet(), Collections.emptySet());
+    }
+
+    public static MigrationCheckpoint load(@Nullable String checkpointFile) {
+        if (checkpointFile == null || checkpointFile.isBlank()) {
+            return none();
+        }
+
+        Path file = Paths.get(checkpointFile);
+        if (!Files.exists(file)) {
+            return new MigrationCheckpoint(file, Collections.emptySet(), Collections.emptySet());
+        }
+
+        Set<String> failedBefore = new HashSet<>();
+        Set<String> migratedBefore = new HashSet<>();
+        try {
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            for (String line : lines) {
+                int tab = line.indexOf('\t');
+                if (tab < 0) {
+                    continue;
+                }
+                String status = line.substring(0, tab);
+                String mapperFqn = line.substring(tab + 1).trim();
+                if (MIGRATED.equals(status)) {
+                    migratedBefore.add(mapperFqn);
+                } else if (FAILED.equals(status)) {
+                    failedBefore.add(mapperFqn);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read checkpoint file " + checkpointFile, e);
+        }
+        log.info("Resuming from checkpoint " + checkpointFile + ": " + migratedBefore.size()
+                + " mappers migrated and " + failedBefore.size() + " failed before.");
+        return new MigrationCheckpoint(file, Collections.unmodifiableSet(failedBefore),
+                Collections.unmodifiableSet(migratedBefore));
+    }
+
+    /**
+     * True for the mappers that failed in a previous run.
+     */
+    boolean hasFailedBefore(String mapperFqn) {
+        return failedBefore.contains(mapperFqn);
+    }
+
+    /**
+     * True for the mappers a previous run migrated and wrote.
+     */
+    boolean hasMigratedBefore(String mapperFqn) {
+        return migratedBefore.contains(mapperFqn);
+    }
+
+    /**
+     * True for the mappers this run leaves alone: those that failed in a previous run or in this one, and those a
+     * previous run migrated.
+     */
+    synchronized boolean isSkipped(String mapperFqn) {
+        return failedBefore.contains(mapperFqn) || failed.contains(mapperFqn) || migratedBefore.contains(mapperFqn);
+    }
+
+    /**
+     * True the first time a mapper listed by a previous run is skipped, so it is reported once per run however
+     * many cycles visit it.
+     */
+    synchronized boolean reportSkipped(String mapperFqn) {
+        return reportedSkips.add(mapperFqn);
+    }
+
+    synchronized void recordFailed(String mapperFqn) {
+        if (!failedBefore.contains(mapperFqn) && failed.add(mapperFqn)) {
+            append(FAILED, mapperFqn);
+        }
+    }
+
+    /**
+     * Lists a mapper as migrated, once its migrated files are written. The recipe never calls this itself: it
+     * can't tell when, or whether, its results are written.
+     */
+    public synchronized void recordMigrated(String mapperFqn) {
+        if (!migratedBefore.contains(mapperFqn)) {
+            append(MIGRATED, mapperFqn);
+        }
+    }
+
+    private void append(String status, String mapperFqn) {
+        if (file == null) {
+            return;
+        }
+
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.writeString(file, status + '\t' + mapperFqn + System.lineSeparator(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            log.warning("Could not write checkpoint file " + file + ": " + e.getMessage());
+        }
+    }
+}
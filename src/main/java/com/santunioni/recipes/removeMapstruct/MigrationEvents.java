@@ -0,0 +1,127 @@
+package com.santunioni.recipes.removeMapstruct;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.openrewrite.java.tree.J;
+
+/**
+ * Java Flight Recorder events for each phase of the recipe.
+ * <p>
+ * Record a run with {@code -XX:StartFlightRecording} and open it in JDK Mission Control, or list the events with
+ * {@code jfr print --categories RemoveMapstruct}. Events are only filled in and committed when
+ * {@link Event#shouldCommit()} says so, which keeps their cost close to zero when nothing records them.
+ */
+final class MigrationEvents {
+    private static final String CATEGORY = "RemoveMapstruct";
+
+    private MigrationEvents() {
+    }
+
+    @Name("com.santunioni.removemapstruct.ScanImplementation")
+    @Label("Scan Implementation")
+    @Description("ImplementationScanner classifying a file and linking a generated implementation")
+    @Category(CATEGORY)
+    static final class ScanImplementation extends Event {
+        @Label("Source Path")
+        String sourcePath;
+
+        @Label("Implementation")
+        String implFqn;
+
+        @Label("Linked Types")
+        int linkedTypes;
+    }
+
+    @Name("com.santunioni.removemapstruct.AddLinking")
+    @Label("Add Linking")
+    @Description("Accumulator linking a generated implementation to the type it implements or extends")
+    @Category(CATEGORY)
+    static final class AddLinking extends Event {
+        @Label("Mapper")
+        String mapperFqn;
+
+        @Label("Implementation")
+        String implFqn;
+
+        @Label("Implementers")
+        int implementers;
+    }
+
+    @Name("com.santunioni.removemapstruct.GetImplementer")
+    @Label("Get Implementer")
+    @Description("Accumulator looking up the single generated implementation of a mapper")
+    @Category(CATEGORY)
+    static final class GetImplementer extends Event {
+        @Label("Mapper")
+        String mapperFqn;
+
+        @Label("Implementers")
+        int implementers;
+    }
+
+    @Name("com.santunioni.removemapstruct.MergeMapper")
+    @Label("Merge Mapper")
+    @Description("MapperProcessor merging a mapper declaration with its generated implementation")
+    @Category(CATEGORY)
+    static final class MergeMapper extends Event {
+        @Label("Source Path")
+        String sourcePath;
+
+        @Label("Mapper")
+        String mapperFqn;
+
+        @Label("Implementation Statements")
+        int implStatements;
+
+        @Label("Declaration Statements")
+        int declStatements;
+
+        @Label("Merged Statements")
+        int mergedStatements;
+    }
+
+    @Name("com.santunioni.removemapstruct.MergePhase")
+    @Label("Merge Phase")
+    @Description("One phase of a mapper merge: import merge, statement transform, sort or class rebuild")
+    @Category(CATEGORY)
+    static final class MergePhase extends Event {
+        @Label("Phase")
+        String phase;
+
+        @Label("Source Path")
+        String sourcePath;
+
+        @Label("Mapper")
+        String mapperFqn;
+
+        @Label("Size")
+        @Description("Imports for the import merge, statements for the other phases")
+        int size;
+    }
+
+    @Name("com.santunioni.removemapstruct.RewriteReferences")
+    @Label("Rewrite References")
+    @Description("MapperProcessor rewriting references to generated implementations in a file")
+    @Category(CATEGORY)
+    static final class RewriteReferences extends Event {
+        @Label("Source Path")
+        String sourcePath;
+
+        @Label("Changed")
+        boolean changed;
+    }
+
+    static void commitPhase(MergePhase event, String phase, J.CompilationUnit mapperDeclFile, String mapperFqn,
+                            int size) {
+        if (event.shouldCommit()) {
+            event.phase = phase;
+            event.sourcePath = mapperDeclFile.getSourcePath().toString();
+            event.mapperFqn = mapperFqn;
+            event.size = size;
+            event.commit();
+        }
+    }
+}
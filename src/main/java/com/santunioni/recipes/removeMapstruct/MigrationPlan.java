@@ -0,0 +1,225 @@
+package com.santunioni.recipes.removeMapstruct;
+
+import com.santunioni.recipes.table.MapperMigrationPlan;
+import com.santunioni.recipes.table.MapperMigrationPlanSummary;
+import com.santunioni.recipes.table.MapperStaleImplementations;
+import org.jspecify.annotations.NullMarked;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.java.marker.JavaProject;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static com.santunioni.recipes.removeMapstruct.Functions.isMapperAnnotated;
+
+/**
+ * Accumulator of the planning recipe. It reuses {@link Accumulator} for the implementation linking, the scope, the
+ * checkpoint and the staleness check, and only keeps what the report needs about declarations and consumers, never
+ * the trees a migration would build.
+ */
+@NullMarked
+public class MigrationPlan {
+    final Accumulator acc;
+
+    private final Map<String, PlannedMapper> mappersBySourcePath = new LinkedHashMap<>();
+
+    private final Map<String, ConsumerCandidate> consumerCandidatesBySourcePath = new HashMap<>();
+
+    private boolean reported;
+
+    public MigrationPlan(MigrationCheckpoint checkpoint, MigrationScope scope) {
+        this.acc = new Accumulator(checkpoint, scope);
+    }
+
+    private static String moduleOf(J.CompilationUnit compilationUnit) {
+        return compilationUnit.getMarkers().findFirst(JavaProject.class)
+                .map(JavaProject::getProjectName)
+                .orElse("");
+    }
+
+    /**
+     * Mapper implementations are the only types in use whose direct super type is a {@code @Mapper}. Only those
+     * are kept per file, so the accumulator does not grow with the size of the repository.
+     */
+    private static boolean mayBeMapperImplementation(JavaType.Class type) {
+        for (JavaType.FullyQualified anInterface : type.getInterfaces()) {
+            if (isMapperAnnotated(anInterface)) {
+                return true;
+            }
+        }
+        return type.getSupertype() != null && isMapperAnnotated(type.getSupertype());
+    }
+
+    void addDeclaration(J.CompilationUnit mapperDeclFile) {
+        J.ClassDeclaration mapperDeclClass = mapperDeclFile.getClasses().get(0);
+        JavaType.FullyQualified type = mapperDeclClass.getType();
+        String mapperFqn = type != null
+                ? type.getFullyQualifiedName()
+                : (mapperDeclFile.getPackageDeclaration() == null
+                ? ""
+                : mapperDeclFile.getPackageDeclaration().getPackageName() + ".")
+                + mapperDeclClass.getSimpleName();
+        // As ImplementationScanner scopes declarations, so their implementations are linked the same way
+        boolean inScope = mapperDeclFile.getPackageDeclaration() != null
+                && acc.getScope().includesPackage(mapperDeclFile.getPackageDeclaration().getPackageName())
+                && acc.getScope().includesSourcePath(mapperDeclFile.getSourcePath());
+        if (type != null) {
+            if (inScope) {
+                acc.addContract(mapperFqn, MapperContract.of(mapperDeclFile));
+            } else {
+                acc.excludeMapper(mapperFqn);
+            }
+        }
+        String sourcePath = mapperDeclFile.getSourcePath().toString();
+        mappersBySourcePath.put(sourcePath, new PlannedMapper(moduleOf(mapperDeclFile), sourcePath,
+                mapperFqn, type != null, inScope));
+    }
+
+    void addConsumerCandidates(J.CompilationUnit compilationUnit) {
+        if (!acc.getScope().includesSourcePath(compilationUnit.getSourcePath())) {
+            return;
+        }
+        Set<String> referencedImplementations = null;
+        for (JavaType type : compilationUnit.getTypesInUse().getTypesInUse()) {
+            if (type instanceof JavaType.Class classType && mayBeMapperImplementation(classType)) {
+                if (referencedImplementations == null) {
+                    referencedImplementations = new HashSet<>();
+                }
+                referencedImplementations.add(classType.getFullyQualifiedName());
+            }
+        }
+        if (referencedImplementations != null) {
+            consumerCandidatesBySourcePath.put(compilationUnit.getSourcePath().toString(),
+                    new ConsumerCandidate(moduleOf(compilationUnit), referencedImplementations));
+        }
+    }
+
+    /**
+     * Classifies every declaration the same way the migration would skip or merge it, and writes the result: out of
+     * scope, skipped by the checkpoint of a previous run, without a single implementation, with a stale
+     * implementation, or merged, with the decorator it collapses. The report is written once, even when other
+     * recipes in the run cause additional cycles.
+     */
+    public void report(ExecutionContext ctx, MapperMigrationPlan planTable, MapperMigrationPlanSummary summaryTable,
+                       MapperStaleImplementations staleTable) {
+        if (reported) {
+            return;
+        }
+        reported = true;
+        acc.resolveDecorators();
+        acc.detectStaleImplementations(ctx, staleTable);
+
+        Map<PlannedMapper, String> outcomes = new LinkedHashMap<>();
+        Set<String> migratingMappers = new HashSet<>();
+        for (PlannedMapper mapper : mappersBySourcePath.values()) {
+            String outcome = outcomeOf(mapper);
+            outcomes.put(mapper, outcome);
+            if ("MIGRATE".equals(outcome)) {
+                migratingMappers.add(mapper.mapperFqn());
+            }
+        }
+
+        // Only references to the mappers that are merged are rewritten
+        Map<String, Integer> consumersByMapper = new HashMap<>();
+        Map<String, Integer> consumersByModule = new HashMap<>();
+        for (ConsumerCandidate candidate : consumerCandidatesBySourcePath.values()) {
+            Set<String> referencedMappers = new HashSet<>();
+            for (String implFqn : candidate.referencedImplementations()) {
+                String superFqn = acc.getSuperFqnFromImplFqn(implFqn);
+                if (superFqn != null && migratingMappers.contains(superFqn)) {
+                    referencedMappers.add(superFqn);
+                }
+            }
+            if (!referencedMappers.isEmpty()) {
+                consumersByModule.merge(candidate.module(), 1, Integer::sum);
+                for (String mapperFqn : referencedMappers) {
+                    consumersByMapper.merge(mapperFqn, 1, Integer::sum);
+                }
+            }
+        }
+
+        Map<String, int[]> countsByModule = new TreeMap<>();
+        outcomes.forEach((mapper, outcome) -> {
+            List<J.CompilationUnit> implementers = mapper.resolved()
+                    ? acc.getImplementers(mapper.mapperFqn())
+                    : List.of();
+            MapperDecoration decoration = "MIGRATE".equals(outcome) ? acc.getDecoration(mapper.mapperFqn()) : null;
+
+            List<String> implFqns = new ArrayList<>(implementers.size());
+            for (J.CompilationUnit implementer : implementers) {
+                JavaType.FullyQualified implType = implementer.getClasses().get(0).getType();
+                implFqns.add(implType == null ? implementer.getSourcePath().toString() : implType.getFullyQualifiedName());
+            }
+
+            planTable.insertRow(ctx, new MapperMigrationPlan.Row(
+                    mapper.module(),
+                    mapper.sourcePath(),
+                    mapper.mapperFqn(),
+                    implementers.size(),
+                    String.join(",", implFqns),
+                    outcome,
+                    decoration == null ? "" : decoration.getDecoratorPath().toString(),
+                    consumersByMapper.getOrDefault(mapper.mapperFqn(), 0)
+            ));
+
+            int[] counts = countsByModule.computeIfAbsent(mapper.module(), module -> new int[2]);
+            counts["MIGRATE".equals(outcome) ? 0 : 1]++;
+        });
+
+        for (String module : consumersByModule.keySet()) {
+            countsByModule.computeIfAbsent(module, m -> new int[2]);
+        }
+        countsByModule.forEach((module, counts) -> summaryTable.insertRow(ctx, new MapperMigrationPlanSummary.Row(
+                module,
+                counts[0] + counts[1],
+                counts[0],
+                counts[1],
+                consumersByModule.getOrDefault(module, 0)
+        )));
+    }
+
+    /**
+     * The first reason {@code RemoveMapstruct} would skip the mapper for, in the order it checks them, or
+     * {@code MIGRATE}.
+     */
+    private String outcomeOf(PlannedMapper mapper) {
+        if (!mapper.resolved()) {
+            return "UNRESOLVED_TYPE";
+        }
+        if (!mapper.inScope()) {
+            return "OUT_OF_SCOPE";
+        }
+        if (acc.getCheckpoint().hasFailedBefore(mapper.mapperFqn())) {
+            return "FAILED_BEFORE";
+        }
+        if (acc.getCheckpoint().hasMigratedBefore(mapper.mapperFqn())) {
+            return "MIGRATED_BEFORE";
+        }
+        int implementers = acc.getImplementers(mapper.mapperFqn()).size();
+        if (implementers == 0) {
+            return "NO_IMPLEMENTATION";
+        }
+        if (implementers > 1) {
+            return "MULTIPLE_IMPLEMENTATIONS";
+        }
+        if (acc.isStale(mapper.mapperFqn())) {
+            return "STALE";
+        }
+        return "MIGRATE";
+    }
+
+    private record PlannedMapper(String module, String sourcePath, String mapperFqn, boolean resolved,
+                                 boolean inScope) {
+    }
+
+    private record ConsumerCandidate(String module, Set<String> referencedImplementations) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.santunioni.recipes.removeMapstruct;
+
+import org.jspecify.annotations.NullMarked;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.tree.J;
+
+import static com.santunioni.recipes.removeMapstruct.Functions.decoratedMapperFqn;
+import static com.santunioni.recipes.removeMapstruct.Functions.isMapperDeclaration;
+import static com.santunioni.recipes.removeMapstruct.Functions.isMapperImplementation;
+
+/**
+ * Classifies each file as a generated implementation or decorator, a mapper declaration or a potential
+ * consumer of an implementation, without descending into any of them.
+ */
+@NullMarked
+public class MigrationPlanScanner extends JavaIsoVisitor<ExecutionContext> {
+    private final MigrationPlan plan;
+    private final ImplementationScanner implementationScanner;
+
+    public MigrationPlanScanner(MigrationPlan plan) {
+        this.plan = plan;
+        this.implementationScanner = new ImplementationScanner(plan.acc);
+    }
+
+    @Override
+    public J.CompilationUnit visitCompilationUnit(J.CompilationUnit compilationUnit, ExecutionContext ctx) {
+        if (isMapperImplementation(compilationUnit) || decoratedMapperFqn(compilationUnit) != null) {
+            return implementationScanner.visitCompilationUnit(compilationUnit, ctx);
+        }
+
+        if (isMapperDeclaration(compilationUnit)) {
+            plan.addDeclaration(compilationUnit);
+        } else {
+            plan.addConsumerCandidates(compilationUnit);
+        }
+        return compilationUnit;
+    }
+}
@@ -0,0 +1,148 @@
+package com.santunioni.recipes.removeMapstruct;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * The slice of the repository a run works on.
+ * <p>
+ * Package globs select which mappers migrate: a generated implementation outside of them is never linked, so its
+ * declaration is left alone and references to it are not rewritten. In package globs, {@code *} matches one
+ * package segment and {@code **} any number of them, so {@code com.acme.billing.**} matches
+ * {@code com.acme.billing} and everything below it.
+ * <p>
+ * Source path globs select which files are visited at all, declarations and consumers alike. They are not applied
+ * to generated implementations, which usually live outside the source directories: the implementation of a
+ * declaration outside them is linked, but references to it are not rewritten.
+ * <p>
+ * An empty include list includes everything. Excludes win over includes.
+ */
+@NullMarked
+public class MigrationScope {
+    private static final MigrationScope UNRESTRICTED = new MigrationScope(Collections.emptyList(),
+            Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
+
+    private final List<Pattern> includePackages;
+    private final List<Pattern> excludePackages;
+    private final List<PathMatcher> includeSourcePaths;
+    private final List<PathMatcher> excludeSourcePaths;
+
+    private MigrationScope(List<Pattern> includePackages, List<Pattern> excludePackages,
+                           List<PathMatcher> includeSourcePaths, List<PathMatcher> excludeSourcePaths) {
+        this.includePackages = includePackages;
+        this.excludePackages = excludePackages;
+        this.includeSourcePaths = includeSourcePaths;
+        this.excludeSourcePaths = excludeSourcePaths;
+    }
+
+    public static MigrationScope unrestricted() {
+        return UNRESTRICTED;
+    }
+
+    public static MigrationScope of(@Nullable List<String> includePackages,
+                                    @Nullable List<String> excludePackages,
+                                    @Nullable List<String> includeSourcePaths,
+                                    @Nullable List<String> excludeSourcePaths) {
+        return new MigrationScope(
+                packagePatterns(includePackages),
+                packagePatterns(excludePackages),
+                pathMatchers(includeSourcePaths),
+                pathMatchers(excludeSourcePaths)
+        );
+    }
+
+    private static List<Pattern> packagePatterns(@Nullable List<String> globs) {
+        if (globs == null || globs.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Pattern> patterns = new ArrayList<>(globs.size());
+        for (String glob : globs) {
+            patterns.add(Pattern.compile(packageGlobToRegex(glob.trim())));
+        }
+        return patterns;
+    }
+
+    static String packageGlobToRegex(String glob) {
+        StringBuilder regex = new StringBuilder(glob.length() + 16);
+        String remaining = glob;
+        if (remaining.endsWith(".**")) {
+            // "a.b.**" matches "a.b" itself as well as its sub packages
+            remaining = remaining.substring(0, remaining.length() - 3);
+            appendSegments(remaining, regex);
+            return regex.append("(\\..*)?").toString();
+        }
+        appendSegments(remaining, regex);
+        return regex.toString();
+    }
+
+    private static void appendSegments(String glob, StringBuilder regex) {
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '*') {
+                if (i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+                    regex.append(".*");
+                    i++;
+                } else {
+                    regex.append("[^.]*");
+                }
+            } else if (c == '.') {
+                regex.append("\\.");
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+    }
+
+    private static List<PathMatcher> pathMatchers(@Nullable List<String> globs) {
+        if (globs == null || globs.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<PathMatcher> matchers = new ArrayList<>(globs.size());
+        for (String glob : globs) {
+            matchers.add(FileSystems.getDefault().getPathMatcher("glob:" + glob.trim()));
+        }
+        return matchers;
+    }
+
+    boolean includesPackage(String packageName) {
+        for (Pattern exclude : excludePackages) {
+            if (exclude.matcher(packageName).matches()) {
+                return false;
+            }
+        }
+        if (includePackages.isEmpty()) {
+            return true;
+        }
+        for (Pattern include : includePackages) {
+            if (include.matcher(packageName).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean includesSourcePath(Path sourcePath) {
+        for (PathMatcher exclude : excludeSourcePaths) {
+            if (exclude.matches(sourcePath)) {
+                return false;
+            }
+        }
+        if (includeSourcePaths.isEmpty()) {
+            return true;
+        }
+        for (PathMatcher include : includeSourcePaths) {
+            if (include.matches(sourcePath)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
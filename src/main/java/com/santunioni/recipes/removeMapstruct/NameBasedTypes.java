@@ -0,0 +1,122 @@
+package com.santunioni.recipes.removeMapstruct;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.NameTree;
+
+import java.util.Set;
+
+import static com.santunioni.recipes.removeMapstruct.Functions.qualifiedName;
+
+/**
+ * Fully qualified names derived from source text alone: package declarations, simple names and imports. Used instead
+ * of attributed types when sources are parsed without a classpath, where library types, and project types outside
+ * the parsed set, are unknown.
+ * <p>
+ * A simple name resolves to the explicit import that ends with it, and otherwise to the current package. Wildcard
+ * imports are not followed: mapstruct imports what it uses explicitly, and declarations are mostly referenced from
+ * their own package.
+ */
+@NullMarked
+final class NameBasedTypes {
+    private static final String MAPSTRUCT_PACKAGE = "org.mapstruct";
+    private static final Set<String> MAPSTRUCT_ANNOTATIONS = Set.of(
+            "AfterMapping", "BeanMapping", "BeforeMapping", "Builder", "Condition", "Context", "DecoratedWith",
+            "EnumMapping", "InheritConfiguration", "InheritInverseConfiguration", "IterableMapping", "MapMapping",
+            "Mapper", "MapperConfig", "Mapping", "MappingTarget", "Mappings", "Named", "ObjectFactory",
+            "SubclassMapping", "SubclassMappings", "TargetType", "ValueMapping", "ValueMappings"
+    );
+
+    private NameBasedTypes() {
+    }
+
+    static String packageOf(J.CompilationUnit compilationUnit) {
+        return compilationUnit.getPackageDeclaration() == null
+                ? ""
+                : compilationUnit.getPackageDeclaration().getPackageName();
+    }
+
+    static String declaredFqn(J.CompilationUnit compilationUnit, J.ClassDeclaration classDecl) {
+        String packageName = packageOf(compilationUnit);
+        return packageName.isEmpty() ? classDecl.getSimpleName() : packageName + "." + classDecl.getSimpleName();
+    }
+
+    /**
+     * The name as written in the source, without type arguments: {@code UserMapper} or {@code com.acme.UserMapper}.
+     */
+    static @Nullable String writtenName(@Nullable NameTree nameTree) {
+        if (nameTree instanceof J.Identifier identifier) {
+            return identifier.getSimpleName();
+        }
+        if (nameTree instanceof J.FieldAccess fieldAccess) {
+            return qualifiedName(fieldAccess);
+        }
+        if (nameTree instanceof J.ParameterizedType parameterizedType) {
+            return writtenName(parameterizedType.getClazz());
+        }
+        return null;
+    }
+
+    static @Nullable String resolve(J.CompilationUnit compilationUnit, @Nullable NameTree nameTree) {
+        String writtenName = writtenName(nameTree);
+        return writtenName == null ? null : resolve(compilationUnit, writtenName);
+    }
+
+    static String resolve(J.CompilationUnit compilationUnit, String writtenName) {
+        if (writtenName.indexOf('.') >= 0 && !Character.isUpperCase(writtenName.charAt(0))) {
+            return writtenName;
+        }
+
+        // Outer.Inner resolves through the import of Outer
+        int dot = writtenName.indexOf('.');
+        String firstSegment = dot < 0 ? writtenName : writtenName.substring(0, dot);
+        for (J.Import anImport : compilationUnit.getImports()) {
+            if (!anImport.isStatic() && firstSegment.equals(anImport.getQualid().getSimpleName())) {
+                String imported = qualifiedName(anImport.getQualid());
+                return dot < 0 ? imported : imported + writtenName.substring(dot);
+            }
+        }
+
+        String packageName = packageOf(compilationUnit);
+        return packageName.isEmpty() ? writtenName : packageName + "." + writtenName;
+    }
+
+    /**
+     * True for annotations of the mapstruct package. Under a wildcard import only mapstruct's own annotation names
+     * count, so {@code @Getter} next to {@code import org.mapstruct.*} is kept.
+     */
+    static boolean isMapstructAnnotation(J.CompilationUnit compilationUnit, J.Annotation annotation) {
+        String writtenName = writtenName(annotation.getAnnotationType());
+        if (writtenName == null) {
+            return false;
+        }
+        if (resolve(compilationUnit, writtenName).startsWith(MAPSTRUCT_PACKAGE)) {
+            return true;
+        }
+        return MAPSTRUCT_ANNOTATIONS.contains(writtenName) && hasWildcardImport(compilationUnit, MAPSTRUCT_PACKAGE);
+    }
+
+    static boolean isAnnotation(J.CompilationUnit compilationUnit, J.Annotation annotation, String annotationFqn) {
+        String writtenName = writtenName(annotation.getAnnotationType());
+        if (writtenName == null) {
+            return false;
+        }
+        if (annotationFqn.equals(resolve(compilationUnit, writtenName))) {
+            return true;
+        }
+        int lastDot = annotationFqn.lastIndexOf('.');
+        return writtenName.equals(annotationFqn.substring(lastDot + 1))
+                && hasWildcardImport(compilationUnit, annotationFqn.substring(0, lastDot));
+    }
+
+    private static boolean hasWildcardImport(J.CompilationUnit compilationUnit, String packageName) {
+        String wildcardImport = packageName + ".*";
+        for (J.Import anImport : compilationUnit.getImports()) {
+            if (!anImport.isStatic() && wildcardImport.equals(qualifiedName(anImport.getQualid()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
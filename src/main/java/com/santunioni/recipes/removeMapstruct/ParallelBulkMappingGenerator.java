@@ -0,0 +1,275 @@
+package com.santunioni.recipes.removeMapstruct;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.tree.Expression;
+import org.openrewrite.java.tree.Flag;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.Statement;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Adds a {@code <name>Parallel} variant next to each iterable mapping method of the classes {@link MapperProcessor}
+ * merged, when its element mapping reads no state another thread could change.
+ * <p>
+ * The variant maps lists of at least {@code threshold} elements with a parallel stream, which splits them over the
+ * common fork-join pool and collects them in their original order. Smaller lists go to the sequential method, as
+ * splitting them would cost more than it saves.
+ * <p>
+ * Only the loop Mapstruct generates for a {@code List} to {@code List} method is recognized: one
+ * {@code add(elementMethod(element))} per element, where the element method belongs to the mapper.
+ */
+@NullMarked
+public class ParallelBulkMappingGenerator extends JavaIsoVisitor<ExecutionContext> {
+    private static final String PARALLEL_SUFFIX = "Parallel";
+
+    /**
+     * Types whose instances can't be shared between threads, so a mapper reading one in a constant is not
+     * stateless.
+     */
+    private static final Set<String> NOT_THREAD_SAFE = Set.of(
+            "java.text.DateFormat",
+            "java.text.SimpleDateFormat",
+            "java.text.NumberFormat",
+            "java.text.DecimalFormat",
+            "java.util.Calendar",
+            "java.util.GregorianCalendar"
+    );
+
+    private final int threshold;
+
+    public ParallelBulkMappingGenerator(int threshold) {
+        this.threshold = threshold;
+    }
+
+    /**
+     * Stateless here means that the element method, and every method of the mapper it calls, only reads fields
+     * another thread can't see change: final instance fields of immutable types, and final static fields that are
+     * neither arrays nor of a type that is unsafe to share. A mapper method it calls but can't find declines it.
+     *
+     * @param ownTypes the mapper and its former implementation, which the merged members are still attributed to
+     */
+    private static boolean isStateless(J.MethodInvocation element, J.ClassDeclaration classDecl,
+                                       Set<String> ownTypes) {
+        Map<String, J.MethodDeclaration> methods = new HashMap<>();
+        Map<String, J.VariableDeclarations> fields = new HashMap<>();
+        for (Statement statement : classDecl.getBody().getStatements()) {
+            if (statement instanceof J.MethodDeclaration method && method.getMethodType() != null) {
+                methods.put(signature(method.getMethodType()), method);
+            } else if (statement instanceof J.VariableDeclarations field) {
+                for (J.VariableDeclarations.NamedVariable variable : field.getVariables()) {
+                    fields.put(variable.getSimpleName(), field);
+                }
+            }
+        }
+
+        AtomicBoolean stateless = new AtomicBoolean(element.getMethodType() != null);
+        Deque<JavaType.Method> pending = new ArrayDeque<>();
+        Set<String> visited = new HashSet<>();
+        if (element.getMethodType() != null) {
+            pending.add(element.getMethodType());
+        }
+        JavaIsoVisitor<AtomicBoolean> reads = new JavaIsoVisitor<>() {
+            @Override
+            public J.Identifier visitIdentifier(J.Identifier identifier, AtomicBoolean stateless) {
+                JavaType.Variable variable = identifier.getFieldType();
+                // Locals are owned by their method, so only the fields of the mapper get here
+                if (variable != null && isOwn(variable.getOwner(), ownTypes)) {
+                    J.VariableDeclarations field = fields.get(identifier.getSimpleName());
+                    if (field == null || !isSafeToShare(field)) {
+                        stateless.set(false);
+                    }
+                }
+                return identifier;
+            }
+
+            @Override
+            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, AtomicBoolean stateless) {
+                follow(method.getMethodType(), stateless);
+                return super.visitMethodInvocation(method, stateless);
+            }
+
+            @Override
+            public J.MemberReference visitMemberReference(J.MemberReference memberRef, AtomicBoolean stateless) {
+                follow(memberRef.getMethodType(), stateless);
+                return super.visitMemberReference(memberRef, stateless);
+            }
+
+            private void follow(JavaType.@Nullable Method called, AtomicBoolean stateless) {
+                if (called == null) {
+                    stateless.set(false);
+                } else if (isOwn(called.getDeclaringType(), ownTypes)) {
+                    pending.add(called);
+                }
+            }
+        };
+
+        while (stateless.get() && !pending.isEmpty()) {
+            JavaType.Method called = pending.poll();
+            if (!visited.add(signature(called))) {
+                continue;
+            }
+            J.MethodDeclaration method = methods.get(signature(called));
+            if (method == null || method.getBody() == null) {
+                return false;
+            }
+            reads.visit(method.getBody(), stateless);
+        }
+        return stateless.get();
+    }
+
+    private static boolean isSafeToShare(J.VariableDeclarations field) {
+        if (!field.hasModifier(J.Modifier.Type.Final)) {
+            return false;
+        }
+        if (!field.hasModifier(J.Modifier.Type.Static)) {
+            return ImmutableTypes.isImmutable(field.getType());
+        }
+        JavaType.FullyQualified fieldType = TypeUtils.asFullyQualified(field.getType());
+        return !(field.getType() instanceof JavaType.Array)
+                && (fieldType == null || !NOT_THREAD_SAFE.contains(fieldType.getFullyQualifiedName()));
+    }
+
+    private static boolean isOwn(@Nullable JavaType type, Set<String> ownTypes) {
+        return type instanceof JavaType.FullyQualified fq && ownTypes.contains(fq.getFullyQualifiedName());
+    }
+
+    private static String signature(JavaType.Method method) {
+        return method.getName() + method.getParameterTypes();
+    }
+
+    private static boolean isList(@Nullable JavaType type) {
+        JavaType.FullyQualified fq = TypeUtils.asFullyQualified(type);
+        return fq != null && "java.util.List".equals(fq.getFullyQualifiedName());
+    }
+
+    /**
+     * The element method the generated loop of an iterable mapping method calls, or null if the method is not
+     * such a method.
+     */
+    private static J.@Nullable MethodInvocation elementMapping(J.MethodDeclaration method,
+                                                               JavaType.@Nullable FullyQualified mapperType) {
+        if (method.getBody() == null
+                || method.isConstructor()
+                || !method.hasModifier(J.Modifier.Type.Public)
+                || method.hasModifier(J.Modifier.Type.Static)
+                || method.getParameters().size() != 1
+                || !(method.getParameters().get(0) instanceof J.VariableDeclarations parameter)
+                || parameter.getVariables().size() != 1
+                || !isList(parameter.getType())
+                || method.getReturnTypeExpression() == null
+                || !isList(method.getReturnTypeExpression().getType())) {
+            return null;
+        }
+        String parameterName = parameter.getVariables().get(0).getSimpleName();
+
+        for (Statement statement : method.getBody().getStatements()) {
+            if (!(statement instanceof J.ForEachLoop loop)
+                    || !(loop.getControl().getIterable() instanceof J.Identifier iterable)
+                    || !parameterName.equals(iterable.getSimpleName())) {
+                continue;
+            }
+            Statement loopBody = loop.getBody();
+            if (loopBody instanceof J.Block block && block.getStatements().size() == 1) {
+                loopBody = block.getStatements().get(0);
+            }
+            String elementName = loop.getControl().getVariable().getVariables().get(0).getSimpleName();
+            if (loopBody instanceof J.MethodInvocation add
+                    && "add".equals(add.getSimpleName())
+                    && add.getArguments().size() == 1
+                    && add.getArguments().get(0) instanceof J.MethodInvocation element
+                    && isOnThis(element.getSelect())
+                    && element.getArguments().size() == 1
+                    && element.getArguments().get(0) instanceof J.Identifier argument
+                    && elementName.equals(argument.getSimpleName())
+                    && element.getMethodType() != null
+                    && !element.getMethodType().hasFlags(Flag.Synchronized)
+                    && TypeUtils.isOfType(element.getMethodType().getDeclaringType(), mapperType)) {
+                return element;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isOnThis(@Nullable Expression select) {
+        return select == null || select instanceof J.Identifier identifier && "this".equals(identifier.getSimpleName());
+    }
+
+    @Override
+    public J.CompilationUnit visitCompilationUnit(J.CompilationUnit compilationUnit, ExecutionContext ctx) {
+        if (!Functions.isOptimizedMapper(compilationUnit)) {
+            return compilationUnit;
+        }
+        return super.visitCompilationUnit(compilationUnit, ctx);
+    }
+
+    @Override
+    public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
+        // Only the mapper class itself, not the classes nested in it
+        if (!(getCursor().getParentTreeCursor().getValue() instanceof J.CompilationUnit)
+                || classDecl.getType() == null) {
+            return classDecl;
+        }
+        Set<String> ownTypes = new HashSet<>();
+        ownTypes.add(classDecl.getType().getFullyQualifiedName());
+        getCursor().firstEnclosingOrThrow(J.CompilationUnit.class).getMarkers().findFirst(MigratedMapper.class)
+                .ifPresent(migrated -> ownTypes.add(migrated.getMapperFqn()));
+
+        Set<String> methodNames = new HashSet<>();
+        for (Statement statement : classDecl.getBody().getStatements()) {
+            if (statement instanceof J.MethodDeclaration method) {
+                methodNames.add(method.getSimpleName());
+            }
+        }
+
+        J.ClassDeclaration cd = classDecl;
+        for (Statement statement : classDecl.getBody().getStatements()) {
+            if (!(statement instanceof J.MethodDeclaration method)
+                    || methodNames.contains(method.getSimpleName() + PARALLEL_SUFFIX)) {
+                continue;
+            }
+            J.MethodInvocation element = elementMapping(method, classDecl.getType());
+            if (element == null || method.getReturnTypeExpression() == null
+                    || !isStateless(element, classDecl, ownTypes)) {
+                continue;
+            }
+
+            J.VariableDeclarations parameter = (J.VariableDeclarations) method.getParameters().get(0);
+            String parameterName = parameter.getVariables().get(0).getSimpleName();
+            cd = JavaTemplate.builder("/**\n"
+                            + " * Same as {@link #" + method.getSimpleName() + "}, on several threads for lists of "
+                            + "at least " + threshold + " elements. The order of the list is kept.\n"
+                            + " */\n"
+                            + "public " + method.getReturnTypeExpression().printTrimmed(getCursor()) + " "
+                            + method.getSimpleName() + PARALLEL_SUFFIX + "("
+                            + parameter.printTrimmed(getCursor()) + ") {\n"
+                            + "if (" + parameterName + " == null || " + parameterName + ".size() < " + threshold
+                            + ") {\n"
+                            + "return " + method.getSimpleName() + "(" + parameterName + ");\n"
+                            + "}\n"
+                            + "return " + parameterName + ".parallelStream()\n"
+                            + ".map(this::" + element.getSimpleName() + ")\n"
+                            + ".collect(Collectors.toCollection(ArrayList::new));\n"
+                            + "}")
+                    .contextSensitive()
+                    .imports("java.util.ArrayList", "java.util.stream.Collectors")
+                    .build()
+                    .apply(updateCursor(cd), cd.getBody().getCoordinates().lastStatement());
+            maybeAddImport("java.util.ArrayList");
+            maybeAddImport("java.util.stream.Collectors");
+        }
+        return cd;
+    }
+}
@@ -0,0 +1,103 @@
+package com.santunioni.recipes.removeMapstruct;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.java.tree.J;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The merges {@link Accumulator#mergeAhead()} made before the edit visit, by declaration file, and the mappers
+ * whose decorator the edit visit removed on the strength of one of them.
+ * <p>
+ * Threading: every method is synchronized on the instance. The merges are made on the common fork-join pool, but
+ * only handed over here by the thread that waited for all of them, once per cycle and before any file is edited.
+ * The edit visit then takes them from any thread. Nothing here calls back into the {@link Accumulator}, which calls
+ * in while holding its own lock, so the two locks are always taken in that order.
+ */
+@NullMarked
+final class PrecomputedMerges {
+    private final Map<Path, Merge> mergesBySourcePath = new HashMap<>();
+
+    /**
+     * Mappers whose decorator was removed before the edit visit came to them, on the strength of their merge made
+     * ahead.
+     */
+    private final Set<String> promisedMerges = new HashSet<>();
+
+    /**
+     * Drops the merges and promises of the previous cycle, whose files are scanned and merged again.
+     */
+    synchronized void replaceWith(Collection<Merge> merges) {
+        mergesBySourcePath.clear();
+        promisedMerges.clear();
+        merges.forEach(merge -> mergesBySourcePath.put(merge.mapperDeclFile().getSourcePath(), merge));
+    }
+
+    /**
+     * Promises the merge made ahead of the mapper to it, when there is one, so that it is not dropped when another
+     * recipe changes the declaration before the edit visit comes to it.
+     *
+     * @return false when the mapper was not merged ahead
+     */
+    synchronized boolean promise(String mapperFqn) {
+        if (find(mapperFqn) == null) {
+            return false;
+        }
+        promisedMerges.add(mapperFqn);
+        return true;
+    }
+
+    /**
+     * The merge made of a declaration file, if it was made from this very file. A merge made from a file another
+     * recipe changed since is dropped, unless it is promised to its mapper.
+     */
+    synchronized J.@Nullable CompilationUnit take(J.CompilationUnit mapperDeclFile) {
+        Merge merge = mergesBySourcePath.get(mapperDeclFile.getSourcePath());
+        if (merge == null) {
+            return null;
+        }
+        if (merge.mapperDeclFile() == mapperDeclFile) {
+            mergesBySourcePath.remove(mapperDeclFile.getSourcePath());
+            return merge.merged();
+        }
+        if (!promisedMerges.contains(merge.mapperFqn())) {
+            mergesBySourcePath.remove(mapperDeclFile.getSourcePath());
+        }
+        return null;
+    }
+
+    /**
+     * The merge made ahead of a mapper whose decorator is already removed, for when merging its changed
+     * declaration again fails: the mapper then loses the other recipes' changes to its declaration, but not its
+     * decorator's methods.
+     */
+    synchronized J.@Nullable CompilationUnit takePromised(String mapperFqn) {
+        if (!promisedMerges.remove(mapperFqn)) {
+            return null;
+        }
+        Merge merge = find(mapperFqn);
+        if (merge == null) {
+            return null;
+        }
+        mergesBySourcePath.remove(merge.mapperDeclFile().getSourcePath());
+        return merge.merged();
+    }
+
+    private @Nullable Merge find(String mapperFqn) {
+        for (Merge merge : mergesBySourcePath.values()) {
+            if (merge.mapperFqn().equals(mapperFqn)) {
+                return merge;
+            }
+        }
+        return null;
+    }
+
+    record Merge(String mapperFqn, J.CompilationUnit mapperDeclFile, J.CompilationUnit merged) {
+    }
+}
@@ -0,0 +1,166 @@
+package com.santunioni.recipes.removeMapstruct;
+
+import org.jspecify.annotations.NullMarked;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.tree.Expression;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JContainer;
+import org.openrewrite.java.tree.JRightPadded;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.Space;
+import org.openrewrite.java.tree.Statement;
+import org.openrewrite.marker.Markers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import static com.santunioni.recipes.removeMapstruct.Functions.randomId;
+
+/**
+ * Removes the helper methods {@link SharedHelpers} found in several mappers of a package from the classes
+ * {@link MapperProcessor} merged, and calls the copy in the package's {@value SharedHelpers#CLASS_NAME} class
+ * instead.
+ * <p>
+ * Only private helpers are removed. Mapstruct generates most of its helpers {@code protected}, and subclasses,
+ * decorators and other classes of the package may override or call those: they keep their signature, and their
+ * body becomes a call to the shared copy.
+ * <p>
+ * Overloaded helpers are left in place, as telling which of them a call is to would take its argument types.
+ */
+@NullMarked
+public class SharedHelperRewriter extends JavaIsoVisitor<ExecutionContext> {
+    private static final String SHARED_NAMES = "SHARED_HELPER_NAMES";
+
+    private final SharedHelpers sharedHelpers;
+
+    public SharedHelperRewriter(SharedHelpers sharedHelpers) {
+        this.sharedHelpers = sharedHelpers;
+    }
+
+    @Override
+    public J.CompilationUnit visitCompilationUnit(J.CompilationUnit compilationUnit, ExecutionContext ctx) {
+        if (!Functions.isOptimizedMapper(compilationUnit)
+                || sharedHelpers.getShared(SharedHelpers.packageName(compilationUnit)).isEmpty()) {
+            return compilationUnit;
+        }
+        return super.visitCompilationUnit(compilationUnit, ctx);
+    }
+
+    @Override
+    public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
+        // The helpers of the mapper class itself, called from anywhere in it
+        if (!(getCursor().getParentTreeCursor().getValue() instanceof J.CompilationUnit compilationUnit)) {
+            return super.visitClassDeclaration(classDecl, ctx);
+        }
+        String packageName = SharedHelpers.packageName(compilationUnit);
+        Map<String, SharedHelpers.Helper> shared = sharedHelpers.getShared(packageName);
+
+        Set<String> methodNames = new HashSet<>();
+        Set<String> overloaded = new HashSet<>();
+        for (Statement statement : classDecl.getBody().getStatements()) {
+            if (statement instanceof J.MethodDeclaration method && !methodNames.add(method.getSimpleName())) {
+                overloaded.add(method.getSimpleName());
+            }
+        }
+
+        Map<String, String> sharedNames = new HashMap<>();
+        List<Statement> kept = new ArrayList<>();
+        boolean delegated = false;
+        for (Statement statement : classDecl.getBody().getStatements()) {
+            if (statement instanceof J.MethodDeclaration method && !overloaded.contains(method.getSimpleName())) {
+                String fingerprint = SharedHelpers.fingerprint(method, classDecl);
+                SharedHelpers.Helper helper = fingerprint == null ? null : shared.get(fingerprint);
+                if (helper != null && method.hasModifier(J.Modifier.Type.Private)) {
+                    sharedNames.put(method.getSimpleName(), helper.getSharedName());
+                    continue;
+                }
+                if (helper != null) {
+                    kept.add(delegate(method, helper.getSharedName(), packageName));
+                    delegated = true;
+                    continue;
+                }
+            }
+            kept.add(statement);
+        }
+        if (sharedNames.isEmpty() && !delegated) {
+            return classDecl;
+        }
+
+        if (!sharedNames.isEmpty()) {
+            getCursor().putMessage(SHARED_NAMES, sharedNames);
+        }
+        return super.visitClassDeclaration(classDecl.withBody(classDecl.getBody().withStatements(kept)), ctx);
+    }
+
+    /**
+     * The helper, with a body that calls the shared copy with its parameters.
+     */
+    private static J.MethodDeclaration delegate(J.MethodDeclaration method, String sharedName, String packageName) {
+        J.Block body = Objects.requireNonNull(method.getBody());
+        List<JRightPadded<Expression>> arguments = new ArrayList<>();
+        for (Statement parameter : method.getParameters()) {
+            if (parameter instanceof J.VariableDeclarations declaration) {
+                J.Identifier name = declaration.getVariables().get(0).getName();
+                arguments.add(JRightPadded.build(name.withId(randomId())
+                        .withPrefix(arguments.isEmpty() ? Space.EMPTY : Space.SINGLE_SPACE)));
+            }
+        }
+        if (arguments.isEmpty()) {
+            arguments.add(JRightPadded.build(new J.Empty(randomId(), Space.EMPTY, Markers.EMPTY)));
+        }
+
+        J.MethodInvocation call = helpersCall(new J.MethodInvocation(randomId(), Space.EMPTY, Markers.EMPTY, null,
+                null, method.getName().withId(randomId()), JContainer.build(arguments), method.getMethodType()),
+                sharedName, packageName);
+        Space prefix = body.getStatements().isEmpty()
+                ? Space.format("\n")
+                : body.getStatements().get(0).getPrefix();
+        Statement statement = method.getReturnTypeExpression() != null
+                && method.getReturnTypeExpression().getType() == JavaType.Primitive.Void
+                ? call.withPrefix(prefix)
+                : new J.Return(randomId(), prefix, Markers.EMPTY, call.withPrefix(Space.SINGLE_SPACE));
+        return method.withBody(body.withStatements(List.of(statement)));
+    }
+
+    /**
+     * A call to a helper, made a call to its shared copy.
+     */
+    private static J.MethodInvocation helpersCall(J.MethodInvocation call, String sharedName, String packageName) {
+        JavaType.FullyQualified helpersType = (JavaType.FullyQualified) JavaType.buildType(
+                packageName + "." + SharedHelpers.CLASS_NAME);
+        JavaType.Method methodType = call.getMethodType() == null
+                ? null
+                : call.getMethodType().withName(sharedName).withDeclaringType(helpersType);
+        return call
+                .withSelect(new J.Identifier(randomId(), Space.EMPTY, Markers.EMPTY, Collections.emptyList(),
+                        SharedHelpers.CLASS_NAME, helpersType, null))
+                .withName(call.getName().withSimpleName(sharedName).withType(methodType))
+                .withMethodType(methodType);
+    }
+
+    @Override
+    public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+        J.MethodInvocation m = super.visitMethodInvocation(method, ctx);
+        Map<String, String> sharedNames = getCursor().getNearestMessage(SHARED_NAMES);
+        if (sharedNames == null || m.getSelect() != null || !sharedNames.containsKey(m.getSimpleName())) {
+            return m;
+        }
+        // A call from a nested class is to that class's own method of the name, if it has one
+        J.ClassDeclaration enclosingClass = getCursor().firstEnclosingOrThrow(J.ClassDeclaration.class);
+        for (Statement statement : enclosingClass.getBody().getStatements()) {
+            if (statement instanceof J.MethodDeclaration declared
+                    && declared.getSimpleName().equals(m.getSimpleName())) {
+                return m;
+            }
+        }
+        J.CompilationUnit compilationUnit = getCursor().firstEnclosingOrThrow(J.CompilationUnit.class);
+        return helpersCall(m, sharedNames.get(m.getSimpleName()), SharedHelpers.packageName(compilationUnit));
+    }
+}
@@ -0,0 +1,396 @@
+package com.santunioni.recipes.removeMapstruct;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Cursor;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.Flag;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.Statement;
+import org.openrewrite.java.tree.TypeTree;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * The helper methods Mapstruct generated the same way in several mappers of a package, found by fingerprint, and the
+ * {@value #CLASS_NAME} class of each package that keeps them once.
+ * <p>
+ * A helper is a non-public method of the mapper class that needs nothing from the mapper: it calls no method of
+ * the mapper, or one it inherits, without a receiver and reads no field of the class, so it can be a static method
+ * of another class. Static methods of other classes it calls through a static import are fine. Its
+ * fingerprint is its signature and body with the method, parameter and local variable names replaced by position,
+ * whitespace dropped, and the attributed types of the signature and of the methods it calls, so two helpers that
+ * read the same but resolve their types differently stay apart.
+ * <p>
+ * Generated implementations and merged mappers are both fingerprinted, keyed by their mapper, so the helpers are
+ * known from the scan whether or not the mappers are merged in the same run. A helper only counts in the mappers
+ * {@link SharedHelperRewriter} will rewrite: merged mappers marked optimized, and the implementations of those
+ * {@link Accumulator#publishOptimizedMappers} announced will be. Packages that already have a {@value #CLASS_NAME}
+ * class are left alone.
+ * <p>
+ * The {@value #CLASS_NAME} class imports the types and static members its helpers use, taken from their attributed
+ * types, not the imports of their mappers: those may import other types of the same simple name. A helper whose
+ * imports would clash with those of another shared helper stays in its mappers.
+ */
+@NullMarked
+public class SharedHelpers {
+    static final String CLASS_NAME = "MapperHelpers";
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Map<String, Map<String, Helper>> helpersByPackage = new HashMap<>();
+
+    private final Set<String> packagesWithHelperClass = new HashSet<>();
+
+    /**
+     * The merged mappers marked for the optimization recipes.
+     */
+    private final Set<String> optimizedMappers = new HashSet<>();
+
+    /**
+     * A source file of each package other than a generated implementation, where the helper class goes.
+     */
+    private final Map<String, Path> sourcePathsByPackage = new HashMap<>();
+
+    /**
+     * The shared helpers of each package, by fingerprint, once {@link #generate} has run.
+     */
+    private final Map<String, Map<String, Helper>> sharedByPackage = new HashMap<>();
+
+    /**
+     * The fingerprint of a helper method, or null if the method is not a helper.
+     */
+    static @Nullable String fingerprint(J.MethodDeclaration method, J.ClassDeclaration mapperClass) {
+        if (method.getBody() == null
+                || method.isConstructor()
+                || method.hasModifier(J.Modifier.Type.Public)
+                || method.hasModifier(J.Modifier.Type.Static)
+                || method.hasModifier(J.Modifier.Type.Abstract)
+                || method.getReturnTypeExpression() == null) {
+            return null;
+        }
+
+        Set<String> fieldNames = new HashSet<>();
+        for (Statement statement : mapperClass.getBody().getStatements()) {
+            if (statement instanceof J.VariableDeclarations field) {
+                field.getVariables().forEach(variable -> fieldNames.add(variable.getSimpleName()));
+            }
+        }
+
+        // Parameters and locals in the order they are declared
+        Map<String, String> renames = new LinkedHashMap<>();
+        renames.put(method.getSimpleName(), "m");
+        new JavaIsoVisitor<Map<String, String>>() {
+            @Override
+            public J.VariableDeclarations.NamedVariable visitVariable(J.VariableDeclarations.NamedVariable variable,
+                                                                     Map<String, String> found) {
+                found.putIfAbsent(variable.getSimpleName(), "v" + found.size());
+                return super.visitVariable(variable, found);
+            }
+        }.visit(method, renames);
+
+        List<String> calledTypes = new ArrayList<>();
+        boolean[] selfContained = {true};
+        J.MethodDeclaration normalized = (J.MethodDeclaration) new JavaIsoVisitor<Integer>() {
+            @Override
+            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation invocation, Integer p) {
+                if (invocation.getSelect() == null && !isStaticImport(invocation, mapperClass)) {
+                    selfContained[0] = false;
+                }
+                calledTypes.add(String.valueOf(invocation.getMethodType()));
+                return super.visitMethodInvocation(invocation, p);
+            }
+
+            @Override
+            public J.Identifier visitIdentifier(J.Identifier identifier, Integer p) {
+                String name = identifier.getSimpleName();
+                Object parent = getCursor().getParentTreeCursor().getValue();
+                boolean isMemberName = parent instanceof J.MethodInvocation invocation
+                        && invocation.getName() == identifier
+                        || parent instanceof J.FieldAccess fieldAccess && fieldAccess.getName() == identifier;
+                if ("this".equals(name) || "super".equals(name)
+                        || !isMemberName && fieldNames.contains(name) && !renames.containsKey(name)) {
+                    selfContained[0] = false;
+                }
+                return isMemberName || !renames.containsKey(name)
+                        ? identifier
+                        : identifier.withSimpleName(renames.get(name));
+            }
+        }.visitNonNull(method.withLeadingAnnotations(Collections.emptyList()).withModifiers(Collections.emptyList()),
+                0);
+        if (!selfContained[0]) {
+            return null;
+        }
+
+        StringBuilder fingerprint = new StringBuilder(
+                WHITESPACE.matcher(normalized.printTrimmed(new Cursor(null, Cursor.ROOT_VALUE))).replaceAll(""));
+        if (method.getMethodType() != null) {
+            fingerprint.append('|').append(method.getMethodType().getReturnType())
+                    .append('|').append(method.getMethodType().getParameterTypes());
+        }
+        calledTypes.forEach(calledType -> fingerprint.append('|').append(calledType));
+        return fingerprint.toString();
+    }
+
+    /**
+     * Whether a call without a receiver is to a static method of another class, rather than to one of the mapper or
+     * of a type it extends.
+     */
+    private static boolean isStaticImport(J.MethodInvocation invocation, J.ClassDeclaration mapperClass) {
+        JavaType.Method methodType = invocation.getMethodType();
+        return methodType != null
+                && methodType.hasFlags(Flag.Static)
+                && !TypeUtils.isAssignableTo(methodType.getDeclaringType(), mapperClass.getType());
+    }
+
+    /**
+     * The imports a helper needs in the {@value #CLASS_NAME} class of its package, without the {@code import}
+     * keyword: the types it names without a qualifier, outside {@code java.lang} and its package, and the static
+     * members it uses without one.
+     */
+    private static Set<String> imports(J.MethodDeclaration method, String packageName) {
+        Set<String> imports = new TreeSet<>();
+        new JavaIsoVisitor<Set<String>>() {
+            @Override
+            public J.Identifier visitIdentifier(J.Identifier identifier, Set<String> found) {
+                Object parent = getCursor().getParentTreeCursor().getValue();
+                // Qualified names, names of called methods, and enum constants in case labels
+                if (parent instanceof J.FieldAccess fieldAccess && fieldAccess.getName() == identifier
+                        || parent instanceof J.MethodInvocation invocation && invocation.getName() == identifier
+                        || parent instanceof J.Case) {
+                    return identifier;
+                }
+                JavaType.Variable variable = identifier.getFieldType();
+                if (variable != null) {
+                    if (variable.hasFlags(Flag.Static)
+                            && variable.getOwner() instanceof JavaType.FullyQualified owner) {
+                        found.add("static " + importName(owner) + "." + identifier.getSimpleName());
+                    }
+                    return identifier;
+                }
+                JavaType.FullyQualified type = TypeUtils.asFullyQualified(identifier.getType());
+                if (type != null
+                        && !(type instanceof JavaType.Unknown)
+                        && identifier.getSimpleName().equals(simpleName(type))
+                        && (type.getOwningClass() != null
+                        || !"java.lang".equals(type.getPackageName()) && !packageName.equals(type.getPackageName()))) {
+                    found.add(importName(type));
+                }
+                return identifier;
+            }
+
+            @Override
+            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation invocation, Set<String> found) {
+                JavaType.Method methodType = invocation.getMethodType();
+                if (invocation.getSelect() == null && methodType != null && methodType.hasFlags(Flag.Static)) {
+                    found.add("static " + importName(methodType.getDeclaringType()) + "." + methodType.getName());
+                }
+                return super.visitMethodInvocation(invocation, found);
+            }
+        }.visit(method, imports);
+        return imports;
+    }
+
+    private static String importName(JavaType.FullyQualified type) {
+        return type.getFullyQualifiedName().replace('$', '.');
+    }
+
+    private static String simpleName(JavaType.FullyQualified type) {
+        String className = type.getClassName();
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+
+    static String packageName(J.CompilationUnit compilationUnit) {
+        return compilationUnit.getPackageDeclaration() == null
+                ? ""
+                : compilationUnit.getPackageDeclaration().getPackageName();
+    }
+
+    /**
+     * The mapper a generated implementation implements, or its own name if it implements none.
+     */
+    private static String implementedMapper(J.ClassDeclaration implClass, String packageName) {
+        List<TypeTree> superTypes = new ArrayList<>();
+        if (implClass.getExtends() != null) {
+            superTypes.add(implClass.getExtends());
+        }
+        if (implClass.getImplements() != null) {
+            superTypes.addAll(implClass.getImplements());
+        }
+        for (TypeTree superType : superTypes) {
+            JavaType.FullyQualified fq = TypeUtils.asFullyQualified(superType.getType());
+            if (fq != null && !(fq instanceof JavaType.Unknown)) {
+                return fq.getFullyQualifiedName();
+            }
+        }
+        return packageName + "." + implClass.getSimpleName();
+    }
+
+    /**
+     * Records the helpers of a generated implementation or merged mapper, and the classes of every other file.
+     */
+    public void scan(J.CompilationUnit compilationUnit) {
+        String packageName = packageName(compilationUnit);
+        for (J.ClassDeclaration classDecl : compilationUnit.getClasses()) {
+            if (CLASS_NAME.equals(classDecl.getSimpleName())) {
+                packagesWithHelperClass.add(packageName);
+            }
+        }
+        if (packageName.isEmpty() || compilationUnit.getClasses().isEmpty()) {
+            return;
+        }
+
+        J.ClassDeclaration mapperClass = compilationUnit.getClasses().get(0);
+        MigratedMapper migrated = compilationUnit.getMarkers().findFirst(MigratedMapper.class).orElse(null);
+        String mapperFqn = migrated == null ? null : migrated.getMapperFqn();
+        if (migrated != null && migrated.isOptimized()) {
+            optimizedMappers.add(migrated.getMapperFqn());
+        }
+        if (mapperFqn == null && Functions.isMapperImplementation(compilationUnit)) {
+            mapperFqn = implementedMapper(mapperClass, packageName);
+        } else {
+            sourcePathsByPackage.putIfAbsent(packageName, compilationUnit.getSourcePath());
+        }
+        if (mapperFqn == null) {
+            return;
+        }
+
+        Map<String, Helper> helpers = helpersByPackage.computeIfAbsent(packageName, p -> new LinkedHashMap<>());
+        for (Statement statement : mapperClass.getBody().getStatements()) {
+            if (statement instanceof J.MethodDeclaration method) {
+                String fingerprint = fingerprint(method, mapperClass);
+                if (fingerprint != null) {
+                    helpers.computeIfAbsent(fingerprint, f -> new Helper(method, compilationUnit))
+                            .mappers.add(mapperFqn);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes a {@value #CLASS_NAME} class into each package where a helper is in at least two mappers that are going
+     * to be rewritten.
+     */
+    public List<SourceFile> generate(ExecutionContext ctx) {
+        Set<String> rewritten = new HashSet<>(optimizedMappers);
+        rewritten.addAll(Accumulator.optimizedMappers(ctx));
+        List<SourceFile> generated = new ArrayList<>();
+        helpersByPackage.forEach((packageName, helpers) -> {
+            if (packagesWithHelperClass.contains(packageName) || sharedByPackage.containsKey(packageName)) {
+                return;
+            }
+            Map<String, Helper> shared = new LinkedHashMap<>();
+            Set<String> sharedNames = new HashSet<>();
+            // The import of each simple name the class imports
+            Map<String, String> importsByName = new HashMap<>();
+            helpers.forEach((fingerprint, helper) -> {
+                if (helper.mappers.stream().filter(rewritten::contains).count() < 2) {
+                    return;
+                }
+                Set<String> helperImports = imports(helper.method, packageName);
+                for (String anImport : helperImports) {
+                    String importedName = anImport.substring(anImport.lastIndexOf('.') + 1);
+                    if (!anImport.equals(importsByName.getOrDefault(importedName, anImport))) {
+                        return;
+                    }
+                }
+                helperImports.forEach(anImport ->
+                        importsByName.put(anImport.substring(anImport.lastIndexOf('.') + 1), anImport));
+                helper.imports = helperImports;
+                String name = helper.method.getSimpleName();
+                for (int i = 2; !sharedNames.add(name); i++) {
+                    name = helper.method.getSimpleName() + i;
+                }
+                helper.sharedName = name;
+                shared.put(fingerprint, helper);
+            });
+            if (shared.isEmpty()) {
+                return;
+            }
+
+            sharedByPackage.put(packageName, shared);
+            // Next to the merged mappers rather than the generated implementations, which the build deletes
+            Path sourcePath = sourcePathsByPackage.getOrDefault(packageName,
+                    shared.values().iterator().next().file.getSourcePath()).resolveSibling(CLASS_NAME + ".java");
+            JavaParser.fromJavaVersion().build()
+                    .parse(ctx, helperClass(packageName, shared.values()))
+                    .map(sourceFile -> (SourceFile) sourceFile.withSourcePath(sourcePath))
+                    .forEach(generated::add);
+        });
+        return generated;
+    }
+
+    private static String helperClass(String packageName, Collection<Helper> helpers) {
+        Set<String> imports = new TreeSet<>();
+        Set<String> staticImports = new TreeSet<>();
+        for (Helper helper : helpers) {
+            for (String anImport : helper.imports) {
+                (anImport.startsWith("static ") ? staticImports : imports).add("import " + anImport + ";");
+            }
+        }
+
+        StringBuilder source = new StringBuilder("package ").append(packageName).append(";\n\n");
+        for (Set<String> group : List.of(imports, staticImports)) {
+            group.forEach(anImport -> source.append(anImport).append('\n'));
+            if (!group.isEmpty()) {
+                source.append('\n');
+            }
+        }
+        source.append("/**\n")
+                .append(" * Helper methods Mapstruct generated the same way in several mappers of this package, ")
+                .append("kept once.\n")
+                .append(" */\n")
+                .append("final class ").append(CLASS_NAME).append(" {\n\n")
+                .append("    private ").append(CLASS_NAME).append("() {\n")
+                .append("    }\n");
+        for (Helper helper : helpers) {
+            J.MethodDeclaration method = helper.method
+                    .withLeadingAnnotations(Collections.emptyList())
+                    .withModifiers(Collections.emptyList())
+                    .withName(helper.method.getName().withSimpleName(helper.sharedName));
+            source.append("\n    static ").append(method.printTrimmed(new Cursor(null, Cursor.ROOT_VALUE)))
+                    .append('\n');
+        }
+        return source.append("}\n").toString();
+    }
+
+    /**
+     * The shared helpers of a package, by fingerprint.
+     */
+    Map<String, Helper> getShared(String packageName) {
+        return sharedByPackage.getOrDefault(packageName, Collections.emptyMap());
+    }
+
+    static final class Helper {
+        private final J.MethodDeclaration method;
+        private final J.CompilationUnit file;
+        private final Set<String> mappers = new HashSet<>();
+        private @Nullable String sharedName;
+        private Set<String> imports = Collections.emptySet();
+
+        private Helper(J.MethodDeclaration method, J.CompilationUnit file) {
+            this.method = method;
+            this.file = file;
+        }
+
+        String getSharedName() {
+            return sharedName == null ? method.getSimpleName() : sharedName;
+        }
+    }
+}
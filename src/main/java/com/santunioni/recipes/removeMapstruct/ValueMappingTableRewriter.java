@@ -0,0 +1,306 @@
+package com.santunioni.recipes.removeMapstruct;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Cursor;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.tree.Expression;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.Statement;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.UUID;
+
+/**
+ * Replaces the {@code switch} of the enum and value mapping methods Mapstruct generates, in the classes
+ * {@link MapperProcessor} merged, with a lookup in a table built once when the mapper class is loaded:
+ * <pre>
+ * switch (orderStatus) {
+ *     case NEW: orderStatusDto = OrderStatusDto.OPEN;
+ *     break;
+ *     case PAID: orderStatusDto = OrderStatusDto.CLOSED;
+ *     break;
+ *     default: throw new IllegalArgumentException("Unexpected enum constant: " + orderStatus);
+ * }
+ * </pre>
+ * Enum sources are looked up in an {@link java.util.EnumMap}, indexed by ordinal, and String sources in an
+ * immutable {@link Map}. The null check before the switch is kept as it is, so a {@code MappingConstants.NULL}
+ * source or target mapping behaves as before. A default that assigns a constant, as {@code ANY_REMAINING} and
+ * {@code ANY_UNMAPPED} do, becomes the lookup's default, and a default that throws is thrown when the lookup finds
+ * nothing.
+ * <p>
+ * Only switches whose cases each assign a constant are rewritten. A case mapped to null is only accepted when the
+ * default is null too, as a lookup can't tell a null value from a missing key otherwise.
+ * <p>
+ * {@code Enum.valueOf} calls are left alone: they already look the name up in a table the enum class holds.
+ */
+@NullMarked
+public class ValueMappingTableRewriter extends JavaIsoVisitor<ExecutionContext> {
+    private static final String TABLES = "VALUE_MAPPING_TABLES";
+
+    /**
+     * The table for a value mapping method, or null if the method is not the one Mapstruct generates:
+     * <pre>
+     * if (source == null) {
+     *     return null;
+     * }
+     * Target target;
+     * switch (source) {
+     *     ...
+     * }
+     * return target;
+     * </pre>
+     */
+    private static @Nullable ValueTable valueTable(J.MethodDeclaration method, Cursor cursor) {
+        if (method.getBody() == null
+                || method.isConstructor()
+                || method.getReturnTypeExpression() == null
+                || method.getParameters().size() != 1
+                || !(method.getParameters().get(0) instanceof J.VariableDeclarations parameter)
+                || parameter.getVariables().size() != 1
+                || parameter.getTypeExpression() == null) {
+            return null;
+        }
+        String parameterName = parameter.getVariables().get(0).getSimpleName();
+        List<Statement> statements = method.getBody().getStatements();
+        if (statements.size() != 4
+                || !(statements.get(0) instanceof J.If nullCheck)
+                || nullCheck.getElsePart() != null
+                || !(statements.get(1) instanceof J.VariableDeclarations result)
+                || result.getVariables().size() != 1
+                || result.getVariables().get(0).getInitializer() != null
+                || !(statements.get(2) instanceof J.Switch switch_)
+                || !isIdentifier(switch_.getSelector().getTree(), parameterName)
+                || !(statements.get(3) instanceof J.Return returned)
+                || !isIdentifier(returned.getExpression(), result.getVariables().get(0).getSimpleName())) {
+            return null;
+        }
+        String resultName = result.getVariables().get(0).getSimpleName();
+        boolean isStringKey = TypeUtils.isString(parameter.getType());
+        String keyType = parameter.getTypeExpression().printTrimmed(cursor);
+
+        Map<String, String> entries = new LinkedHashMap<>();
+        List<String> pendingKeys = new ArrayList<>();
+        String defaultValue = null;
+        J.Throw defaultThrow = null;
+        boolean hasNullEntry = false;
+        for (Statement statement : switch_.getCases().getStatements()) {
+            if (!(statement instanceof J.Case case_) || case_.getType() != J.Case.Type.Statement) {
+                return null;
+            }
+            boolean isDefault = false;
+            for (J label : case_.getCaseLabels()) {
+                if (label instanceof J.Identifier identifier && "default".equals(identifier.getSimpleName())) {
+                    isDefault = true;
+                } else if (!isStringKey && label instanceof J.Identifier constant) {
+                    pendingKeys.add(keyType + "." + constant.getSimpleName());
+                } else if (isStringKey && label instanceof J.Literal literal && literal.getValue() instanceof String) {
+                    pendingKeys.add(literal.printTrimmed(cursor));
+                } else {
+                    return null;
+                }
+            }
+
+            List<Statement> caseStatements = case_.getStatements();
+            if (caseStatements.isEmpty() && !isDefault) {
+                // Falls through to the next case
+                continue;
+            }
+            if (isDefault && caseStatements.size() == 1 && caseStatements.get(0) instanceof J.Throw thrown) {
+                if (!pendingKeys.isEmpty()) {
+                    return null;
+                }
+                defaultThrow = thrown;
+                continue;
+            }
+            if (caseStatements.isEmpty()
+                    || caseStatements.size() > 2
+                    || !(caseStatements.get(0) instanceof J.Assignment assignment)
+                    || !isIdentifier(assignment.getVariable(), resultName)
+                    || !isConstant(assignment.getAssignment())
+                    || caseStatements.size() == 2 && !(caseStatements.get(1) instanceof J.Break)) {
+                return null;
+            }
+            String value = assignment.getAssignment().printTrimmed(cursor);
+            if (isDefault) {
+                if (!pendingKeys.isEmpty()) {
+                    return null;
+                }
+                defaultValue = value;
+            } else {
+                hasNullEntry |= isNull(assignment.getAssignment());
+                for (String key : pendingKeys) {
+                    entries.put(key, value);
+                }
+                pendingKeys.clear();
+            }
+        }
+
+        if (entries.isEmpty() || !pendingKeys.isEmpty() || defaultValue == null && defaultThrow == null) {
+            return null;
+        }
+        if (hasNullEntry && !"null".equals(defaultValue)) {
+            return null;
+        }
+        // Immutable maps don't hold nulls, and a missing key reads as null anyway
+        entries.values().removeIf("null"::equals);
+        if (entries.isEmpty()) {
+            return null;
+        }
+
+        return new ValueTable(tableName(method.getSimpleName()), keyType,
+                method.getReturnTypeExpression().printTrimmed(cursor), isStringKey, entries,
+                nullCheck.printTrimmed(cursor), parameterName, resultName, defaultValue,
+                defaultThrow == null ? null : defaultThrow.printTrimmed(cursor));
+    }
+
+    private static boolean isIdentifier(@Nullable J tree, String name) {
+        return tree instanceof J.Identifier identifier && name.equals(identifier.getSimpleName());
+    }
+
+    private static boolean isNull(Expression expression) {
+        return expression instanceof J.Literal literal && literal.getValue() == null;
+    }
+
+    /**
+     * Enum constants and literals: what a value mapping assigns, and what can be computed once.
+     */
+    private static boolean isConstant(Expression expression) {
+        return expression instanceof J.Literal
+                || expression instanceof J.FieldAccess fieldAccess
+                && fieldAccess.getTarget() instanceof J.Identifier target
+                && !"this".equals(target.getSimpleName());
+    }
+
+    /**
+     * {@code orderStatusToOrderStatusDto} gets the table {@code ORDER_STATUS_TO_ORDER_STATUS_DTO}.
+     */
+    private static String tableName(String methodName) {
+        StringBuilder name = new StringBuilder(methodName.length() + 8);
+        for (int i = 0; i < methodName.length(); i++) {
+            char c = methodName.charAt(i);
+            if (Character.isUpperCase(c) && i > 0) {
+                name.append('_');
+            }
+            name.append(Character.toUpperCase(c));
+        }
+        return name.toString();
+    }
+
+    @Override
+    public J.CompilationUnit visitCompilationUnit(J.CompilationUnit compilationUnit, ExecutionContext ctx) {
+        if (!Functions.isOptimizedMapper(compilationUnit)) {
+            return compilationUnit;
+        }
+        return super.visitCompilationUnit(compilationUnit, ctx);
+    }
+
+    @Override
+    public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
+        // Only the mapper class itself, not the classes nested in it
+        if (!(getCursor().getParentTreeCursor().getValue() instanceof J.CompilationUnit)) {
+            return classDecl;
+        }
+
+        Set<String> memberNames = new HashSet<>();
+        for (Statement statement : classDecl.getBody().getStatements()) {
+            if (statement instanceof J.VariableDeclarations field) {
+                field.getVariables().forEach(variable -> memberNames.add(variable.getSimpleName()));
+            }
+        }
+
+        Map<UUID, ValueTable> tables = new HashMap<>();
+        for (Statement statement : classDecl.getBody().getStatements()) {
+            if (statement instanceof J.MethodDeclaration method) {
+                ValueTable table = valueTable(method, new Cursor(getCursor(), method));
+                if (table != null && memberNames.add(table.name())) {
+                    tables.put(method.getId(), table);
+                }
+            }
+        }
+        if (tables.isEmpty()) {
+            return classDecl;
+        }
+
+        getCursor().putMessage(TABLES, tables);
+        J.ClassDeclaration cd = super.visitClassDeclaration(classDecl, ctx);
+
+        StringBuilder fields = new StringBuilder();
+        boolean hasEnumKeys = false;
+        for (Statement statement : classDecl.getBody().getStatements()) {
+            ValueTable table = tables.get(statement.getId());
+            if (table != null) {
+                fields.append(table.field());
+                hasEnumKeys |= !table.isStringKey();
+            }
+        }
+        cd = JavaTemplate.builder(fields.toString())
+                .contextSensitive()
+                .imports("java.util.EnumMap", "java.util.Map")
+                .build()
+                .apply(updateCursor(cd), cd.getBody().getCoordinates().lastStatement());
+        maybeAddImport("java.util.Map");
+        if (hasEnumKeys) {
+            maybeAddImport("java.util.EnumMap");
+        }
+        return cd;
+    }
+
+    @Override
+    public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
+        J.MethodDeclaration m = super.visitMethodDeclaration(method, ctx);
+        Map<UUID, ValueTable> tables = getCursor().getNearestMessage(TABLES);
+        ValueTable table = tables == null ? null : tables.get(method.getId());
+        if (table == null || m.getBody() == null) {
+            return m;
+        }
+        m = JavaTemplate.builder(table.body())
+                .contextSensitive()
+                .build()
+                .apply(updateCursor(m), m.getCoordinates().replaceBody());
+        return autoFormat(m, ctx, getCursor().getParentOrThrow());
+    }
+
+    private record ValueTable(String name, String keyType, String valueType, boolean isStringKey,
+                              Map<String, String> entries, String nullCheck, String parameterName,
+                              String resultName, @Nullable String defaultValue, @Nullable String defaultThrow) {
+
+        String field() {
+            StringJoiner mapEntries = new StringJoiner(",\n", "Map.ofEntries(\n", ")");
+            entries.forEach((key, value) -> mapEntries.add("Map.entry(" + key + ", " + value + ")"));
+            return "private static final Map<" + keyType + ", " + valueType + "> " + name + " = "
+                    + (isStringKey ? mapEntries : "new EnumMap<>(" + mapEntries + ")") + ";\n";
+        }
+
+        String body() {
+            StringBuilder body = new StringBuilder("{\n").append(nullCheck).append('\n');
+            if (defaultThrow == null) {
+                body.append("return ").append(name);
+                if ("null".equals(defaultValue)) {
+                    body.append(".get(").append(parameterName).append(");\n");
+                } else {
+                    body.append(".getOrDefault(").append(parameterName).append(", ").append(defaultValue)
+                            .append(");\n");
+                }
+            } else {
+                body.append(valueType).append(' ').append(resultName).append(" = ").append(name)
+                        .append(".get(").append(parameterName).append(");\n")
+                        .append("if (").append(resultName).append(" == null) {\n")
+                        .append(defaultThrow).append('\n')
+                        .append("}\n")
+                        .append("return ").append(resultName).append(";\n");
+            }
+            return body.append("}").toString();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.santunioni.recipes.removeMapstruct;
+
+import com.santunioni.recipes.table.MapperCompilationFailures;
+import lombok.extern.java.Log;
+import org.jspecify.annotations.NullMarked;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.java.tree.J;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The sources a cycle scanned, kept to compile the merged mappers among them against, and the mappers already
+ * compiled in earlier cycles.
+ * <p>
+ * Threading: {@link #add} is called by the scanner, {@link #verify} by {@code generate} once scanning is over. Both
+ * are synchronized on the instance, so a scanner visiting files from several threads is safe too. The compilation
+ * runs in parallel within {@link #verify}, whose lock it holds, and only prints the trees, which are immutable.
+ */
+@Log
+@NullMarked
+final class VerificationSources {
+    private final Map<Path, J.CompilationUnit> sources = new LinkedHashMap<>();
+
+    private final Set<String> verifiedMappers = new HashSet<>();
+
+    synchronized void add(J.CompilationUnit source) {
+        sources.put(source.getSourcePath(), source);
+    }
+
+    /**
+     * Compiles in memory, in parallel, the merged mappers among the scanned sources that were not compiled before,
+     * and reports the ones that fail. Merges are only seen by the scanner of the next cycle, so this runs once the
+     * cycle after them has been scanned. The sources are dropped afterwards, as the next cycle scans them again.
+     */
+    synchronized void verify(ExecutionContext ctx, MapperCompilationFailures table, List<String> classpath) {
+        List<J.CompilationUnit> mappers = new ArrayList<>();
+        Map<Path, String> mapperFqns = new HashMap<>();
+        for (J.CompilationUnit source : sources.values()) {
+            source.getMarkers().findFirst(MigratedMapper.class).ifPresent(migrated -> {
+                if (verifiedMappers.add(migrated.getMapperFqn())) {
+                    mappers.add(source);
+                    mapperFqns.put(source.getSourcePath(), migrated.getMapperFqn());
+                }
+            });
+        }
+
+        if (!mappers.isEmpty()) {
+            MapperCompilationVerifier verifier = MapperCompilationVerifier.of(sources.values(), classpath);
+            if (verifier == null) {
+                log.warning("No Java compiler is available, as when running on a JRE. Migrated mappers are not "
+                        + "verified.");
+            } else {
+                long start = System.nanoTime();
+                Map<Path, List<String>> failures = verifier.verify(mappers);
+                failures.forEach((sourcePath, errors) -> {
+                    log.warning("Migrated mapper " + mapperFqns.get(sourcePath) + " does not compile: "
+                            + String.join("; ", errors));
+                    table.insertRow(ctx, new MapperCompilationFailures.Row(
+                            sourcePath.toString(), mapperFqns.get(sourcePath), String.join("\n", errors)));
+                });
+                log.info("Compiled " + mappers.size() + " migrated mappers in "
+                        + (System.nanoTime() - start) / 1_000_000 + " ms, " + failures.size() + " failed");
+            }
+        }
+        sources.clear();
+    }
+}
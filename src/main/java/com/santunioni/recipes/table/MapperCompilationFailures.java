@@ -0,0 +1,34 @@
+package com.santunioni.recipes.table;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreType;
+import lombok.Value;
+import org.openrewrite.Column;
+import org.openrewrite.DataTable;
+import org.openrewrite.Recipe;
+
+@JsonIgnoreType
+public class MapperCompilationFailures extends DataTable<MapperCompilationFailures.Row> {
+
+    public MapperCompilationFailures(Recipe recipe) {
+        super(recipe,
+                "Migrated mapper compilation failures",
+                "Merged mappers that do not compile in memory against the other sources of the run and the "
+                        + "verification classpath.");
+    }
+
+    @Value
+    public static class Row {
+        @Column(displayName = "Source path",
+                description = "The path of the merged mapper.")
+        String sourcePath;
+
+        @Column(displayName = "Mapper",
+                description = "The fully qualified name of the merged mapper.")
+        String mapperFqn;
+
+        @Column(displayName = "Errors",
+                description = "The compiler errors in the merged mapper, with their line numbers, separated by "
+                        + "newlines.")
+        String errors;
+    }
+}
@@ -0,0 +1,41 @@
+package com.santunioni.recipes.table;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreType;
+import lombok.Value;
+import org.openrewrite.Column;
+import org.openrewrite.DataTable;
+import org.openrewrite.Recipe;
+
+@JsonIgnoreType
+public class MapperElidedCopies extends DataTable<MapperElidedCopies.Row> {
+
+    public MapperElidedCopies(Recipe recipe) {
+        super(recipe,
+                "Elided mapper copies",
+                "Copies of immutable values and of collections a setter copies again, that migrated mappers now "
+                        + "share instead.");
+    }
+
+    @Value
+    public static class Row {
+        @Column(displayName = "Source path",
+                description = "The path of the migrated mapper.")
+        String sourcePath;
+
+        @Column(displayName = "Mapper",
+                description = "The fully qualified name of the migrated mapper.")
+        String mapperFqn;
+
+        @Column(displayName = "Method",
+                description = "The method the copy was made in, or the clone method that was removed.")
+        String method;
+
+        @Column(displayName = "Copy",
+                description = "The copy that was elided, as written before.")
+        String copy;
+
+        @Column(displayName = "Reason",
+                description = "Why sharing the value is safe.")
+        String reason;
+    }
+}
@@ -0,0 +1,49 @@
+package com.santunioni.recipes.table;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreType;
+import lombok.Value;
+import org.openrewrite.Column;
+import org.openrewrite.DataTable;
+import org.openrewrite.Recipe;
+
+@JsonIgnoreType
+public class MapperHotPathRisks extends DataTable<MapperHotPathRisks.Row> {
+
+    public MapperHotPathRisks(Recipe recipe) {
+        super(recipe,
+                "Mapper hot path risks",
+                "Allocation and CPU heavy patterns in migrated mappers, most expensive first within each mapper.");
+    }
+
+    @Value
+    public static class Row {
+        @Column(displayName = "Source path",
+                description = "The path of the migrated mapper.")
+        String sourcePath;
+
+        @Column(displayName = "Mapper",
+                description = "The fully qualified name of the migrated mapper.")
+        String mapperFqn;
+
+        @Column(displayName = "Method",
+                description = "The method the pattern was found in.")
+        String method;
+
+        @Column(displayName = "Pattern",
+                description = "The kind of risk, e.g. `FORMATTER_PER_CALL`, `BOXING`, `STRING_FORMAT`, "
+                        + "`STREAM_PIPELINE`, `REPEATED_GETTER_CHAIN`, `NOT_INLINED` or `NOT_JIT_COMPILED`.")
+        String pattern;
+
+        @Column(displayName = "Occurrences",
+                description = "How many times the pattern appears in the method.")
+        int occurrences;
+
+        @Column(displayName = "Estimated cost",
+                description = "A relative cost per call used to rank findings. Not a unit of time.")
+        int estimatedCost;
+
+        @Column(displayName = "Detail",
+                description = "The expression or the estimate behind the finding.")
+        String detail;
+    }
+}
@@ -0,0 +1,43 @@
+package com.santunioni.recipes.table;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreType;
+import lombok.Value;
+import org.openrewrite.Column;
+import org.openrewrite.DataTable;
+import org.openrewrite.Recipe;
+
+@JsonIgnoreType
+public class MapperHotness extends DataTable<MapperHotness.Row> {
+
+    public MapperHotness(Recipe recipe) {
+        super(recipe,
+                "Mapper hotness",
+                "Mappers the profile has samples for, hottest first, and whether the optimization recipes rewrite "
+                        + "them.");
+    }
+
+    @Value
+    public static class Row {
+        @Column(displayName = "Mapper",
+                description = "The fully qualified name of the mapper declaration.")
+        String mapperFqn;
+
+        @Column(displayName = "Rank",
+                description = "The position of the mapper when ordered by samples, starting at 1.")
+        int rank;
+
+        @Column(displayName = "Samples",
+                description = "The samples of the hottest method of the mapper declaration, with the mapper, "
+                        + "its implementation or its decorator on the stack.")
+        long samples;
+
+        @Column(displayName = "Hottest method",
+                description = "The method of the mapper declaration with the most samples.")
+        String hottestMethod;
+
+        @Column(displayName = "Optimized",
+                description = "Whether the mapper is among the hottest, so the optimization recipes rewrite it once "
+                        + "merged. Colder mappers are only merged.")
+        boolean optimized;
+    }
+}
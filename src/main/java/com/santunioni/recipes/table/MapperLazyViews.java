@@ -0,0 +1,49 @@
+package com.santunioni.recipes.table;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreType;
+import lombok.Value;
+import org.openrewrite.Column;
+import org.openrewrite.DataTable;
+import org.openrewrite.Recipe;
+
+@JsonIgnoreType
+public class MapperLazyViews extends DataTable<MapperLazyViews.Row> {
+
+    public MapperLazyViews(Recipe recipe) {
+        super(recipe,
+                "Lazy mapping views",
+                "Mapping methods of migrated mappers that now return a lazy view of their source, and those that "
+                        + "only set properties from it but could not.");
+    }
+
+    @Value
+    public static class Row {
+        @Column(displayName = "Source path",
+                description = "The path of the migrated mapper.")
+        String sourcePath;
+
+        @Column(displayName = "Mapper",
+                description = "The fully qualified name of the migrated mapper.")
+        String mapperFqn;
+
+        @Column(displayName = "Method",
+                description = "The mapping method.")
+        String method;
+
+        @Column(displayName = "Target type",
+                description = "The fully qualified name of the type the method returns.")
+        String targetType;
+
+        @Column(displayName = "View",
+                description = "The view class the method now returns, empty when it still copies its source.")
+        String view;
+
+        @Column(displayName = "Lazy lists",
+                description = "The list properties of the view that map their elements as they are read.")
+        int lazyLists;
+
+        @Column(displayName = "Note",
+                description = "Why the method still copies its source.")
+        String note;
+    }
+}
@@ -0,0 +1,36 @@
+package com.santunioni.recipes.table;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreType;
+import lombok.Value;
+import org.openrewrite.Column;
+import org.openrewrite.DataTable;
+import org.openrewrite.Recipe;
+
+@JsonIgnoreType
+public class MapperMigrationFailures extends DataTable<MapperMigrationFailures.Row> {
+
+    public MapperMigrationFailures(Recipe recipe) {
+        super(recipe,
+                "Mapstruct migration failures",
+                "Mappers left untouched because their migration failed, in this run or in a previous one.");
+    }
+
+    @Value
+    public static class Row {
+        @Column(displayName = "Source path",
+                description = "The path of the mapper declaration.")
+        String sourcePath;
+
+        @Column(displayName = "Mapper",
+                description = "The fully qualified name of the mapper declaration.")
+        String mapperFqn;
+
+        @Column(displayName = "Message",
+                description = "The failure, or a note that the mapper failed in a previous run and was skipped.")
+        String message;
+
+        @Column(displayName = "Stack trace",
+                description = "The stack trace of the failure, empty when the mapper was skipped.")
+        String stackTrace;
+    }
+}
@@ -0,0 +1,56 @@
+package com.santunioni.recipes.table;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreType;
+import lombok.Value;
+import org.openrewrite.Column;
+import org.openrewrite.DataTable;
+import org.openrewrite.Recipe;
+
+@JsonIgnoreType
+public class MapperMigrationPlan extends DataTable<MapperMigrationPlan.Row> {
+
+    public MapperMigrationPlan(Recipe recipe) {
+        super(recipe,
+                "Mapstruct migration plan",
+                "One row per `@Mapper` declaration, with the outcome `RemoveMapstruct` would have for it.");
+    }
+
+    @Value
+    public static class Row {
+        @Column(displayName = "Module",
+                description = "The project the mapper declaration belongs to.")
+        String module;
+
+        @Column(displayName = "Source path",
+                description = "The path of the mapper declaration.")
+        String sourcePath;
+
+        @Column(displayName = "Mapper",
+                description = "The fully qualified name of the mapper declaration.")
+        String mapperFqn;
+
+        @Column(displayName = "Implementations",
+                description = "How many Mapstruct-generated implementations were found for the mapper.")
+        int implementations;
+
+        @Column(displayName = "Implementation names",
+                description = "The fully qualified names of the generated implementations, comma separated.")
+        String implementationFqns;
+
+        @Column(displayName = "Outcome",
+                description = "`MIGRATE`, or why the mapper would be skipped: `UNRESOLVED_TYPE`, `OUT_OF_SCOPE` of "
+                        + "the package and source path globs, `FAILED_BEFORE` or `MIGRATED_BEFORE` in the checkpoint "
+                        + "file, `NO_IMPLEMENTATION`, `MULTIPLE_IMPLEMENTATIONS`, or `STALE` when the implementation "
+                        + "was generated from another version of the declaration.")
+        String outcome;
+
+        @Column(displayName = "Collapsed decorator",
+                description = "The path of the `@DecoratedWith` decorator merged into the mapper, whose file would "
+                        + "be deleted, if any.")
+        String collapsedDecorator;
+
+        @Column(displayName = "Consumer files",
+                description = "How many files reference one of the generated implementations and would be rewritten.")
+        int consumerFiles;
+    }
+}
@@ -0,0 +1,40 @@
+package com.santunioni.recipes.table;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreType;
+import lombok.Value;
+import org.openrewrite.Column;
+import org.openrewrite.DataTable;
+import org.openrewrite.Recipe;
+
+@JsonIgnoreType
+public class MapperMigrationPlanSummary extends DataTable<MapperMigrationPlanSummary.Row> {
+
+    public MapperMigrationPlanSummary(Recipe recipe) {
+        super(recipe,
+                "Mapstruct migration plan summary",
+                "Per module counts of mappers to migrate, mappers that would be skipped and consumer files to rewrite.");
+    }
+
+    @Value
+    public static class Row {
+        @Column(displayName = "Module",
+                description = "The project the counts belong to.")
+        String module;
+
+        @Column(displayName = "Mappers",
+                description = "How many `@Mapper` declarations were found.")
+        int mappers;
+
+        @Column(displayName = "Migratable mappers",
+                description = "How many mappers have exactly one generated implementation and would be migrated.")
+        int migratable;
+
+        @Column(displayName = "Conflicts",
+                description = "How many mappers would be skipped because they have zero or several implementations.")
+        int conflicts;
+
+        @Column(displayName = "Consumer files",
+                description = "How many files reference a generated implementation and would be rewritten.")
+        int consumerFiles;
+    }
+}
@@ -0,0 +1,37 @@
+package com.santunioni.recipes.table;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreType;
+import lombok.Value;
+import org.openrewrite.Column;
+import org.openrewrite.DataTable;
+import org.openrewrite.Recipe;
+
+@JsonIgnoreType
+public class MapperNameMismatches extends DataTable<MapperNameMismatches.Row> {
+
+    public MapperNameMismatches(Recipe recipe) {
+        super(recipe,
+                "Mapper name matching mismatches",
+                "Declarations and implementations that name based matching could not pair, or paired differently "
+                        + "from the attributed types.");
+    }
+
+    @Value
+    public static class Row {
+        @Column(displayName = "Source path",
+                description = "The path of the mapper declaration or generated implementation.")
+        String sourcePath;
+
+        @Column(displayName = "Mapper",
+                description = "The fully qualified name of the mapper, as derived from package and simple names.")
+        String mapperFqn;
+
+        @Column(displayName = "Mismatch",
+                description = "NO_IMPLEMENTATION, NO_DECLARATION, MULTIPLE_IMPLEMENTATIONS or TYPE_DISAGREES.")
+        String mismatch;
+
+        @Column(displayName = "Detail",
+                description = "The implementations involved, or the name the attributed type gives.")
+        String detail;
+    }
+}
@@ -0,0 +1,50 @@
+package com.santunioni.recipes.table;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreType;
+import lombok.Value;
+import org.openrewrite.Column;
+import org.openrewrite.DataTable;
+import org.openrewrite.Recipe;
+
+@JsonIgnoreType
+public class MapperSplitMethods extends DataTable<MapperSplitMethods.Row> {
+
+    public MapperSplitMethods(Recipe recipe) {
+        super(recipe,
+                "Split mapper methods",
+                "Methods of migrated mappers whose estimated bytecode size was over the limit, and the methods "
+                        + "they were split into.");
+    }
+
+    @Value
+    public static class Row {
+        @Column(displayName = "Source path",
+                description = "The path of the migrated mapper.")
+        String sourcePath;
+
+        @Column(displayName = "Mapper",
+                description = "The fully qualified name of the migrated mapper.")
+        String mapperFqn;
+
+        @Column(displayName = "Method",
+                description = "The method over the limit.")
+        String method;
+
+        @Column(displayName = "Estimated size",
+                description = "The estimated bytecode size of the method before the split, in bytes.")
+        int estimatedSize;
+
+        @Column(displayName = "Estimated size after",
+                description = "The estimated bytecode size of the method after the split, in bytes.")
+        int estimatedSizeAfter;
+
+        @Column(displayName = "Split into",
+                description = "The methods the statements were moved to, separated by commas, each with its "
+                        + "estimated size.")
+        String subMethods;
+
+        @Column(displayName = "Note",
+                description = "Why the method was not split, or is still over the limit.")
+        String note;
+    }
+}
@@ -0,0 +1,38 @@
+package com.santunioni.recipes.table;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreType;
+import lombok.Value;
+import org.openrewrite.Column;
+import org.openrewrite.DataTable;
+import org.openrewrite.Recipe;
+
+@JsonIgnoreType
+public class MapperStaleImplementations extends DataTable<MapperStaleImplementations.Row> {
+
+    public MapperStaleImplementations(Recipe recipe) {
+        super(recipe,
+                "Stale generated mapper implementations",
+                "Mappers left untouched because their generated implementation does not match their declaration, "
+                        + "as when the generated sources were not rebuilt after the declaration changed.");
+    }
+
+    @Value
+    public static class Row {
+        @Column(displayName = "Source path",
+                description = "The path of the mapper declaration.")
+        String sourcePath;
+
+        @Column(displayName = "Mapper",
+                description = "The fully qualified name of the mapper declaration.")
+        String mapperFqn;
+
+        @Column(displayName = "Implementation path",
+                description = "The path of the generated implementation.")
+        String implementationPath;
+
+        @Column(displayName = "Differences",
+                description = "Declared methods with no implementation, and implemented overrides with no "
+                        + "declaration, separated by semicolons.")
+        String differences;
+    }
+}
@@ -0,0 +1,244 @@
+package com.santunioni.recipes.runner;
+
+import com.santunioni.recipes.ElideImmutableCopies;
+import com.santunioni.recipes.RemoveMapstruct;
+import com.santunioni.recipes.ShareMapperHelpers;
+import com.santunioni.recipes.SimplifyMapperConversions;
+import com.santunioni.recipes.SplitHugeMapperMethods;
+import com.santunioni.recipes.UpdateMappingTargetsInPlace;
+import com.santunioni.recipes.UseValueMappingTables;
+import com.santunioni.recipes.removeMapstruct.MigratedMapper;
+import com.santunioni.recipes.removeMapstruct.MigrationCheckpoint;
+import lombok.extern.java.Log;
+import org.jspecify.annotations.NullMarked;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.LargeSourceSet;
+import org.openrewrite.Recipe;
+import org.openrewrite.Result;
+import org.openrewrite.SourceFile;
+import org.openrewrite.config.CompositeRecipe;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.java.JavaParser;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Runs {@link RemoveMapstruct} over source roots on disk, without a build tool.
+ * <p>
+ * Source discovery walks every root in parallel. Files are ordered by their path inside the root, so a mapper
+ * declaration and its generated implementation, which share a package, fall in the same parse batch. Batches are
+ * parsed in parallel, each by its own parser, and types that live in other batches are resolved from the given
+ * classpath. The recipe then runs once over all parsed files, followed by the optimization recipes that keep the
+ * mappers' behavior with {@code --optimize}, and its results are written as a patch or in place.
+ * Written in place, the migrated mappers are listed in the checkpoint, if there is one, so a restart skips them.
+ */
+@Log
+@NullMarked
+public final class RemoveMapstructRunner {
+
+    private RemoveMapstructRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        RunnerArguments arguments;
+        try {
+            arguments = RunnerArguments.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        long start = System.nanoTime();
+        List<SourcePath> sourcePaths = discover(arguments.sourceRoots());
+        log.info("Found " + sourcePaths.size() + " Java files in " + arguments.sourceRoots().size() + " source roots");
+
+        List<SourceFile> sourceFiles = parse(sourcePaths, arguments);
+        log.info("Parsed " + sourceFiles.size() + " files in " + millisSince(start) + " ms");
+
+        ExecutionContext ctx = new InMemoryExecutionContext(t -> log.warning("Recipe error: " + t));
+        LargeSourceSet sourceSet = new InMemoryLargeSourceSet(sourceFiles);
+        RemoveMapstruct removeMapstruct = new RemoveMapstruct(
+                arguments.isolateFailures(),
+                arguments.checkpointFile(),
+                arguments.includePackages(),
+                arguments.excludePackages(),
+                null,
+                null,
+                arguments.nameBasedMatching(),
+                arguments.verifyCompilation(),
+                arguments.classpath().stream().map(Path::toString).toList(),
+                arguments.hotnessProfile(),
+                arguments.hotMapperCount(),
+                arguments.parallelMerge()
+        );
+        Recipe recipe = arguments.optimize() ? withOptimizations(removeMapstruct) : removeMapstruct;
+        List<Result> results = recipe
+                .run(sourceSet, ctx)
+                .getChangeset()
+                .getAllResults();
+        log.info("Recipe changed " + results.size() + " files after " + millisSince(start) + " ms");
+
+        if (arguments.inPlace()) {
+            writeInPlace(results, arguments.baseDir());
+            if (arguments.checkpointFile() != null) {
+                recordMigrated(results, MigrationCheckpoint.load(arguments.checkpointFile()));
+            }
+        } else {
+            writePatch(results, arguments.patchFile());
+        }
+    }
+
+    /**
+     * The migration followed by the optimization recipes that leave what the mappers return as it was. The lazy
+     * views, the parallel bulk mappings and the call counters change or add to the mappers' API, so they are left
+     * out.
+     */
+    private static Recipe withOptimizations(RemoveMapstruct removeMapstruct) {
+        return new CompositeRecipe(List.of(
+                removeMapstruct,
+                new SimplifyMapperConversions(),
+                new ElideImmutableCopies(),
+                new UseValueMappingTables(),
+                new UpdateMappingTargetsInPlace(),
+                new ShareMapperHelpers(),
+                new SplitHugeMapperMethods()
+        ));
+    }
+
+    /**
+     * Walks every source root in parallel and orders the result by the path of each file inside its root.
+     */
+    static List<SourcePath> discover(List<Path> sourceRoots) {
+        return sourceRoots.parallelStream()
+                .filter(Files::isDirectory)
+                .flatMap(root -> {
+                    try (Stream<Path> files = Files.find(root, Integer.MAX_VALUE,
+                            (path, attributes) -> attributes.isRegularFile() && path.toString().endsWith(".java"))) {
+                        return files.map(file -> new SourcePath(file, root.relativize(file).toString()))
+                                .toList()
+                                .stream();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Could not walk " + root, e);
+                    }
+                })
+                .sorted(Comparator.comparing(SourcePath::pathInRoot))
+                .toList();
+    }
+
+    private static List<SourceFile> parse(List<SourcePath> sourcePaths, RunnerArguments arguments)
+            throws Exception {
+        List<List<Path>> batches = batches(sourcePaths, arguments.threads());
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, batches.size()));
+        try {
+            List<Future<List<SourceFile>>> parsed = new ArrayList<>(batches.size());
+            for (List<Path> batch : batches) {
+                parsed.add(executor.submit(() -> {
+                    // Parsers keep compiler state, each batch gets its own
+                    JavaParser parser = JavaParser.fromJavaVersion()
+                            .classpath(arguments.classpath())
+                            .logCompilationWarningsAndErrors(false)
+                            .build();
+                    ExecutionContext parseCtx = new InMemoryExecutionContext(
+                            t -> log.warning("Parse error: " + t));
+                    try (Stream<SourceFile> sourceFiles = parser.parse(batch, arguments.baseDir(), parseCtx)) {
+                        return sourceFiles.toList();
+                    }
+                }));
+            }
+
+            List<SourceFile> sourceFiles = new ArrayList<>(sourcePaths.size());
+            for (Future<List<SourceFile>> batch : parsed) {
+                sourceFiles.addAll(batch.get());
+            }
+            return sourceFiles;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Splits the ordered files into at most {@code threads} contiguous batches, cutting only between packages.
+     */
+    static List<List<Path>> batches(List<SourcePath> sourcePaths, int threads) {
+        int target = Math.max(1, (sourcePaths.size() + threads - 1) / threads);
+        List<List<Path>> batches = new ArrayList<>();
+        List<Path> current = new ArrayList<>(target);
+        String currentPackage = null;
+        for (SourcePath sourcePath : sourcePaths) {
+            String pkg = sourcePath.packageDir();
+            if (current.size() >= target && !pkg.equals(currentPackage)) {
+                batches.add(current);
+                current = new ArrayList<>(target);
+            }
+            current.add(sourcePath.file());
+            currentPackage = pkg;
+        }
+        if (!current.isEmpty()) {
+            batches.add(current);
+        }
+        return batches;
+    }
+
+    private static void writeInPlace(List<Result> results, Path baseDir) throws IOException {
+        for (Result result : results) {
+            if (result.getBefore() != null
+                    && (result.getAfter() == null
+                    || !result.getBefore().getSourcePath().equals(result.getAfter().getSourcePath()))) {
+                Files.deleteIfExists(baseDir.resolve(result.getBefore().getSourcePath()));
+            }
+            if (result.getAfter() != null) {
+                Path target = baseDir.resolve(result.getAfter().getSourcePath());
+                Files.createDirectories(target.getParent());
+                Files.writeString(target, result.getAfter().printAll(), StandardCharsets.UTF_8);
+            }
+        }
+        log.info("Wrote " + results.size() + " files in place");
+    }
+
+    /**
+     * Lists the mappers whose migrated files were written in the checkpoint, so a restarted run skips them. A patch
+     * is not applied yet, so only files written in place count.
+     */
+    private static void recordMigrated(List<Result> results, MigrationCheckpoint checkpoint) {
+        for (Result result : results) {
+            if (result.getAfter() != null) {
+                result.getAfter().getMarkers().findFirst(MigratedMapper.class)
+                        .ifPresent(migrated -> checkpoint.recordMigrated(migrated.getMapperFqn()));
+            }
+        }
+    }
+
+    private static void writePatch(List<Result> results, Path patchFile) throws IOException {
+        StringBuilder patch = new StringBuilder();
+        for (Result result : results) {
+            patch.append(result.diff());
+        }
+        Files.writeString(patchFile, patch, StandardCharsets.UTF_8);
+        log.info("Wrote a patch for " + results.size() + " files to " + patchFile.toAbsolutePath());
+    }
+
+    private static long millisSince(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    record SourcePath(Path file, String pathInRoot) {
+        String packageDir() {
+            int lastSeparator = pathInRoot.lastIndexOf(File.separatorChar);
+            return lastSeparator < 0 ? "" : pathInRoot.substring(0, lastSeparator);
+        }
+    }
+}
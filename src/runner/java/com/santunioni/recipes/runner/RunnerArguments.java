@@ -0,0 +1,142 @@
+package com.santunioni.recipes.runner;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command line of {@link RemoveMapstructRunner}.
+ */
+@NullMarked
+record RunnerArguments(
+        Path baseDir,
+        List<Path> sourceRoots,
+        List<Path> classpath,
+        int threads,
+        boolean inPlace,
+        Path patchFile,
+        boolean isolateFailures,
+        @Nullable String checkpointFile,
+        List<String> includePackages,
+        List<String> excludePackages,
+        boolean nameBasedMatching,
+        boolean verifyCompilation,
+        @Nullable String hotnessProfile,
+        int hotMapperCount,
+        boolean parallelMerge,
+        boolean optimize
+) {
+    static final String USAGE = """
+            Usage: RemoveMapstructRunner --source <dir> [--source <dir>...] [options]
+
+              --source <dir>        A source root to migrate, e.g. src/main/java. Pass the generated sources root
+                                    (e.g. build/generated/sources/annotationProcessor/java/main) as well.
+              --base-dir <dir>      The directory source paths are relative to. Defaults to the working directory.
+              --classpath <paths>   The compile classpath, separated by '%s'. Include the module's compiled
+                                    classes so types resolve across parallel parse batches.
+              --threads <n>         Parse batches run in parallel. Defaults to the number of processors.
+              --in-place            Overwrite the migrated files instead of writing a patch.
+              --patch <file>        Where to write the patch. Defaults to remove-mapstruct.patch.
+              --isolate-failures    Leave a mapper that fails untouched and carry on.
+              --checkpoint <file>   Record failed mappers, and migrated ones once written in place, and skip
+                                    those a previous run recorded.
+              --include-package <glob>
+                                    Only migrate mappers in matching packages, e.g. com.acme.billing.**
+              --exclude-package <glob>
+                                    Do not migrate mappers in matching packages.
+              --name-based          Pair mappers and implementations by package, simple names and imports, so
+                                    --classpath can be left out.
+              --verify              Compile each migrated mapper in memory against the sources and --classpath,
+                                    which is then required, before writing, and log the ones that fail.
+              --profile <file>      A JFR recording or a <class>.<method>,<samples> CSV file from production.
+                                    Only the hottest mappers are marked for optimization recipes.
+              --hot-mappers <n>     How many of the hottest mappers are marked. Defaults to all with samples.
+              --parallel-merge      Build the merged mappers on all cores before editing the files.
+              --optimize            Also run the optimization recipes that keep the mappers' behavior over the
+                                    migrated mappers.
+            """.formatted(File.pathSeparator);
+
+    static RunnerArguments parse(String[] args) {
+        Path baseDir = Paths.get("").toAbsolutePath();
+        List<Path> sourceRoots = new ArrayList<>();
+        List<Path> classpath = new ArrayList<>();
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean inPlace = false;
+        Path patchFile = Paths.get("remove-mapstruct.patch");
+        boolean isolateFailures = false;
+        String checkpointFile = null;
+        List<String> includePackages = new ArrayList<>();
+        List<String> excludePackages = new ArrayList<>();
+        boolean nameBasedMatching = false;
+        boolean verifyCompilation = false;
+        String hotnessProfile = null;
+        int hotMapperCount = 0;
+        boolean parallelMerge = false;
+        boolean optimize = false;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--source" -> sourceRoots.add(Paths.get(value(args, ++i)));
+                case "--base-dir" -> baseDir = Paths.get(value(args, ++i)).toAbsolutePath();
+                case "--classpath" -> {
+                    for (String entry : value(args, ++i).split(File.pathSeparator)) {
+                        if (!entry.isBlank()) {
+                            classpath.add(Paths.get(entry));
+                        }
+                    }
+                }
+                case "--threads" -> threads = Math.max(1, intValue(args, ++i));
+                case "--in-place" -> inPlace = true;
+                case "--patch" -> patchFile = Paths.get(value(args, ++i));
+                case "--isolate-failures" -> isolateFailures = true;
+                case "--checkpoint" -> checkpointFile = value(args, ++i);
+                case "--include-package" -> includePackages.add(value(args, ++i));
+                case "--exclude-package" -> excludePackages.add(value(args, ++i));
+                case "--name-based" -> nameBasedMatching = true;
+                case "--verify" -> verifyCompilation = true;
+                case "--profile" -> hotnessProfile = value(args, ++i);
+                case "--hot-mappers" -> hotMapperCount = Math.max(0, intValue(args, ++i));
+                case "--parallel-merge" -> parallelMerge = true;
+                case "--optimize" -> optimize = true;
+                default -> throw new IllegalArgumentException("Unknown argument " + args[i] + "\n" + USAGE);
+            }
+        }
+
+        if (sourceRoots.isEmpty()) {
+            throw new IllegalArgumentException("At least one --source is required\n" + USAGE);
+        }
+        if (verifyCompilation && classpath.isEmpty()) {
+            throw new IllegalArgumentException("--verify requires --classpath\n" + USAGE);
+        }
+
+        List<Path> absoluteRoots = new ArrayList<>(sourceRoots.size());
+        for (Path sourceRoot : sourceRoots) {
+            absoluteRoots.add(baseDir.resolve(sourceRoot).normalize());
+        }
+
+        return new RunnerArguments(baseDir, absoluteRoots, classpath, threads, inPlace, patchFile,
+                isolateFailures, checkpointFile, includePackages, excludePackages, nameBasedMatching,
+                verifyCompilation, hotnessProfile, hotMapperCount, parallelMerge, optimize);
+    }
+
+    private static String value(String[] args, int i) {
+        if (i >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[i - 1] + "\n" + USAGE);
+        }
+        return args[i];
+    }
+
+    private static int intValue(String[] args, int i) {
+        String value = value(args, i);
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number " + value + " for " + args[i - 1] + "\n" + USAGE, e);
+        }
+    }
+}
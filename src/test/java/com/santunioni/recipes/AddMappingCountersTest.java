@@ -0,0 +1,82 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.santunioni.recipes;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.Recipe;
+
+import java.io.IOException;
+
+import static org.openrewrite.java.Assertions.java;
+
+class AddMappingCountersTest extends MigratedMapperRecipeTest {
+    @Override
+    Recipe recipe() {
+        return new AddMappingCounters();
+    }
+
+    @Test
+    void shouldCountCallsOfPublicMethods() throws IOException {
+        String fixtures = "fixtures/shouldAddMappingCounters/";
+        rewriteRun(
+                java(
+                        readResource(fixtures + "context/TagEntity.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/TagEntity.java")
+                ),
+                java(
+                        readResource(fixtures + "context/TagDto.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/TagDto.java")
+                ),
+                java(
+                        readResource(fixtures + "context/TagMapperImpl.java"),
+                        spec -> spec.path("build/generated/annotationProcessor/main/java/com/santunioni/fixtures/TagMapperImpl.java")
+                ),
+                java(
+                        readResource(fixtures + "before/TagMapper.java"),
+                        readResource(fixtures + "after/TagMapper.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/TagMapper.java")
+                )
+        );
+    }
+
+    /**
+     * The original statements move into a try block, so the finally block times the early return too.
+     */
+    @Test
+    void shouldTimeSampledCalls() throws IOException {
+        String fixtures = "fixtures/shouldAddMappingCounters/";
+        rewriteRun(
+                spec -> spec.recipes(migrateThen(new AddMappingCounters(1024))),
+                java(
+                        readResource(fixtures + "context/TagEntity.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/TagEntity.java")
+                ),
+                java(
+                        readResource(fixtures + "context/TagDto.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/TagDto.java")
+                ),
+                java(
+                        readResource(fixtures + "context/TagMapperImpl.java"),
+                        spec -> spec.path("build/generated/annotationProcessor/main/java/com/santunioni/fixtures/TagMapperImpl.java")
+                ),
+                java(
+                        readResource(fixtures + "before/TagMapper.java"),
+                        readResource(fixtures + "after/SampledTagMapper.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/TagMapper.java")
+                )
+        );
+    }
+}
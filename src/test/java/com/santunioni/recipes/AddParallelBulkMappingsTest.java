@@ -0,0 +1,66 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.santunioni.recipes;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.Recipe;
+
+import java.io.IOException;
+
+import static org.openrewrite.java.Assertions.java;
+
+class AddParallelBulkMappingsTest extends MigratedMapperRecipeTest {
+    @Override
+    Recipe recipe() {
+        return new AddParallelBulkMappings();
+    }
+
+    /**
+     * Both mappers are made of final fields only. The element mapping of the label mapper reads a map that
+     * {@code addAlias} can change while the list is mapped, so only the tag mapper gets a parallel variant.
+     */
+    @Test
+    void shouldOnlyAddParallelVariantWhenElementMappingReadsNoMutableState() throws IOException {
+        rewriteRun(
+                java(
+                        readResource("fixtures/shouldAddParallelBulkMappings/context/TagEntity.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/TagEntity.java")
+                ),
+                java(
+                        readResource("fixtures/shouldAddParallelBulkMappings/context/TagDto.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/TagDto.java")
+                ),
+                java(
+                        readResource("fixtures/shouldAddParallelBulkMappings/context/TagMapperImpl.java"),
+                        spec -> spec.path("build/generated/annotationProcessor/main/java/com/santunioni/fixtures/TagMapperImpl.java")
+                ),
+                java(
+                        readResource("fixtures/shouldAddParallelBulkMappings/before/TagMapper.java"),
+                        readResource("fixtures/shouldAddParallelBulkMappings/after/TagMapper.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/TagMapper.java")
+                ),
+                java(
+                        readResource("fixtures/shouldAddParallelBulkMappings/context/LabelMapperImpl.java"),
+                        spec -> spec.path("build/generated/annotationProcessor/main/java/com/santunioni/fixtures/LabelMapperImpl.java")
+                ),
+                java(
+                        readResource("fixtures/shouldAddParallelBulkMappings/before/LabelMapper.java"),
+                        readResource("fixtures/shouldAddParallelBulkMappings/after/LabelMapper.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/LabelMapper.java")
+                )
+        );
+    }
+}
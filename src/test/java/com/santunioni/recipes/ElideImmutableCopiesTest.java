@@ -0,0 +1,75 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.santunioni.recipes;
+
+import com.santunioni.recipes.table.MapperElidedCopies;
+import org.junit.jupiter.api.Test;
+import org.openrewrite.Recipe;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.java.Assertions.java;
+
+class ElideImmutableCopiesTest extends MigratedMapperRecipeTest {
+    @Override
+    Recipe recipe() {
+        return new ElideImmutableCopies();
+    }
+
+    /**
+     * The copy method of the immutable money is removed and the price shared, and the tags are passed on as they
+     * are to a setter that copies them.
+     */
+    @Test
+    void shouldElideCopiesOfImmutableValuesAndCopiedCollections() throws IOException {
+        String fixtures = "fixtures/shouldElideImmutableCopies/";
+        rewriteRun(
+                spec -> spec.dataTable(MapperElidedCopies.Row.class, rows -> {
+                    assertThat(rows).hasSize(2);
+                    assertThat(rows.get(0).getMapperFqn()).isEqualTo("com.santunioni.fixtures.OrderMapper");
+                    assertThat(rows.get(0).getMethod()).isEqualTo("moneyToMoney");
+                    assertThat(rows.get(0).getCopy()).isEqualTo("Money moneyToMoney(Money)");
+                    assertThat(rows.get(0).getReason())
+                            .isEqualTo("Money is immutable, and the method copied each of its fields");
+                    assertThat(rows.get(1).getMethod()).isEqualTo("toOrderDto");
+                    assertThat(rows.get(1).getCopy()).isEqualTo("new ArrayList<String>(list)");
+                    assertThat(rows.get(1).getReason()).isEqualTo("OrderDto.setTags copies its argument");
+                }),
+                java(
+                        readResource(fixtures + "context/Money.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/Money.java")
+                ),
+                java(
+                        readResource(fixtures + "context/OrderEntity.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/OrderEntity.java")
+                ),
+                java(
+                        readResource(fixtures + "context/OrderDto.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/OrderDto.java")
+                ),
+                java(
+                        readResource(fixtures + "context/OrderMapperImpl.java"),
+                        spec -> spec.path("build/generated/annotationProcessor/main/java/com/santunioni/fixtures/OrderMapperImpl.java")
+                ),
+                java(
+                        readResource(fixtures + "before/OrderMapper.java"),
+                        readResource(fixtures + "after/OrderMapper.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/OrderMapper.java")
+                )
+        );
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.santunioni.recipes;
+
+import com.santunioni.recipes.table.MapperHotPathRisks;
+import org.junit.jupiter.api.Test;
+import org.openrewrite.Recipe;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.java.Assertions.java;
+
+class FindMapperHotPathRisksTest extends MigratedMapperRecipeTest {
+    @Override
+    Recipe recipe() {
+        return new FindMapperHotPathRisks();
+    }
+
+    /**
+     * The recipe only reports: the mapper is merged as it would be without it. The carrier name chain is read
+     * twice, the carrier code chain once.
+     */
+    @Test
+    void shouldReportRisksMostExpensiveFirst() throws IOException {
+        String fixtures = "fixtures/shouldFindMapperHotPathRisks/";
+        rewriteRun(
+                spec -> spec.dataTable(MapperHotPathRisks.Row.class, rows -> {
+                    assertThat(rows).extracting(MapperHotPathRisks.Row::getPattern).containsExactly(
+                            "FORMATTER_PER_CALL", "STRING_FORMAT", "STREAM_PIPELINE", "STRING_CONCATENATION",
+                            "REPEATED_GETTER_CHAIN");
+                    assertThat(rows).extracting(MapperHotPathRisks.Row::getEstimatedCost)
+                            .containsExactly(60, 30, 20, 8, 3);
+                    assertThat(rows).allSatisfy(row -> {
+                        assertThat(row.getMapperFqn()).isEqualTo("com.santunioni.fixtures.ShipmentMapper");
+                        assertThat(row.getMethod()).isEqualTo("toShipmentDto");
+                    });
+                    assertThat(rows.get(0).getDetail()).isEqualTo("new SimpleDateFormat");
+                    assertThat(rows.get(4).getDetail()).isEqualTo("shipmentEntity.getCarrier().getName()");
+                    assertThat(rows.get(4).getOccurrences()).isEqualTo(2);
+                }),
+                java(
+                        readResource(fixtures + "context/CarrierEntity.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/CarrierEntity.java")
+                ),
+                java(
+                        readResource(fixtures + "context/ShipmentEntity.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/ShipmentEntity.java")
+                ),
+                java(
+                        readResource(fixtures + "context/ShipmentDto.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/ShipmentDto.java")
+                ),
+                java(
+                        readResource(fixtures + "context/ShipmentMapperImpl.java"),
+                        spec -> spec.path("build/generated/annotationProcessor/main/java/com/santunioni/fixtures/ShipmentMapperImpl.java")
+                ),
+                java(
+                        readResource(fixtures + "before/ShipmentMapper.java"),
+                        readResource(fixtures + "after/ShipmentMapper.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/ShipmentMapper.java")
+                )
+        );
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.santunioni.recipes;
+
+import org.jspecify.annotations.NonNull;
+import org.openrewrite.Recipe;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.format.AutoFormat;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Runs the recipe under test after {@link RemoveMapstruct}, as it is meant to be used, and formats the result as
+ * the fixtures are. The fixtures are read from {@code src/test/resources}.
+ */
+abstract class MigratedMapperRecipeTest implements RewriteTest {
+    static @NonNull String readResource(String resource) throws IOException {
+        try (InputStream stream = Objects.requireNonNull(
+                MigratedMapperRecipeTest.class.getClassLoader()
+                        .getResourceAsStream(resource))) {
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    static JavaParser.Builder<?, ?> parser() {
+        return JavaParser.fromJavaVersion()
+                .classpath("mapstruct", "lombok", "junit-jupiter-api");
+    }
+
+    /**
+     * {@link RemoveMapstruct}, then the recipe, then the formatting of the fixtures.
+     */
+    static Recipe[] migrateThen(Recipe recipe) {
+        return new Recipe[]{new RemoveMapstruct(), recipe,
+                new AutoFormat("com.santunioni.styles.AutoFormatRecipeOutputForTest", false)};
+    }
+
+    /**
+     * The recipe under test.
+     */
+    abstract Recipe recipe();
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec.recipes(migrateThen(recipe()))
+                .parser(parser());
+    }
+}
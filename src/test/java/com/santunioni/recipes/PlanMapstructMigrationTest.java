@@ -0,0 +1,165 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.santunioni.recipes;
+
+import com.santunioni.recipes.table.MapperMigrationPlan;
+import com.santunioni.recipes.table.MapperStaleImplementations;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.Recipe;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.SourceSpecs;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.java.Assertions.java;
+
+class PlanMapstructMigrationTest extends MigratedMapperRecipeTest {
+    @Override
+    Recipe recipe() {
+        return new PlanMapstructMigration();
+    }
+
+    /**
+     * The plan runs on its own, as it changes nothing for other recipes to build on.
+     */
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec.recipe(recipe())
+                .parser(parser());
+    }
+
+    private static SourceSpecs[] customerMapper(String implResource) throws IOException {
+        return new SourceSpecs[]{
+                java(
+                        readResource("fixtures/shouldReplaceAbstractMapper/context/CustomerDto.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/CustomerDto.java")
+                ),
+                java(
+                        readResource("fixtures/shouldReplaceAbstractMapper/context/CustomerEntity.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/CustomerEntity.java")
+                ),
+                java(
+                        readResource(implResource),
+                        spec -> spec.path("build/generated/annotationProcessor/main/java/com/santunioni/fixtures/CustomerMapperImpl.java")
+                ),
+                java(
+                        readResource("fixtures/shouldReplaceAbstractMapper/before/CustomerMapper.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/CustomerMapper.java")
+                )
+        };
+    }
+
+    @Test
+    void shouldPlanWithoutChangingAnything() throws IOException {
+        rewriteRun(
+                spec -> spec.dataTable(MapperMigrationPlan.Row.class, rows -> {
+                    assertThat(rows).hasSize(1);
+                    assertThat(rows.get(0).getMapperFqn()).isEqualTo("com.santunioni.fixtures.CustomerMapper");
+                    assertThat(rows.get(0).getImplementations()).isEqualTo(1);
+                    assertThat(rows.get(0).getOutcome()).isEqualTo("MIGRATE");
+                    assertThat(rows.get(0).getCollapsedDecorator()).isEmpty();
+                }),
+                customerMapper("fixtures/shouldReplaceAbstractMapper/context/CustomerMapperImpl.java")
+        );
+    }
+
+    @Test
+    void shouldPlanStaleImplementationAsSkipped() throws IOException {
+        rewriteRun(
+                spec -> spec
+                        .dataTable(MapperMigrationPlan.Row.class, rows -> {
+                            assertThat(rows).hasSize(1);
+                            assertThat(rows.get(0).getOutcome()).isEqualTo("STALE");
+                        })
+                        .dataTable(MapperStaleImplementations.Row.class, rows -> {
+                            assertThat(rows).hasSize(1);
+                            assertThat(rows.get(0).getMapperFqn()).isEqualTo("com.santunioni.fixtures.CustomerMapper");
+                        }),
+                customerMapper("fixtures/shouldSkipStaleImplementation/context/CustomerMapperImpl.java")
+        );
+    }
+
+    @Test
+    void shouldPlanExcludedPackageAsOutOfScope() throws IOException {
+        rewriteRun(
+                spec -> spec
+                        .recipe(new PlanMapstructMigration(null, null, List.of("com.santunioni.fixtures"), null, null))
+                        .dataTable(MapperMigrationPlan.Row.class, rows -> {
+                            assertThat(rows).hasSize(1);
+                            assertThat(rows.get(0).getOutcome()).isEqualTo("OUT_OF_SCOPE");
+                        }),
+                customerMapper("fixtures/shouldReplaceAbstractMapper/context/CustomerMapperImpl.java")
+        );
+    }
+
+    @Test
+    void shouldPlanMapperThatFailedBeforeAsSkipped(@TempDir Path tempDir) throws IOException {
+        Path checkpoint = tempDir.resolve("remove-mapstruct.checkpoint");
+        Files.writeString(checkpoint, "FAILED\tcom.santunioni.fixtures.CustomerMapper\n");
+        rewriteRun(
+                spec -> spec
+                        .recipe(new PlanMapstructMigration(checkpoint.toString(), null, null, null, null))
+                        .dataTable(MapperMigrationPlan.Row.class, rows -> {
+                            assertThat(rows).hasSize(1);
+                            assertThat(rows.get(0).getOutcome()).isEqualTo("FAILED_BEFORE");
+                            assertThat(rows.get(0).getConsumerFiles()).isZero();
+                        }),
+                customerMapper("fixtures/shouldReplaceAbstractMapper/context/CustomerMapperImpl.java")
+        );
+    }
+
+    @Test
+    void shouldPlanCollapsedDecorator() throws IOException {
+        String fixtures = "fixtures/shouldCollapseDecoratedMapper/";
+        rewriteRun(
+                spec -> spec.dataTable(MapperMigrationPlan.Row.class, rows -> {
+                    assertThat(rows).hasSize(1);
+                    assertThat(rows.get(0).getOutcome()).isEqualTo("MIGRATE");
+                    assertThat(rows.get(0).getCollapsedDecorator())
+                            .isEqualTo("src/main/java/com/santunioni/fixtures/PersonMapperDecorator.java");
+                }),
+                java(
+                        readResource(fixtures + "context/Person.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/Person.java")
+                ),
+                java(
+                        readResource(fixtures + "context/PersonDto.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/PersonDto.java")
+                ),
+                java(
+                        readResource(fixtures + "context/PersonMapperImpl.java"),
+                        spec -> spec.path("build/generated/annotationProcessor/main/java/com/santunioni/fixtures/PersonMapperImpl.java")
+                ),
+                java(
+                        readResource(fixtures + "context/PersonMapperImpl_.java"),
+                        spec -> spec.path("build/generated/annotationProcessor/main/java/com/santunioni/fixtures/PersonMapperImpl_.java")
+                ),
+                java(
+                        readResource(fixtures + "before/PersonMapperDecorator.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/PersonMapperDecorator.java")
+                ),
+                java(
+                        readResource(fixtures + "before/PersonMapper.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/PersonMapper.java")
+                )
+        );
+    }
+}
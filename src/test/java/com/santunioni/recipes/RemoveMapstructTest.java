@@ -15,20 +15,31 @@
  */
 package com.santunioni.recipes;
 
+import com.santunioni.recipes.removeMapstruct.MigratedMapper;
+import com.santunioni.recipes.removeMapstruct.MigratedMapperReferences;
+import com.santunioni.recipes.table.MapperCompilationFailures;
+import com.santunioni.recipes.table.MapperHotness;
+import com.santunioni.recipes.table.MapperMigrationFailures;
 import org.jspecify.annotations.NonNull;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.openrewrite.DocumentExample;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.format.AutoFormat;
 import org.openrewrite.test.RecipeSpec;
 import org.openrewrite.test.RewriteTest;
 import org.openrewrite.test.SourceSpecs;
+import org.openrewrite.test.TypeValidation;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Objects;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.openrewrite.java.Assertions.java;
 
 class RemoveMapstructTest implements RewriteTest {
@@ -112,5 +123,515 @@ class RemoveMapstructTest implements RewriteTest {
         );
     }
 
+    @Test
+    void shouldCollapseDecoratedMapper() throws IOException {
+        String fixtures = "fixtures/shouldCollapseDecoratedMapper/";
+        rewriteRun(
+                java(
+                        readResource(fixtures + "context/Person.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/Person.java")
+                ),
+                java(
+                        readResource(fixtures + "context/PersonDto.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/PersonDto.java")
+                ),
+                java(
+                        readResource(fixtures + "context/PersonMapperImpl.java"),
+                        spec -> spec.path("build/generated/annotationProcessor/main/java/com/santunioni/fixtures/PersonMapperImpl.java")
+                ),
+                java(
+                        readResource(fixtures + "context/PersonMapperImpl_.java"),
+                        spec -> spec.path("build/generated/annotationProcessor/main/java/com/santunioni/fixtures/PersonMapperImpl_.java")
+                ),
+                java(
+                        readResource(fixtures + "before/PersonMapperDecorator.java"),
+                        (String) null,
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/PersonMapperDecorator.java")
+                ),
+                java(
+                        readResource(fixtures + "before/PersonMapper.java"),
+                        readResource(fixtures + "after/PersonMapper.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/PersonMapper.java")
+                )
+        );
+    }
+
+    /**
+     * The decorator and the generated implementation both have a {@code separator} field, so the merge fails. The
+     * decorator must stay with its mapper, even though the edit visit comes to it first.
+     */
+    @Test
+    void shouldKeepDecoratorOfMapperThatFailsToMerge() throws IOException {
+        String fixtures = "fixtures/shouldCollapseDecoratedMapper/";
+        rewriteRun(
+                spec -> spec.recipes(
+                                new RemoveMapstruct(true, null, null, null, null, null, null, null, null, null, null,
+                                        null),
+                                new AutoFormat("com.santunioni.styles.AutoFormatRecipeOutputForTest", false))
+                        .dataTable(MapperMigrationFailures.Row.class, rows -> {
+                            assertThat(rows).hasSize(1);
+                            assertThat(rows.get(0).getMapperFqn()).isEqualTo("com.santunioni.fixtures.PersonMapper");
+                        }),
+                java(
+                        readResource(fixtures + "context/Person.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/Person.java")
+                ),
+                java(
+                        readResource(fixtures + "context/PersonDto.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/PersonDto.java")
+                ),
+                java(
+                        readResource(fixtures + "context/PersonMapperImpl.java"),
+                        spec -> spec.path("build/generated/annotationProcessor/main/java/com/santunioni/fixtures/PersonMapperImpl.java")
+                ),
+                java(
+                        readResource("fixtures/shouldKeepDecoratorOfFailedMapper/context/PersonMapperImpl_.java"),
+                        spec -> spec.path("build/generated/annotationProcessor/main/java/com/santunioni/fixtures/PersonMapperImpl_.java")
+                ),
+                java(
+                        readResource("fixtures/shouldKeepDecoratorOfFailedMapper/before/PersonMapperDecorator.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/PersonMapperDecorator.java")
+                ),
+                java(
+                        readResource(fixtures + "before/PersonMapper.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/PersonMapper.java")
+                )
+        );
+    }
+
+    @Test
+    void shouldReplaceAbstractMapperWithNameBasedMatchingWithoutClasspath() throws IOException {
+        rewriteRun(
+                spec -> spec.recipes(
+                                new RemoveMapstruct(null, null, null, null, null, null, true, null, null, null, null,
+                                        null),
+                                new AutoFormat("com.santunioni.styles.AutoFormatRecipeOutputForTest", false))
+                        .parser(JavaParser.fromJavaVersion())
+                        .typeValidationOptions(TypeValidation.none())
+                        .afterTypeValidationOptions(TypeValidation.none()),
+                java(
+                        readResource("fixtures/shouldReplaceAbstractMapper/context/CustomerDto.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/CustomerDto.java")
+                ),
+                java(
+                        readResource("fixtures/shouldReplaceAbstractMapper/context/CustomerEntity.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/CustomerEntity.java")
+                ),
+                java(
+                        readResource("fixtures/shouldReplaceAbstractMapper/context/CustomerMapperImpl.java"),
+                        spec -> spec.path("build/generated/annotationProcessor/main/java/com/santunioni/fixtures/CustomerMapperImpl.java")
+                ),
+                java(
+                        readResource("fixtures/shouldReplaceAbstractMapper/before/CustomerMapper.java"),
+                        readResource("fixtures/shouldReplaceAbstractMapper/after/CustomerMapper.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/CustomerMapper.java")
+                )
+        );
+    }
+
+    @Test
+    void shouldReplaceAbstractMapperWithParallelMerge() throws IOException {
+        rewriteRun(
+                spec -> spec.recipes(
+                        new RemoveMapstruct(null, null, null, null, null, null, null, null, null, null, null, true),
+                        new AutoFormat("com.santunioni.styles.AutoFormatRecipeOutputForTest", false)),
+                java(
+                        readResource("fixtures/shouldReplaceAbstractMapper/context/CustomerDto.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/CustomerDto.java")
+                ),
+                java(
+                        readResource("fixtures/shouldReplaceAbstractMapper/context/CustomerEntity.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/CustomerEntity.java")
+                ),
+                java(
+                        readResource("fixtures/shouldReplaceAbstractMapper/context/CustomerMapperImpl.java"),
+                        spec -> spec.path("build/generated/annotationProcessor/main/java/com/santunioni/fixtures/CustomerMapperImpl.java")
+                ),
+                java(
+                        readResource("fixtures/shouldReplaceAbstractMapper/before/CustomerMapper.java"),
+                        readResource("fixtures/shouldReplaceAbstractMapper/after/CustomerMapper.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/CustomerMapper.java")
+                )
+        );
+    }
+
+    /**
+     * The generated implementation calls the declaration's method through {@code super}, which the merged class no
+     * longer has. The merge goes through, and the compilation in the next cycle reports it.
+     */
+    @Test
+    void shouldReportMergedMapperThatDoesNotCompile(@TempDir Path classpath) throws IOException {
+        String fixtures = "fixtures/shouldReportMergeThatDoesNotCompile/";
+        rewriteRun(
+                spec -> spec.recipes(
+                                new RemoveMapstruct(null, null, null, null, null, null, null, true,
+                                        List.of(classpath.toString()), null, null, null),
+                                new AutoFormat("com.santunioni.styles.AutoFormatRecipeOutputForTest", false))
+                        .dataTable(MapperCompilationFailures.Row.class, rows -> {
+                            assertThat(rows).hasSize(1);
+                            assertThat(rows.get(0).getMapperFqn()).isEqualTo("com.santunioni.fixtures.CustomerMapper");
+                            assertThat(rows.get(0).getErrors()).contains("getSignature");
+                        }),
+                java(
+                        readResource("fixtures/shouldReplaceAbstractMapper/context/CustomerDto.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/CustomerDto.java")
+                ),
+                java(
+                        readResource("fixtures/shouldReplaceAbstractMapper/context/CustomerEntity.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/CustomerEntity.java")
+                ),
+                java(
+                        readResource(fixtures + "context/CustomerMapperImpl.java"),
+                        spec -> spec.path("build/generated/annotationProcessor/main/java/com/santunioni/fixtures/CustomerMapperImpl.java")
+                ),
+                java(
+                        readResource(fixtures + "before/CustomerMapper.java"),
+                        readResource(fixtures + "after/CustomerMapper.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/CustomerMapper.java")
+                )
+        );
+    }
+
+    @Test
+    void shouldRequireVerificationClasspathToVerifyCompilation() {
+        assertThat(new RemoveMapstruct(null, null, null, null, null, null, null, true, null, null, null, null)
+                .validate().isInvalid()).isTrue();
+    }
+
+    @Test
+    void shouldNotMigrateMapperInExcludedPackage() throws IOException {
+        rewriteRun(
+                spec -> spec.recipes(
+                        new RemoveMapstruct(null, null, null, List.of("com.santunioni.**"), null, null, null, null,
+                                null, null, null, null),
+                        new AutoFormat("com.santunioni.styles.AutoFormatRecipeOutputForTest", false)),
+                java(
+                        readResource("fixtures/shouldReplaceAbstractMapper/context/CustomerDto.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/CustomerDto.java")
+                ),
+                java(
+                        readResource("fixtures/shouldReplaceAbstractMapper/context/CustomerEntity.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/CustomerEntity.java")
+                ),
+                java(
+                        readResource("fixtures/shouldReplaceAbstractMapper/context/CustomerMapperImpl.java"),
+                        spec -> spec.path("build/generated/annotationProcessor/main/java/com/santunioni/fixtures/CustomerMapperImpl.java")
+                ),
+                java(
+                        readResource("fixtures/shouldReplaceAbstractMapper/before/CustomerMapper.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/CustomerMapper.java")
+                )
+        );
+    }
+
+    @Test
+    void shouldNotMigrateMapperInExcludedSourcePath() throws IOException {
+        rewriteRun(
+                spec -> spec.recipes(
+                        new RemoveMapstruct(null, null, null, null, null, List.of("**/UserMapper.java"), null, null,
+                                null, null, null, null),
+                        new AutoFormat("com.santunioni.styles.AutoFormatRecipeOutputForTest", false)),
+                java(
+                        readResource("fixtures/shouldReplaceInterfaceMapper/context/UserDto.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/UserDto.java")
+                ),
+                java(
+                        readResource("fixtures/shouldReplaceInterfaceMapper/context/UserEntity.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/UserEntity.java")
+                ),
+                java(
+                        readResource("fixtures/shouldReplaceInterfaceMapper/context/UserMapperImpl.java"),
+                        spec -> spec.path("build/generated/annotationProcessor/main/java/com/santunioni/fixtures/UserMapperImpl.java")
+                ),
+                java(
+                        readResource("fixtures/shouldReplaceInterfaceMapper/before/UserService.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/UserService.java")
+                ),
+                java(
+                        readResource("fixtures/shouldReplaceInterfaceMapper/before/UserMapper.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/UserMapper.java")
+                )
+        );
+    }
+
+    /**
+     * The implementation has a field named like one of the declaration's, so the merge fails. It is reported once
+     * however many cycles the run has, and a run restarted with the checkpoint skips it.
+     */
+    @Test
+    void shouldIsolateFailedMapperAndSkipItWhenRestarted(@TempDir Path tempDir) throws IOException {
+        Path checkpoint = tempDir.resolve("remove-mapstruct.checkpoint");
+        SourceSpecs[] sources = {
+                java(
+                        readResource("fixtures/shouldReplaceAbstractMapper/context/CustomerDto.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/CustomerDto.java")
+                ),
+                java(
+                        readResource("fixtures/shouldReplaceAbstractMapper/context/CustomerEntity.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/CustomerEntity.java")
+                ),
+                java(
+                        readResource("fixtures/shouldIsolateFailedMapper/context/CustomerMapperImpl.java"),
+                        spec -> spec.path("build/generated/annotationProcessor/main/java/com/santunioni/fixtures/CustomerMapperImpl.java")
+                ),
+                java(
+                        readResource("fixtures/shouldReplaceAbstractMapper/before/CustomerMapper.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/CustomerMapper.java")
+                )
+        };
+
+        rewriteRun(
+                spec -> spec.recipes(
+                                new RemoveMapstruct(true, checkpoint.toString(), null, null, null, null, null, null,
+                                        null, null, null, null),
+                                new AutoFormat("com.santunioni.styles.AutoFormatRecipeOutputForTest", false))
+                        .dataTable(MapperMigrationFailures.Row.class, rows -> {
+                            assertThat(rows).hasSize(1);
+                            assertThat(rows.get(0).getMapperFqn()).isEqualTo("com.santunioni.fixtures.CustomerMapper");
+                            assertThat(rows.get(0).getMessage()).contains("myParentField");
+                        }),
+                sources
+        );
+        assertThat(Files.readAllLines(checkpoint))
+                .containsExactly("FAILED\tcom.santunioni.fixtures.CustomerMapper");
+
+        rewriteRun(
+                spec -> spec.recipes(
+                                new RemoveMapstruct(true, checkpoint.toString(), null, null, null, null, null, null,
+                                        null, null, null, null),
+                                new AutoFormat("com.santunioni.styles.AutoFormatRecipeOutputForTest", false))
+                        .dataTable(MapperMigrationFailures.Row.class, rows -> {
+                            assertThat(rows).hasSize(1);
+                            assertThat(rows.get(0).getMessage())
+                                    .isEqualTo("Skipped: failed to migrate in a previous run");
+                        }),
+                sources
+        );
+        assertThat(Files.readAllLines(checkpoint))
+                .containsExactly("FAILED\tcom.santunioni.fixtures.CustomerMapper");
+    }
+
+    /**
+     * Without isolated failures, fields of the same name are merged as they always were.
+     */
+    @Test
+    void shouldOnlyFailMergeOfClashingFieldsWhenIsolatingFailures() throws IOException {
+        rewriteRun(
+                java(
+                        readResource("fixtures/shouldReplaceAbstractMapper/context/CustomerDto.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/CustomerDto.java")
+                ),
+                java(
+                        readResource("fixtures/shouldReplaceAbstractMapper/context/CustomerEntity.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/CustomerEntity.java")
+                ),
+                java(
+                        readResource("fixtures/shouldIsolateFailedMapper/context/CustomerMapperImpl.java"),
+                        spec -> spec.path("build/generated/annotationProcessor/main/java/com/santunioni/fixtures/CustomerMapperImpl.java")
+                ),
+                java(
+                        readResource("fixtures/shouldReplaceAbstractMapper/before/CustomerMapper.java"),
+                        readResource("fixtures/shouldIsolateFailedMapper/after/CustomerMapper.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/CustomerMapper.java")
+                )
+        );
+    }
+
+    /**
+     * A previous run migrated the mapper and wrote it, so a restart with its checkpoint leaves it alone.
+     */
+    @Test
+    void shouldSkipMapperMigratedBeforeWhenRestarted(@TempDir Path tempDir) throws IOException {
+        Path checkpoint = tempDir.resolve("remove-mapstruct.checkpoint");
+        Files.writeString(checkpoint, "MIGRATED\tcom.santunioni.fixtures.CustomerMapper\n");
+        rewriteRun(
+                spec -> spec.recipes(
+                        new RemoveMapstruct(true, checkpoint.toString(), null, null, null, null, null, null,
+                                null, null, null, null),
+                        new AutoFormat("com.santunioni.styles.AutoFormatRecipeOutputForTest", false)),
+                java(
+                        readResource("fixtures/shouldReplaceAbstractMapper/context/CustomerDto.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/CustomerDto.java")
+                ),
+                java(
+                        readResource("fixtures/shouldReplaceAbstractMapper/context/CustomerEntity.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/CustomerEntity.java")
+                ),
+                java(
+                        readResource("fixtures/shouldReplaceAbstractMapper/context/CustomerMapperImpl.java"),
+                        spec -> spec.path("build/generated/annotationProcessor/main/java/com/santunioni/fixtures/CustomerMapperImpl.java")
+                ),
+                java(
+                        readResource("fixtures/shouldReplaceAbstractMapper/before/CustomerMapper.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/CustomerMapper.java")
+                )
+        );
+        assertThat(Files.readAllLines(checkpoint))
+                .containsExactly("MIGRATED\tcom.santunioni.fixtures.CustomerMapper");
+    }
+
+    @Test
+    void shouldNotMigrateMapperWithStaleImplementation() throws IOException {
+        rewriteRun(
+                java(
+                        readResource("fixtures/shouldReplaceAbstractMapper/context/CustomerDto.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/CustomerDto.java")
+                ),
+                java(
+                        readResource("fixtures/shouldReplaceAbstractMapper/context/CustomerEntity.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/CustomerEntity.java")
+                ),
+                java(
+                        readResource("fixtures/shouldSkipStaleImplementation/context/CustomerMapperImpl.java"),
+                        spec -> spec.path("build/generated/annotationProcessor/main/java/com/santunioni/fixtures/CustomerMapperImpl.java")
+                ),
+                java(
+                        readResource("fixtures/shouldReplaceAbstractMapper/before/CustomerMapper.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/CustomerMapper.java")
+                )
+        );
+    }
+
+    /**
+     * The second cycle scans the generated implementation again, which still implements the merged mapper, but
+     * skips the files the first cycle marked.
+     */
+    @Test
+    void shouldSkipMarkedFilesInLaterCycles() throws IOException {
+        rewriteRun(
+                spec -> spec.cycles(2).expectedCyclesThatMakeChanges(1),
+                java(
+                        readResource("fixtures/shouldReplaceInterfaceMapper/context/UserDto.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/UserDto.java")
+                ),
+                java(
+                        readResource("fixtures/shouldReplaceInterfaceMapper/context/UserEntity.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/UserEntity.java")
+                ),
+                java(
+                        readResource("fixtures/shouldReplaceInterfaceMapper/context/UserMapperImpl.java"),
+                        spec -> spec.path("build/generated/annotationProcessor/main/java/com/santunioni/fixtures/UserMapperImpl.java")
+                ),
+                java(
+                        readResource("fixtures/shouldReplaceInterfaceMapper/before/UserService.java"),
+                        readResource("fixtures/shouldReplaceInterfaceMapper/after/UserService.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/UserService.java")
+                                .afterRecipe(userService -> assertThat(userService.getMarkers()
+                                        .findFirst(MigratedMapperReferences.class)).isPresent())
+                ),
+                java(
+                        readResource("fixtures/shouldReplaceInterfaceMapper/before/UserMapper.java"),
+                        readResource("fixtures/shouldReplaceInterfaceMapper/after/UserMapper.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/UserMapper.java")
+                                .afterRecipe(userMapper -> assertThat(userMapper.getMarkers()
+                                        .findFirst(MigratedMapper.class)).isPresent())
+                )
+        );
+    }
+
+    @Test
+    void shouldNotChangeAlreadyMigratedMapper() throws IOException {
+        SourceSpecs makeAvailableUserDto = java(
+                readResource("fixtures/shouldReplaceInterfaceMapper/context/UserDto.java"),
+                spec -> spec.path("src/main/java/com/santunioni/fixtures/UserDto.java")
+        );
+
+        SourceSpecs makeAvailableUserEntity = java(
+                readResource("fixtures/shouldReplaceInterfaceMapper/context/UserEntity.java"),
+                spec -> spec.path("src/main/java/com/santunioni/fixtures/UserEntity.java")
+        );
+
+        SourceSpecs makeAvailableStaleGeneratedClass = java(
+                readResource("fixtures/shouldReplaceInterfaceMapper/context/UserMapperImpl.java"),
+                spec -> spec.path("build/generated/annotationProcessor/main/java/com/santunioni/fixtures/UserMapperImpl.java")
+        );
+
+        rewriteRun(
+                makeAvailableUserDto,
+                makeAvailableUserEntity,
+                makeAvailableStaleGeneratedClass,
+                java(
+                        readResource("fixtures/shouldReplaceInterfaceMapper/after/UserService.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/UserService.java")
+                ),
+                java(
+                        readResource("fixtures/shouldReplaceInterfaceMapper/after/UserMapper.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/UserMapper.java")
+                )
+        );
+    }
+
+    /**
+     * Only the mapper with the most samples in the profile is optimized: {@code CustomerMapper} is merged as it is.
+     * Samples are resolved to the declaration methods: {@code toCustomerDto} has as many in the declaration as in
+     * the implementation that runs it, and those are not added up, and the helper of the implementation doesn't
+     * count on its own.
+     */
+    @Test
+    void shouldOnlyOptimizeHottestMapper(@TempDir Path tempDir) throws IOException {
+        Path profile = Files.writeString(tempDir.resolve("profile.csv"), """
+                method,samples
+                com.santunioni.fixtures.OrderStatusMapperImpl.toDto,90
+                com.santunioni.fixtures.CustomerMapperImpl::toCustomerDto,10
+                com.santunioni.fixtures.CustomerMapper.toCustomerDto,10
+                com.santunioni.fixtures.CustomerMapperImpl.customerEntityToName,500
+                """);
+
+        rewriteRun(
+                spec -> spec.recipes(
+                                new RemoveMapstruct(null, null, null, null, null, null, null, null, null,
+                                        profile.toString(), 1, null),
+                                new UseValueMappingTables(),
+                                new AutoFormat("com.santunioni.styles.AutoFormatRecipeOutputForTest", false))
+                        .dataTable(MapperHotness.Row.class, rows -> {
+                            assertThat(rows).hasSize(2);
+                            assertThat(rows.get(0).getMapperFqn())
+                                    .isEqualTo("com.santunioni.fixtures.OrderStatusMapper");
+                            assertThat(rows.get(0).getRank()).isEqualTo(1);
+                            assertThat(rows.get(0).getSamples()).isEqualTo(90);
+                            assertThat(rows.get(0).isOptimized()).isTrue();
+                            assertThat(rows.get(1).getMapperFqn())
+                                    .isEqualTo("com.santunioni.fixtures.CustomerMapper");
+                            assertThat(rows.get(1).getRank()).isEqualTo(2);
+                            assertThat(rows.get(1).getSamples()).isEqualTo(10);
+                            assertThat(rows.get(1).getHottestMethod()).isEqualTo("toCustomerDto");
+                            assertThat(rows.get(1).isOptimized()).isFalse();
+                        }),
+                java(
+                        readResource("fixtures/shouldUseValueMappingTables/context/OrderStatus.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/OrderStatus.java")
+                ),
+                java(
+                        readResource("fixtures/shouldUseValueMappingTables/context/OrderStatusDto.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/OrderStatusDto.java")
+                ),
+                java(
+                        readResource("fixtures/shouldUseValueMappingTables/context/OrderStatusMapperImpl.java"),
+                        spec -> spec.path("build/generated/annotationProcessor/main/java/com/santunioni/fixtures/OrderStatusMapperImpl.java")
+                ),
+                java(
+                        readResource("fixtures/shouldUseValueMappingTables/before/OrderStatusMapper.java"),
+                        readResource("fixtures/shouldUseValueMappingTables/after/OrderStatusMapper.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/OrderStatusMapper.java")
+                ),
+                java(
+                        readResource("fixtures/shouldReplaceAbstractMapper/context/CustomerDto.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/CustomerDto.java")
+                ),
+                java(
+                        readResource("fixtures/shouldReplaceAbstractMapper/context/CustomerEntity.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/CustomerEntity.java")
+                ),
+                java(
+                        readResource("fixtures/shouldReplaceAbstractMapper/context/CustomerMapperImpl.java"),
+                        spec -> spec.path("build/generated/annotationProcessor/main/java/com/santunioni/fixtures/CustomerMapperImpl.java")
+                ),
+                java(
+                        readResource("fixtures/shouldReplaceAbstractMapper/before/CustomerMapper.java"),
+                        readResource("fixtures/shouldReplaceAbstractMapper/after/CustomerMapper.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/CustomerMapper.java")
+                )
+        );
+    }
 
 }
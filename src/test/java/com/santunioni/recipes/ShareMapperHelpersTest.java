@@ -0,0 +1,193 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.santunioni.recipes;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.Recipe;
+
+import java.io.IOException;
+
+import static org.openrewrite.java.Assertions.java;
+
+class ShareMapperHelpersTest extends MigratedMapperRecipeTest {
+    @Override
+    Recipe recipe() {
+        return new ShareMapperHelpers();
+    }
+
+    /**
+     * Both mappers have the same helpers, one of them calling a statically imported method. They import a
+     * different {@code Date}, which the helpers don't use, so the helper class imports neither. The protected helper
+     * stays in the mappers, calling the shared one, as subclasses may override it.
+     */
+    @Test
+    void shouldShareHelpersOfTwoMappersWithTheirOwnImports() throws IOException {
+        String fixtures = "fixtures/shouldShareMapperHelpers/";
+        rewriteRun(
+                java(
+                        readResource(fixtures + "context/CustomerEntity.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/CustomerEntity.java")
+                ),
+                java(
+                        readResource(fixtures + "context/OrderEntity.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/OrderEntity.java")
+                ),
+                java(
+                        readResource(fixtures + "context/OrderDto.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/OrderDto.java")
+                ),
+                java(
+                        readResource(fixtures + "context/OrderSummaryDto.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/OrderSummaryDto.java")
+                ),
+                java(
+                        readResource(fixtures + "context/OrderMapperImpl.java"),
+                        spec -> spec.path("build/generated/annotationProcessor/main/java/com/santunioni/fixtures/OrderMapperImpl.java")
+                ),
+                java(
+                        readResource(fixtures + "context/OrderSummaryMapperImpl.java"),
+                        spec -> spec.path("build/generated/annotationProcessor/main/java/com/santunioni/fixtures/OrderSummaryMapperImpl.java")
+                ),
+                java(
+                        readResource(fixtures + "before/OrderMapper.java"),
+                        readResource(fixtures + "after/OrderMapper.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/OrderMapper.java")
+                ),
+                java(
+                        readResource(fixtures + "before/OrderSummaryMapper.java"),
+                        readResource(fixtures + "after/OrderSummaryMapper.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/OrderSummaryMapper.java")
+                ),
+                java(
+                        (String) null,
+                        readResource(fixtures + "after/MapperHelpers.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/MapperHelpers.java")
+                )
+        );
+    }
+
+    /**
+     * The invoice and receipt mappers share a helper with the name of the one the order mappers share, but not its
+     * body, so the second one is numbered.
+     */
+    @Test
+    void shouldNumberSharedHelpersOfTheSameName() throws IOException {
+        String fixtures = "fixtures/shouldShareMapperHelpers/";
+        String numbered = "fixtures/shouldNumberSharedHelpersOfTheSameName/";
+        rewriteRun(
+                java(
+                        readResource(fixtures + "context/CustomerEntity.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/CustomerEntity.java")
+                ),
+                java(
+                        readResource(fixtures + "context/OrderEntity.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/OrderEntity.java")
+                ),
+                java(
+                        readResource(fixtures + "context/OrderDto.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/OrderDto.java")
+                ),
+                java(
+                        readResource(fixtures + "context/OrderSummaryDto.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/OrderSummaryDto.java")
+                ),
+                java(
+                        readResource(fixtures + "context/OrderMapperImpl.java"),
+                        spec -> spec.path("build/generated/annotationProcessor/main/java/com/santunioni/fixtures/OrderMapperImpl.java")
+                ),
+                java(
+                        readResource(fixtures + "context/OrderSummaryMapperImpl.java"),
+                        spec -> spec.path("build/generated/annotationProcessor/main/java/com/santunioni/fixtures/OrderSummaryMapperImpl.java")
+                ),
+                java(
+                        readResource(fixtures + "before/OrderMapper.java"),
+                        readResource(fixtures + "after/OrderMapper.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/OrderMapper.java")
+                ),
+                java(
+                        readResource(fixtures + "before/OrderSummaryMapper.java"),
+                        readResource(fixtures + "after/OrderSummaryMapper.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/OrderSummaryMapper.java")
+                ),
+                java(
+                        readResource(numbered + "context/InvoiceMapperImpl.java"),
+                        spec -> spec.path("build/generated/annotationProcessor/main/java/com/santunioni/fixtures/InvoiceMapperImpl.java")
+                ),
+                java(
+                        readResource(numbered + "context/ReceiptMapperImpl.java"),
+                        spec -> spec.path("build/generated/annotationProcessor/main/java/com/santunioni/fixtures/ReceiptMapperImpl.java")
+                ),
+                java(
+                        readResource(numbered + "before/InvoiceMapper.java"),
+                        readResource(numbered + "after/InvoiceMapper.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/InvoiceMapper.java")
+                ),
+                java(
+                        readResource(numbered + "before/ReceiptMapper.java"),
+                        readResource(numbered + "after/ReceiptMapper.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/ReceiptMapper.java")
+                ),
+                java(
+                        (String) null,
+                        readResource(numbered + "after/MapperHelpers.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/MapperHelpers.java")
+                )
+        );
+    }
+
+    /**
+     * Without the migration in the run, the mappers are never merged, so their implementations don't share helpers.
+     */
+    @Test
+    void shouldNotShareHelpersOfMappersThatAreNotMerged() throws IOException {
+        String fixtures = "fixtures/shouldShareMapperHelpers/";
+        rewriteRun(
+                spec -> spec.recipe(new ShareMapperHelpers()),
+                java(
+                        readResource(fixtures + "context/CustomerEntity.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/CustomerEntity.java")
+                ),
+                java(
+                        readResource(fixtures + "context/OrderEntity.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/OrderEntity.java")
+                ),
+                java(
+                        readResource(fixtures + "context/OrderDto.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/OrderDto.java")
+                ),
+                java(
+                        readResource(fixtures + "context/OrderSummaryDto.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/OrderSummaryDto.java")
+                ),
+                java(
+                        readResource(fixtures + "context/OrderMapperImpl.java"),
+                        spec -> spec.path("build/generated/annotationProcessor/main/java/com/santunioni/fixtures/OrderMapperImpl.java")
+                ),
+                java(
+                        readResource(fixtures + "context/OrderSummaryMapperImpl.java"),
+                        spec -> spec.path("build/generated/annotationProcessor/main/java/com/santunioni/fixtures/OrderSummaryMapperImpl.java")
+                ),
+                java(
+                        readResource(fixtures + "before/OrderMapper.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/OrderMapper.java")
+                ),
+                java(
+                        readResource(fixtures + "before/OrderSummaryMapper.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/OrderSummaryMapper.java")
+                )
+        );
+    }
+}
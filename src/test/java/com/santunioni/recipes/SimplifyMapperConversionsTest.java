@@ -0,0 +1,57 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.santunioni.recipes;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.Recipe;
+
+import java.io.IOException;
+
+import static org.openrewrite.java.Assertions.java;
+
+class SimplifyMapperConversionsTest extends MigratedMapperRecipeTest {
+    @Override
+    Recipe recipe() {
+        return new SimplifyMapperConversions();
+    }
+
+    /**
+     * Boxed operands, like the nullable rating, and floats, whose decimal representation changes when widened,
+     * keep their original conversion.
+     */
+    @Test
+    void shouldSimplifyPrimitiveConversions() throws IOException {
+        rewriteRun(
+                java(
+                        readResource("fixtures/shouldSimplifyConversions/context/ProductEntity.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/ProductEntity.java")
+                ),
+                java(
+                        readResource("fixtures/shouldSimplifyConversions/context/ProductDto.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/ProductDto.java")
+                ),
+                java(
+                        readResource("fixtures/shouldSimplifyConversions/context/ProductMapperImpl.java"),
+                        spec -> spec.path("build/generated/annotationProcessor/main/java/com/santunioni/fixtures/ProductMapperImpl.java")
+                ),
+                java(
+                        readResource("fixtures/shouldSimplifyConversions/before/ProductMapper.java"),
+                        readResource("fixtures/shouldSimplifyConversions/after/ProductMapper.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/ProductMapper.java")
+                )
+        );
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.santunioni.recipes;
+
+import com.santunioni.recipes.table.MapperSplitMethods;
+import org.junit.jupiter.api.Test;
+import org.openrewrite.Recipe;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.java.Assertions.java;
+
+class SplitHugeMapperMethodsTest extends MigratedMapperRecipeTest {
+    @Override
+    Recipe recipe() {
+        return new SplitHugeMapperMethods(60);
+    }
+
+    /**
+     * The null checks up to the last early return stay, and so do the declaration of the returned
+     * {@code customerDto} and the assignment to {@code email}, declared before the statements moved. The setters
+     * move to a part that takes both locals as parameters.
+     */
+    @Test
+    void shouldMoveOnlyStatementsThatShareNoStateWithTheRestOfTheMethod() throws IOException {
+        String fixtures = "fixtures/shouldSplitHugeMapperMethods/";
+        rewriteRun(
+                spec -> spec.dataTable(MapperSplitMethods.Row.class, rows -> {
+                    assertThat(rows).hasSize(1);
+                    assertThat(rows.get(0).getMethod()).isEqualTo("toCustomerDto");
+                    assertThat(rows.get(0).getEstimatedSize()).isEqualTo(72);
+                    assertThat(rows.get(0).getEstimatedSizeAfter()).isEqualTo(58);
+                    assertThat(rows.get(0).getSubMethods()).isEqualTo("toCustomerDtoPart1 (21)");
+                    assertThat(rows.get(0).getNote()).isEmpty();
+                }),
+                java(
+                        readResource(fixtures + "context/CustomerEntity.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/CustomerEntity.java")
+                ),
+                java(
+                        readResource(fixtures + "context/CustomerDto.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/CustomerDto.java")
+                ),
+                java(
+                        readResource(fixtures + "context/CustomerMapperImpl.java"),
+                        spec -> spec.path("build/generated/annotationProcessor/main/java/com/santunioni/fixtures/CustomerMapperImpl.java")
+                ),
+                java(
+                        readResource(fixtures + "before/CustomerMapper.java"),
+                        readResource(fixtures + "after/CustomerMapper.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/CustomerMapper.java")
+                )
+        );
+    }
+}
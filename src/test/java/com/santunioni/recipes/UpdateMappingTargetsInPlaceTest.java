@@ -0,0 +1,70 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.santunioni.recipes;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.Recipe;
+
+import java.io.IOException;
+
+import static org.openrewrite.java.Assertions.java;
+
+class UpdateMappingTargetsInPlaceTest extends MigratedMapperRecipeTest {
+    @Override
+    Recipe recipe() {
+        return new UpdateMappingTargetsInPlace();
+    }
+
+    /**
+     * A null source collection still sets the target to null, and an absent target collection still gets the
+     * helper's result. Tags are copied as they are, with no intermediate collection to drop, and are left alone.
+     * Notes are deep cloned into notes, so the source could be the target itself, and keep their copy.
+     */
+    @Test
+    void shouldUpdateMappedCollectionInPlace() throws IOException {
+        rewriteRun(
+                java(
+                        readResource("fixtures/shouldUpdateMappingTargetsInPlace/context/LineEntity.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/LineEntity.java")
+                ),
+                java(
+                        readResource("fixtures/shouldUpdateMappingTargetsInPlace/context/LineDto.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/LineDto.java")
+                ),
+                java(
+                        readResource("fixtures/shouldUpdateMappingTargetsInPlace/context/Note.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/Note.java")
+                ),
+                java(
+                        readResource("fixtures/shouldUpdateMappingTargetsInPlace/context/OrderEntity.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/OrderEntity.java")
+                ),
+                java(
+                        readResource("fixtures/shouldUpdateMappingTargetsInPlace/context/OrderDto.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/OrderDto.java")
+                ),
+                java(
+                        readResource("fixtures/shouldUpdateMappingTargetsInPlace/context/OrderMapperImpl.java"),
+                        spec -> spec.path("build/generated/annotationProcessor/main/java/com/santunioni/fixtures/OrderMapperImpl.java")
+                ),
+                java(
+                        readResource("fixtures/shouldUpdateMappingTargetsInPlace/before/OrderMapper.java"),
+                        readResource("fixtures/shouldUpdateMappingTargetsInPlace/after/OrderMapper.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/OrderMapper.java")
+                )
+        );
+    }
+}
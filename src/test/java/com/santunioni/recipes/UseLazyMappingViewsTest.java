@@ -0,0 +1,93 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.santunioni.recipes;
+
+import com.santunioni.recipes.table.MapperLazyViews;
+import org.junit.jupiter.api.Test;
+import org.openrewrite.Recipe;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.java.Assertions.java;
+
+class UseLazyMappingViewsTest extends MigratedMapperRecipeTest {
+    @Override
+    Recipe recipe() {
+        return new UseLazyMappingViews();
+    }
+
+    /**
+     * The user view becomes a view of the user, whose addresses are mapped as they are read. The address view keeps
+     * its copy, which defines equals and hashCode, and so does the user DTO, a class.
+     */
+    @Test
+    void shouldOnlyUseViewsForInterfaceTargetsWithoutValueEquality() throws IOException {
+        String fixtures = "fixtures/shouldUseLazyMappingViews/";
+        rewriteRun(
+                spec -> spec.dataTable(MapperLazyViews.Row.class, rows -> {
+                    assertThat(rows).hasSize(3);
+                    assertThat(rows.get(0).getMethod()).isEqualTo("toUserView");
+                    assertThat(rows.get(0).getView()).isEqualTo("LazyUserView");
+                    assertThat(rows.get(0).getLazyLists()).isEqualTo(1);
+                    assertThat(rows.get(1).getMethod()).isEqualTo("toAddressView");
+                    assertThat(rows.get(1).getView()).isEmpty();
+                    assertThat(rows.get(1).getNote())
+                            .isEqualTo("AddressViewImpl compares by value, and the view would not");
+                    assertThat(rows.get(2).getMethod()).isEqualTo("toUserDto");
+                    assertThat(rows.get(2).getView()).isEmpty();
+                    assertThat(rows.get(2).getNote()).isEqualTo("The target is not an interface");
+                }),
+                java(
+                        readResource(fixtures + "context/Address.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/Address.java")
+                ),
+                java(
+                        readResource(fixtures + "context/User.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/User.java")
+                ),
+                java(
+                        readResource(fixtures + "context/UserDto.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/UserDto.java")
+                ),
+                java(
+                        readResource(fixtures + "context/AddressView.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/AddressView.java")
+                ),
+                java(
+                        readResource(fixtures + "context/UserView.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/UserView.java")
+                ),
+                java(
+                        readResource(fixtures + "context/AddressViewImpl.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/AddressViewImpl.java")
+                ),
+                java(
+                        readResource(fixtures + "context/UserViewImpl.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/UserViewImpl.java")
+                ),
+                java(
+                        readResource(fixtures + "context/UserViewMapperImpl.java"),
+                        spec -> spec.path("build/generated/annotationProcessor/main/java/com/santunioni/fixtures/UserViewMapperImpl.java")
+                ),
+                java(
+                        readResource(fixtures + "before/UserViewMapper.java"),
+                        readResource(fixtures + "after/UserViewMapper.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/UserViewMapper.java")
+                )
+        );
+    }
+}
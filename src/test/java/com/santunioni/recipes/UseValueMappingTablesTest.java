@@ -0,0 +1,58 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.santunioni.recipes;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.Recipe;
+
+import java.io.IOException;
+
+import static org.openrewrite.java.Assertions.java;
+
+class UseValueMappingTablesTest extends MigratedMapperRecipeTest {
+    @Override
+    Recipe recipe() {
+        return new UseValueMappingTables();
+    }
+
+    /**
+     * The null source of {@code toDto} keeps its mapping, and its remaining constants keep theirs as the lookup's
+     * default. {@code toEntity} maps a constant to null and throws for the others, which a lookup can't tell apart,
+     * so it is left alone.
+     */
+    @Test
+    void shouldReplaceValueMappingSwitchesWithTables() throws IOException {
+        rewriteRun(
+                java(
+                        readResource("fixtures/shouldUseValueMappingTables/context/OrderStatus.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/OrderStatus.java")
+                ),
+                java(
+                        readResource("fixtures/shouldUseValueMappingTables/context/OrderStatusDto.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/OrderStatusDto.java")
+                ),
+                java(
+                        readResource("fixtures/shouldUseValueMappingTables/context/OrderStatusMapperImpl.java"),
+                        spec -> spec.path("build/generated/annotationProcessor/main/java/com/santunioni/fixtures/OrderStatusMapperImpl.java")
+                ),
+                java(
+                        readResource("fixtures/shouldUseValueMappingTables/before/OrderStatusMapper.java"),
+                        readResource("fixtures/shouldUseValueMappingTables/after/OrderStatusMapper.java"),
+                        spec -> spec.path("src/main/java/com/santunioni/fixtures/OrderStatusMapper.java")
+                )
+        );
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.santunioni.recipes.runner;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RemoveMapstructRunnerTest {
+
+    private static RemoveMapstructRunner.SourcePath sourcePath(String first, String... more) {
+        String pathInRoot = Paths.get(first, more).toString();
+        return new RemoveMapstructRunner.SourcePath(Paths.get("src").resolve(pathInRoot), pathInRoot);
+    }
+
+    private static Path write(Path root, String pathInRoot) throws IOException {
+        Path file = root.resolve(pathInRoot);
+        Files.createDirectories(file.getParent());
+        return Files.writeString(file, "");
+    }
+
+    /**
+     * A mapper and its generated implementation live in different roots, but the same package, so they come out
+     * next to each other.
+     */
+    @Test
+    void shouldOrderFilesOfAllRootsByTheirPathInRoot(@TempDir Path tempDir) throws IOException {
+        Path sources = tempDir.resolve("src/main/java");
+        Path generated = tempDir.resolve("build/generated/annotationProcessor/main/java");
+        Path mapper = write(sources, "com/acme/billing/InvoiceMapper.java");
+        Path service = write(sources, "com/acme/shipping/ParcelService.java");
+        Path mapperImpl = write(generated, "com/acme/billing/InvoiceMapperImpl.java");
+        write(sources, "com/acme/billing/package.html");
+
+        List<RemoveMapstructRunner.SourcePath> discovered = RemoveMapstructRunner.discover(
+                List.of(sources, generated, tempDir.resolve("src/test/java")));
+
+        assertThat(discovered)
+                .extracting(RemoveMapstructRunner.SourcePath::file)
+                .containsExactly(mapper, mapperImpl, service);
+    }
+
+    @Test
+    void shouldCutBatchesOnlyBetweenPackages() {
+        List<RemoveMapstructRunner.SourcePath> sourcePaths = List.of(
+                sourcePath("com", "acme", "billing", "InvoiceMapper.java"),
+                sourcePath("com", "acme", "billing", "InvoiceMapperImpl.java"),
+                sourcePath("com", "acme", "billing", "LineMapper.java"),
+                sourcePath("com", "acme", "shipping", "ParcelMapper.java"),
+                sourcePath("com", "acme", "shipping", "ParcelMapperImpl.java"),
+                sourcePath("com", "acme", "tax", "RateMapper.java"));
+
+        List<List<Path>> batches = RemoveMapstructRunner.batches(sourcePaths, 3);
+
+        assertThat(batches).hasSizeLessThanOrEqualTo(3);
+        assertThat(batches.stream().mapToInt(List::size).sum()).isEqualTo(sourcePaths.size());
+        Set<Path> packagesSeen = new HashSet<>();
+        for (List<Path> batch : batches) {
+            Set<Path> packages = new HashSet<>();
+            for (Path file : batch) {
+                packages.add(file.getParent());
+            }
+            for (Path pkg : packages) {
+                assertThat(packagesSeen.add(pkg)).as("%s is split across batches", pkg).isTrue();
+            }
+        }
+        assertThat(RemoveMapstructRunner.batches(sourcePaths, 1)).hasSize(1);
+    }
+
+    @Test
+    void shouldReportInvalidNumbersWithTheUsage() {
+        assertThatThrownBy(() -> RunnerArguments.parse(new String[]{"--source", "src", "--threads", "many"}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Invalid number many for --threads")
+                .hasMessageContaining(RunnerArguments.USAGE);
+        assertThatThrownBy(() -> RunnerArguments.parse(new String[]{"--source", "src", "--hot-mappers", "1e3"}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Invalid number 1e3 for --hot-mappers");
+    }
+}
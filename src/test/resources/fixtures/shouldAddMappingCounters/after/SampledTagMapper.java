@@ -0,0 +1,86 @@
+package com.santunioni.fixtures;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+
+public class TagMapper {
+
+    public TagDto toTagDto(TagEntity tagEntity) {
+        MAPPING_CALLS[0].increment();
+        boolean mappingSampled = ThreadLocalRandom.current().nextInt(1024) == 0;
+        long mappingStartNanos = mappingSampled ? System.nanoTime() : 0L;
+        try {
+            if (tagEntity == null) {
+                return null;
+            }
+
+            TagDto tagDto = new TagDto();
+
+            tagDto.setId(tagEntity.getId());
+            tagDto.setName(tagEntity.getName());
+
+            return tagDto;
+        } finally {
+            if (mappingSampled) {
+                MAPPING_SAMPLED_NANOS[0].add(System.nanoTime() - mappingStartNanos);
+                MAPPING_SAMPLES[0].increment();
+            }
+        }
+    }
+
+    public List<TagDto> toTagDtos(List<TagEntity> tagEntities) {
+        MAPPING_CALLS[1].increment();
+        boolean mappingSampled = ThreadLocalRandom.current().nextInt(1024) == 0;
+        long mappingStartNanos = mappingSampled ? System.nanoTime() : 0L;
+        try {
+            if (tagEntities == null) {
+                return null;
+            }
+
+            List<TagDto> list = new ArrayList<TagDto>(tagEntities.size());
+            for (TagEntity tagEntity : tagEntities) {
+                list.add(toTagDto(tagEntity));
+            }
+
+            return list;
+        } finally {
+            if (mappingSampled) {
+                MAPPING_SAMPLED_NANOS[1].add(System.nanoTime() - mappingStartNanos);
+                MAPPING_SAMPLES[1].increment();
+            }
+        }
+    }
+
+    private static final String[] MAPPING_METHODS = {"toTagDto(TagEntity)", "toTagDtos(List)"};
+    private static final LongAdder[] MAPPING_CALLS = {new LongAdder(), new LongAdder()};
+    private static final LongAdder[] MAPPING_SAMPLES = {new LongAdder(), new LongAdder()};
+    private static final LongAdder[] MAPPING_SAMPLED_NANOS = {new LongAdder(), new LongAdder()};
+
+    /**
+     * Calls of each public mapping method since the class was loaded.
+     */
+    public static Map<String, Long> mappingCalls() {
+        Map<String, Long> calls = new LinkedHashMap<>();
+        for (int i = 0; i < MAPPING_METHODS.length; i++) {
+            calls.put(MAPPING_METHODS[i], MAPPING_CALLS[i].sum());
+        }
+        return calls;
+    }
+
+    /**
+     * Mean duration in nanoseconds of each public mapping method, over about one call in 1024.
+     */
+    public static Map<String, Long> mappingMeanNanos() {
+        Map<String, Long> meanNanos = new LinkedHashMap<>();
+        for (int i = 0; i < MAPPING_METHODS.length; i++) {
+            long samples = MAPPING_SAMPLES[i].sum();
+            meanNanos.put(MAPPING_METHODS[i], samples == 0 ? 0L : MAPPING_SAMPLED_NANOS[i].sum() / samples);
+        }
+        return meanNanos;
+    }
+}
@@ -0,0 +1,53 @@
+package com.santunioni.fixtures;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+
+public class TagMapper {
+
+    public TagDto toTagDto(TagEntity tagEntity) {
+        MAPPING_CALLS[0].increment();
+        if (tagEntity == null) {
+            return null;
+        }
+
+        TagDto tagDto = new TagDto();
+
+        tagDto.setId(tagEntity.getId());
+        tagDto.setName(tagEntity.getName());
+
+        return tagDto;
+    }
+
+    public List<TagDto> toTagDtos(List<TagEntity> tagEntities) {
+        MAPPING_CALLS[1].increment();
+        if (tagEntities == null) {
+            return null;
+        }
+
+        List<TagDto> list = new ArrayList<TagDto>(tagEntities.size());
+        for (TagEntity tagEntity : tagEntities) {
+            list.add(toTagDto(tagEntity));
+        }
+
+        return list;
+    }
+
+    private static final String[] MAPPING_METHODS = {"toTagDto(TagEntity)", "toTagDtos(List)"};
+    private static final LongAdder[] MAPPING_CALLS = {new LongAdder(), new LongAdder()};
+
+    /**
+     * Calls of each public mapping method since the class was loaded.
+     */
+    public static Map<String, Long> mappingCalls() {
+        Map<String, Long> calls = new LinkedHashMap<>();
+        for (int i = 0; i < MAPPING_METHODS.length; i++) {
+            calls.put(MAPPING_METHODS[i], MAPPING_CALLS[i].sum());
+        }
+        return calls;
+    }
+}
@@ -0,0 +1,11 @@
+package com.santunioni.fixtures;
+
+import java.util.List;
+import org.mapstruct.Mapper;
+
+@Mapper
+public interface TagMapper {
+    TagDto toTagDto(TagEntity tagEntity);
+
+    List<TagDto> toTagDtos(List<TagEntity> tagEntities);
+}
@@ -0,0 +1,45 @@
+package com.santunioni.fixtures;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
+
+
+public class LabelMapper {
+    private final Map<String, String> aliases = new HashMap<>();
+
+    public TagDto toTagDto(TagEntity tagEntity) {
+        if (tagEntity == null) {
+            return null;
+        }
+
+        TagDto tagDto = new TagDto();
+
+        tagDto.setId(tagEntity.getId());
+        tagDto.setName(alias(tagEntity.getName()));
+
+        return tagDto;
+    }
+
+    public List<TagDto> toTagDtos(List<TagEntity> tagEntities) {
+        if (tagEntities == null) {
+            return null;
+        }
+
+        List<TagDto> list = new ArrayList<TagDto>(tagEntities.size());
+        for (TagEntity tagEntity : tagEntities) {
+            list.add(toTagDto(tagEntity));
+        }
+
+        return list;
+    }
+
+    public void addAlias(String name, String alias) {
+        aliases.put(name, alias);
+    }
+
+    protected String alias(String name) {
+        return aliases.getOrDefault(name, name);
+    }
+}
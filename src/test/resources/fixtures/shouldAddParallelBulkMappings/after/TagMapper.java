@@ -0,0 +1,47 @@
+package com.santunioni.fixtures;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+
+public class TagMapper {
+
+    public TagDto toTagDto(TagEntity tagEntity) {
+        if (tagEntity == null) {
+            return null;
+        }
+
+        TagDto tagDto = new TagDto();
+
+        tagDto.setId(tagEntity.getId());
+        tagDto.setName(tagEntity.getName());
+
+        return tagDto;
+    }
+
+    public List<TagDto> toTagDtos(List<TagEntity> tagEntities) {
+        if (tagEntities == null) {
+            return null;
+        }
+
+        List<TagDto> list = new ArrayList<TagDto>(tagEntities.size());
+        for (TagEntity tagEntity : tagEntities) {
+            list.add(toTagDto(tagEntity));
+        }
+
+        return list;
+    }
+
+    /**
+     * Same as {@link #toTagDtos}, on several threads for lists of at least 10000 elements. The order of the list is kept.
+     */
+    public List<TagDto> toTagDtosParallel(List<TagEntity> tagEntities) {
+        if (tagEntities == null || tagEntities.size() < 10000) {
+            return toTagDtos(tagEntities);
+        }
+        return tagEntities.parallelStream()
+            .map(this::toTagDto)
+            .collect(Collectors.toCollection(ArrayList::new));
+    }
+}
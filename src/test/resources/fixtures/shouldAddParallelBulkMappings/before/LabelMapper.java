@@ -0,0 +1,23 @@
+package com.santunioni.fixtures;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.mapstruct.Mapper;
+
+@Mapper
+public abstract class LabelMapper {
+    private final Map<String, String> aliases = new HashMap<>();
+
+    public abstract TagDto toTagDto(TagEntity tagEntity);
+
+    public abstract List<TagDto> toTagDtos(List<TagEntity> tagEntities);
+
+    public void addAlias(String name, String alias) {
+        aliases.put(name, alias);
+    }
+
+    protected String alias(String name) {
+        return aliases.getOrDefault(name, name);
+    }
+}
@@ -0,0 +1,41 @@
+package com.santunioni.fixtures;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.processing.Generated;
+
+@Generated(
+        value = "org.mapstruct.ap.MappingProcessor",
+        date = "2025-01-01T00:00:00Z",
+        comments = "version: 1.5.5.Final, compiler: javac, environment: Java 17"
+)
+public class TagMapperImpl implements TagMapper {
+
+    @Override
+    public TagDto toTagDto(TagEntity tagEntity) {
+        if (tagEntity == null) {
+            return null;
+        }
+
+        TagDto tagDto = new TagDto();
+
+        tagDto.setId(tagEntity.getId());
+        tagDto.setName(tagEntity.getName());
+
+        return tagDto;
+    }
+
+    @Override
+    public List<TagDto> toTagDtos(List<TagEntity> tagEntities) {
+        if (tagEntities == null) {
+            return null;
+        }
+
+        List<TagDto> list = new ArrayList<TagDto>(tagEntities.size());
+        for (TagEntity tagEntity : tagEntities) {
+            list.add(toTagDto(tagEntity));
+        }
+
+        return list;
+    }
+}
@@ -0,0 +1,40 @@
+package com.santunioni.fixtures;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+public class PersonMapper {
+
+    public List<PersonDto> toPersonDtos(List<Person> people) {
+        if (people == null) {
+            return null;
+        }
+
+        List<PersonDto> list = new ArrayList<PersonDto>(people.size());
+        for (Person person : people) {
+            list.add(toPersonDtoDelegate(person));
+        }
+
+        return list;
+    }
+
+    public PersonDto toPersonDto(Person person) {
+        PersonDto personDto = toPersonDtoDelegate(person);
+        personDto.setFullName(person.getFirstName() + " " + person.getLastName());
+        return personDto;
+    }
+
+    private PersonDto toPersonDtoDelegate(Person person) {
+        if (person == null) {
+            return null;
+        }
+
+        PersonDto personDto = new PersonDto();
+
+        personDto.setFirstName(person.getFirstName());
+        personDto.setLastName(person.getLastName());
+
+        return personDto;
+    }
+}
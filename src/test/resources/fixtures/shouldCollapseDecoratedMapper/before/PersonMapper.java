@@ -0,0 +1,13 @@
+package com.santunioni.fixtures;
+
+import java.util.List;
+import org.mapstruct.DecoratedWith;
+import org.mapstruct.Mapper;
+
+@Mapper
+@DecoratedWith(PersonMapperDecorator.class)
+public interface PersonMapper {
+    PersonDto toPersonDto(Person person);
+
+    List<PersonDto> toPersonDtos(List<Person> people);
+}
@@ -0,0 +1,16 @@
+package com.santunioni.fixtures;
+
+public abstract class PersonMapperDecorator implements PersonMapper {
+    private final PersonMapper delegate;
+
+    public PersonMapperDecorator(PersonMapper delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public PersonDto toPersonDto(Person person) {
+        PersonDto personDto = delegate.toPersonDto(person);
+        personDto.setFullName(person.getFirstName() + " " + person.getLastName());
+        return personDto;
+    }
+}
@@ -0,0 +1,28 @@
+package com.santunioni.fixtures;
+
+import java.util.List;
+import javax.annotation.processing.Generated;
+
+@Generated(
+        value = "org.mapstruct.ap.MappingProcessor",
+        date = "2025-01-01T00:00:00Z",
+        comments = "version: 1.5.5.Final, compiler: javac, environment: Java 17"
+)
+public class PersonMapperImpl extends PersonMapperDecorator implements PersonMapper {
+
+    private final PersonMapper delegate;
+
+    public PersonMapperImpl() {
+        this(new PersonMapperImpl_());
+    }
+
+    private PersonMapperImpl(PersonMapperImpl_ delegate) {
+        super(delegate);
+        this.delegate = delegate;
+    }
+
+    @Override
+    public List<PersonDto> toPersonDtos(List<Person> people) {
+        return delegate.toPersonDtos(people);
+    }
+}
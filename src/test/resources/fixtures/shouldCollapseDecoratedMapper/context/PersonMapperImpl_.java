@@ -0,0 +1,41 @@
+package com.santunioni.fixtures;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.processing.Generated;
+
+@Generated(
+        value = "org.mapstruct.ap.MappingProcessor",
+        date = "2025-01-01T00:00:00Z",
+        comments = "version: 1.5.5.Final, compiler: javac, environment: Java 17"
+)
+public class PersonMapperImpl_ implements PersonMapper {
+
+    @Override
+    public PersonDto toPersonDto(Person person) {
+        if (person == null) {
+            return null;
+        }
+
+        PersonDto personDto = new PersonDto();
+
+        personDto.setFirstName(person.getFirstName());
+        personDto.setLastName(person.getLastName());
+
+        return personDto;
+    }
+
+    @Override
+    public List<PersonDto> toPersonDtos(List<Person> people) {
+        if (people == null) {
+            return null;
+        }
+
+        List<PersonDto> list = new ArrayList<PersonDto>(people.size());
+        for (Person person : people) {
+            list.add(toPersonDto(person));
+        }
+
+        return list;
+    }
+}
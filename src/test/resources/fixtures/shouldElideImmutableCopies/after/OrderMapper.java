@@ -0,0 +1,25 @@
+package com.santunioni.fixtures;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+
+public class OrderMapper {
+
+    public OrderDto toOrderDto(OrderEntity orderEntity) {
+        if (orderEntity == null) {
+            return null;
+        }
+
+        OrderDto orderDto = new OrderDto();
+
+        orderDto.setPrice(orderEntity.getPrice());
+        List<String> list = orderEntity.getTags();
+        if (list != null) {
+            orderDto.setTags(list);
+        }
+
+        return orderDto;
+    }
+}
@@ -0,0 +1,8 @@
+package com.santunioni.fixtures;
+
+import org.mapstruct.Mapper;
+
+@Mapper
+public interface OrderMapper {
+    OrderDto toOrderDto(OrderEntity orderEntity);
+}
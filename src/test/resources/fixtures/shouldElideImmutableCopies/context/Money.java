@@ -0,0 +1,21 @@
+package com.santunioni.fixtures;
+
+import java.math.BigDecimal;
+
+public final class Money {
+    private final BigDecimal amount;
+    private final String currency;
+
+    public Money(BigDecimal amount, String currency) {
+        this.amount = amount;
+        this.currency = currency;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+}
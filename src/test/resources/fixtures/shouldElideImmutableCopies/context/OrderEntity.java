@@ -0,0 +1,24 @@
+package com.santunioni.fixtures;
+
+import java.util.List;
+
+public class OrderEntity {
+    private Money price;
+    private List<String> tags;
+
+    public Money getPrice() {
+        return price;
+    }
+
+    public void setPrice(Money price) {
+        this.price = price;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+}
@@ -0,0 +1,47 @@
+package com.santunioni.fixtures;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.processing.Generated;
+
+@Generated(
+        value = "org.mapstruct.ap.MappingProcessor",
+        date = "2025-01-01T00:00:00Z",
+        comments = "version: 1.5.5.Final, compiler: javac, environment: Java 17"
+)
+public class OrderMapperImpl implements OrderMapper {
+
+    @Override
+    public OrderDto toOrderDto(OrderEntity orderEntity) {
+        if (orderEntity == null) {
+            return null;
+        }
+
+        OrderDto orderDto = new OrderDto();
+
+        orderDto.setPrice(moneyToMoney(orderEntity.getPrice()));
+        List<String> list = orderEntity.getTags();
+        if (list != null) {
+            orderDto.setTags(new ArrayList<String>(list));
+        }
+
+        return orderDto;
+    }
+
+    protected Money moneyToMoney(Money money) {
+        if (money == null) {
+            return null;
+        }
+
+        BigDecimal amount = null;
+        String currency = null;
+
+        amount = money.getAmount();
+        currency = money.getCurrency();
+
+        Money money1 = new Money(amount, currency);
+
+        return money1;
+    }
+}
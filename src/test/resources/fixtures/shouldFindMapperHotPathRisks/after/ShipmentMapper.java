@@ -0,0 +1,31 @@
+package com.santunioni.fixtures;
+
+import java.text.SimpleDateFormat;
+import java.util.stream.Collectors;
+
+
+public class ShipmentMapper {
+
+    public ShipmentDto toShipmentDto(ShipmentEntity shipmentEntity) {
+        if (shipmentEntity == null) {
+            return null;
+        }
+
+        ShipmentDto shipmentDto = new ShipmentDto();
+
+        if (shipmentEntity.getId() != null) {
+            shipmentDto.setId(String.format("SHP-%06d", shipmentEntity.getId()));
+        }
+        if (shipmentEntity.getShippedAt() != null) {
+            shipmentDto.setShippedAt(new SimpleDateFormat("yyyy-MM-dd").format(shipmentEntity.getShippedAt()));
+        }
+        if (shipmentEntity.getCarrier().getName() != null) {
+            shipmentDto.setCarrier(shipmentEntity.getCarrier().getName() + " (" + shipmentEntity.getCarrier().getCode() + ")");
+        }
+        if (shipmentEntity.getTags() != null) {
+            shipmentDto.setTags(shipmentEntity.getTags().stream().collect(Collectors.joining(",")));
+        }
+
+        return shipmentDto;
+    }
+}
@@ -0,0 +1,40 @@
+package com.santunioni.fixtures;
+
+public class ShipmentDto {
+    private String id;
+    private String shippedAt;
+    private String carrier;
+    private String tags;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getShippedAt() {
+        return shippedAt;
+    }
+
+    public void setShippedAt(String shippedAt) {
+        this.shippedAt = shippedAt;
+    }
+
+    public String getCarrier() {
+        return carrier;
+    }
+
+    public void setCarrier(String carrier) {
+        this.carrier = carrier;
+    }
+
+    public String getTags() {
+        return tags;
+    }
+
+    public void setTags(String tags) {
+        this.tags = tags;
+    }
+}
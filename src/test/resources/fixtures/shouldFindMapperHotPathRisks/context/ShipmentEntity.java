@@ -0,0 +1,43 @@
+package com.santunioni.fixtures;
+
+import java.util.Date;
+import java.util.List;
+
+public class ShipmentEntity {
+    private Long id;
+    private Date shippedAt;
+    private CarrierEntity carrier;
+    private List<String> tags;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Date getShippedAt() {
+        return shippedAt;
+    }
+
+    public void setShippedAt(Date shippedAt) {
+        this.shippedAt = shippedAt;
+    }
+
+    public CarrierEntity getCarrier() {
+        return carrier;
+    }
+
+    public void setCarrier(CarrierEntity carrier) {
+        this.carrier = carrier;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+}
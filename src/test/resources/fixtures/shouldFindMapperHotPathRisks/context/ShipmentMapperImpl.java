@@ -0,0 +1,37 @@
+package com.santunioni.fixtures;
+
+import java.text.SimpleDateFormat;
+import java.util.stream.Collectors;
+import javax.annotation.processing.Generated;
+
+@Generated(
+        value = "org.mapstruct.ap.MappingProcessor",
+        date = "2025-01-01T00:00:00Z",
+        comments = "version: 1.5.5.Final, compiler: javac, environment: Java 17"
+)
+public class ShipmentMapperImpl implements ShipmentMapper {
+
+    @Override
+    public ShipmentDto toShipmentDto(ShipmentEntity shipmentEntity) {
+        if (shipmentEntity == null) {
+            return null;
+        }
+
+        ShipmentDto shipmentDto = new ShipmentDto();
+
+        if (shipmentEntity.getId() != null) {
+            shipmentDto.setId(String.format("SHP-%06d", shipmentEntity.getId()));
+        }
+        if (shipmentEntity.getShippedAt() != null) {
+            shipmentDto.setShippedAt(new SimpleDateFormat("yyyy-MM-dd").format(shipmentEntity.getShippedAt()));
+        }
+        if (shipmentEntity.getCarrier().getName() != null) {
+            shipmentDto.setCarrier(shipmentEntity.getCarrier().getName() + " (" + shipmentEntity.getCarrier().getCode() + ")");
+        }
+        if (shipmentEntity.getTags() != null) {
+            shipmentDto.setTags(shipmentEntity.getTags().stream().collect(Collectors.joining(",")));
+        }
+
+        return shipmentDto;
+    }
+}
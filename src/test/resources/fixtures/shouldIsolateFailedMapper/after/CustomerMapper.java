@@ -0,0 +1,49 @@
+package com.santunioni.fixtures;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.java.Log;
+
+@Log
+public class CustomerMapper {
+    protected static final String PERSONAL_DATA_TYPE = "PERSONAL_DATA";
+
+    @Getter
+    @Setter
+    private Long myParentField;
+
+    @Getter
+    @Setter
+    private Long myParentField;
+
+    public CustomerDto toCustomerDto(CustomerEntity customerEntity) {
+        if (customerEntity == null) {
+            return null;
+        }
+
+        String name = customerEntity.getName();
+        String email = customerEntity.getEmail();
+
+        return new CustomerDto(name, email);
+    }
+
+    public CustomerEntity toCustomerEntity(CustomerDto customerDto) {
+        if (customerDto == null) {
+            return null;
+        }
+
+        String name = customerDto.getName();
+        String email = customerDto.getEmail();
+
+        CustomerEntity customerEntity = new CustomerEntity(name, email);
+        if (customerEntity != null && customerEntity.getEmail() != null) {
+            customerEntity.setEmail(customerEntity.getEmail().toLowerCase());
+        }
+        return customerEntity;
+    }
+
+    public String getSignature(CustomerEntity customerEntity) {
+        return customerEntity.getName() + " <" + customerEntity.getEmail() + ">";
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.santunioni.fixtures;
+
+public abstract class PersonMapperDecorator implements PersonMapper {
+    private final PersonMapper delegate;
+    private final String separator = " ";
+
+    public PersonMapperDecorator(PersonMapper delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public PersonDto toPersonDto(Person person) {
+        PersonDto personDto = delegate.toPersonDto(person);
+        personDto.setFullName(person.getFirstName() + separator + person.getLastName());
+        return personDto;
+    }
+}
@@ -0,0 +1,19 @@
+package com.santunioni.fixtures;
+
+import java.util.Locale;
+
+
+public class ReceiptMapper {
+
+    public OrderDto toReceipt(OrderEntity orderEntity) {
+        if (orderEntity == null) {
+            return null;
+        }
+
+        OrderDto orderDto = new OrderDto();
+
+        orderDto.setCustomerName(MapperHelpers.orderCustomerName2(orderEntity));
+
+        return orderDto;
+    }
+}
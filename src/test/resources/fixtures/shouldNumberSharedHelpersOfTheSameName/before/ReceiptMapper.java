@@ -0,0 +1,8 @@
+package com.santunioni.fixtures;
+
+import org.mapstruct.Mapper;
+
+@Mapper
+public interface ReceiptMapper {
+    OrderDto toReceipt(OrderEntity orderEntity);
+}
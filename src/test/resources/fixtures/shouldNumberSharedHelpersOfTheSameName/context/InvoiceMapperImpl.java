@@ -0,0 +1,33 @@
+package com.santunioni.fixtures;
+
+import java.util.Locale;
+import javax.annotation.processing.Generated;
+
+@Generated(
+        value = "org.mapstruct.ap.MappingProcessor",
+        date = "2025-01-01T00:00:00Z",
+        comments = "version: 1.5.5.Final, compiler: javac, environment: Java 17"
+)
+public class InvoiceMapperImpl implements InvoiceMapper {
+
+    @Override
+    public OrderDto toInvoice(OrderEntity orderEntity) {
+        if (orderEntity == null) {
+            return null;
+        }
+
+        OrderDto orderDto = new OrderDto();
+
+        orderDto.setCustomerName(orderCustomerName(orderEntity));
+
+        return orderDto;
+    }
+
+    private String orderCustomerName(OrderEntity orderEntity) {
+        CustomerEntity customer = orderEntity.getCustomer();
+        if (customer == null) {
+            return null;
+        }
+        return customer.getName().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,22 @@
+package com.santunioni.fixtures;
+
+import java.util.Locale;
+
+
+public class CustomerMapper {
+
+    public CustomerDto toCustomerDto(CustomerEntity customerEntity) {
+        if (customerEntity == null) {
+            return null;
+        }
+
+        String name = customerEntity.getName();
+        String email = super.getSignature(customerEntity).toLowerCase(Locale.ROOT);
+
+        return new CustomerDto(name, email);
+    }
+
+    public String getSignature(CustomerEntity customerEntity) {
+        return customerEntity.getName() + " <" + customerEntity.getEmail() + ">";
+    }
+}
@@ -0,0 +1,13 @@
+package com.santunioni.fixtures;
+
+import org.mapstruct.Mapper;
+
+@Mapper
+public abstract class CustomerMapper {
+
+    public abstract CustomerDto toCustomerDto(CustomerEntity customerEntity);
+
+    public String getSignature(CustomerEntity customerEntity) {
+        return customerEntity.getName() + " <" + customerEntity.getEmail() + ">";
+    }
+}
@@ -0,0 +1,24 @@
+package com.santunioni.fixtures;
+
+import java.util.Locale;
+import javax.annotation.processing.Generated;
+
+@Generated(
+        value = "org.mapstruct.ap.MappingProcessor",
+        date = "2025-01-01T00:00:00Z",
+        comments = "version: 1.5.5.Final, compiler: javac, environment: Java 17"
+)
+public class CustomerMapperImpl extends CustomerMapper {
+
+    @Override
+    public CustomerDto toCustomerDto(CustomerEntity customerEntity) {
+        if (customerEntity == null) {
+            return null;
+        }
+
+        String name = customerEntity.getName();
+        String email = super.getSignature(customerEntity).toLowerCase(Locale.ROOT);
+
+        return new CustomerDto(name, email);
+    }
+}
@@ -0,0 +1,24 @@
+package com.santunioni.fixtures;
+
+import static java.util.Objects.requireNonNullElse;
+
+/**
+ * Helper methods Mapstruct generated the same way in several mappers of this package, kept once.
+ */
+final class MapperHelpers {
+
+    private MapperHelpers() {
+    }
+
+    static String orderCustomerName(OrderEntity orderEntity) {
+        CustomerEntity customer = orderEntity.getCustomer();
+        if (customer == null) {
+            return null;
+        }
+        return customer.getName();
+    }
+
+    static String orderReference(OrderEntity orderEntity) {
+        return requireNonNullElse(orderEntity.getReference(), "");
+    }
+}
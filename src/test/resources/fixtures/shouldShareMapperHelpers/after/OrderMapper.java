@@ -0,0 +1,29 @@
+package com.santunioni.fixtures;
+
+import java.sql.Date;
+
+import static java.util.Objects.requireNonNullElse;
+
+
+public class OrderMapper {
+
+    public OrderDto toOrderDto(OrderEntity orderEntity) {
+        if (orderEntity == null) {
+            return null;
+        }
+
+        OrderDto orderDto = new OrderDto();
+
+        orderDto.setCustomerName(MapperHelpers.orderCustomerName(orderEntity));
+        orderDto.setReference(orderReference(orderEntity));
+        if (orderEntity.getCreatedAt() != null) {
+            orderDto.setCreatedAt(new Date(orderEntity.getCreatedAt().getTime()));
+        }
+
+        return orderDto;
+    }
+
+    protected String orderReference(OrderEntity orderEntity) {
+        return MapperHelpers.orderReference(orderEntity);
+    }
+}
@@ -0,0 +1,29 @@
+package com.santunioni.fixtures;
+
+import java.util.Date;
+
+import static java.util.Objects.requireNonNullElse;
+
+
+public class OrderSummaryMapper {
+
+    public OrderSummaryDto toOrderSummaryDto(OrderEntity orderEntity) {
+        if (orderEntity == null) {
+            return null;
+        }
+
+        OrderSummaryDto orderSummaryDto = new OrderSummaryDto();
+
+        orderSummaryDto.setCustomerName(MapperHelpers.orderCustomerName(orderEntity));
+        orderSummaryDto.setReference(orderReference(orderEntity));
+        if (orderEntity.getCreatedAt() != null) {
+            orderSummaryDto.setCreatedAt(new Date(orderEntity.getCreatedAt().getTime()));
+        }
+
+        return orderSummaryDto;
+    }
+
+    protected String orderReference(OrderEntity orderEntity) {
+        return MapperHelpers.orderReference(orderEntity);
+    }
+}
@@ -0,0 +1,13 @@
+package com.santunioni.fixtures;
+
+public class CustomerEntity {
+    private String name;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
@@ -0,0 +1,33 @@
+package com.santunioni.fixtures;
+
+import java.util.Date;
+
+public class OrderEntity {
+    private String reference;
+    private Date createdAt;
+    private CustomerEntity customer;
+
+    public String getReference() {
+        return reference;
+    }
+
+    public void setReference(String reference) {
+        this.reference = reference;
+    }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Date createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public CustomerEntity getCustomer() {
+        return customer;
+    }
+
+    public void setCustomer(CustomerEntity customer) {
+        this.customer = customer;
+    }
+}
@@ -0,0 +1,43 @@
+package com.santunioni.fixtures;
+
+import java.sql.Date;
+import javax.annotation.processing.Generated;
+
+import static java.util.Objects.requireNonNullElse;
+
+@Generated(
+        value = "org.mapstruct.ap.MappingProcessor",
+        date = "2025-01-01T00:00:00Z",
+        comments = "version: 1.5.5.Final, compiler: javac, environment: Java 17"
+)
+public class OrderMapperImpl implements OrderMapper {
+
+    @Override
+    public OrderDto toOrderDto(OrderEntity orderEntity) {
+        if (orderEntity == null) {
+            return null;
+        }
+
+        OrderDto orderDto = new OrderDto();
+
+        orderDto.setCustomerName(orderCustomerName(orderEntity));
+        orderDto.setReference(orderReference(orderEntity));
+        if (orderEntity.getCreatedAt() != null) {
+            orderDto.setCreatedAt(new Date(orderEntity.getCreatedAt().getTime()));
+        }
+
+        return orderDto;
+    }
+
+    private String orderCustomerName(OrderEntity orderEntity) {
+        CustomerEntity customer = orderEntity.getCustomer();
+        if (customer == null) {
+            return null;
+        }
+        return customer.getName();
+    }
+
+    protected String orderReference(OrderEntity orderEntity) {
+        return requireNonNullElse(orderEntity.getReference(), "");
+    }
+}
@@ -0,0 +1,33 @@
+package com.santunioni.fixtures;
+
+import java.util.Date;
+
+public class OrderSummaryDto {
+    private String customerName;
+    private String reference;
+    private Date createdAt;
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public void setCustomerName(String customerName) {
+        this.customerName = customerName;
+    }
+
+    public String getReference() {
+        return reference;
+    }
+
+    public void setReference(String reference) {
+        this.reference = reference;
+    }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Date createdAt) {
+        this.createdAt = createdAt;
+    }
+}
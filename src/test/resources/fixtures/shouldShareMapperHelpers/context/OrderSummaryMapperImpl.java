@@ -0,0 +1,43 @@
+package com.santunioni.fixtures;
+
+import java.util.Date;
+import javax.annotation.processing.Generated;
+
+import static java.util.Objects.requireNonNullElse;
+
+@Generated(
+        value = "org.mapstruct.ap.MappingProcessor",
+        date = "2025-01-01T00:00:00Z",
+        comments = "version: 1.5.5.Final, compiler: javac, environment: Java 17"
+)
+public class OrderSummaryMapperImpl implements OrderSummaryMapper {
+
+    @Override
+    public OrderSummaryDto toOrderSummaryDto(OrderEntity orderEntity) {
+        if (orderEntity == null) {
+            return null;
+        }
+
+        OrderSummaryDto orderSummaryDto = new OrderSummaryDto();
+
+        orderSummaryDto.setCustomerName(orderCustomerName(orderEntity));
+        orderSummaryDto.setReference(orderReference(orderEntity));
+        if (orderEntity.getCreatedAt() != null) {
+            orderSummaryDto.setCreatedAt(new Date(orderEntity.getCreatedAt().getTime()));
+        }
+
+        return orderSummaryDto;
+    }
+
+    private String orderCustomerName(OrderEntity orderEntity) {
+        CustomerEntity customerEntity = orderEntity.getCustomer();
+        if (customerEntity == null) {
+            return null;
+        }
+        return customerEntity.getName();
+    }
+
+    protected String orderReference(OrderEntity orderEntity) {
+        return requireNonNullElse(orderEntity.getReference(), "");
+    }
+}
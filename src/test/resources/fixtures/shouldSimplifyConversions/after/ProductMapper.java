@@ -0,0 +1,47 @@
+package com.santunioni.fixtures;
+
+import java.math.BigDecimal;
+
+
+public class ProductMapper {
+
+    public ProductDto toProductDto(ProductEntity productEntity) {
+        if (productEntity == null) {
+            return null;
+        }
+
+        ProductDto productDto = new ProductDto();
+
+        productDto.setId(String.valueOf(productEntity.getId()));
+        productDto.setStock(productEntity.getStock());
+        productDto.setReorderLevel(productEntity.getStock() / 2);
+        productDto.setPrice(BigDecimal.valueOf(productEntity.getPrice()));
+        productDto.setWeight(new BigDecimal(String.valueOf(productEntity.getWeight())));
+        if (productEntity.getRating() != null) {
+            productDto.setRating(new BigDecimal(String.valueOf(productEntity.getRating())));
+        }
+
+        return productDto;
+    }
+
+    public ProductEntity toProductEntity(ProductDto productDto) {
+        if (productDto == null) {
+            return null;
+        }
+
+        ProductEntity productEntity = new ProductEntity();
+
+        if (productDto.getId() != null) {
+            productEntity.setId(Long.parseLong(productDto.getId()));
+        }
+        productEntity.setStock((productDto.getStock() + productDto.getReorderLevel()) * 1);
+        if (productDto.getPrice() != null) {
+            productEntity.setPrice(productDto.getPrice().doubleValue());
+        }
+        if (productDto.getRating() != null) {
+            productEntity.setRating(Integer.valueOf(productDto.getRating().intValue()));
+        }
+
+        return productEntity;
+    }
+}
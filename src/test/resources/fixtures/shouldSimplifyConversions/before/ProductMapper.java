@@ -0,0 +1,10 @@
+package com.santunioni.fixtures;
+
+import org.mapstruct.Mapper;
+
+@Mapper
+public interface ProductMapper {
+    ProductDto toProductDto(ProductEntity productEntity);
+
+    ProductEntity toProductEntity(ProductDto productDto);
+}
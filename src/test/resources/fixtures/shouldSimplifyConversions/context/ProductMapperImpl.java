@@ -0,0 +1,54 @@
+package com.santunioni.fixtures;
+
+import java.math.BigDecimal;
+import javax.annotation.processing.Generated;
+
+@Generated(
+        value = "org.mapstruct.ap.MappingProcessor",
+        date = "2025-01-01T00:00:00Z",
+        comments = "version: 1.5.5.Final, compiler: javac, environment: Java 17"
+)
+public class ProductMapperImpl implements ProductMapper {
+
+    @Override
+    public ProductDto toProductDto(ProductEntity productEntity) {
+        if (productEntity == null) {
+            return null;
+        }
+
+        ProductDto productDto = new ProductDto();
+
+        productDto.setId(String.valueOf(Long.valueOf(productEntity.getId())));
+        productDto.setStock(Integer.valueOf(productEntity.getStock()).intValue());
+        productDto.setReorderLevel(Integer.valueOf(productEntity.getStock() / 2));
+        productDto.setPrice(new BigDecimal(String.valueOf(productEntity.getPrice())));
+        productDto.setWeight(new BigDecimal(String.valueOf(productEntity.getWeight())));
+        if (productEntity.getRating() != null) {
+            productDto.setRating(new BigDecimal(String.valueOf(productEntity.getRating())));
+        }
+
+        return productDto;
+    }
+
+    @Override
+    public ProductEntity toProductEntity(ProductDto productDto) {
+        if (productDto == null) {
+            return null;
+        }
+
+        ProductEntity productEntity = new ProductEntity();
+
+        if (productDto.getId() != null) {
+            productEntity.setId(Long.valueOf(productDto.getId()).longValue());
+        }
+        productEntity.setStock(Integer.parseInt(String.valueOf(productDto.getStock() + productDto.getReorderLevel())) * 1);
+        if (productDto.getPrice() != null) {
+            productEntity.setPrice(Double.valueOf(productDto.getPrice().doubleValue()).doubleValue());
+        }
+        if (productDto.getRating() != null) {
+            productEntity.setRating(Integer.valueOf(productDto.getRating().intValue()));
+        }
+
+        return productEntity;
+    }
+}
@@ -0,0 +1,27 @@
+package com.santunioni.fixtures;
+
+import java.util.Locale;
+
+
+public class CustomerMapper {
+
+    public CustomerDto toCustomerDto(CustomerEntity customerEntity) {
+        if (customerEntity == null) {
+            return null;
+        }
+        String email = customerEntity.getEmail();
+        if (email == null) {
+            return null;
+        }
+        CustomerDto customerDto = new CustomerDto();
+        email = email.toLowerCase(Locale.ROOT);
+        toCustomerDtoPart1(customerEntity, customerDto, email);
+        return customerDto;
+    }
+
+    private void toCustomerDtoPart1(CustomerEntity customerEntity, CustomerDto customerDto, String email) {
+        customerDto.setName(customerEntity.getName());
+        customerDto.setPhone(customerEntity.getPhone());
+        customerDto.setEmail(email);
+    }
+}
@@ -0,0 +1,32 @@
+package com.santunioni.fixtures;
+
+import java.util.Locale;
+import javax.annotation.processing.Generated;
+
+@Generated(
+        value = "org.mapstruct.ap.MappingProcessor",
+        date = "2025-01-01T00:00:00Z",
+        comments = "version: 1.5.5.Final, compiler: javac, environment: Java 17"
+)
+public class CustomerMapperImpl implements CustomerMapper {
+
+    @Override
+    public CustomerDto toCustomerDto(CustomerEntity customerEntity) {
+        if (customerEntity == null) {
+            return null;
+        }
+        String email = customerEntity.getEmail();
+        if (email == null) {
+            return null;
+        }
+
+        CustomerDto customerDto = new CustomerDto();
+        email = email.toLowerCase(Locale.ROOT);
+
+        customerDto.setName(customerEntity.getName());
+        customerDto.setPhone(customerEntity.getPhone());
+        customerDto.setEmail(email);
+
+        return customerDto;
+    }
+}
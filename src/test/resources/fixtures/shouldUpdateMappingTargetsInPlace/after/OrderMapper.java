@@ -0,0 +1,110 @@
+package com.santunioni.fixtures;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+public class OrderMapper {
+
+    public void updateOrder(OrderEntity target, OrderDto source) {
+        if (source == null) {
+            return;
+        }
+
+        if (target.getLines() != null) {
+            List<LineDto> list = source.getLines();
+            if (list != null) {
+                List<LineEntity> lines = target.getLines();
+                lines.clear();
+                for (LineDto lineDto : list) {
+                    lines.add(toLineEntity(lineDto));
+                }
+            } else {
+                target.setLines(null);
+            }
+        } else {
+            List<LineEntity> list = lineDtoListToLineEntityList(source.getLines());
+            if (list != null) {
+                target.setLines(list);
+            }
+        }
+        if (target.getTags() != null) {
+            List<String> list1 = source.getTags();
+            if (list1 != null) {
+                target.getTags().clear();
+                target.getTags().addAll(list1);
+            } else {
+                target.setTags(null);
+            }
+        } else {
+            List<String> list1 = source.getTags();
+            if (list1 != null) {
+                target.setTags(new ArrayList<String>(list1));
+            }
+        }
+        if (target.getNotes() != null) {
+            List<Note> list2 = noteListToNoteList(source.getNotes());
+            if (list2 != null) {
+                target.getNotes().clear();
+                target.getNotes().addAll(list2);
+            } else {
+                target.setNotes(null);
+            }
+        } else {
+            List<Note> list2 = noteListToNoteList(source.getNotes());
+            if (list2 != null) {
+                target.setNotes(list2);
+            }
+        }
+    }
+
+    public LineEntity toLineEntity(LineDto lineDto) {
+        if (lineDto == null) {
+            return null;
+        }
+
+        LineEntity lineEntity = new LineEntity();
+
+        lineEntity.setSku(lineDto.getSku());
+
+        return lineEntity;
+    }
+
+    protected List<LineEntity> lineDtoListToLineEntityList(List<LineDto> list) {
+        if (list == null) {
+            return null;
+        }
+
+        List<LineEntity> list1 = new ArrayList<LineEntity>(list.size());
+        for (LineDto lineDto : list) {
+            list1.add(toLineEntity(lineDto));
+        }
+
+        return list1;
+    }
+
+    protected Note noteToNote(Note note) {
+        if (note == null) {
+            return null;
+        }
+
+        Note note1 = new Note();
+
+        note1.setText(note.getText());
+
+        return note1;
+    }
+
+    protected List<Note> noteListToNoteList(List<Note> list) {
+        if (list == null) {
+            return null;
+        }
+
+        List<Note> list1 = new ArrayList<Note>(list.size());
+        for (Note note : list) {
+            list1.add(noteToNote(note));
+        }
+
+        return list1;
+    }
+}
\ No newline at end of file
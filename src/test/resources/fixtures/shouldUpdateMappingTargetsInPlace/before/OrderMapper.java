@@ -0,0 +1,11 @@
+package com.santunioni.fixtures;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.MappingTarget;
+
+@Mapper
+public interface OrderMapper {
+    void updateOrder(@MappingTarget OrderEntity target, OrderDto source);
+
+    LineEntity toLineEntity(LineDto lineDto);
+}
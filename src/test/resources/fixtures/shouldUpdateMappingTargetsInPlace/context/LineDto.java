@@ -0,0 +1,13 @@
+package com.santunioni.fixtures;
+
+public class LineDto {
+    private String sku;
+
+    public String getSku() {
+        return sku;
+    }
+
+    public void setSku(String sku) {
+        this.sku = sku;
+    }
+}
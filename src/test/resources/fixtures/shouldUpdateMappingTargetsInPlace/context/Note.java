@@ -0,0 +1,13 @@
+package com.santunioni.fixtures;
+
+public class Note {
+    private String text;
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+}
@@ -0,0 +1,33 @@
+package com.santunioni.fixtures;
+
+import java.util.List;
+
+public class OrderEntity {
+    private List<LineEntity> lines;
+    private List<String> tags;
+    private List<Note> notes;
+
+    public List<LineEntity> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<LineEntity> lines) {
+        this.lines = lines;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+
+    public List<Note> getNotes() {
+        return notes;
+    }
+
+    public void setNotes(List<Note> notes) {
+        this.notes = notes;
+    }
+}
@@ -0,0 +1,114 @@
+package com.santunioni.fixtures;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.processing.Generated;
+
+@Generated(
+        value = "org.mapstruct.ap.MappingProcessor",
+        date = "2025-01-01T00:00:00Z",
+        comments = "version: 1.5.5.Final, compiler: javac, environment: Java 17"
+)
+public class OrderMapperImpl implements OrderMapper {
+
+    @Override
+    public void updateOrder(OrderEntity target, OrderDto source) {
+        if (source == null) {
+            return;
+        }
+
+        if (target.getLines() != null) {
+            List<LineEntity> list = lineDtoListToLineEntityList(source.getLines());
+            if (list != null) {
+                target.getLines().clear();
+                target.getLines().addAll(list);
+            } else {
+                target.setLines(null);
+            }
+        } else {
+            List<LineEntity> list = lineDtoListToLineEntityList(source.getLines());
+            if (list != null) {
+                target.setLines(list);
+            }
+        }
+        if (target.getTags() != null) {
+            List<String> list1 = source.getTags();
+            if (list1 != null) {
+                target.getTags().clear();
+                target.getTags().addAll(list1);
+            } else {
+                target.setTags(null);
+            }
+        } else {
+            List<String> list1 = source.getTags();
+            if (list1 != null) {
+                target.setTags(new ArrayList<String>(list1));
+            }
+        }
+        if (target.getNotes() != null) {
+            List<Note> list2 = noteListToNoteList(source.getNotes());
+            if (list2 != null) {
+                target.getNotes().clear();
+                target.getNotes().addAll(list2);
+            } else {
+                target.setNotes(null);
+            }
+        } else {
+            List<Note> list2 = noteListToNoteList(source.getNotes());
+            if (list2 != null) {
+                target.setNotes(list2);
+            }
+        }
+    }
+
+    @Override
+    public LineEntity toLineEntity(LineDto lineDto) {
+        if (lineDto == null) {
+            return null;
+        }
+
+        LineEntity lineEntity = new LineEntity();
+
+        lineEntity.setSku(lineDto.getSku());
+
+        return lineEntity;
+    }
+
+    protected List<LineEntity> lineDtoListToLineEntityList(List<LineDto> list) {
+        if (list == null) {
+            return null;
+        }
+
+        List<LineEntity> list1 = new ArrayList<LineEntity>(list.size());
+        for (LineDto lineDto : list) {
+            list1.add(toLineEntity(lineDto));
+        }
+
+        return list1;
+    }
+
+    protected Note noteToNote(Note note) {
+        if (note == null) {
+            return null;
+        }
+
+        Note note1 = new Note();
+
+        note1.setText(note.getText());
+
+        return note1;
+    }
+
+    protected List<Note> noteListToNoteList(List<Note> list) {
+        if (list == null) {
+            return null;
+        }
+
+        List<Note> list1 = new ArrayList<Note>(list.size());
+        for (Note note : list) {
+            list1.add(noteToNote(note));
+        }
+
+        return list1;
+    }
+}
@@ -0,0 +1,93 @@
+package com.santunioni.fixtures;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+
+public class UserViewMapper {
+
+    public UserView toUserView(User user) {
+        return user == null ? null : new LazyUserView(user);
+    }
+
+    public AddressView toAddressView(Address address) {
+        if (address == null) {
+            return null;
+        }
+
+        AddressViewImpl addressView = new AddressViewImpl();
+
+        addressView.setCity(address.getCity());
+
+        return addressView;
+    }
+
+    public UserDto toUserDto(User user) {
+        if (user == null) {
+            return null;
+        }
+
+        UserDto userDto = new UserDto();
+
+        userDto.setName(user.getName());
+
+        return userDto;
+    }
+
+    protected List<AddressView> addressListToAddressViewList(List<Address> list) {
+        if (list == null) {
+            return null;
+        }
+
+        List<AddressView> list1 = new ArrayList<AddressView>(list.size());
+        for (Address address : list) {
+            list1.add(toAddressView(address));
+        }
+
+        return list1;
+    }
+
+    private final class LazyUserView implements UserView {
+        private final User user;
+
+        private LazyUserView(User user) {
+            this.user = user;
+        }
+
+        @Override
+        public String getName() {
+            return user.getName();
+        }
+
+        @Override
+        public List<AddressView> getAddresses() {
+            return LazyList.of(user.getAddresses(), address -> toAddressView(address));
+        }
+    }
+
+    private static final class LazyList<S, T> extends AbstractList<T> {
+        private final List<S> source;
+        private final Function<? super S, ? extends T> mapping;
+
+        private LazyList(List<S> source, Function<? super S, ? extends T> mapping) {
+            this.source = source;
+            this.mapping = mapping;
+        }
+
+        static <S, T> List<T> of(List<S> source, Function<? super S, ? extends T> mapping) {
+            return source == null ? null : new LazyList<>(source, mapping);
+        }
+
+        @Override
+        public T get(int index) {
+            return mapping.apply(source.get(index));
+        }
+
+        @Override
+        public int size() {
+            return source.size();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.santunioni.fixtures;
+
+import org.mapstruct.Mapper;
+
+@Mapper
+public interface UserViewMapper {
+    UserView toUserView(User user);
+
+    AddressView toAddressView(Address address);
+
+    UserDto toUserDto(User user);
+}
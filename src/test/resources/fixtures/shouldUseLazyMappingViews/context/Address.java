@@ -0,0 +1,13 @@
+package com.santunioni.fixtures;
+
+public class Address {
+    private String city;
+
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+}
@@ -0,0 +1,5 @@
+package com.santunioni.fixtures;
+
+public interface AddressView {
+    String getCity();
+}
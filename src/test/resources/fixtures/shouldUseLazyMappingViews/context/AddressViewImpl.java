@@ -0,0 +1,26 @@
+package com.santunioni.fixtures;
+
+import java.util.Objects;
+
+public class AddressViewImpl implements AddressView {
+    private String city;
+
+    @Override
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof AddressViewImpl other && Objects.equals(city, other.city);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(city);
+    }
+}
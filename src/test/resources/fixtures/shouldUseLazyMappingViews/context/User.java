@@ -0,0 +1,24 @@
+package com.santunioni.fixtures;
+
+import java.util.List;
+
+public class User {
+    private String name;
+    private List<Address> addresses;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public List<Address> getAddresses() {
+        return addresses;
+    }
+
+    public void setAddresses(List<Address> addresses) {
+        this.addresses = addresses;
+    }
+}
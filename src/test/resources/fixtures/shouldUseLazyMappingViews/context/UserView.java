@@ -0,0 +1,9 @@
+package com.santunioni.fixtures;
+
+import java.util.List;
+
+public interface UserView {
+    String getName();
+
+    List<AddressView> getAddresses();
+}
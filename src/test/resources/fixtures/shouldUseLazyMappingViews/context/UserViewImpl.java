@@ -0,0 +1,26 @@
+package com.santunioni.fixtures;
+
+import java.util.List;
+
+public class UserViewImpl implements UserView {
+    private String name;
+    private List<AddressView> addresses;
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public List<AddressView> getAddresses() {
+        return addresses;
+    }
+
+    public void setAddresses(List<AddressView> addresses) {
+        this.addresses = addresses;
+    }
+}
@@ -0,0 +1,66 @@
+package com.santunioni.fixtures;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.processing.Generated;
+
+@Generated(
+        value = "org.mapstruct.ap.MappingProcessor",
+        date = "2025-01-01T00:00:00Z",
+        comments = "version: 1.5.5.Final, compiler: javac, environment: Java 17"
+)
+public class UserViewMapperImpl implements UserViewMapper {
+
+    @Override
+    public UserView toUserView(User user) {
+        if (user == null) {
+            return null;
+        }
+
+        UserViewImpl userView = new UserViewImpl();
+
+        userView.setName(user.getName());
+        userView.setAddresses(addressListToAddressViewList(user.getAddresses()));
+
+        return userView;
+    }
+
+    @Override
+    public AddressView toAddressView(Address address) {
+        if (address == null) {
+            return null;
+        }
+
+        AddressViewImpl addressView = new AddressViewImpl();
+
+        addressView.setCity(address.getCity());
+
+        return addressView;
+    }
+
+    @Override
+    public UserDto toUserDto(User user) {
+        if (user == null) {
+            return null;
+        }
+
+        UserDto userDto = new UserDto();
+
+        userDto.setName(user.getName());
+
+        return userDto;
+    }
+
+    protected List<AddressView> addressListToAddressViewList(List<Address> list) {
+        if (list == null) {
+            return null;
+        }
+
+        List<AddressView> list1 = new ArrayList<AddressView>(list.size());
+        for (Address address : list) {
+            list1.add(toAddressView(address));
+        }
+
+        return list1;
+    }
+}
@@ -0,0 +1,67 @@
+package com.santunioni.fixtures;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+
+public class OrderStatusMapper {
+
+    public OrderStatusDto toDto(OrderStatus status) {
+        if (status == null) {
+            return OrderStatusDto.UNKNOWN;
+        }
+        return TO_DTO.getOrDefault(status, OrderStatusDto.UNKNOWN);
+    }
+
+    public OrderStatus toEntity(OrderStatusDto status) {
+        if (status == null) {
+            return null;
+        }
+
+        OrderStatus orderStatus;
+
+        switch (status) {
+            case OPEN: orderStatus = OrderStatus.NEW;
+            break;
+            case CLOSED: orderStatus = OrderStatus.SHIPPED;
+            break;
+            case UNKNOWN: orderStatus = null;
+            break;
+            default: throw new IllegalArgumentException("Unexpected enum constant: " + status);
+        }
+
+        return orderStatus;
+    }
+
+    public OrderStatus fromCode(String code) {
+        if (code == null) {
+            return null;
+        }
+        OrderStatus orderStatus = FROM_CODE.get(code);
+        if (orderStatus == null) {
+            throw new IllegalArgumentException("Unexpected enum constant: " + code);
+        }
+        return orderStatus;
+    }
+
+    public String toCode(OrderStatus status) {
+        if (status == null) {
+            return null;
+        }
+        return TO_CODE.get(status);
+    }
+
+    private static final Map<OrderStatus, OrderStatusDto> TO_DTO = new EnumMap<>(Map.ofEntries(
+            Map.entry(OrderStatus.NEW, OrderStatusDto.OPEN),
+            Map.entry(OrderStatus.PAID, OrderStatusDto.OPEN),
+            Map.entry(OrderStatus.SHIPPED, OrderStatusDto.CLOSED)));
+    private static final Map<String, OrderStatus> FROM_CODE = Map.ofEntries(
+            Map.entry("N", OrderStatus.NEW),
+            Map.entry("P", OrderStatus.PAID),
+            Map.entry("S", OrderStatus.SHIPPED),
+            Map.entry("C", OrderStatus.CANCELLED));
+    private static final Map<OrderStatus, String> TO_CODE = new EnumMap<>(Map.ofEntries(
+            Map.entry(OrderStatus.NEW, "N"),
+            Map.entry(OrderStatus.PAID, "P"),
+            Map.entry(OrderStatus.SHIPPED, "S")));
+}
@@ -0,0 +1,30 @@
+package com.santunioni.fixtures;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.ValueMapping;
+
+@Mapper
+public interface OrderStatusMapper {
+    @ValueMapping(source = "NEW", target = "OPEN")
+    @ValueMapping(source = "PAID", target = "OPEN")
+    @ValueMapping(source = "SHIPPED", target = "CLOSED")
+    @ValueMapping(source = MappingConstants.NULL, target = "UNKNOWN")
+    @ValueMapping(source = MappingConstants.ANY_REMAINING, target = "UNKNOWN")
+    OrderStatusDto toDto(OrderStatus status);
+
+    @ValueMapping(source = "OPEN", target = "NEW")
+    @ValueMapping(source = "CLOSED", target = "SHIPPED")
+    @ValueMapping(source = "UNKNOWN", target = MappingConstants.NULL)
+    OrderStatus toEntity(OrderStatusDto status);
+
+    @ValueMapping(source = "N", target = "NEW")
+    @ValueMapping(source = "P", target = "PAID")
+    @ValueMapping(source = "S", target = "SHIPPED")
+    @ValueMapping(source = "C", target = "CANCELLED")
+    OrderStatus fromCode(String code);
+
+    @ValueMapping(source = "CANCELLED", target = MappingConstants.NULL)
+    @ValueMapping(source = MappingConstants.ANY_UNMAPPED, target = MappingConstants.NULL)
+    String toCode(OrderStatus status);
+}
@@ -0,0 +1,8 @@
+package com.santunioni.fixtures;
+
+public enum OrderStatus {
+    NEW,
+    PAID,
+    SHIPPED,
+    CANCELLED
+}
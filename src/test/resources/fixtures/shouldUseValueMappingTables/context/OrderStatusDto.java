@@ -0,0 +1,7 @@
+package com.santunioni.fixtures;
+
+public enum OrderStatusDto {
+    OPEN,
+    CLOSED,
+    UNKNOWN
+}
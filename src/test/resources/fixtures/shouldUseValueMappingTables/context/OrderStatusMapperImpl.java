@@ -0,0 +1,99 @@
+package com.santunioni.fixtures;
+
+import javax.annotation.processing.Generated;
+
+@Generated(
+        value = "org.mapstruct.ap.MappingProcessor",
+        date = "2025-01-01T00:00:00Z",
+        comments = "version: 1.5.5.Final, compiler: javac, environment: Java 17"
+)
+public class OrderStatusMapperImpl implements OrderStatusMapper {
+
+    @Override
+    public OrderStatusDto toDto(OrderStatus status) {
+        if (status == null) {
+            return OrderStatusDto.UNKNOWN;
+        }
+
+        OrderStatusDto orderStatusDto;
+
+        switch (status) {
+            case NEW: orderStatusDto = OrderStatusDto.OPEN;
+            break;
+            case PAID: orderStatusDto = OrderStatusDto.OPEN;
+            break;
+            case SHIPPED: orderStatusDto = OrderStatusDto.CLOSED;
+            break;
+            default: orderStatusDto = OrderStatusDto.UNKNOWN;
+        }
+
+        return orderStatusDto;
+    }
+
+    @Override
+    public OrderStatus toEntity(OrderStatusDto status) {
+        if (status == null) {
+            return null;
+        }
+
+        OrderStatus orderStatus;
+
+        switch (status) {
+            case OPEN: orderStatus = OrderStatus.NEW;
+            break;
+            case CLOSED: orderStatus = OrderStatus.SHIPPED;
+            break;
+            case UNKNOWN: orderStatus = null;
+            break;
+            default: throw new IllegalArgumentException("Unexpected enum constant: " + status);
+        }
+
+        return orderStatus;
+    }
+
+    @Override
+    public OrderStatus fromCode(String code) {
+        if (code == null) {
+            return null;
+        }
+
+        OrderStatus orderStatus;
+
+        switch (code) {
+            case "N": orderStatus = OrderStatus.NEW;
+            break;
+            case "P": orderStatus = OrderStatus.PAID;
+            break;
+            case "S": orderStatus = OrderStatus.SHIPPED;
+            break;
+            case "C": orderStatus = OrderStatus.CANCELLED;
+            break;
+            default: throw new IllegalArgumentException("Unexpected enum constant: " + code);
+        }
+
+        return orderStatus;
+    }
+
+    @Override
+    public String toCode(OrderStatus status) {
+        if (status == null) {
+            return null;
+        }
+
+        String string;
+
+        switch (status) {
+            case NEW: string = "N";
+            break;
+            case PAID: string = "P";
+            break;
+            case SHIPPED: string = "S";
+            break;
+            case CANCELLED: string = null;
+            break;
+            default: string = null;
+        }
+
+        return string;
+    }
+}